@@ -0,0 +1,64 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package benchmarkUtils;
+
+import com.netflix.imflibrary.RESTfulInterfaces.PayloadRecord;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+
+/**
+ * Helpers for locating the fixtures of the benchmarks, which share the resources of the tests
+ */
+public final class BenchmarkHelper
+{
+    private BenchmarkHelper()
+    {
+        //to prevent instantiation
+    }
+
+    public static File findResourceByPath(String resourcePath) throws IOException
+    {
+        URL resource = BenchmarkHelper.class.getClassLoader().getResource(resourcePath);
+        if (resource == null)
+        {
+            throw new IOException(String.format("Resource %s does not exist", resourcePath));
+        }
+        try
+        {
+            return new File(resource.toURI());
+        }
+        catch (URISyntaxException e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    public static byte[] readResource(String resourcePath) throws IOException
+    {
+        return Files.readAllBytes(findResourceByPath(resourcePath).toPath());
+    }
+
+    public static PayloadRecord getPayloadRecord(String resourcePath, PayloadRecord.PayloadAssetType payloadAssetType) throws IOException
+    {
+        byte[] bytes = readResource(resourcePath);
+        return new PayloadRecord(bytes, payloadAssetType, 0L, (long) bytes.length);
+    }
+}
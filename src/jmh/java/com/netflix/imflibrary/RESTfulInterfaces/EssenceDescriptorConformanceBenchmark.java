@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.RESTfulInterfaces;
+
+import com.netflix.imflibrary.st2067_2.EssenceDescriptorCache;
+import com.netflix.imflibrary.utils.ErrorLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import benchmarkUtils.BenchmarkHelper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conformance of the EssenceDescriptors of the track files referenced by a CompositionPlaylist, both
+ * with a fresh EssenceDescriptorCache for every conformance and with a cache that is shared across conformances
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EssenceDescriptorConformanceBenchmark
+{
+    private static final String IMP_DIRECTORY = "TestIMP/Netflix_Sony_Plugfest_2015/";
+
+    private PayloadRecord cplPayloadRecord;
+    private List<PayloadRecord> essencesHeaderPartitionPayloads;
+    private EssenceDescriptorCache essenceDescriptorCache;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        this.cplPayloadRecord = BenchmarkHelper.getPayloadRecord(IMP_DIRECTORY + "CPL_BLACKL_202_HD_REC709_178_ENG_fe8cf2f4-1bcd-4145-8f72-6775af4038c4.xml", PayloadRecord.PayloadAssetType.CompositionPlaylist);
+        this.essencesHeaderPartitionPayloads = new ArrayList<>();
+        this.essencesHeaderPartitionPayloads.add(BenchmarkHelper.getPayloadRecord(IMP_DIRECTORY + "Netflix_Plugfest_Oct2015_ENG20.mxf.hdr", PayloadRecord.PayloadAssetType.EssencePartition));
+        this.essencesHeaderPartitionPayloads.add(BenchmarkHelper.getPayloadRecord(IMP_DIRECTORY + "Netflix_Plugfest_Oct2015_ENG51.mxf.hdr", PayloadRecord.PayloadAssetType.EssencePartition));
+        this.essencesHeaderPartitionPayloads.add(BenchmarkHelper.getPayloadRecord(IMP_DIRECTORY + "Netflix_Plugfest_Oct2015.mxf.hdr", PayloadRecord.PayloadAssetType.EssencePartition));
+        this.essenceDescriptorCache = new EssenceDescriptorCache();
+    }
+
+    @Benchmark
+    public List<ErrorLogger.ErrorObject> conformVirtualTracks() throws IOException
+    {
+        return IMPValidator.areAllVirtualTracksInCPLConformed(this.cplPayloadRecord, this.essencesHeaderPartitionPayloads);
+    }
+
+    @Benchmark
+    public List<ErrorLogger.ErrorObject> conformVirtualTracksWithSharedCache() throws IOException
+    {
+        return IMPValidator.areAllVirtualTracksInCPLConformed(this.cplPayloadRecord, this.essencesHeaderPartitionPayloads, this.essenceDescriptorCache);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.st0377;
+
+import com.netflix.imflibrary.IMFErrorLoggerImpl;
+import com.netflix.imflibrary.utils.ByteArrayDataProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import benchmarkUtils.BenchmarkHelper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parsing of the HeaderPartition of MXF track files of different kinds of essence
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderPartitionBenchmark
+{
+    @Param({"CHIMERA_NETFLIX_2398.mxf.hdr",
+            "NMPC_6000ms_6Ch_ch_id.mxf.hdr",
+            "TearsOfSteel_4k_Test_Master_Audio_002.mxf.hdr"})
+    public String headerPartitionFile;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        this.bytes = BenchmarkHelper.readResource(this.headerPartitionFile);
+    }
+
+    @Benchmark
+    public HeaderPartition parseHeaderPartition() throws IOException
+    {
+        return new HeaderPartition(new ByteArrayDataProvider(this.bytes), 0L, (long) this.bytes.length, new IMFErrorLoggerImpl());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.st0377;
+
+import com.netflix.imflibrary.KLVPacket;
+import com.netflix.imflibrary.utils.ByteArrayDataProvider;
+import com.netflix.imflibrary.utils.ByteProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import benchmarkUtils.BenchmarkHelper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the decoding of an IndexTableSegment and of its index entries
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexTableSegmentBenchmark
+{
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        this.bytes = BenchmarkHelper.readResource("Netflix_Ident_23976_3840x2160_177AR.mxf.idx");
+    }
+
+    @Benchmark
+    public IndexTableSegment decodeIndexTableSegment() throws IOException
+    {
+        ByteProvider byteProvider = new ByteArrayDataProvider(this.bytes);
+        KLVPacket.Header header = new KLVPacket.Header(byteProvider, 0L);
+        return new IndexTableSegment(byteProvider, header);
+    }
+
+    @Benchmark
+    public long decodeIndexEntryStreamOffsets() throws IOException
+    {
+        ByteProvider byteProvider = new ByteArrayDataProvider(this.bytes);
+        KLVPacket.Header header = new KLVPacket.Header(byteProvider, 0L);
+        IndexTableSegment.IndexEntryArray indexEntryArray = new IndexTableSegment(byteProvider, header).getIndexEntryArray();
+        long streamOffsets = 0L;
+        for (int i = 0; i < indexEntryArray.size(); i++)
+        {
+            streamOffsets += indexEntryArray.getStreamOffset(i);
+        }
+        return streamOffsets;
+    }
+}
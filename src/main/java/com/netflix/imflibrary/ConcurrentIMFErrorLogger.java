@@ -0,0 +1,333 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary;
+
+import com.netflix.imflibrary.utils.ErrorLogger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe implementation of the IMFErrorLogger interface that can be shared by validators running concurrently.
+ *
+ * Errors are reported in the order in which they were added, and an error that is equal to an error that was added earlier
+ * is ignored. Adding an error never blocks: the error is appended to a lock-free queue, that is drained into an indexable
+ * log when the errors are read, hence index based range queries such as {@link #hasFatalErrors(int, int)} can be used to
+ * check for the errors that were added by a particular step of a validation. The number of errors of every error level
+ * and of every error code is maintained as the errors are added, so that {@link #hasFatalErrors()} and the error counts
+ * do not require the errors to be read.
+ */
+@ThreadSafe
+public final class ConcurrentIMFErrorLogger implements IMFErrorLogger
+{
+    private final Set<ErrorLogger.ErrorObject> errorObjectSet = ConcurrentHashMap.newKeySet();
+    private final Queue<ErrorLogger.ErrorObject> pendingErrors = new ConcurrentLinkedQueue<>();
+    @GuardedBy("errors")
+    private final List<ErrorLogger.ErrorObject> errors = new ArrayList<>();
+    @GuardedBy("errors")
+    private final List<Integer> fatalErrorIndices = new ArrayList<>();
+    //populated with every enum constant on construction and never modified afterwards, hence safe to read concurrently
+    private final Map<IMFErrors.ErrorLevels, LongAdder> errorLevelCounts = new EnumMap<>(IMFErrors.ErrorLevels.class);
+    private final Map<IMFErrors.ErrorCodes, LongAdder> errorCodeCounts = new EnumMap<>(IMFErrors.ErrorCodes.class);
+    @Nullable
+    private final IMFErrorListener errorListener;
+
+    /**
+     * Instantiates a new concurrent IMF error logger object
+     */
+    public ConcurrentIMFErrorLogger()
+    {
+        this(null);
+    }
+
+    /**
+     * Instantiates a new concurrent IMF error logger object that notifies a listener of every error once it is visible to
+     * readers, the listener is notified concurrently by the threads that add errors
+     *
+     * @param errorListener - the listener to be notified of every error that was not previously added, null if none
+     */
+    public ConcurrentIMFErrorLogger(@Nullable IMFErrorListener errorListener)
+    {
+        for (IMFErrors.ErrorLevels errorLevel : IMFErrors.ErrorLevels.values())
+        {
+            this.errorLevelCounts.put(errorLevel, new LongAdder());
+        }
+        for (IMFErrors.ErrorCodes errorCode : IMFErrors.ErrorCodes.values())
+        {
+            this.errorCodeCounts.put(errorCode, new LongAdder());
+        }
+        this.errorListener = errorListener;
+    }
+
+    /**
+     * A method to add error objects to a persistent list
+     *
+     * @param errorCode - error code corresponding to the - error cannot be null
+     * @param errorLevel - error level of the error - cannot be null
+     * @param errorDescription - the error description - cannot be null
+     */
+    public void addError(@Nonnull IMFErrors.ErrorCodes errorCode, @Nonnull IMFErrors.ErrorLevels errorLevel, @Nonnull String errorDescription)
+    {
+        addError(new ErrorLogger.ErrorObject(errorCode, errorLevel, errorDescription));
+    }
+
+    /**
+     * A method to add an error object to a persistent list
+     *
+     * @param errorObject - error object to be added to a persistent list - cannot be null
+     */
+    public void addError(@Nonnull ErrorObject errorObject)
+    {
+        if (!this.errorObjectSet.add(errorObject))
+        {
+            return;
+        }
+
+        //an ErrorObject can be constructed with any enumeration, only the IMFErrors enumerations are counted
+        if (errorObject.getErrorLevel() instanceof IMFErrors.ErrorLevels)
+        {
+            this.errorLevelCounts.get(errorObject.getErrorLevel()).increment();
+        }
+        if (errorObject.getErrorCode() instanceof IMFErrors.ErrorCodes)
+        {
+            this.errorCodeCounts.get(errorObject.getErrorCode()).increment();
+        }
+        this.pendingErrors.add(errorObject);
+
+        if (this.errorListener != null)
+        {
+            this.errorListener.onError(errorObject);
+        }
+    }
+
+    /**
+     * A method to add an error object to a persistent list
+     *
+     * @param errorObjects - a list of error objects to be added to a persistent list - cannot be null
+     */
+    public void addAllErrors(@Nonnull List<ErrorObject> errorObjects)
+    {
+        for (ErrorObject errorObject : errorObjects)
+        {
+            addError(errorObject);
+        }
+    }
+
+    /**
+     * Getter for the number of errors that were detected while reading the MXF file
+     * @return integer representing the number of errors
+     */
+    public int getNumberOfErrors()
+    {
+        synchronized (this.errors)
+        {
+            return this.drainPendingErrors().size();
+        }
+    }
+
+    /**
+     * Getter for the number of errors of a particular ErrorLevel
+     * @param errorLevel to be counted
+     * @return integer representing the number of errors of the ErrorLevel
+     */
+    public int getNumberOfErrors(@Nonnull IMFErrors.ErrorLevels errorLevel)
+    {
+        return this.errorLevelCounts.get(errorLevel).intValue();
+    }
+
+    /**
+     * Getter for the number of errors of a particular ErrorCode
+     * @param errorCode to be counted
+     * @return integer representing the number of errors of the ErrorCode
+     */
+    public int getNumberOfErrors(@Nonnull IMFErrors.ErrorCodes errorCode)
+    {
+        return this.errorCodeCounts.get(errorCode).intValue();
+    }
+
+    /**
+     * Getter for the error at a particular index in the order in which the errors were added
+     * @param index the index of the error
+     * @return the error object at the index
+     * @throws IndexOutOfBoundsException if the index is not lower than the number of errors
+     */
+    public ErrorLogger.ErrorObject getError(int index)
+    {
+        synchronized (this.errors)
+        {
+            List<ErrorLogger.ErrorObject> errors = this.drainPendingErrors();
+            if (index < 0 || index >= errors.size())
+            {
+                throw new IndexOutOfBoundsException(String.format("index = %d is not in the range [0, %d)", index, errors.size()));
+            }
+            return errors.get(index);
+        }
+    }
+
+    /**
+     * Getter for the list of errors monitored by this ErrorLogger implementation
+     * @return a list of errors in the order in which they were added
+     */
+    public List<ErrorLogger.ErrorObject> getErrors()
+    {
+        synchronized (this.errors)
+        {
+            return Collections.unmodifiableList(new ArrayList<>(this.drainPendingErrors()));
+        }
+    }
+
+    /**
+     * Getter for the list of errors filtered by the ErrorLevel monitored by this ErrorLogger implementation
+     * @param errorLevel to be filtered
+     * @return a list of errors
+     */
+    public List<ErrorLogger.ErrorObject> getErrors(IMFErrors.ErrorLevels errorLevel) throws IllegalArgumentException
+    {
+        synchronized (this.errors)
+        {
+            return getErrors(errorLevel, 0, this.drainPendingErrors().size());
+        }
+    }
+
+    /**
+     * Getter for the list of errors in a specified range of errors filtered by the ErrorLevel monitored by this ErrorLogger implementation
+     * @param errorLevel to be filtered
+     * @param startIndex the start index (inclusive) within the list of errors
+     * @param endIndex the last index (exclusive) within the list of errors
+     * @return a list of errors
+     */
+    public List<ErrorLogger.ErrorObject> getErrors(IMFErrors.ErrorLevels errorLevel, int startIndex, int endIndex) throws IllegalArgumentException
+    {
+        return Collections.unmodifiableList(getErrorsInRange(startIndex, endIndex, errorLevel, null));
+    }
+
+    /**
+     * Getter for the list of errors filtered by the ErrorCode monitored by this ErrorLogger implementation
+     * @param errorCode to be filtered
+     * @return a list of errors
+     */
+    public List<ErrorLogger.ErrorObject> getErrors(IMFErrors.ErrorCodes errorCode) throws IllegalArgumentException
+    {
+        synchronized (this.errors)
+        {
+            return getErrors(errorCode, 0, this.drainPendingErrors().size());
+        }
+    }
+
+    /**
+     * Getter for the list of errors in a specified range of errors filtered by the ErrorCode monitored by this ErrorLogger implementation
+     * @param errorCode to be filtered
+     * @param startIndex the start index (inclusive) within the list of errors
+     * @param endIndex the last index (exclusive) within the list of errors
+     * @return a list of errors
+     */
+    public List<ErrorLogger.ErrorObject> getErrors(IMFErrors.ErrorCodes errorCode, int startIndex, int endIndex) throws IllegalArgumentException
+    {
+        return Collections.unmodifiableList(getErrorsInRange(startIndex, endIndex, null, errorCode));
+    }
+
+    public Boolean hasFatalErrors()
+    {
+        return this.errorLevelCounts.get(IMFErrors.ErrorLevels.FATAL).sum() > 0;
+    }
+
+    public Boolean hasFatalErrors(int startIndex, int endIndex)
+    {
+        synchronized (this.errors)
+        {
+            validateRangeRequest(this.drainPendingErrors().size(), startIndex, endIndex);
+            //the indices of the fatal errors are in ascending order, look for the first one that is not lower than startIndex
+            int position = Collections.binarySearch(this.fatalErrorIndices, startIndex);
+            if (position < 0)
+            {
+                position = -(position + 1);
+            }
+            return position < this.fatalErrorIndices.size() && this.fatalErrorIndices.get(position) < endIndex;
+        }
+    }
+
+    /**
+     * Moves the errors that were added since the last read from the queue to the indexable log, the caller must hold the
+     * lock on the log
+     * @return the indexable log of errors
+     */
+    @GuardedBy("errors")
+    private List<ErrorLogger.ErrorObject> drainPendingErrors()
+    {
+        ErrorLogger.ErrorObject errorObject;
+        while ((errorObject = this.pendingErrors.poll()) != null)
+        {
+            if (IMFErrors.ErrorLevels.FATAL.equals(errorObject.getErrorLevel()))
+            {
+                this.fatalErrorIndices.add(this.errors.size());
+            }
+            this.errors.add(errorObject);
+        }
+        return this.errors;
+    }
+
+    private List<ErrorLogger.ErrorObject> getErrorsInRange(int startIndex, int endIndex, IMFErrors.ErrorLevels errorLevel, IMFErrors.ErrorCodes errorCode)
+    {
+        List<ErrorLogger.ErrorObject> filteredErrors = new ArrayList<>();
+        synchronized (this.errors)
+        {
+            List<ErrorLogger.ErrorObject> errors = this.drainPendingErrors();
+            validateRangeRequest(errors.size(), startIndex, endIndex);
+            for (ErrorLogger.ErrorObject errorObject : errors.subList(startIndex, endIndex))
+            {
+                if ((errorLevel == null || errorLevel.equals(errorObject.getErrorLevel()))
+                        && (errorCode == null || errorCode.equals(errorObject.getErrorCode())))
+                {
+                    filteredErrors.add(errorObject);
+                }
+            }
+        }
+        return filteredErrors;
+    }
+
+    private static void validateRangeRequest(int numberOfErrors, int rangeStart, int rangeEnd) throws IllegalArgumentException
+    {
+        if (rangeStart < 0)
+        {
+            throw new IllegalArgumentException(String.format("rangeStart = %d is < 0", rangeStart));
+        }
+
+        if (rangeStart > rangeEnd)
+        {
+            throw new IllegalArgumentException(String.format("rangeStart = %d is not <= %d rangeEnd", rangeStart, rangeEnd));
+        }
+
+        if (rangeEnd > numberOfErrors)
+        {
+            throw new IllegalArgumentException(String.format("rangeEnd = %d is not <= (resourceSize) = %d", rangeEnd, numberOfErrors));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary;
+
+import com.netflix.imflibrary.exceptions.IMFFatalErrorException;
+import com.netflix.imflibrary.utils.ErrorLogger;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A listener that is notified of every error as soon as it is recorded by an IMFErrorLogger, for e.g., to stream the
+ * errors encountered while validating an IMF package to a file or to a metrics system instead of waiting for the complete
+ * list of errors at the end of the validation. A listener that is shared by validations running concurrently is notified
+ * concurrently and should be thread-safe.
+ */
+@FunctionalInterface
+public interface IMFErrorListener
+{
+    /**
+     * A method that is invoked every time an error that was not previously recorded is recorded by an IMFErrorLogger
+     * @param errorObject the error that was recorded
+     */
+    void onError(@Nonnull ErrorLogger.ErrorObject errorObject);
+
+    /**
+     * A method that returns a listener that forwards every error to a listener, and aborts the validation in progress by
+     * throwing an {@link IMFFatalErrorException} once a FATAL error has been forwarded. Validators that accept a listener
+     * catch the exception and return the errors that were recorded until then.
+     * @param errorListener the listener the errors are forwarded to
+     * @return a fail-fast listener
+     */
+    static IMFErrorListener failFast(@Nonnull IMFErrorListener errorListener)
+    {
+        return errorObject -> {
+            errorListener.onError(errorObject);
+            if (IMFErrorLogger.IMFErrors.ErrorLevels.FATAL.equals(errorObject.getErrorLevel()))
+            {
+                throw new IMFFatalErrorException(errorObject);
+            }
+        };
+    }
+}
@@ -21,6 +21,7 @@ package com.netflix.imflibrary;
 import com.netflix.imflibrary.utils.ErrorLogger;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -32,19 +33,33 @@ import java.util.stream.Collectors;
 import static java.lang.Boolean.TRUE;
 
 /**
- * An non-thread-safe implementation of the IMFErrorLogger interface
+ * An non-thread-safe implementation of the IMFErrorLogger interface, see {@link ConcurrentIMFErrorLogger} for an implementation
+ * that preserves the order in which errors are added and that can be shared by validators running concurrently
  */
 @NotThreadSafe
 public final class IMFErrorLoggerImpl implements IMFErrorLogger //This is really a logging aggregator
 {
     private final Set<ErrorLogger.ErrorObject> errorObjects;
+    @Nullable
+    private final IMFErrorListener errorListener;
 
     /**
      * Instantiates a new IMF error logger impl object
      */
     public IMFErrorLoggerImpl()
+    {
+        this(null);
+    }
+
+    /**
+     * Instantiates a new IMF error logger impl object that notifies a listener of every error as soon as it is added
+     *
+     * @param errorListener - the listener to be notified of every error that was not previously added, null if none
+     */
+    public IMFErrorLoggerImpl(@Nullable IMFErrorListener errorListener)
     {
         this.errorObjects = Collections.synchronizedSet(new HashSet<ErrorLogger.ErrorObject>());
+        this.errorListener = errorListener;
     }
 
     /**
@@ -56,7 +71,7 @@ public final class IMFErrorLoggerImpl implements IMFErrorLogger //This is really
      */
     public void addError(@Nonnull IMFErrors.ErrorCodes errorCode, @Nonnull IMFErrors.ErrorLevels errorLevel, @Nonnull String errorDescription)
     {
-        this.errorObjects.add(new ErrorLogger.ErrorObject(errorCode, errorLevel, errorDescription));
+        addError(new ErrorLogger.ErrorObject(errorCode, errorLevel, errorDescription));
     }
 
     /**
@@ -66,7 +81,11 @@ public final class IMFErrorLoggerImpl implements IMFErrorLogger //This is really
      */
     public void addError(@Nonnull ErrorObject errorObject)
     {
-        this.errorObjects.add(errorObject);
+        if (this.errorObjects.add(errorObject)
+                && this.errorListener != null)
+        {
+            this.errorListener.onError(errorObject);
+        }
     }
 
     /**
@@ -76,7 +95,15 @@ public final class IMFErrorLoggerImpl implements IMFErrorLogger //This is really
      */
     public void addAllErrors(@Nonnull List<ErrorObject> errorObjects)
     {
-        this.errorObjects.addAll(errorObjects);
+        if (this.errorListener == null)
+        {
+            this.errorObjects.addAll(errorObjects);
+            return;
+        }
+        for (ErrorObject errorObject : errorObjects)
+        {
+            addError(errorObject);
+        }
     }
 
     /**
@@ -119,7 +146,7 @@ public final class IMFErrorLoggerImpl implements IMFErrorLogger //This is really
     {
         validateRangeRequest(startIndex, endIndex);
         List<ErrorObject> errors = new ArrayList<>(this.errorObjects);
-        return Collections.unmodifiableList(errors.subList(startIndex, endIndex).stream().filter(e -> e.getErrorLevel().equals(IMFErrorLogger.IMFErrors.ErrorLevels.FATAL)).collect(Collectors.toList()));
+        return Collections.unmodifiableList(errors.subList(startIndex, endIndex).stream().filter(e -> e.getErrorLevel().equals(errorLevel)).collect(Collectors.toList()));
     }
 
     /**
@@ -133,7 +160,7 @@ public final class IMFErrorLoggerImpl implements IMFErrorLogger //This is really
     }
 
     /**
-     * Getter for the list of errors in a specified range of errors filtered by the ErrorLevel monitored by this ErrorLogger implementation
+     * Getter for the list of errors in a specified range of errors filtered by the ErrorCode monitored by this ErrorLogger implementation
      * @param errorCode to be filtered
      * @param startIndex the start index (inclusive) within the list of errors
      * @param endIndex the last index (exclusive) within the list of errors
@@ -143,7 +170,7 @@ public final class IMFErrorLoggerImpl implements IMFErrorLogger //This is really
     {
         validateRangeRequest(startIndex, endIndex);
         List<ErrorObject> errors = new ArrayList<>(this.errorObjects);
-        return Collections.unmodifiableList(errors.subList(startIndex, endIndex).stream().filter(e -> e.getErrorCode().equals(IMFErrorLogger.IMFErrors.ErrorLevels.FATAL)).collect(Collectors.toList()));
+        return Collections.unmodifiableList(errors.subList(startIndex, endIndex).stream().filter(e -> e.getErrorCode().equals(errorCode)).collect(Collectors.toList()));
     }
 
     private void validateRangeRequest(int rangeStart, int rangeEnd) throws IllegalArgumentException {
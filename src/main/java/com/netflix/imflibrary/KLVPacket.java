@@ -20,6 +20,7 @@ package com.netflix.imflibrary;
 
 import com.netflix.imflibrary.exceptions.MXFException;
 import com.netflix.imflibrary.utils.ByteProvider;
+import com.netflix.imflibrary.utils.StreamingByteProvider;
 
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
@@ -118,9 +119,10 @@ public final class KLVPacket
      */
     public static LengthField getLength(ByteProvider byteProvider) throws IOException
     {
+        StreamingByteProvider streamingByteProvider = StreamingByteProvider.of(byteProvider);
 
         //read one byte
-        int value = byteProvider.getBytes(1)[0];
+        int value = streamingByteProvider.readUnsignedByte();
         if ((value >> 7) == 0)
         {//MSB equals 0
             return new LengthField(value, 1);
@@ -145,9 +147,11 @@ public final class KLVPacket
                         numBytesToRead, KLVPacket.LENGTH_FIELD_SUFFIX_MAX_SIZE));
             }
 
-            byte[] byteArray = byteProvider.getBytes(numBytesToRead);
+            //the length suffix is read with a single request rather than one byte at a time
             long length = 0;
-            for (long b : byteArray)
+            byte[] suffix = new byte[numBytesToRead];
+            streamingByteProvider.readInto(suffix, 0, numBytesToRead);
+            for (byte b : suffix)
             {
                 length <<= 8;
                 length += (b & 0xFF);
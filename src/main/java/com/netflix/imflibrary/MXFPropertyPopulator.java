@@ -25,6 +25,7 @@ import com.netflix.imflibrary.st0377.header.InterchangeObject;
 import com.netflix.imflibrary.st0377.header.JPEG2000PictureComponent;
 import com.netflix.imflibrary.st0377.header.UL;
 import com.netflix.imflibrary.utils.ByteProvider;
+import com.netflix.imflibrary.utils.StreamingByteProvider;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
@@ -33,7 +34,10 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A utility class that provides methods for populating fields with MXF metadata sets
@@ -74,13 +78,13 @@ public final class MXFPropertyPopulator
     }
 
     @SuppressWarnings("PMD.NcssMethodCount")
-    private static void doPopulateField(int byteArraySize, ByteProvider byteProvider, Object object, String fieldName) throws IOException
+    private static void doPopulateField(int byteArraySize, ByteProvider mxfByteProvider, Object object, String fieldName) throws IOException
     {
+        StreamingByteProvider byteProvider = StreamingByteProvider.of(mxfByteProvider);
 
         try
         {
             Field field = getField(object.getClass(), fieldName);
-            field.setAccessible(true);
             if (field.getType() == byte[].class)
             {
                 byte[] byteArray = byteProvider.getBytes(byteArraySize);
@@ -135,7 +139,7 @@ public final class MXFPropertyPopulator
                     List<Integer> cList = new ArrayList<>();
                     for (long i=0; i<cHeader.getNumberOfElements(); i++)
                     {
-                        cList.add(getInt(byteProvider.getBytes(4), KLVPacket.BYTE_ORDER));
+                        cList.add((int)byteProvider.readUnsignedInt());
                     }
                     field.set(object, new CompoundDataTypes.MXFCollections.MXFCollection<>(cHeader, cList, fieldName));
                 }
@@ -175,43 +179,35 @@ public final class MXFPropertyPopulator
             }
             else if ((field.getType() == Long.class) && (byteArraySize == 8))
             {// long
-                byte[] byteArray = byteProvider.getBytes(byteArraySize);
-                field.set(object, getLong(byteArray, KLVPacket.BYTE_ORDER));
+                field.set(object, byteProvider.readUnsignedLong());
             }
             else if ((field.getType() == Long.class) && (byteArraySize == 4))
             {// unsigned int
-                byte[] byteArray = byteProvider.getBytes(byteArraySize);
-                field.set(object, getUnsignedIntAsLong(byteArray, KLVPacket.BYTE_ORDER));
+                field.set(object, byteProvider.readUnsignedInt());
             }
             else if ((field.getType() == Integer.class) && (byteArraySize == 4))
             {//signed int
-                byte[] byteArray = byteProvider.getBytes(byteArraySize);
-                field.set(object, getInt(byteArray, KLVPacket.BYTE_ORDER));
+                field.set(object, (int)byteProvider.readUnsignedInt());
             }
             else if ((field.getType() == Integer.class) && (byteArraySize == 2))
             {//unsigned short
-                byte[] byteArray = byteProvider.getBytes(byteArraySize);
-                field.set(object, getUnsignedShortAsInt(byteArray, KLVPacket.BYTE_ORDER));
+                field.set(object, byteProvider.readUnsignedShort());
             }
             else if ((field.getType() == Short.class) && (byteArraySize == 2))
             {//signed short
-                byte[] byteArray = byteProvider.getBytes(byteArraySize);
-                field.set(object, getShort(byteArray, KLVPacket.BYTE_ORDER));
+                field.set(object, (short)byteProvider.readUnsignedShort());
             }
             else if ((field.getType() == Short.class) && (byteArraySize == 1))
             {//unsigned byte
-                byte[] byteArray = byteProvider.getBytes(byteArraySize);
-                field.set(object, getUnsignedByteAsShort(byteArray));
+                field.set(object, (short)byteProvider.readUnsignedByte());
             }
             else if ((field.getType() == Byte.class) && (byteArraySize == 1))
             {//signed byte
-                byte[] byteArray = byteProvider.getBytes(byteArraySize);
-                field.set(object, getByte(byteArray));
+                field.set(object, (byte)byteProvider.readUnsignedByte());
             }
             else if ((field.getType() == Boolean.class) && (byteArraySize == 1))
             {//boolean byte
-                byte[] byteArray = byteProvider.getBytes(byteArraySize);
-                field.set(object, getBooleanFromByte(byteArray));
+                field.set(object, byteProvider.readUnsignedByte() != 0);
             }
             else
             {
@@ -444,23 +440,65 @@ public final class MXFPropertyPopulator
 
     private static Field getField(Class aClass, String fieldName) throws NoSuchFieldException
     {
-        try
+        Field field = FIELDS.get(aClass).get(fieldName);
+        if (field == null)
         {
-            return aClass.getDeclaredField(fieldName);
+            throw new NoSuchFieldException(fieldName);
         }
-        catch (NoSuchFieldException e)
+        return field;
+    }
+
+    /**
+     * The accessible fields of a class and of its superclasses by name, where a field declared by a class hides the fields
+     * of the same name declared by its superclasses. The fields are resolved once per class instead of once per value read
+     * from a MXF metadata set.
+     */
+    private static final ClassValue<Map<String, Field>> FIELDS = new ClassValue<Map<String, Field>>()
+    {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> aClass)
         {
-            Class superClass = aClass.getSuperclass();
-            if (superClass == null)
+            Map<String, Field> fields = new HashMap<>();
+            for (Class<?> clazz = aClass; clazz != null; clazz = clazz.getSuperclass())
             {
-                throw e;
+                for (Field field : clazz.getDeclaredFields())
+                {
+                    if (!fields.containsKey(field.getName()))
+                    {
+                        field.setAccessible(true);
+                        fields.put(field.getName(), field);
+                    }
+                }
             }
-            else
+            return Collections.unmodifiableMap(fields);
+        }
+    };
+
+    /**
+     * The accessible fields of a class and of its superclasses that are annotated as MXF properties that other MXF metadata
+     * sets depend on, in the order in which they were discovered by a walk of the class hierarchy from the class itself
+     */
+    private static final ClassValue<List<Field>> DEPENDENT_FIELDS = new ClassValue<List<Field>>()
+    {
+        @Override
+        protected List<Field> computeValue(Class<?> aClass)
+        {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> clazz = aClass; clazz != null; clazz = clazz.getSuperclass())
             {
-                return getField(superClass, fieldName);
+                for (Field field : clazz.getDeclaredFields())
+                {
+                    if (field.isAnnotationPresent(MXFProperty.class)
+                            && field.getAnnotation(MXFProperty.class).depends())
+                    {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
             }
+            return Collections.unmodifiableList(fields);
         }
-    }
+    };
 
     /**
      * Gets a list of UIDs that the Metadata set depends on
@@ -471,65 +509,49 @@ public final class MXFPropertyPopulator
     public static List<MXFUID> getDependentUIDs(InterchangeObject.InterchangeObjectBO interchangeObjectBO)
     {
         List<MXFUID> dependentUIDs = new ArrayList<>();
-        Class aClass = interchangeObjectBO.getClass();
-        while (aClass != null)
+        for (Field field : DEPENDENT_FIELDS.get(interchangeObjectBO.getClass()))
         {
-            Field[] fields = aClass.getDeclaredFields();
-            for (Field field : fields)
+            try
             {
-                field.setAccessible(true);
-                if (field.isAnnotationPresent(MXFProperty.class))
+                Object object = field.get(interchangeObjectBO);
+                if (object != null)
                 {
-                    boolean depends = field.getAnnotation(MXFProperty.class).depends();
-                    if (depends)
+                    if (object instanceof CompoundDataTypes.MXFCollections.MXFCollection)
                     {
-                        try
-                        {
-                            Object object = field.get(interchangeObjectBO);
-                            if (object != null)
-                            {
-                                if (object instanceof CompoundDataTypes.MXFCollections.MXFCollection)
-                                {
-                                    CompoundDataTypes.MXFCollections.MXFCollection<Object> collection = (CompoundDataTypes.MXFCollections.MXFCollection<Object>) object;
-                                    if(collection.getEntries().get(0) instanceof InterchangeObject.InterchangeObjectBO.StrongRef) {
-                                        CompoundDataTypes.MXFCollections.MXFCollection<InterchangeObject.InterchangeObjectBO.StrongRef> collectionStrongRefs = (CompoundDataTypes.MXFCollections.MXFCollection<InterchangeObject.InterchangeObjectBO.StrongRef>) object;
-                                        for (InterchangeObject.InterchangeObjectBO.StrongRef entry : collectionStrongRefs.getEntries()) {
-                                            dependentUIDs.add(entry.getInstanceUID());
-                                        }
-                                    }
-                                    else if(collection.getEntries().get(0) instanceof UL){
-                                        CompoundDataTypes.MXFCollections.MXFCollection<UL> collectionULs = (CompoundDataTypes.MXFCollections.MXFCollection<UL>) object;
-                                        for (UL entry : collectionULs.getEntries()) {
-                                            dependentUIDs.add(entry.getULAsMXFUid());
-                                        }
-                                    }
-                                }
-                                else if(object instanceof InterchangeObject.InterchangeObjectBO.StrongRef){
-                                    InterchangeObject.InterchangeObjectBO.StrongRef strongRef = (InterchangeObject.InterchangeObjectBO.StrongRef) object;
-                                    dependentUIDs.add(strongRef.getInstanceUID());
-                                }
-                                else if(object instanceof UL){
-                                    UL ul = (UL)object;
-                                    dependentUIDs.add(ul.getULAsMXFUid());
-                                }
-                                else
-                                {
-                                    byte[] bytes = (byte[]) object;
-                                    dependentUIDs.add(new MXFUID(bytes));
-                                }
+                        CompoundDataTypes.MXFCollections.MXFCollection<Object> collection = (CompoundDataTypes.MXFCollections.MXFCollection<Object>) object;
+                        if(collection.getEntries().get(0) instanceof InterchangeObject.InterchangeObjectBO.StrongRef) {
+                            CompoundDataTypes.MXFCollections.MXFCollection<InterchangeObject.InterchangeObjectBO.StrongRef> collectionStrongRefs = (CompoundDataTypes.MXFCollections.MXFCollection<InterchangeObject.InterchangeObjectBO.StrongRef>) object;
+                            for (InterchangeObject.InterchangeObjectBO.StrongRef entry : collectionStrongRefs.getEntries()) {
+                                dependentUIDs.add(entry.getInstanceUID());
                             }
-
                         }
-                        catch(IllegalAccessException e)
-                        {
-                            throw new MXFException(e);
+                        else if(collection.getEntries().get(0) instanceof UL){
+                            CompoundDataTypes.MXFCollections.MXFCollection<UL> collectionULs = (CompoundDataTypes.MXFCollections.MXFCollection<UL>) object;
+                            for (UL entry : collectionULs.getEntries()) {
+                                dependentUIDs.add(entry.getULAsMXFUid());
+                            }
                         }
-
+                    }
+                    else if(object instanceof InterchangeObject.InterchangeObjectBO.StrongRef){
+                        InterchangeObject.InterchangeObjectBO.StrongRef strongRef = (InterchangeObject.InterchangeObjectBO.StrongRef) object;
+                        dependentUIDs.add(strongRef.getInstanceUID());
+                    }
+                    else if(object instanceof UL){
+                        UL ul = (UL)object;
+                        dependentUIDs.add(ul.getULAsMXFUid());
+                    }
+                    else
+                    {
+                        byte[] bytes = (byte[]) object;
+                        dependentUIDs.add(new MXFUID(bytes));
                     }
                 }
-            }
 
-            aClass = aClass.getSuperclass();
+            }
+            catch(IllegalAccessException e)
+            {
+                throw new MXFException(e);
+            }
         }
 
         return dependentUIDs;
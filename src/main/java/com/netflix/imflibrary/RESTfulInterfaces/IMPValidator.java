@@ -1,11 +1,13 @@
 package com.netflix.imflibrary.RESTfulInterfaces;
 
 import com.netflix.imflibrary.IMFConstraints;
+import com.netflix.imflibrary.IMFErrorListener;
 import com.netflix.imflibrary.IMFErrorLogger;
 import com.netflix.imflibrary.IMFErrorLoggerImpl;
 import com.netflix.imflibrary.KLVPacket;
 import com.netflix.imflibrary.MXFOperationalPattern1A;
 import com.netflix.imflibrary.exceptions.IMFException;
+import com.netflix.imflibrary.exceptions.IMFFatalErrorException;
 import com.netflix.imflibrary.exceptions.MXFException;
 import com.netflix.imflibrary.st0377.HeaderPartition;
 import com.netflix.imflibrary.st0377.IndexTableSegment;
@@ -21,6 +23,7 @@ import com.netflix.imflibrary.st2067_2.ApplicationComposition;
 import com.netflix.imflibrary.st2067_2.ApplicationCompositionFactory;
 import com.netflix.imflibrary.st2067_2.Composition;
 import com.netflix.imflibrary.st2067_2.Composition.VirtualTrack;
+import com.netflix.imflibrary.st2067_2.EssenceDescriptorCache;
 import com.netflix.imflibrary.st2067_2.IMFEssenceComponentVirtualTrack;
 import com.netflix.imflibrary.utils.ByteArrayByteRangeProvider;
 import com.netflix.imflibrary.utils.ByteArrayDataProvider;
@@ -272,7 +275,21 @@ public class IMPValidator {
      * @throws IOException - any I/O related error is exposed through an IOException
      */
     public static List<ErrorLogger.ErrorObject> validateCPL(PayloadRecord cpl) throws IOException{
-        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        return validateCPL(cpl, null);
+    }
+
+    /**
+     * A stateless method that will validate an IMF Composition document, and notify a listener of every error as soon as it
+     * is encountered
+     * @param cpl - a payload record for a Composition document
+     * @param errorListener - a listener to be notified of every error as soon as it is encountered, null if none. A fail-fast
+     *                      listener (see {@link IMFErrorListener#failFast(IMFErrorListener)}) aborts the validation on the
+     *                      first fatal error
+     * @return list of error messages encountered while validating the Composition document
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static List<ErrorLogger.ErrorObject> validateCPL(PayloadRecord cpl, @Nullable IMFErrorListener errorListener) throws IOException{
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl(errorListener);
         if(cpl.getPayloadAssetType() != PayloadRecord.PayloadAssetType.CompositionPlaylist){
             throw new IMFException(String.format("Payload asset type is %s, expected asset type %s", cpl
                     .getPayloadAssetType(), PayloadRecord.PayloadAssetType.CompositionPlaylist.toString()));
@@ -285,6 +302,10 @@ public class IMPValidator {
         {
             imfErrorLogger.addAllErrors(e.getErrors());
         }
+        catch(IMFFatalErrorException e)
+        {
+            //Fail-fast mode, the errors recorded until the first fatal error are returned
+        }
         return imfErrorLogger.getErrors();
     }
 
@@ -325,6 +346,25 @@ public class IMPValidator {
     public static List<ErrorLogger.ErrorObject> isVirtualTrackInCPLConformed(PayloadRecord cplPayloadRecord,
                                                                              VirtualTrack virtualTrack,
                                                                              List<PayloadRecord> essencesHeaderPartitionPayloads) throws IOException
+    {
+        return isVirtualTrackInCPLConformed(cplPayloadRecord, virtualTrack, essencesHeaderPartitionPayloads, new EssenceDescriptorCache());
+    }
+
+    /**
+     * A stateless method that can be used to determine if a Virtual Track in a Composition is conformant, the EssenceDescriptors
+     * of the IMF Track files are obtained from a cache that can be shared with the other Compositions of an IMF package
+     * @param cplPayloadRecord a payload record corresponding to the Composition payload
+     * @param virtualTrack that needs to be conformed in the Composition
+     * @param essencesHeaderPartitionPayloads list of payload records containing the raw bytes of the HeaderPartitions of the IMF Track files that are a part of
+     *                                        the Virtual Track to be conformed
+     * @param essenceDescriptorCache a cache of the EssenceDescriptors of the IMF Track files
+     * @return list of error messages encountered while performing conformance validation of the Composition document
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static List<ErrorLogger.ErrorObject> isVirtualTrackInCPLConformed(PayloadRecord cplPayloadRecord,
+                                                                             VirtualTrack virtualTrack,
+                                                                             List<PayloadRecord> essencesHeaderPartitionPayloads,
+                                                                             EssenceDescriptorCache essenceDescriptorCache) throws IOException
     {
         List<VirtualTrack> virtualTracks = new ArrayList<>();
         IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
@@ -335,7 +375,7 @@ public class IMPValidator {
             return imfErrorLogger.getErrors();
         }
         imfErrorLogger.addAllErrors(conformVirtualTracksInCPL(cplPayloadRecord, essencesHeaderPartitionPayloads,
-                false));
+                false, essenceDescriptorCache));
 
         return imfErrorLogger.getErrors();
     }
@@ -352,6 +392,22 @@ public class IMPValidator {
     public static List<ErrorLogger.ErrorObject> areAllVirtualTracksInCPLConformed(
             PayloadRecord cplPayloadRecord,
             List<PayloadRecord> essencesHeaderPartitionPayloads) throws IOException {
+        return areAllVirtualTracksInCPLConformed(cplPayloadRecord, essencesHeaderPartitionPayloads, new EssenceDescriptorCache());
+    }
+
+    /**
+     * A stateless method that can be used to determine if a Composition is conformant, the EssenceDescriptors of the IMF
+     * Track files are obtained from a cache that can be shared with the other Compositions of an IMF package
+     * @param cplPayloadRecord a payload record corresponding to the Composition payload
+     * @param essencesHeaderPartitionPayloads list of payload records containing the raw bytes of the HeaderPartitions of the IMF Track files that are a part of the Virtual Track/s in the Composition
+     * @param essenceDescriptorCache a cache of the EssenceDescriptors of the IMF Track files
+     * @return list of error messages encountered while performing conformance validation of the Composition document
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static List<ErrorLogger.ErrorObject> areAllVirtualTracksInCPLConformed(
+            PayloadRecord cplPayloadRecord,
+            List<PayloadRecord> essencesHeaderPartitionPayloads,
+            EssenceDescriptorCache essenceDescriptorCache) throws IOException {
 
         IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
         ApplicationComposition applicationComposition = ApplicationCompositionFactory.getApplicationComposition(new ByteArrayByteRangeProvider(cplPayloadRecord.getPayload()), imfErrorLogger);
@@ -366,7 +422,7 @@ public class IMPValidator {
             return imfErrorLogger.getErrors();
         }
         imfErrorLogger.addAllErrors(conformVirtualTracksInCPL(cplPayloadRecord, essencesHeaderPartitionPayloads,
-                true));
+                true, essenceDescriptorCache));
 
         return imfErrorLogger.getErrors();
     }
@@ -374,6 +430,24 @@ public class IMPValidator {
     public static List<ErrorLogger.ErrorObject> conformVirtualTracksInCPL(PayloadRecord cplPayloadRecord,
         List<PayloadRecord> essencesHeaderPartitionPayloads,boolean conformAllVirtualTracks) throws IOException
     {
+        return conformVirtualTracksInCPL(cplPayloadRecord, essencesHeaderPartitionPayloads, conformAllVirtualTracks, new EssenceDescriptorCache());
+    }
+
+    /**
+     * A stateless method that can be used to determine if the Virtual Tracks in a Composition are conformant, the
+     * EssenceDescriptors of the IMF Track files are obtained from a cache that can be shared with the other Compositions
+     * of an IMF package
+     * @param cplPayloadRecord a payload record corresponding to the Composition payload
+     * @param essencesHeaderPartitionPayloads list of payload records containing the raw bytes of the HeaderPartitions of the IMF Track files
+     * @param conformAllVirtualTracks a boolean that turns on/off conforming all the VirtualTracks in the Composition
+     * @param essenceDescriptorCache a cache of the EssenceDescriptors of the IMF Track files
+     * @return list of error messages encountered while performing conformance validation of the Composition document
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static List<ErrorLogger.ErrorObject> conformVirtualTracksInCPL(PayloadRecord cplPayloadRecord,
+        List<PayloadRecord> essencesHeaderPartitionPayloads, boolean conformAllVirtualTracks,
+        EssenceDescriptorCache essenceDescriptorCache) throws IOException
+    {
 
         IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
         List<PayloadRecord> essencesHeaderPartition = Collections.unmodifiableList(essencesHeaderPartitionPayloads);
@@ -413,7 +487,7 @@ public class IMPValidator {
             }
 
             imfErrorLogger.addAllErrors(applicationComposition.conformVirtualTracksInComposition(Collections.unmodifiableList
-                    (headerPartitionTuples), conformAllVirtualTracks));
+                    (headerPartitionTuples), conformAllVirtualTracks, essenceDescriptorCache));
 
             imfErrorLogger.addAllErrors(applicationComposition.getErrors());
         }
@@ -573,7 +647,32 @@ public class IMPValidator {
      * @throws IOException - any I/O related error is exposed through an IOException
      */
     public static List<ErrorLogger.ErrorObject> validateIMFTrackFileHeaderMetadata(List<PayloadRecord> essencesHeaderPartitionPayloads) throws IOException {
-        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        return validateIMFTrackFileHeaderMetadata(essencesHeaderPartitionPayloads, (IMFErrorListener) null);
+    }
+
+    /**
+     * A stateless method that validates an IMFEssenceComponent's header partition and verifies MXF OP1A and IMF compliance,
+     * and notifies a listener of every error as soon as it is encountered
+     * @param essencesHeaderPartitionPayloads - a list of IMF Essence Component header partition payloads
+     * @param errorListener - a listener to be notified of every error as soon as it is encountered, null if none. A fail-fast
+     *                      listener (see {@link IMFErrorListener#failFast(IMFErrorListener)}) aborts the validation on the
+     *                      first fatal error
+     * @return a list of errors encountered while performing compliance checks on the IMF Essence Component Header partition
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static List<ErrorLogger.ErrorObject> validateIMFTrackFileHeaderMetadata(List<PayloadRecord> essencesHeaderPartitionPayloads,
+                                                                                   @Nullable IMFErrorListener errorListener) throws IOException {
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl(errorListener);
+        try {
+            validateIMFTrackFileHeaderMetadata(essencesHeaderPartitionPayloads, imfErrorLogger);
+        }
+        catch (IMFFatalErrorException e) {
+            //Fail-fast mode, the errors recorded until the first fatal error are returned
+        }
+        return imfErrorLogger.getErrors();
+    }
+
+    private static void validateIMFTrackFileHeaderMetadata(List<PayloadRecord> essencesHeaderPartitionPayloads, IMFErrorLogger imfErrorLogger) throws IOException {
         List<PayloadRecord> essencesHeaderPartition = Collections.unmodifiableList(essencesHeaderPartitionPayloads);
         for(PayloadRecord payloadRecord : essencesHeaderPartition){
             if(payloadRecord.getPayloadAssetType() != PayloadRecord.PayloadAssetType.EssencePartition){
@@ -613,7 +712,6 @@ public class IMPValidator {
                 }
             }
         }
-        return imfErrorLogger.getErrors();
     }
 
     /**
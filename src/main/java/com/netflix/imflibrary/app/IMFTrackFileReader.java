@@ -22,6 +22,7 @@ import com.netflix.imflibrary.*;
 import com.netflix.imflibrary.exceptions.IMFException;
 import com.netflix.imflibrary.exceptions.MXFException;
 import com.netflix.imflibrary.st0377.HeaderPartition;
+import com.netflix.imflibrary.st0377.EssenceIndex;
 import com.netflix.imflibrary.st0377.IndexTableSegment;
 import com.netflix.imflibrary.st0377.PartitionPack;
 import com.netflix.imflibrary.st0377.RandomIndexPack;
@@ -32,11 +33,13 @@ import com.netflix.imflibrary.st0377.header.GenericPackage;
 import com.netflix.imflibrary.st0377.header.InterchangeObject;
 import com.netflix.imflibrary.st0377.header.Preface;
 import com.netflix.imflibrary.st0377.header.SourcePackage;
-import com.netflix.imflibrary.utils.ByteArrayDataProvider;
+import com.netflix.imflibrary.utils.ByteBufferDataProvider;
 import com.netflix.imflibrary.utils.ByteProvider;
+import com.netflix.imflibrary.utils.CachingResourceByteRangeProvider;
 import com.netflix.imflibrary.utils.ErrorLogger;
-import com.netflix.imflibrary.utils.FileByteRangeProvider;
-import com.netflix.imflibrary.utils.FileDataProvider;
+import com.netflix.imflibrary.utils.FileChannelByteRangeProvider;
+import com.netflix.imflibrary.utils.MXFReadPlanner;
+import com.netflix.imflibrary.utils.ResourceByteRangeDataProvider;
 import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
 import com.netflix.imflibrary.utils.Utilities;
 import org.slf4j.Logger;
@@ -54,8 +57,6 @@ import java.io.File;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -64,25 +65,35 @@ import java.util.*;
 @ThreadSafe
 final class IMFTrackFileReader
 {
-    private final File workingDirectory;
     private final ResourceByteRangeProvider resourceByteRangeProvider;
     private volatile RandomIndexPack randomIndexPack = null;
     private volatile List<PartitionPack> partitionPacks = null;
     private volatile List<PartitionPack> referencedPartitionPacks = null;
     private volatile IMFConstraints.HeaderPartitionIMF headerPartition;
     private volatile List<IndexTableSegment> indexTableSegments = null;
+    private volatile EssenceIndex essenceIndex = null;
 
 
     private static final Logger logger = LoggerFactory.getLogger(IMFTrackFileReader.class);
 
     /**
-     * Lazily creates a model instance corresponding to a st2067-5 compliant MXF file
+     * Lazily creates a model instance corresponding to a st2067-5 compliant MXF file. Byte ranges of the MXF file are
+     * read into memory, hence the working directory is not used for reading the MXF file.
      * @param workingDirectory the working directory
      * @param resourceByteRangeProvider the MXF file represented as a {@link com.netflix.imflibrary.utils.ResourceByteRangeProvider}
      */
     IMFTrackFileReader(File workingDirectory, ResourceByteRangeProvider resourceByteRangeProvider)
     {
-        this.workingDirectory = workingDirectory;
+        this(resourceByteRangeProvider);
+    }
+
+    /**
+     * Lazily creates a model instance corresponding to a st2067-5 compliant MXF file. Byte ranges of the MXF file are
+     * read into memory, so that readers of several MXF files can share a working directory.
+     * @param resourceByteRangeProvider the MXF file represented as a {@link com.netflix.imflibrary.utils.ResourceByteRangeProvider}
+     */
+    IMFTrackFileReader(ResourceByteRangeProvider resourceByteRangeProvider)
+    {
         this.resourceByteRangeProvider = resourceByteRangeProvider;
     }
 
@@ -91,9 +102,17 @@ final class IMFTrackFileReader
         if (this.headerPartition == null)
         {
             RandomIndexPack randomIndexPack = getRandomIndexPack(imfErrorLogger);
+            long headerMetadataEnd = new MXFReadPlanner(this.resourceByteRangeProvider).prefetchHeaderMetadata();
             List<Long> allPartitionByteOffsets = randomIndexPack.getAllPartitionByteOffsets();
+            long inclusiveRangeStart = allPartitionByteOffsets.get(0);
+            long inclusiveRangeEnd = allPartitionByteOffsets.get(1) - 1;
+            //read the header metadata only, rather than any essence or index table segments that follow it in the header partition
+            if (headerMetadataEnd > inclusiveRangeStart && headerMetadataEnd - 1 < inclusiveRangeEnd)
+            {
+                inclusiveRangeEnd = headerMetadataEnd - 1;
+            }
             try {
-                setHeaderPartitionIMF(allPartitionByteOffsets.get(0), allPartitionByteOffsets.get(1) - 1, imfErrorLogger);
+                setHeaderPartitionIMF(inclusiveRangeStart, inclusiveRangeEnd, imfErrorLogger);
             }
             catch (IMFException e){
                 throw new IMFException(String.format("Could not set Header Partition"), imfErrorLogger);
@@ -116,8 +135,7 @@ final class IMFTrackFileReader
 
     private void setHeaderPartitionIMF(long inclusiveRangeStart, long inclusiveRangeEnd, @Nonnull IMFErrorLogger imfErrorLogger) throws IOException
     {
-        File fileWithHeaderPartition = this.resourceByteRangeProvider.getByteRange(inclusiveRangeStart, inclusiveRangeEnd, this.workingDirectory);
-        ByteProvider byteProvider = this.getByteProvider(fileWithHeaderPartition);
+        ByteProvider byteProvider = this.getByteProvider(inclusiveRangeStart, inclusiveRangeEnd);
         HeaderPartition headerPartition = null;
         try {
             headerPartition = new HeaderPartition(byteProvider, inclusiveRangeStart, inclusiveRangeEnd - inclusiveRangeStart + 1, imfErrorLogger);
@@ -184,8 +202,7 @@ final class IMFTrackFileReader
                     (KLVPacket.KEY_FIELD_SIZE + KLVPacket.LENGTH_FIELD_SUFFIX_MAX_SIZE) -1;
             rangeEnd = rangeEnd < (archiveFileSize - 1) ? rangeEnd : (archiveFileSize - 1);
 
-            File fileWithPartitionPackKLVPacketHeader = this.resourceByteRangeProvider.getByteRange(inclusivePartitionStart, rangeEnd, this.workingDirectory);
-            ByteProvider byteProvider = this.getByteProvider(fileWithPartitionPackKLVPacketHeader);
+            ByteProvider byteProvider = this.getByteProvider(inclusivePartitionStart, rangeEnd);
             header = new KLVPacket.Header(byteProvider, inclusivePartitionStart);
         }
 
@@ -196,8 +213,7 @@ final class IMFTrackFileReader
                     (KLVPacket.KEY_FIELD_SIZE + header.getLSize() + header.getVSize()) -1;
             rangeEnd = rangeEnd < (archiveFileSize - 1) ? rangeEnd : (archiveFileSize - 1);
 
-            File fileWithPartitionPack = this.resourceByteRangeProvider.getByteRange(inclusivePartitionStart, rangeEnd, this.workingDirectory);
-            ByteProvider byteProvider = this.getByteProvider(fileWithPartitionPack);
+            ByteProvider byteProvider = this.getByteProvider(inclusivePartitionStart, rangeEnd);
             partitionPack = new PartitionPack(byteProvider, inclusivePartitionStart, false);
         }
 
@@ -208,8 +224,7 @@ final class IMFTrackFileReader
             long rangeEnd = inclusivePartitionEnd;
             rangeEnd = rangeEnd < (archiveFileSize - 1) ? rangeEnd : (archiveFileSize - 1);
 
-            File fileWithPartition = this.resourceByteRangeProvider.getByteRange(inclusivePartitionStart, rangeEnd, this.workingDirectory);
-            ByteProvider byteProvider = this.getByteProvider(fileWithPartition);
+            ByteProvider byteProvider = this.getByteProvider(inclusivePartitionStart, rangeEnd);
 
             long numBytesToRead = rangeEnd - inclusivePartitionStart + 1;
             long numBytesRead = 0;
@@ -235,6 +250,26 @@ final class IMFTrackFileReader
         return indexTableSegments;
     }
 
+    /**
+     * Returns an index that resolves edit units of the essence in this MXF file to byte ranges of the file
+     * @param imfErrorLogger an error logger for recording any errors - cannot be null
+     * @return a {@link com.netflix.imflibrary.st0377.EssenceIndex} built from the index table segments and the partitions of the file
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    EssenceIndex getEssenceIndex(@Nonnull IMFErrorLogger imfErrorLogger) throws IOException
+    {
+        if (this.essenceIndex == null)
+        {
+            setEssenceIndex(imfErrorLogger);
+        }
+        return this.essenceIndex;
+    }
+
+    private void setEssenceIndex(@Nonnull IMFErrorLogger imfErrorLogger) throws IOException
+    {
+        this.essenceIndex = new EssenceIndex(this.resourceByteRangeProvider, getPartitionPacks(imfErrorLogger), getIndexTableSegments(imfErrorLogger));
+    }
+
     private List<PartitionPack> getReferencedPartitionPacks(@Nonnull IMFErrorLogger imfErrorLogger) throws IOException
     {
         if (this.referencedPartitionPacks == null)
@@ -350,8 +385,7 @@ final class IMFTrackFileReader
                     (KLVPacket.KEY_FIELD_SIZE + KLVPacket.LENGTH_FIELD_SUFFIX_MAX_SIZE) -1;
             rangeEnd = rangeEnd < (archiveFileSize - 1) ? rangeEnd : (archiveFileSize - 1);
 
-            File fileWithPartitionPackKLVPacketHeader = this.resourceByteRangeProvider.getByteRange(resourceOffset, rangeEnd, this.workingDirectory);
-            ByteProvider byteProvider = this.getByteProvider(fileWithPartitionPackKLVPacketHeader);
+            ByteProvider byteProvider = this.getByteProvider(resourceOffset, rangeEnd);
             header = new KLVPacket.Header(byteProvider, resourceOffset);
         }
 
@@ -364,8 +398,7 @@ final class IMFTrackFileReader
                     -1;
             rangeEnd = rangeEnd < (archiveFileSize - 1) ? rangeEnd : (archiveFileSize - 1);
 
-            File fileWithPartitionPack = this.resourceByteRangeProvider.getByteRange(resourceOffset, rangeEnd, this.workingDirectory);
-            ByteProvider byteProvider = this.getByteProvider(fileWithPartitionPack);
+            ByteProvider byteProvider = this.getByteProvider(resourceOffset, rangeEnd);
             partitionPack = new PartitionPack(byteProvider, resourceOffset, true);
 
         }
@@ -389,6 +422,8 @@ final class IMFTrackFileReader
 
     private void setRandomIndexPack(@Nonnull IMFErrorLogger imfErrorLogger) throws IOException
     {
+        //fetch the tail of the file speculatively, so that the RandomIndexPack size and the RandomIndexPack are served from memory
+        new MXFReadPlanner(this.resourceByteRangeProvider).prefetchTail();
 
         long archiveFileSize = this.resourceByteRangeProvider.getResourceSize();
         long randomIndexPackSize;
@@ -396,8 +431,7 @@ final class IMFTrackFileReader
             long rangeEnd = archiveFileSize - 1;
             long rangeStart = archiveFileSize - 4;
 
-            File fileWithRandomIndexPackSize = this.resourceByteRangeProvider.getByteRange(rangeStart, rangeEnd, this.workingDirectory);
-            byte[] bytes = Files.readAllBytes(Paths.get(fileWithRandomIndexPackSize.toURI()));
+            byte[] bytes = this.resourceByteRangeProvider.getByteRangeAsBytes(rangeStart, rangeEnd);
             randomIndexPackSize = (long)(ByteBuffer.wrap(bytes).getInt());
         }
         //RandomIndexPack size min value = 16 + 4 + 36 + 4
@@ -416,8 +450,7 @@ final class IMFTrackFileReader
                         randomIndexPackSize, archiveFileSize));
             }
 
-            File fileWithRandomIndexPack = this.resourceByteRangeProvider.getByteRange(rangeStart, rangeEnd, this.workingDirectory);
-            ByteProvider byteProvider = this.getByteProvider(fileWithRandomIndexPack);
+            ByteProvider byteProvider = this.getByteProvider(rangeStart, rangeEnd);
             randomIndexPack = new RandomIndexPack(byteProvider, rangeStart, randomIndexPackSize);
         }
 
@@ -532,22 +565,17 @@ final class IMFTrackFileReader
      * @throws IOException
      */
     ByteProvider getByteProvider(KLVPacket.Header header) throws IOException {
-        File file = this.resourceByteRangeProvider.getByteRange(header.getByteOffset(), header.getByteOffset() + header.getKLSize() + header.getVSize(), this.workingDirectory);
-        return this.getByteProvider(file);
+        return this.getByteProvider(header.getByteOffset(), header.getByteOffset() + header.getKLSize() + header.getVSize());
     }
 
-    private ByteProvider getByteProvider(File file) throws IOException {
+    private ByteProvider getByteProvider(long inclusiveRangeStart, long inclusiveRangeEnd) throws IOException {
         ByteProvider byteProvider;
-        Long size = file.length();
-        if(size <= 0){
-            throw new IOException(String.format("Range of bytes (%d) has to be +ve and non-zero", size));
-        }
-        if(size <= Integer.MAX_VALUE) {
-            byte[] bytes = Files.readAllBytes(Paths.get(file.toURI()));
-            byteProvider = new ByteArrayDataProvider(bytes);
+        if((inclusiveRangeEnd - inclusiveRangeStart + 1) <= Integer.MAX_VALUE) {
+            byte[] bytes = this.resourceByteRangeProvider.getByteRangeAsBytes(inclusiveRangeStart, inclusiveRangeEnd);
+            byteProvider = new ByteBufferDataProvider(bytes);
         }
         else{
-            byteProvider = new FileDataProvider(file);
+            byteProvider = new ResourceByteRangeDataProvider(this.resourceByteRangeProvider, inclusiveRangeStart, inclusiveRangeEnd);
         }
         return byteProvider;
     }
@@ -687,69 +715,72 @@ final class IMFTrackFileReader
         }
         File workingDirectory = new File(args[1]);
 
-        ResourceByteRangeProvider resourceByteRangeProvider = new FileByteRangeProvider(inputFile);
-        IMFTrackFileReader imfTrackFileReader = null;
-        IMFTrackFileCPLBuilder imfTrackFileCPLBuilder = null;
-        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
-        try {
-            imfTrackFileReader = new IMFTrackFileReader(workingDirectory, resourceByteRangeProvider);
-            imfTrackFileCPLBuilder = new IMFTrackFileCPLBuilder(workingDirectory, inputFile);
-        }
-        catch (IMFException | MXFException e){
-            if(e instanceof IMFException){
-                IMFException imfException = (IMFException)e;
-                imfErrorLogger.addAllErrors(imfException.getErrors());
-            }
-            else if(e instanceof MXFException){
-                MXFException mxfException = (MXFException)e;
-                imfErrorLogger.addAllErrors(mxfException.getErrors());
-            }
-            imfErrorLogger.addAllErrors(imfErrorLogger.getErrors());
-        }
-        Set<HeaderPartition.EssenceTypeEnum> supportedEssenceComponentTypes = new HashSet<>();
-        supportedEssenceComponentTypes.add(HeaderPartition.EssenceTypeEnum.MainImageEssence);
-        supportedEssenceComponentTypes.add(HeaderPartition.EssenceTypeEnum.MainAudioEssence);
-        supportedEssenceComponentTypes.add(HeaderPartition.EssenceTypeEnum.MarkerEssence);
-        if(imfTrackFileReader != null
-                && imfTrackFileCPLBuilder != null
-                && supportedEssenceComponentTypes.contains(imfTrackFileReader.getEssenceType(imfErrorLogger))) {
+        try (FileChannelByteRangeProvider fileChannelByteRangeProvider = new FileChannelByteRangeProvider(inputFile))
+        {
+            ResourceByteRangeProvider resourceByteRangeProvider = new CachingResourceByteRangeProvider(fileChannelByteRangeProvider);
+            IMFTrackFileReader imfTrackFileReader = null;
+            IMFTrackFileCPLBuilder imfTrackFileCPLBuilder = null;
+            IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
             try {
-                for (InterchangeObject.InterchangeObjectBO essenceDescriptor : imfTrackFileReader.getEssenceDescriptors(imfErrorLogger)) {
-                /* create dom */
-                    DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-                    DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-                    Document document = docBuilder.newDocument();
-                /*Output file containing the RegXML representation of the EssenceDescriptor*/
-                    KLVPacket.Header essenceDescriptorHeader = essenceDescriptor.getHeader();
-                    List<KLVPacket.Header> subDescriptorHeaders = imfTrackFileReader.getSubDescriptorKLVHeader(essenceDescriptor, imfErrorLogger);
-                    File outputFile = imfTrackFileCPLBuilder.getEssenceDescriptorAsXMLFile(document, essenceDescriptorHeader, subDescriptorHeaders, imfErrorLogger);
-                    logger.info(String.format("The EssenceDescriptor in the IMFTrackFile has been written to a XML document at the following location %s", outputFile.getAbsolutePath()));
+                imfTrackFileReader = new IMFTrackFileReader(workingDirectory, resourceByteRangeProvider);
+                imfTrackFileCPLBuilder = new IMFTrackFileCPLBuilder(workingDirectory, inputFile);
+            }
+            catch (IMFException | MXFException e){
+                if(e instanceof IMFException){
+                    IMFException imfException = (IMFException)e;
+                    imfErrorLogger.addAllErrors(imfException.getErrors());
+                }
+                else if(e instanceof MXFException){
+                    MXFException mxfException = (MXFException)e;
+                    imfErrorLogger.addAllErrors(mxfException.getErrors());
                 }
-            } catch (ParserConfigurationException | TransformerException e) {
-                throw new MXFException(e);
+                imfErrorLogger.addAllErrors(imfErrorLogger.getErrors());
             }
-        }
-        List<ErrorLogger.ErrorObject> errors = imfErrorLogger.getErrors();
-        if(errors.size() > 0){
-            long warningCount = errors.stream().filter(e -> e.getErrorLevel().equals(IMFErrorLogger.IMFErrors.ErrorLevels
-                    .WARNING)).count();
-            logger.info(String.format("IMFTrackFile has %d errors and %d warnings",
-                    errors.size() - warningCount, warningCount));
-            for(ErrorLogger.ErrorObject errorObject : errors){
-                if(errorObject.getErrorLevel() != IMFErrorLogger.IMFErrors.ErrorLevels.WARNING) {
-                    logger.error(errorObject.toString());
+            Set<HeaderPartition.EssenceTypeEnum> supportedEssenceComponentTypes = new HashSet<>();
+            supportedEssenceComponentTypes.add(HeaderPartition.EssenceTypeEnum.MainImageEssence);
+            supportedEssenceComponentTypes.add(HeaderPartition.EssenceTypeEnum.MainAudioEssence);
+            supportedEssenceComponentTypes.add(HeaderPartition.EssenceTypeEnum.MarkerEssence);
+            if(imfTrackFileReader != null
+                    && imfTrackFileCPLBuilder != null
+                    && supportedEssenceComponentTypes.contains(imfTrackFileReader.getEssenceType(imfErrorLogger))) {
+                try {
+                    for (InterchangeObject.InterchangeObjectBO essenceDescriptor : imfTrackFileReader.getEssenceDescriptors(imfErrorLogger)) {
+                    /* create dom */
+                        DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
+                        DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
+                        Document document = docBuilder.newDocument();
+                    /*Output file containing the RegXML representation of the EssenceDescriptor*/
+                        KLVPacket.Header essenceDescriptorHeader = essenceDescriptor.getHeader();
+                        List<KLVPacket.Header> subDescriptorHeaders = imfTrackFileReader.getSubDescriptorKLVHeader(essenceDescriptor, imfErrorLogger);
+                        File outputFile = imfTrackFileCPLBuilder.getEssenceDescriptorAsXMLFile(document, essenceDescriptorHeader, subDescriptorHeaders, imfErrorLogger);
+                        logger.info(String.format("The EssenceDescriptor in the IMFTrackFile has been written to a XML document at the following location %s", outputFile.getAbsolutePath()));
+                    }
+                } catch (ParserConfigurationException | TransformerException e) {
+                    throw new MXFException(e);
                 }
-                else if(errorObject.getErrorLevel() == IMFErrorLogger.IMFErrors.ErrorLevels.WARNING) {
-                    logger.warn(errorObject.toString());
+            }
+            List<ErrorLogger.ErrorObject> errors = imfErrorLogger.getErrors();
+            if(errors.size() > 0){
+                long warningCount = errors.stream().filter(e -> e.getErrorLevel().equals(IMFErrorLogger.IMFErrors.ErrorLevels
+                        .WARNING)).count();
+                logger.info(String.format("IMFTrackFile has %d errors and %d warnings",
+                        errors.size() - warningCount, warningCount));
+                for(ErrorLogger.ErrorObject errorObject : errors){
+                    if(errorObject.getErrorLevel() != IMFErrorLogger.IMFErrors.ErrorLevels.WARNING) {
+                        logger.error(errorObject.toString());
+                    }
+                    else if(errorObject.getErrorLevel() == IMFErrorLogger.IMFErrors.ErrorLevels.WARNING) {
+                        logger.warn(errorObject.toString());
+                    }
                 }
             }
-        }
-        else{
-            /*if(imfTrackFileReader != null
-                    && imfTrackFileCPLBuilder != null) {
-                logger.info(String.format("%n %s", imfTrackFileReader.toString()));
-            }*/
-            logger.info("No errors were detected in the IMFTrackFile");
+            else{
+                /*if(imfTrackFileReader != null
+                        && imfTrackFileCPLBuilder != null) {
+                    logger.info(String.format("%n %s", imfTrackFileReader.toString()));
+                }*/
+                logger.info("No errors were detected in the IMFTrackFile");
+            }
         }
     }
 }
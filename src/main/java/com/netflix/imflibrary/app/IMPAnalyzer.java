@@ -1,11 +1,14 @@
 package com.netflix.imflibrary.app;
 
+import com.netflix.imflibrary.ConcurrentIMFErrorLogger;
+import com.netflix.imflibrary.IMFErrorListener;
 import com.netflix.imflibrary.IMFErrorLogger;
 import com.netflix.imflibrary.IMFErrorLoggerImpl;
 import com.netflix.imflibrary.KLVPacket;
 import com.netflix.imflibrary.RESTfulInterfaces.IMPValidator;
 import com.netflix.imflibrary.RESTfulInterfaces.PayloadRecord;
 import com.netflix.imflibrary.exceptions.IMFException;
+import com.netflix.imflibrary.exceptions.IMFFatalErrorException;
 import com.netflix.imflibrary.exceptions.MXFException;
 import com.netflix.imflibrary.st0377.HeaderPartition;
 import com.netflix.imflibrary.st0377.PartitionPack;
@@ -19,12 +22,17 @@ import com.netflix.imflibrary.st2067_100.OutputProfileList;
 import com.netflix.imflibrary.st2067_2.ApplicationComposition;
 import com.netflix.imflibrary.st2067_2.ApplicationCompositionFactory;
 import com.netflix.imflibrary.st2067_2.Composition;
+import com.netflix.imflibrary.st2067_2.EssenceDescriptorCache;
 import com.netflix.imflibrary.st2067_2.IMFEssenceComponentVirtualTrack;
 import com.netflix.imflibrary.utils.ByteArrayDataProvider;
 import com.netflix.imflibrary.utils.ByteProvider;
+import com.netflix.imflibrary.utils.CachingResourceByteRangeProvider;
 import com.netflix.imflibrary.utils.ErrorLogger;
 import com.netflix.imflibrary.utils.FileByteRangeProvider;
+import com.netflix.imflibrary.utils.FileChannelByteRangeProvider;
+import com.netflix.imflibrary.utils.MXFReadPlanner;
 import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
+import com.netflix.imflibrary.utils.Utilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,11 +43,17 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static com.netflix.imflibrary.RESTfulInterfaces.IMPValidator.validateAssetMap;
@@ -141,6 +155,11 @@ public class IMPAnalyzer {
         if (partitionByteOffsets.size() >= 2) {
             rangeStart = partitionByteOffsets.get(0);
             rangeEnd = partitionByteOffsets.get(1) - 1;
+            //read the header metadata only, rather than any essence or index table segments that follow it in the header partition
+            long headerMetadataEnd = MXFReadPlanner.getHeaderMetadataEnd(resourceByteRangeProvider);
+            if (headerMetadataEnd > rangeStart && headerMetadataEnd - 1 < rangeEnd) {
+                rangeEnd = headerMetadataEnd - 1;
+            }
             byte[] headerPartitionBytes = resourceByteRangeProvider.getByteRangeAsBytes(rangeStart, rangeEnd);
             PayloadRecord headerParitionPayload = new PayloadRecord(headerPartitionBytes, PayloadRecord.PayloadAssetType.EssencePartition, rangeStart, rangeEnd);
             return headerParitionPayload;
@@ -233,14 +252,158 @@ public class IMPAnalyzer {
         return imfErrorLogger.getErrors();
     }
 
+    /**
+     * Analyzes a track file, unless the analysis of the package was aborted on a fatal error
+     *
+     * @return the outcome of the analysis, or null if the track file was skipped
+     */
+    @Nullable
+    private static TrackFileAnalysis analyzeTrackFile(File assetFile, @Nullable IMFErrorListener errorListener, AtomicBoolean aborted) throws IOException {
+        if (aborted.get()) {
+            return null;
+        }
+        //runs on the threads of the executor, the errors are reported in the order in which the reads of the track file found them
+        IMFErrorLogger trackFileErrorLogger = new ConcurrentIMFErrorLogger(errorListener);
+        PayloadRecord headerPartitionPayloadRecord = null;
+        IMFFatalErrorException fatalErrorException = null;
+
+        //a fatal error can be raised by the listener while any error is recorded, including the errors of a caught exception
+        try {
+            try (FileChannelByteRangeProvider fileChannelByteRangeProvider = new FileChannelByteRangeProvider(assetFile)) {
+                //the RandomIndexPack and the PartitionPacks are read more than once, serve the repeated reads from memory
+                CachingResourceByteRangeProvider resourceByteRangeProvider = new CachingResourceByteRangeProvider(fileChannelByteRangeProvider);
+                //fetch the RandomIndexPack and the header metadata up front, with a request each for a typical track file
+                new MXFReadPlanner(resourceByteRangeProvider).prefetch();
+                headerPartitionPayloadRecord = getHeaderPartitionPayloadRecord(resourceByteRangeProvider, trackFileErrorLogger);
+                if (headerPartitionPayloadRecord == null) {
+                    trackFileErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMP_VALIDATOR_PAYLOAD_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.FATAL,
+                            String.format("Failed to get header partition for %s", assetFile.getPath()));
+                } else {
+                    List<PayloadRecord> payloadRecords = new ArrayList<>();
+                    payloadRecords.add(headerPartitionPayloadRecord);
+                    trackFileErrorLogger.addAllErrors(IMPValidator.validateIMFTrackFileHeaderMetadata(payloadRecords));
+                }
+                List<PayloadRecord>  payloadRecords = getIndexTablePartitionPayloadRecords(resourceByteRangeProvider, trackFileErrorLogger);
+                trackFileErrorLogger.addAllErrors(IMPValidator.validateIndexTableSegments(payloadRecords));
+            } catch( MXFException e) {
+                trackFileErrorLogger.addAllErrors(e.getErrors());
+            }
+            catch( IMFException e) {
+                trackFileErrorLogger.addAllErrors(e.getErrors());
+            }
+        }
+        catch( IMFFatalErrorException e) {
+            //skip the track files whose analysis has not started yet
+            aborted.set(true);
+            fatalErrorException = e;
+        }
+
+        return new TrackFileAnalysis(assetFile.getName(), headerPartitionPayloadRecord, trackFileErrorLogger.getErrors(), fatalErrorException);
+    }
+
+    /**
+     * The outcome of the analysis of a single track file
+     */
+    private static final class TrackFileAnalysis {
+        private final String fileName;
+        @Nullable
+        private final PayloadRecord headerPartitionPayloadRecord;
+        private final List<ErrorLogger.ErrorObject> errors;
+        @Nullable
+        private final IMFFatalErrorException fatalErrorException;
+
+        private TrackFileAnalysis(String fileName, @Nullable PayloadRecord headerPartitionPayloadRecord, List<ErrorLogger.ErrorObject> errors,
+                                  @Nullable IMFFatalErrorException fatalErrorException) {
+            this.fileName = fileName;
+            this.headerPartitionPayloadRecord = headerPartitionPayloadRecord;
+            this.errors = errors;
+            this.fatalErrorException = fatalErrorException;
+        }
+    }
+
+    /**
+     * Analyzes an IMF package, one track file at a time
+     *
+     * @param rootFile the directory containing the IMF package
+     * @return a map from the names of the files in the package to the errors found in them
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
     public static Map<String, List<ErrorLogger.ErrorObject>> analyzePackage(File rootFile) throws IOException {
-        Map<String, List<ErrorLogger.ErrorObject>> errorMap = new HashMap<>();
-        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        return analyzePackage(rootFile, 1);
+    }
+
+    /**
+     * Analyzes an IMF package, analyzing up to parallelism track files concurrently
+     *
+     * @param rootFile the directory containing the IMF package
+     * @param parallelism the maximum number of track files analyzed concurrently
+     * @return a map from the names of the files in the package to the errors found in them
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static Map<String, List<ErrorLogger.ErrorObject>> analyzePackage(File rootFile, int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format("parallelism = %d should be positive", parallelism));
+        }
+        if (parallelism == 1) {
+            return analyzePackage(rootFile, (Executor) Runnable::run);
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        try {
+            return analyzePackage(rootFile, executorService);
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Analyzes an IMF package, analyzing the track files of each packing list as tasks run by the executor. The results are
+     * identical to those of a sequential analysis: the map iterates over files in the order in which they were analyzed, with
+     * track files in the order in which they appear in the packing list.
+     *
+     * @param rootFile the directory containing the IMF package
+     * @param executor the executor that runs the analysis of track files, the caller retains ownership of the executor
+     * @return a map from the names of the files in the package to the errors found in them
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static Map<String, List<ErrorLogger.ErrorObject>> analyzePackage(File rootFile, Executor executor) throws IOException {
+        return analyzePackage(rootFile, executor, null);
+    }
+
+    /**
+     * Analyzes an IMF package, analyzing the track files of each packing list as tasks run by the executor, and notifies a
+     * listener of the errors of every file as soon as they are encountered. The listener is notified concurrently by the
+     * tasks that analyze track files if the executor runs them concurrently.
+     *
+     * With a fail-fast listener (see {@link IMFErrorListener#failFast(IMFErrorListener)}) the analysis is aborted on the
+     * first fatal error, track files that were not analyzed yet are skipped, and the errors of the files that were analyzed
+     * until then are returned.
+     *
+     * @param rootFile the directory containing the IMF package
+     * @param executor the executor that runs the analysis of track files, the caller retains ownership of the executor
+     * @param errorListener a listener to be notified of every error as soon as it is encountered, null if none
+     * @return a map from the names of the files in the package to the errors found in them
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static Map<String, List<ErrorLogger.ErrorObject>> analyzePackage(File rootFile, Executor executor, @Nullable IMFErrorListener errorListener) throws IOException {
+        Map<String, List<ErrorLogger.ErrorObject>> errorMap = new LinkedHashMap<>();
+        try {
+            analyzePackage(rootFile, executor, errorListener, errorMap);
+        }
+        catch (IMFFatalErrorException e) {
+            logger.info(String.format("Analysis of IMF package %s aborted on fatal error: %s", rootFile.getName(), e.getMessage()));
+        }
+        return errorMap;
+    }
+
+    private static void analyzePackage(File rootFile, Executor executor, @Nullable IMFErrorListener errorListener,
+                                       Map<String, List<ErrorLogger.ErrorObject>> errorMap) throws IOException {
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl(errorListener);
         List<PayloadRecord> headerPartitionPayloadRecords = new ArrayList<>();
         try {
             BasicMapProfileV2MappedFileSet mapProfileV2MappedFileSet = new BasicMapProfileV2MappedFileSet(rootFile);
             imfErrorLogger.addAllErrors(mapProfileV2MappedFileSet.getErrors());
-            IMFErrorLogger assetMapErrorLogger = new IMFErrorLoggerImpl();
+            IMFErrorLogger assetMapErrorLogger = new IMFErrorLoggerImpl(errorListener);
 
             try {
 
@@ -249,59 +412,67 @@ public class IMPAnalyzer {
 
 
                 for (AssetMap.Asset packingListAsset : assetMap.getPackingListAssets()) {
-                    IMFErrorLogger packingListErrorLogger = new IMFErrorLoggerImpl();
+                    IMFErrorLogger packingListErrorLogger = new IMFErrorLoggerImpl(errorListener);
                     try {
                         PackingList packingList = new PackingList(new File(rootFile, packingListAsset.getPath().toString()));
                         packingListErrorLogger.addAllErrors(packingList.getErrors());
+                        List<FutureTask<TrackFileAnalysis>> trackFileAnalysisTasks = new ArrayList<>();
+                        AtomicBoolean aborted = new AtomicBoolean(false);
 
-                        for (PackingList.Asset asset : packingList.getAssets()) {
-                            if (asset.getType().equals(PackingList.Asset.APPLICATION_MXF_TYPE)) {
-                                URI path = assetMap.getPath(asset.getUUID());
-                                if( path == null) {
-                                    packingListErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_PKL_ERROR,
-                                            IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, String.format("Failed to get path for Asset with ID = %s", asset.getUUID().toString()));
-                                    continue;
-                                }
-                                File assetFile = new File(rootFile, assetMap.getPath(asset.getUUID()).toString());
-                                if(!assetFile.exists()) {
-                                    packingListErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_PKL_ERROR,
-                                            IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, String.format("Cannot find asset with path %s ID = %s", assetFile.getAbsolutePath(), asset.getUUID().toString
-                                                    ()));
-                                    continue;
+                        try {
+                            for (PackingList.Asset asset : packingList.getAssets()) {
+                                if (aborted.get()) {
+                                    //a track file analyzed earlier had a fatal error, for e.g., while the executor runs tasks in the calling thread
+                                    break;
                                 }
+                                if (asset.getType().equals(PackingList.Asset.APPLICATION_MXF_TYPE)) {
+                                    URI path = assetMap.getPath(asset.getUUID());
+                                    if( path == null) {
+                                        packingListErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_PKL_ERROR,
+                                                IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, String.format("Failed to get path for Asset with ID = %s", asset.getUUID().toString()));
+                                        continue;
+                                    }
+                                    File assetFile = new File(rootFile, assetMap.getPath(asset.getUUID()).toString());
+                                    if(!assetFile.exists()) {
+                                        packingListErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_PKL_ERROR,
+                                                IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, String.format("Cannot find asset with path %s ID = %s", assetFile.getAbsolutePath(), asset.getUUID().toString
+                                                        ()));
+                                        continue;
+                                    }
 
-                                ResourceByteRangeProvider resourceByteRangeProvider = new FileByteRangeProvider(assetFile);
-
-                                IMFErrorLogger trackFileErrorLogger = new IMFErrorLoggerImpl();
+                                    FutureTask<TrackFileAnalysis> trackFileAnalysisTask = new FutureTask<>(() -> analyzeTrackFile(assetFile, errorListener, aborted));
+                                    trackFileAnalysisTasks.add(trackFileAnalysisTask);
+                                    executor.execute(trackFileAnalysisTask);
+                                }
+                            }
 
-                                try {
-                                    PayloadRecord headerPartitionPayloadRecord = getHeaderPartitionPayloadRecord(resourceByteRangeProvider, trackFileErrorLogger);
-                                    if (headerPartitionPayloadRecord == null) {
-                                        trackFileErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMP_VALIDATOR_PAYLOAD_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.FATAL,
-                                                String.format("Failed to get header partition for %s", assetFile.getPath()));
-                                    } else {
-                                        List<PayloadRecord> payloadRecords = new ArrayList<>();
-                                        payloadRecords.add(headerPartitionPayloadRecord);
-                                        trackFileErrorLogger.addAllErrors(IMPValidator.validateIMFTrackFileHeaderMetadata(payloadRecords));
-                                        headerPartitionPayloadRecords.add(headerPartitionPayloadRecord);
-                                    }
-                                    List<PayloadRecord>  payloadRecords = getIndexTablePartitionPayloadRecords(resourceByteRangeProvider, trackFileErrorLogger);
-                                    trackFileErrorLogger.addAllErrors(IMPValidator.validateIndexTableSegments(payloadRecords));
-                                } catch( MXFException e) {
-                                    trackFileErrorLogger.addAllErrors(e.getErrors());
+                            //merge the results in the order of the assets in the packing list, irrespective of the order of completion
+                            for (FutureTask<TrackFileAnalysis> trackFileAnalysisTask : trackFileAnalysisTasks) {
+                                TrackFileAnalysis trackFileAnalysis = Utilities.getFutureResult(trackFileAnalysisTask, "the analysis of a track file");
+                                if (trackFileAnalysis == null) {
+                                    //skipped after a fatal error in a track file that comes later in the packing list, whose result follows
+                                    continue;
                                 }
-                                catch( IMFException e) {
-                                    trackFileErrorLogger.addAllErrors(e.getErrors());
+                                if (trackFileAnalysis.headerPartitionPayloadRecord != null) {
+                                    headerPartitionPayloadRecords.add(trackFileAnalysis.headerPartitionPayloadRecord);
                                 }
-                                finally {
-                                    errorMap.put(assetFile.getName(), trackFileErrorLogger.getErrors());
+                                errorMap.put(trackFileAnalysis.fileName, trackFileAnalysis.errors);
+                                if (trackFileAnalysis.fatalErrorException != null) {
+                                    throw trackFileAnalysis.fatalErrorException;
                                 }
                             }
                         }
+                        finally {
+                            //the executor belongs to the caller, stop the analyses that are still pending or running once this call
+                            //is over, including when a fatal error or a rejection by the executor interrupted the submission
+                            for (FutureTask<TrackFileAnalysis> trackFileAnalysisTask : trackFileAnalysisTasks) {
+                                trackFileAnalysisTask.cancel(true);
+                            }
+                        }
 
-                        List<ApplicationComposition> applicationCompositionList = analyzeApplicationCompositions( rootFile, assetMap, packingList, headerPartitionPayloadRecords, packingListErrorLogger, errorMap);
+                        List<ApplicationComposition> applicationCompositionList = analyzeApplicationCompositions( rootFile, assetMap, packingList, headerPartitionPayloadRecords, packingListErrorLogger, errorMap, errorListener);
 
-                        analyzeOutputProfileLists( rootFile, assetMap, packingList, applicationCompositionList, packingListErrorLogger, errorMap);
+                        analyzeOutputProfileLists( rootFile, assetMap, packingList, applicationCompositionList, packingListErrorLogger, errorMap, errorListener);
 
                     } catch (IMFException e) {
                         packingListErrorLogger.addAllErrors(e.getErrors());
@@ -320,9 +491,6 @@ public class IMPAnalyzer {
             imfErrorLogger.addAllErrors(e.getErrors());
             errorMap.put(rootFile.getName(), imfErrorLogger.getErrors());
         }
-
-
-        return errorMap;
     }
 
     public static List<ErrorLogger.ErrorObject> validateEssencePartition(ResourceByteRangeProvider resourceByteRangeProvider) throws IOException {
@@ -353,6 +521,16 @@ public class IMPAnalyzer {
                                                                     List<ApplicationComposition> applicationCompositionList,
                                                                     IMFErrorLogger packingListErrorLogger,
                                                                     Map<String, List<ErrorLogger.ErrorObject>> errorMap) throws IOException {
+        return analyzeOutputProfileLists(rootFile, assetMap, packingList, applicationCompositionList, packingListErrorLogger, errorMap, null);
+    }
+
+    public static List<OutputProfileList> analyzeOutputProfileLists(File rootFile,
+                                                                    AssetMap assetMap,
+                                                                    PackingList packingList,
+                                                                    List<ApplicationComposition> applicationCompositionList,
+                                                                    IMFErrorLogger packingListErrorLogger,
+                                                                    Map<String, List<ErrorLogger.ErrorObject>> errorMap,
+                                                                    @Nullable IMFErrorListener errorListener) throws IOException {
 
         List<OutputProfileList> outputProfileListTypeList = new ArrayList<>();
 
@@ -374,7 +552,7 @@ public class IMPAnalyzer {
 
                 ResourceByteRangeProvider resourceByteRangeProvider = new FileByteRangeProvider(assetFile);
                 if (OutputProfileList.isOutputProfileList(resourceByteRangeProvider)) {
-                    IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+                    IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl(errorListener);
                     try {
                         OutputProfileList outputProfileListType = OutputProfileList.getOutputProfileListType(resourceByteRangeProvider, imfErrorLogger);
                         if(outputProfileListType == null) {
@@ -411,9 +589,21 @@ public class IMPAnalyzer {
                                                   List<PayloadRecord> headerPartitionPayloadRecords,
                                                   IMFErrorLogger packingListErrorLogger,
                                                   Map<String, List<ErrorLogger.ErrorObject>> errorMap) throws IOException {
+        return analyzeApplicationCompositions(rootFile, assetMap, packingList, headerPartitionPayloadRecords, packingListErrorLogger, errorMap, null);
+    }
+
+    public static List<ApplicationComposition> analyzeApplicationCompositions( File rootFile,
+                                                  AssetMap assetMap,
+                                                  PackingList packingList,
+                                                  List<PayloadRecord> headerPartitionPayloadRecords,
+                                                  IMFErrorLogger packingListErrorLogger,
+                                                  Map<String, List<ErrorLogger.ErrorObject>> errorMap,
+                                                  @Nullable IMFErrorListener errorListener) throws IOException {
 
         Map<UUID, PayloadRecord> trackFileIDToHeaderPartitionPayLoadMap =
                 getTrackFileIdToHeaderPartitionPayLoadMap(headerPartitionPayloadRecords);
+        /*The EssenceDescriptors of a track file are shared by all the Compositions in the package that reference it*/
+        EssenceDescriptorCache essenceDescriptorCache = new EssenceDescriptorCache();
 
         List<ApplicationComposition> applicationCompositionList = new ArrayList<>();
 
@@ -435,13 +625,13 @@ public class IMPAnalyzer {
 
                 ResourceByteRangeProvider resourceByteRangeProvider = new FileByteRangeProvider(assetFile);
                 if (ApplicationComposition.isCompositionPlaylist(resourceByteRangeProvider)) {
-                    IMFErrorLogger compositionErrorLogger = new IMFErrorLoggerImpl();
-                    IMFErrorLogger compositionConformanceErrorLogger = new IMFErrorLoggerImpl();
+                    IMFErrorLogger compositionErrorLogger = new IMFErrorLoggerImpl(errorListener);
+                    IMFErrorLogger compositionConformanceErrorLogger = new IMFErrorLoggerImpl(errorListener);
                     PayloadRecord cplPayloadRecord = new PayloadRecord(resourceByteRangeProvider.getByteRangeAsBytes(0, resourceByteRangeProvider.getResourceSize() - 1),
                             PayloadRecord.PayloadAssetType.CompositionPlaylist, 0L, resourceByteRangeProvider.getResourceSize());
 
                     try {
-                        ApplicationComposition applicationComposition = ApplicationCompositionFactory.getApplicationComposition(resourceByteRangeProvider, compositionErrorLogger);
+                        ApplicationComposition applicationComposition = ApplicationCompositionFactory.getApplicationCompositionFromStream(resourceByteRangeProvider, compositionErrorLogger);
                         if(applicationComposition == null) {
                             continue;
                         }
@@ -462,9 +652,9 @@ public class IMPAnalyzer {
                                     }
 
                                     if (isVirtualTrackComplete(virtualTrack, trackFileIDsSet)) {
-                                        compositionConformanceErrorLogger.addAllErrors(IMPValidator.isVirtualTrackInCPLConformed(cplPayloadRecord, virtualTrack, trackHeaderPartitionPayloads));
+                                        compositionConformanceErrorLogger.addAllErrors(IMPValidator.isVirtualTrackInCPLConformed(cplPayloadRecord, virtualTrack, trackHeaderPartitionPayloads, essenceDescriptorCache));
                                     } else if (trackHeaderPartitionPayloads.size() != 0) {
-                                        compositionConformanceErrorLogger.addAllErrors(IMPValidator.conformVirtualTracksInCPL(cplPayloadRecord, trackHeaderPartitionPayloads, false));
+                                        compositionConformanceErrorLogger.addAllErrors(IMPValidator.conformVirtualTracksInCPL(cplPayloadRecord, trackHeaderPartitionPayloads, false, essenceDescriptorCache));
                                     }
                                 }
                             } else {
@@ -474,7 +664,7 @@ public class IMPAnalyzer {
                                         .flatMap(Set::stream)
                                         .map( e -> trackFileIDToHeaderPartitionPayLoadMap.get(e))
                                         .collect(Collectors.toList());
-                                compositionConformanceErrorLogger.addAllErrors(IMPValidator.areAllVirtualTracksInCPLConformed(cplPayloadRecord, cplHeaderPartitionPayloads));
+                                compositionConformanceErrorLogger.addAllErrors(IMPValidator.areAllVirtualTracksInCPLConformed(cplPayloadRecord, cplHeaderPartitionPayloads, essenceDescriptorCache));
                             }
                         } catch (IMFException e) {
                             compositionConformanceErrorLogger.addAllErrors(e.getErrors());
@@ -497,16 +687,20 @@ public class IMPAnalyzer {
     public static List<ErrorLogger.ErrorObject> analyzeFile(File inputFile) throws IOException {
         IMFErrorLogger errorLogger = new IMFErrorLoggerImpl();
 
-        ResourceByteRangeProvider resourceByteRangeProvider = new FileByteRangeProvider(inputFile);
-
         if(inputFile.getName().lastIndexOf('.') > 0) {
             String extension = inputFile.getName().substring(inputFile.getName().lastIndexOf('.')+1);
             if(extension.equalsIgnoreCase("mxf")) {
-                errorLogger.addAllErrors(validateEssencePartition(resourceByteRangeProvider));
+                try(FileChannelByteRangeProvider fileChannelByteRangeProvider = new FileChannelByteRangeProvider(inputFile)) {
+                    CachingResourceByteRangeProvider resourceByteRangeProvider = new CachingResourceByteRangeProvider(fileChannelByteRangeProvider);
+                    new MXFReadPlanner(resourceByteRangeProvider).prefetch();
+                    errorLogger.addAllErrors(validateEssencePartition(resourceByteRangeProvider));
+                }
                 return errorLogger.getErrors();
             }
         }
 
+        ResourceByteRangeProvider resourceByteRangeProvider = new FileByteRangeProvider(inputFile);
+
         byte[] bytes = resourceByteRangeProvider.getByteRangeAsBytes(0, resourceByteRangeProvider.getResourceSize() - 1);
         PayloadRecord payloadRecord = new PayloadRecord(bytes, PayloadRecord.PayloadAssetType.Unknown, 0L, resourceByteRangeProvider.getResourceSize());
         PayloadRecord.PayloadAssetType payloadAssetType = IMPValidator.getPayloadType(payloadRecord);
@@ -540,7 +734,7 @@ public class IMPAnalyzer {
     private static String usage() {
         StringBuilder sb = new StringBuilder();
         sb.append(String.format("Usage:%n"));
-        sb.append(String.format("%s <package_directory>%n", IMPAnalyzer.class.getName()));
+        sb.append(String.format("%s <package_directory> [<parallelism>]%n", IMPAnalyzer.class.getName()));
         sb.append(String.format("%s <cpl_file>%n", IMPAnalyzer.class.getName()));
         sb.append(String.format("%s <asset_map_file>%n", IMPAnalyzer.class.getName()));
         sb.append(String.format("%s <pkl_file>%n", IMPAnalyzer.class.getName()));
@@ -577,7 +771,7 @@ public class IMPAnalyzer {
 
     public static void main(String args[]) throws IOException
     {
-        if (args.length != 1)
+        if (args.length < 1 || args.length > 2)
         {
             logger.error(usage());
             System.exit(-1);
@@ -595,7 +789,8 @@ public class IMPAnalyzer {
             logger.info(String.format("Analyzing IMF package %s", inputFile.getName()));
             logger.info("==========================================================================");
 
-            Map<String, List<ErrorLogger.ErrorObject>> errorMap = analyzePackage(inputFile);
+            int parallelism = (args.length == 2) ? Integer.parseInt(args[1]) : 1;
+            Map<String, List<ErrorLogger.ErrorObject>> errorMap = analyzePackage(inputFile, parallelism);
             for(Map.Entry<String, List<ErrorLogger.ErrorObject>> entry: errorMap.entrySet()) {
                 if(!entry.getKey().contains(CONFORMANCE_LOGGER_PREFIX)) {
                     logErrors(entry.getKey(), entry.getValue());
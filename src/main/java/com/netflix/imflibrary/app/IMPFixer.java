@@ -21,6 +21,7 @@ import com.netflix.imflibrary.st2067_2.IMFEssenceComponentVirtualTrack;
 import com.netflix.imflibrary.utils.*;
 import com.netflix.imflibrary.writerTools.CompositionPlaylistBuilder_2016;
 import com.netflix.imflibrary.writerTools.IMPBuilder;
+import com.netflix.imflibrary.writerTools.utils.IMFHashEngine;
 import com.netflix.imflibrary.writerTools.utils.IMFUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +36,7 @@ import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.Future;
 
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
@@ -177,8 +179,55 @@ public class IMPFixer {
 
     }
 
+    /**
+     * A method that writes a new IMP for the package in rootFile. When generateHash is set the track files are hashed
+     * concurrently by an {@link IMFHashEngine} that is created for this call, with one thread per available processor,
+     * and whose thread pool is shut down before this method returns or throws. Callers that write several packages
+     * should use {@link #analyzePackageAndWrite(File, File, String, Boolean, Boolean, IMFHashEngine)} to share a
+     * single IMFHashEngine instead.
+     *
+     * @param rootFile the directory of the input package
+     * @param targetFile the directory of the output package
+     * @param versionCPLSchema the CPL schema version of the output package, or an empty string to match the input package
+     * @param copyTrackfile whether the track files are copied to the output package
+     * @param generateHash whether the hashes of the track files are generated rather than taken from the input packing list
+     * @return a list of errors encountered while writing the IMP
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     * @throws ParserConfigurationException if a DocumentBuilder cannot be created
+     * @throws SAXException - exposes any issues with instantiating a {@link javax.xml.validation.Schema Schema} object
+     * @throws JAXBException - any issues in serializing the XML document using JAXB are exposed through a JAXBException
+     * @throws URISyntaxException exposes any issues instantiating a {@link java.net.URI URI} object
+     * @throws NoSuchAlgorithmException - if no Provider supports a MessageDigestSpi implementation for the digest algorithm
+     */
     public static List<ErrorLogger.ErrorObject> analyzePackageAndWrite(File rootFile, File targetFile, String versionCPLSchema, Boolean copyTrackfile, Boolean generateHash) throws
             IOException, ParserConfigurationException, SAXException, JAXBException, URISyntaxException, NoSuchAlgorithmException {
+        //the thread pool of the engine is shut down when the engine is closed, including when the package cannot be written
+        try (IMFHashEngine hashEngine = new IMFHashEngine(Runtime.getRuntime().availableProcessors())) {
+            return analyzePackageAndWrite(rootFile, targetFile, versionCPLSchema, copyTrackfile, generateHash, hashEngine);
+        }
+    }
+
+    /**
+     * A method that writes a new IMP for the package in rootFile. When generateHash is set the track files are hashed
+     * concurrently using hashEngine, and track files that are also copied are hashed in the same read pass as the copy.
+     *
+     * @param rootFile the directory of the input package
+     * @param targetFile the directory of the output package
+     * @param versionCPLSchema the CPL schema version of the output package, or an empty string to match the input package
+     * @param copyTrackfile whether the track files are copied to the output package
+     * @param generateHash whether the hashes of the track files are generated rather than taken from the input packing list
+     * @param hashEngine the engine used to generate the hashes of the track files
+     * @return a list of errors encountered while writing the IMP
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     * @throws ParserConfigurationException if a DocumentBuilder cannot be created
+     * @throws SAXException - exposes any issues with instantiating a {@link javax.xml.validation.Schema Schema} object
+     * @throws JAXBException - any issues in serializing the XML document using JAXB are exposed through a JAXBException
+     * @throws URISyntaxException exposes any issues instantiating a {@link java.net.URI URI} object
+     * @throws NoSuchAlgorithmException - if no Provider supports a MessageDigestSpi implementation for the digest algorithm
+     */
+    public static List<ErrorLogger.ErrorObject> analyzePackageAndWrite(File rootFile, File targetFile, String versionCPLSchema, Boolean copyTrackfile, Boolean generateHash,
+                                                                       IMFHashEngine hashEngine) throws
+            IOException, ParserConfigurationException, SAXException, JAXBException, URISyntaxException, NoSuchAlgorithmException {
         IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
         List<PayloadRecord> headerPartitionPayloadRecords = new ArrayList<>();
         BasicMapProfileV2MappedFileSet mapProfileV2MappedFileSet = new BasicMapProfileV2MappedFileSet(rootFile);
@@ -186,6 +235,7 @@ public class IMPFixer {
         for (AssetMap.Asset packingListAsset : assetMap.getPackingListAssets()) {
             PackingList packingList = new PackingList(new File(rootFile, packingListAsset.getPath().toString()));
             Map<UUID, IMPBuilder.IMFTrackFileMetadata> imfTrackFileMetadataMap = new HashMap<>();
+            Map<UUID, Future<IMPBuilder.IMFTrackFileMetadata>> imfTrackFileMetadataFutureMap = new LinkedHashMap<>();
 
             for (PackingList.Asset asset : packingList.getAssets()) {
                 File assetFile = new File(rootFile, assetMap.getPath(asset.getUUID()).toString());
@@ -195,24 +245,30 @@ public class IMPFixer {
                     PayloadRecord headerPartitionPayloadRecord = getHeaderPartitionPayloadRecord(resourceByteRangeProvider, new IMFErrorLoggerImpl());
                     headerPartitionPayloadRecords.add(headerPartitionPayloadRecord);
                     byte[] bytes = headerPartitionPayloadRecord.getPayload();
-                    byte[] hash = asset.getHash();
+                    File outputFile = new File(targetFile.toString() + File.separator + assetFile.getName());
                     if( generateHash) {
-                        hash = IMFUtils.generateSHA1Hash(resourceByteRangeProvider);
+                        imfTrackFileMetadataFutureMap.put(getTrackFileId(headerPartitionPayloadRecord),
+                                hashEngine.submitTrackFile(bytes, assetFile, copyTrackfile ? outputFile : null));
                     }
-                    imfTrackFileMetadataMap.put(getTrackFileId(headerPartitionPayloadRecord),
-                            new IMPBuilder.IMFTrackFileMetadata(bytes,
-                                    hash,
-                                    CompositionPlaylistBuilder_2016.defaultHashAlgorithm,
-                                    assetFile.getName(),
-                                    resourceByteRangeProvider.getResourceSize())
-                    );
-                    if(copyTrackfile) {
-                        File outputFile = new File(targetFile.toString() + File.separator + assetFile.getName());
-                        Files.copy(assetFile.toPath(), outputFile.toPath(), REPLACE_EXISTING);
+                    else {
+                        imfTrackFileMetadataMap.put(getTrackFileId(headerPartitionPayloadRecord),
+                                new IMPBuilder.IMFTrackFileMetadata(bytes,
+                                        asset.getHash(),
+                                        CompositionPlaylistBuilder_2016.defaultHashAlgorithm,
+                                        assetFile.getName(),
+                                        resourceByteRangeProvider.getResourceSize())
+                        );
+                        if(copyTrackfile) {
+                            Files.copy(assetFile.toPath(), outputFile.toPath(), REPLACE_EXISTING);
+                        }
                     }
                 }
             }
 
+            for (Map.Entry<UUID, Future<IMPBuilder.IMFTrackFileMetadata>> entry : imfTrackFileMetadataFutureMap.entrySet()) {
+                imfTrackFileMetadataMap.put(entry.getKey(), IMFHashEngine.getResult(entry.getValue()));
+            }
+
             Map<UUID, PayloadRecord> trackFileIDToHeaderPartitionPayLoadMap =
                     getTrackFileIdToHeaderPartitionPayLoadMap(headerPartitionPayloadRecords);
 
@@ -298,6 +354,7 @@ public class IMPFixer {
         sb.append(String.format("-cs, --cpl-schema VERSION      CPL schema version for output IMP, supported values are 2013 or 2016%n"));
         sb.append(String.format("-nc, --no-copy                 don't copy track files     %n"));
         sb.append(String.format("-nh, --no-hash                 No update for trackfile hash in PKL %n"));
+        sb.append(String.format("-dc, --device-concurrency N    number of track files hashed concurrently per storage device, defaults to %d%n", IMFHashEngine.DEFAULT_DEVICE_CONCURRENCY));
 
 
         return sb.toString();
@@ -329,6 +386,7 @@ public class IMPFixer {
         String versionCPLSchema = "";
         Boolean copyTrackFile = true;
         Boolean generateHash = true;
+        int deviceConcurrency = IMFHashEngine.DEFAULT_DEVICE_CONCURRENCY;
 
         for(int argIdx = 2; argIdx < args.length; ++argIdx)
         {
@@ -348,6 +406,14 @@ public class IMPFixer {
             else if(curArg.equalsIgnoreCase("--no-hash") || curArg.equalsIgnoreCase("-nh")) {
                 generateHash = false;
             }
+            else if(curArg.equalsIgnoreCase("--device-concurrency") || curArg.equalsIgnoreCase("-dc")) {
+                if(!nextArg.matches("[1-9][0-9]*")) {
+                    logger.error(usage());
+                    System.exit(-1);
+                }
+                deviceConcurrency = Integer.parseInt(nextArg);
+                argIdx++;
+            }
             else {
                 logger.error(usage());
                 System.exit(-1);
@@ -359,7 +425,10 @@ public class IMPFixer {
         }
         else
         {
-            List<ErrorLogger.ErrorObject> errors = analyzePackageAndWrite(inputFile, outputFile, versionCPLSchema, copyTrackFile, generateHash);
+            List<ErrorLogger.ErrorObject> errors;
+            try (IMFHashEngine hashEngine = new IMFHashEngine(Runtime.getRuntime().availableProcessors(), IMFUtils.SHA1_ALGORITHM, deviceConcurrency)) {
+                errors = analyzePackageAndWrite(inputFile, outputFile, versionCPLSchema, copyTrackFile, generateHash, hashEngine);
+            }
             if (errors.size() > 0) {
                 logger.info(String.format("IMPWriter encountered errors:"));
                 for (ErrorLogger.ErrorObject errorObject : errors) {
@@ -8,14 +8,16 @@ import com.netflix.imflibrary.KLVPacket;
 import com.netflix.imflibrary.MXFOperationalPattern1A;
 import com.netflix.imflibrary.exceptions.IMFException;
 import com.netflix.imflibrary.exceptions.MXFException;
+import com.netflix.imflibrary.st0377.EssenceIndex;
 import com.netflix.imflibrary.st0377.HeaderPartition;
 import com.netflix.imflibrary.st0377.PartitionPack;
 import com.netflix.imflibrary.st0377.PrimerPack;
 import com.netflix.imflibrary.st0377.RandomIndexPack;
 import com.netflix.imflibrary.st0377.header.InterchangeObject;
-import com.netflix.imflibrary.utils.ByteArrayDataProvider;
+import com.netflix.imflibrary.utils.ByteBufferDataProvider;
 import com.netflix.imflibrary.utils.ByteProvider;
-import com.netflix.imflibrary.utils.FileDataProvider;
+import com.netflix.imflibrary.utils.MXFReadPlanner;
+import com.netflix.imflibrary.utils.ResourceByteRangeDataProvider;
 import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
 import com.netflix.imflibrary.utils.RegXMLLibHelper;
 import com.sandflow.smpte.klv.Triplet;
@@ -29,8 +31,6 @@ import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,17 +38,27 @@ public class MXFEssenceReader {
 
     private final IMFErrorLogger imfErrorLogger;
     private final ResourceByteRangeProvider resourceByteRangeProvider;
-    private final File workingDirectory;
+    private volatile EssenceIndex essenceIndex = null;
 
     /**
-     * A constructor for the MXFEssenceReader object
+     * A constructor for the MXFEssenceReader object. Byte ranges of the essence are read into memory, hence the working
+     * directory is not used for reading the essence.
      * @param workingDirectory the working directory
      * @param resourceByteRangeProvider corresponding to the MXF essence, referred to as the essence in the rest of the documentation
      */
     public MXFEssenceReader(File workingDirectory, ResourceByteRangeProvider resourceByteRangeProvider)
+    {
+        this(resourceByteRangeProvider);
+    }
+
+    /**
+     * A constructor for the MXFEssenceReader object. Byte ranges of the essence are read into memory, so that readers of
+     * several essences can share a working directory.
+     * @param resourceByteRangeProvider corresponding to the MXF essence, referred to as the essence in the rest of the documentation
+     */
+    public MXFEssenceReader(ResourceByteRangeProvider resourceByteRangeProvider)
     {
         this.imfErrorLogger = new IMFErrorLoggerImpl();
-        this.workingDirectory = workingDirectory;
         this.resourceByteRangeProvider = resourceByteRangeProvider;
 
     }
@@ -65,8 +75,7 @@ public class MXFEssenceReader {
             long rangeEnd = archiveFileSize - 1;
             long rangeStart = archiveFileSize - 4;
 
-            File fileWithRandomIndexPackSize = this.resourceByteRangeProvider.getByteRange(rangeStart, rangeEnd, this.workingDirectory);
-            byte[] bytes = Files.readAllBytes(Paths.get(fileWithRandomIndexPackSize.toURI()));
+            byte[] bytes = this.resourceByteRangeProvider.getByteRangeAsBytes(rangeStart, rangeEnd);
             randomIndexPackSize = (long)(ByteBuffer.wrap(bytes).getInt());
         }
 
@@ -80,8 +89,7 @@ public class MXFEssenceReader {
                         randomIndexPackSize, archiveFileSize));
             }
 
-            File fileWithRandomIndexPack = this.resourceByteRangeProvider.getByteRange(rangeStart, rangeEnd, this.workingDirectory);
-            ByteProvider byteProvider = this.getByteProvider(fileWithRandomIndexPack);
+            ByteProvider byteProvider = this.getByteProvider(rangeStart, rangeEnd);
             randomIndexPack = new RandomIndexPack(byteProvider, rangeStart, randomIndexPackSize);
         }
 
@@ -98,9 +106,14 @@ public class MXFEssenceReader {
         List<Long> allPartitionByteOffsets = randomIndexPack.getAllPartitionByteOffsets();
         long inclusiveRangeStart = allPartitionByteOffsets.get(0);
         long inclusiveRangeEnd = allPartitionByteOffsets.get(1) - 1;
+        //read the header metadata only, rather than any essence or index table segments that follow it in the header partition
+        long headerMetadataEnd = MXFReadPlanner.getHeaderMetadataEnd(this.resourceByteRangeProvider);
+        if (headerMetadataEnd > inclusiveRangeStart && headerMetadataEnd - 1 < inclusiveRangeEnd)
+        {
+            inclusiveRangeEnd = headerMetadataEnd - 1;
+        }
 
-        File fileWithHeaderPartition = this.resourceByteRangeProvider.getByteRange(inclusiveRangeStart, inclusiveRangeEnd, this.workingDirectory);
-        ByteProvider byteProvider = this.getByteProvider(fileWithHeaderPartition);
+        ByteProvider byteProvider = this.getByteProvider(inclusiveRangeStart, inclusiveRangeEnd);
         HeaderPartition headerPartition = new HeaderPartition(byteProvider, inclusiveRangeStart, inclusiveRangeEnd - inclusiveRangeStart + 1, this.imfErrorLogger);
 
         return headerPartition;
@@ -140,6 +153,22 @@ public class MXFEssenceReader {
         return partitionPacks;
     }
 
+    /**
+     * A method that returns an index that resolves edit units of the Essence to byte ranges of the MXF file, so that
+     * edit units can be located without parsing the index table segments of the Essence again. The index is built on
+     * the first call and reused by subsequent calls; it can be persisted using
+     * {@link com.netflix.imflibrary.st0377.EssenceIndex#writeTo(java.io.OutputStream)}.
+     * @return EssenceIndex built from the index table segments and the partitions of the essence
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public EssenceIndex getEssenceIndex() throws IOException {
+        if (this.essenceIndex == null)
+        {
+            this.essenceIndex = new IMFTrackFileReader(this.resourceByteRangeProvider).getEssenceIndex(this.imfErrorLogger);
+        }
+        return this.essenceIndex;
+    }
+
     /**
      * A method that returns a list of EssenceDescriptor objects referenced by the Source Packages in the Essence
      *
@@ -206,8 +235,7 @@ public class MXFEssenceReader {
                     (KLVPacket.KEY_FIELD_SIZE + KLVPacket.LENGTH_FIELD_SUFFIX_MAX_SIZE) -1;
             rangeEnd = rangeEnd < (archiveFileSize - 1) ? rangeEnd : (archiveFileSize - 1);
 
-            File fileWithPartitionPackKLVPacketHeader = this.resourceByteRangeProvider.getByteRange(resourceOffset, rangeEnd, this.workingDirectory);
-            ByteProvider byteProvider = this.getByteProvider(fileWithPartitionPackKLVPacketHeader);
+            ByteProvider byteProvider = this.getByteProvider(resourceOffset, rangeEnd);
             header = new KLVPacket.Header(byteProvider, resourceOffset);
         }
 
@@ -220,8 +248,7 @@ public class MXFEssenceReader {
                     -1;
             rangeEnd = rangeEnd < (archiveFileSize - 1) ? rangeEnd : (archiveFileSize - 1);
 
-            File fileWithPartitionPack = this.resourceByteRangeProvider.getByteRange(resourceOffset, rangeEnd, this.workingDirectory);
-            ByteProvider byteProvider = this.getByteProvider(fileWithPartitionPack);
+            ByteProvider byteProvider = this.getByteProvider(resourceOffset, rangeEnd);
             partitionPack = new PartitionPack(byteProvider, resourceOffset, true);
 
         }
@@ -260,22 +287,17 @@ public class MXFEssenceReader {
     }
 
     private ByteProvider getByteProvider(KLVPacket.Header header) throws IOException {
-        File file = this.resourceByteRangeProvider.getByteRange(header.getByteOffset(), header.getByteOffset() + header.getKLSize() + header.getVSize(), this.workingDirectory);
-        return this.getByteProvider(file);
+        return this.getByteProvider(header.getByteOffset(), header.getByteOffset() + header.getKLSize() + header.getVSize());
     }
 
-    private ByteProvider getByteProvider(File file) throws IOException {
+    private ByteProvider getByteProvider(long inclusiveRangeStart, long inclusiveRangeEnd) throws IOException {
         ByteProvider byteProvider;
-        Long size = file.length();
-        if(size <= 0){
-            throw new IOException(String.format("Range of bytes (%d) has to be +ve and non-zero", size));
-        }
-        if(size <= Integer.MAX_VALUE) {
-            byte[] bytes = Files.readAllBytes(Paths.get(file.toURI()));
-            byteProvider = new ByteArrayDataProvider(bytes);
+        if((inclusiveRangeEnd - inclusiveRangeStart + 1) <= Integer.MAX_VALUE) {
+            byte[] bytes = this.resourceByteRangeProvider.getByteRangeAsBytes(inclusiveRangeStart, inclusiveRangeEnd);
+            byteProvider = new ByteBufferDataProvider(bytes);
         }
         else{
-            byteProvider = new FileDataProvider(file);
+            byteProvider = new ResourceByteRangeDataProvider(this.resourceByteRangeProvider, inclusiveRangeStart, inclusiveRangeEnd);
         }
         return byteProvider;
     }
@@ -0,0 +1,49 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.exceptions;
+
+import com.netflix.imflibrary.utils.ErrorLogger;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Unchecked exception class that is used to abort a validation in fail-fast mode once a fatal error has been recorded.
+ * This exception intentionally does not extend IMFException or MXFException, so that it is not mistaken for a recoverable
+ * error by the validation steps it aborts.
+ */
+public class IMFFatalErrorException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+    private final ErrorLogger.ErrorObject errorObject;
+
+    public IMFFatalErrorException(@Nonnull ErrorLogger.ErrorObject errorObject)
+    {
+        super(errorObject.getErrorDescription());
+        this.errorObject = errorObject;
+    }
+
+    /**
+     * Getter for the fatal error that aborted the validation
+     * @return the fatal error object
+     */
+    public ErrorLogger.ErrorObject getErrorObject()
+    {
+        return this.errorObject;
+    }
+}
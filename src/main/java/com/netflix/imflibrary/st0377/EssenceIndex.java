@@ -0,0 +1,540 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.st0377;
+
+import com.netflix.imflibrary.KLVPacket;
+import com.netflix.imflibrary.exceptions.MXFException;
+import com.netflix.imflibrary.utils.ByteBufferDataProvider;
+import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An index that maps edit units of the essence container in an MXF file to absolute byte ranges of the file. The index is
+ * built from the IndexTable segments (st377-1:2011, section 11) of the essence container, which may index edit units of a
+ * constant size (CBE) through an edit unit byte count or of a variable size (VBE) through index entries, and from the body
+ * partitions that carry the essence container. Edit units are resolved to byte ranges in time logarithmic in the number of
+ * index table segments and partitions.
+ *
+ * The index can be written to and read from a compact binary form, so that it can be cached alongside the MXF file.
+ */
+@Immutable
+public final class EssenceIndex
+{
+    private static final int SERIALIZATION_MAGIC = 0x4d584549;
+    private static final int SERIALIZATION_VERSION = 1;
+
+    private final long editUnitCount;
+    private final long streamLength;
+    //one entry per run of edit units indexed by a single IndexTable segment
+    private final long[] runFirstEditUnits;
+    private final long[] runEditUnitByteCounts;
+    //for CBE runs the stream offset of the first edit unit, for VBE runs the index of the first edit unit in vbeStreamOffsets
+    private final long[] runStreamOffsets;
+    private final long[] vbeStreamOffsets;
+    //one entry per body partition carrying the essence container
+    private final long[] partitionStreamOffsets;
+    private final long[] partitionFileOffsets;
+    private final long[] partitionLengths;
+
+    /**
+     * Instantiates a new EssenceIndex from the IndexTable segments and partition packs of an MXF file containing a single essence
+     * container. Repeated IndexTable segments, e.g., copies in the footer partition, are ignored.
+     *
+     * @param resourceByteRangeProvider the MXF file, used to locate the start of clip wrapped CBE essence
+     * @param partitionPacks the partition packs of all the partitions in the MXF file
+     * @param indexTableSegments the IndexTable segments of all the partitions in the MXF file
+     * @throws IOException - any I/O related error is exposed through an IOException
+     * @throws MXFException when the index table segments do not describe a contiguous range of edit units of a single essence container
+     */
+    public EssenceIndex(ResourceByteRangeProvider resourceByteRangeProvider, List<PartitionPack> partitionPacks, List<IndexTableSegment> indexTableSegments)
+            throws IOException
+    {
+        Set<Long> bodySIDs = new HashSet<>();
+        for (IndexTableSegment indexTableSegment : indexTableSegments)
+        {
+            bodySIDs.add(indexTableSegment.getBodySID());
+        }
+        if (bodySIDs.size() != 1)
+        {
+            throw new MXFException(String.format("Found IndexTable segments for %d essence containers, exactly 1 is supported", bodySIDs.size()));
+        }
+        long bodySID = bodySIDs.iterator().next();
+
+        //partitions
+        List<PartitionPack> sortedPartitionPacks = new ArrayList<>(partitionPacks);
+        Collections.sort(sortedPartitionPacks, Comparator.comparingLong(PartitionPack::getPartitionByteOffset));
+        List<long[]> partitions = new ArrayList<>();
+        for (int i=0; i<sortedPartitionPacks.size(); i++)
+        {
+            PartitionPack partitionPack = sortedPartitionPacks.get(i);
+            if (!partitionPack.hasEssenceContainer() || (partitionPack.getBodySID() != bodySID))
+            {
+                continue;
+            }
+            long essenceStart = partitionPack.getPartitionDataByteOffset() + partitionPack.getHeaderByteCount() + partitionPack.getIndexByteCount();
+            long essenceEnd = (i + 1 < sortedPartitionPacks.size()) ?
+                    sortedPartitionPacks.get(i + 1).getPartitionByteOffset() : resourceByteRangeProvider.getResourceSize();
+            partitions.add(new long[]{partitionPack.getEssenceStreamSegmentStartStreamPosition(), essenceStart, Math.max(0L, essenceEnd - essenceStart)});
+        }
+        if (partitions.isEmpty())
+        {
+            throw new MXFException(String.format("No partition contains the essence container with body SID = %d", bodySID));
+        }
+        Collections.sort(partitions, Comparator.comparingLong(partition -> partition[0]));
+        this.partitionStreamOffsets = new long[partitions.size()];
+        this.partitionFileOffsets = new long[partitions.size()];
+        this.partitionLengths = new long[partitions.size()];
+        for (int i=0; i<partitions.size(); i++)
+        {
+            this.partitionStreamOffsets[i] = partitions.get(i)[0];
+            this.partitionFileOffsets[i] = partitions.get(i)[1];
+            this.partitionLengths[i] = partitions.get(i)[2];
+        }
+        long partitionsStreamLength = this.partitionStreamOffsets[partitions.size() - 1] + this.partitionLengths[partitions.size() - 1];
+
+        //IndexTable segments ordered by the first edit unit they index, keeping the first of any repeated segments
+        Map<Long, IndexTableSegment> segments = new TreeMap<>();
+        int vbeCount = 0;
+        for (IndexTableSegment indexTableSegment : indexTableSegments)
+        {
+            if (!segments.containsKey(indexTableSegment.getIndexStartPosition()))
+            {
+                segments.put(indexTableSegment.getIndexStartPosition(), indexTableSegment);
+                if (indexTableSegment.getEditUnitByteCount() == 0 && indexTableSegment.getIndexEntryArray() != null)
+                {
+                    vbeCount += indexTableSegment.getIndexEntryArray().size();
+                }
+            }
+        }
+
+        int numRuns = segments.size();
+        this.runFirstEditUnits = new long[numRuns];
+        this.runEditUnitByteCounts = new long[numRuns];
+        this.runStreamOffsets = new long[numRuns];
+        this.vbeStreamOffsets = new long[vbeCount];
+
+        long nextEditUnit = 0;
+        long nextStreamOffset = 0;
+        long streamLength = partitionsStreamLength;
+        int run = 0;
+        int vbeIndex = 0;
+        for (IndexTableSegment indexTableSegment : segments.values())
+        {
+            if (indexTableSegment.getIndexStartPosition() != nextEditUnit)
+            {
+                throw new MXFException(String.format("IndexTable segment starts at edit unit %d, expected a segment starting at edit unit %d",
+                        indexTableSegment.getIndexStartPosition(), nextEditUnit));
+            }
+            long duration;
+            long editUnitByteCount = indexTableSegment.getEditUnitByteCount();
+            if (editUnitByteCount > 0)
+            {//CBE
+                long essenceEnd = streamLength;
+                if (run == 0)
+                {
+                    if (indexTableSegment.getExtStartOffset() != null)
+                    {
+                        nextStreamOffset = indexTableSegment.getExtStartOffset();
+                    }
+                    else
+                    {
+                        KLVPacket.Header header = readFirstEssenceHeader(resourceByteRangeProvider);
+                        if ((header != null) && (header.getKLSize() + header.getVSize() != editUnitByteCount))
+                        {//clip wrapped, edit units start after the key and length of the essence element
+                            nextStreamOffset = header.getKLSize();
+                            essenceEnd = header.getKLSize() + header.getVSize();
+                        }
+                    }
+                }
+                duration = indexTableSegment.getIndexDuration();
+                if (duration == 0)
+                {
+                    if (run != numRuns - 1)
+                    {
+                        throw new MXFException(String.format("IndexTable segment starting at edit unit %d has an unknown duration but is not the last segment",
+                                indexTableSegment.getIndexStartPosition()));
+                    }
+                    duration = Math.max(0L, essenceEnd - nextStreamOffset) / editUnitByteCount;
+                }
+                this.runStreamOffsets[run] = nextStreamOffset;
+                nextStreamOffset += duration * editUnitByteCount;
+                streamLength = nextStreamOffset;
+            }
+            else
+            {//VBE
+                IndexTableSegment.IndexEntryArray indexEntryArray = indexTableSegment.getIndexEntryArray();
+                if (indexEntryArray == null)
+                {
+                    throw new MXFException(String.format("IndexTable segment starting at edit unit %d has neither an edit unit byte count nor index entries",
+                            indexTableSegment.getIndexStartPosition()));
+                }
+                duration = indexEntryArray.size();
+                this.runStreamOffsets[run] = vbeIndex;
+                for (int i=0; i<indexEntryArray.size(); i++)
+                {
+                    this.vbeStreamOffsets[vbeIndex++] = indexEntryArray.getStreamOffset(i);
+                }
+                streamLength = partitionsStreamLength;
+            }
+            this.runFirstEditUnits[run] = nextEditUnit;
+            this.runEditUnitByteCounts[run] = editUnitByteCount;
+            nextEditUnit += duration;
+            run++;
+        }
+        this.editUnitCount = nextEditUnit;
+        this.streamLength = streamLength;
+    }
+
+    private EssenceIndex(long editUnitCount, long streamLength, long[] runFirstEditUnits, long[] runEditUnitByteCounts, long[] runStreamOffsets,
+                         long[] vbeStreamOffsets, long[] partitionStreamOffsets, long[] partitionFileOffsets, long[] partitionLengths)
+    {
+        this.editUnitCount = editUnitCount;
+        this.streamLength = streamLength;
+        this.runFirstEditUnits = runFirstEditUnits;
+        this.runEditUnitByteCounts = runEditUnitByteCounts;
+        this.runStreamOffsets = runStreamOffsets;
+        this.vbeStreamOffsets = vbeStreamOffsets;
+        this.partitionStreamOffsets = partitionStreamOffsets;
+        this.partitionFileOffsets = partitionFileOffsets;
+        this.partitionLengths = partitionLengths;
+    }
+
+    /**
+     * Getter for the number of edit units in the essence container
+     *
+     * @return the number of edit units
+     */
+    public long getEditUnitCount()
+    {
+        return this.editUnitCount;
+    }
+
+    /**
+     * Getter for the offset of an edit unit relative to the start of the essence container
+     *
+     * @param editUnit zero-based index of the edit unit
+     * @return the stream offset of the edit unit
+     */
+    public long getStreamOffset(long editUnit)
+    {
+        validateEditUnit(editUnit);
+        int run = getRun(editUnit);
+        if (this.runEditUnitByteCounts[run] > 0)
+        {
+            return this.runStreamOffsets[run] + (editUnit - this.runFirstEditUnits[run]) * this.runEditUnitByteCounts[run];
+        }
+        return this.vbeStreamOffsets[(int)(this.runStreamOffsets[run] + editUnit - this.runFirstEditUnits[run])];
+    }
+
+    /**
+     * Resolves a range of edit units to the byte ranges of the MXF file that contain them. A range of edit units that spans
+     * several body partitions results in one byte range per partition. For VBE essence, the byte range of the last edit unit
+     * of the essence container extends to the end of its partition.
+     *
+     * @param firstEditUnit zero-based index of the first edit unit, inclusive
+     * @param lastEditUnit zero-based index of the last edit unit, inclusive
+     * @return a list of inclusive byte ranges in the order of the edit units
+     */
+    public List<ByteRange> getByteRanges(long firstEditUnit, long lastEditUnit)
+    {
+        validateEditUnit(firstEditUnit);
+        validateEditUnit(lastEditUnit);
+        if (firstEditUnit > lastEditUnit)
+        {
+            throw new IllegalArgumentException(String.format("firstEditUnit = %d is larger than lastEditUnit = %d", firstEditUnit, lastEditUnit));
+        }
+
+        long streamStart = getStreamOffset(firstEditUnit);
+        long streamEnd = getStreamEnd(lastEditUnit);
+        int partition = Arrays.binarySearch(this.partitionStreamOffsets, streamStart);
+        partition = (partition >= 0) ? partition : -partition - 2;
+
+        List<ByteRange> byteRanges = new ArrayList<>();
+        while (streamStart < streamEnd)
+        {
+            if ((partition < 0) || (partition >= this.partitionStreamOffsets.length)
+                    || (streamStart >= this.partitionStreamOffsets[partition] + this.partitionLengths[partition]))
+            {
+                throw new MXFException(String.format("Stream offset %d is not contained in any partition of the essence container", streamStart));
+            }
+            long rangeEnd = Math.min(streamEnd, this.partitionStreamOffsets[partition] + this.partitionLengths[partition]);
+            long fileOffset = this.partitionFileOffsets[partition] - this.partitionStreamOffsets[partition];
+            byteRanges.add(new ByteRange(fileOffset + streamStart, fileOffset + rangeEnd - 1));
+            streamStart = rangeEnd;
+            partition++;
+        }
+        return Collections.unmodifiableList(byteRanges);
+    }
+
+    /**
+     * Writes this index in a compact binary form, which can be read back using {@link #readFrom(InputStream)}. The output
+     * stream is not closed.
+     *
+     * @param outputStream the output stream
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public void writeTo(OutputStream outputStream) throws IOException
+    {
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(SERIALIZATION_MAGIC);
+        dataOutputStream.writeInt(SERIALIZATION_VERSION);
+        dataOutputStream.writeLong(this.editUnitCount);
+        dataOutputStream.writeLong(this.streamLength);
+        dataOutputStream.writeInt(this.runFirstEditUnits.length);
+        for (int i=0; i<this.runFirstEditUnits.length; i++)
+        {
+            dataOutputStream.writeLong(this.runFirstEditUnits[i]);
+            dataOutputStream.writeLong(this.runEditUnitByteCounts[i]);
+            dataOutputStream.writeLong(this.runStreamOffsets[i]);
+        }
+        //stream offsets of consecutive edit units are close to each other, store the differences as variable length integers
+        dataOutputStream.writeInt(this.vbeStreamOffsets.length);
+        long previous = 0;
+        for (long vbeStreamOffset : this.vbeStreamOffsets)
+        {
+            writeVarLong(dataOutputStream, vbeStreamOffset - previous);
+            previous = vbeStreamOffset;
+        }
+        dataOutputStream.writeInt(this.partitionStreamOffsets.length);
+        for (int i=0; i<this.partitionStreamOffsets.length; i++)
+        {
+            dataOutputStream.writeLong(this.partitionStreamOffsets[i]);
+            dataOutputStream.writeLong(this.partitionFileOffsets[i]);
+            dataOutputStream.writeLong(this.partitionLengths[i]);
+        }
+        dataOutputStream.flush();
+    }
+
+    /**
+     * Reads an index written using {@link #writeTo(OutputStream)}. The input stream is not closed.
+     *
+     * @param inputStream the input stream
+     * @return the EssenceIndex
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static EssenceIndex readFrom(InputStream inputStream) throws IOException
+    {
+        DataInputStream dataInputStream = new DataInputStream(inputStream);
+        int magic = dataInputStream.readInt();
+        int version = dataInputStream.readInt();
+        if ((magic != SERIALIZATION_MAGIC) || (version != SERIALIZATION_VERSION))
+        {
+            throw new IOException(String.format("Input stream does not contain an %s, magic = 0x%x, version = %d",
+                    EssenceIndex.class.getSimpleName(), magic, version));
+        }
+        long editUnitCount = dataInputStream.readLong();
+        long streamLength = dataInputStream.readLong();
+        int numRuns = readCount(dataInputStream);
+        long[] runFirstEditUnits = new long[numRuns];
+        long[] runEditUnitByteCounts = new long[numRuns];
+        long[] runStreamOffsets = new long[numRuns];
+        for (int i=0; i<numRuns; i++)
+        {
+            runFirstEditUnits[i] = dataInputStream.readLong();
+            runEditUnitByteCounts[i] = dataInputStream.readLong();
+            runStreamOffsets[i] = dataInputStream.readLong();
+        }
+        long[] vbeStreamOffsets = new long[readCount(dataInputStream)];
+        long previous = 0;
+        for (int i=0; i<vbeStreamOffsets.length; i++)
+        {
+            vbeStreamOffsets[i] = previous + readVarLong(dataInputStream);
+            previous = vbeStreamOffsets[i];
+        }
+        int numPartitions = readCount(dataInputStream);
+        long[] partitionStreamOffsets = new long[numPartitions];
+        long[] partitionFileOffsets = new long[numPartitions];
+        long[] partitionLengths = new long[numPartitions];
+        for (int i=0; i<numPartitions; i++)
+        {
+            partitionStreamOffsets[i] = dataInputStream.readLong();
+            partitionFileOffsets[i] = dataInputStream.readLong();
+            partitionLengths[i] = dataInputStream.readLong();
+        }
+        return new EssenceIndex(editUnitCount, streamLength, runFirstEditUnits, runEditUnitByteCounts, runStreamOffsets,
+                vbeStreamOffsets, partitionStreamOffsets, partitionFileOffsets, partitionLengths);
+    }
+
+    /**
+     * A method that returns a string representation of an EssenceIndex object
+     *
+     * @return string representing the object
+     */
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("================== EssenceIndex ======================\n");
+        sb.append(String.format("editUnitCount = %d%n", this.editUnitCount));
+        sb.append(String.format("streamLength = %d%n", this.streamLength));
+        sb.append(String.format("indexTableSegments = %d, partitions = %d%n", this.runFirstEditUnits.length, this.partitionStreamOffsets.length));
+        return sb.toString();
+    }
+
+    private KLVPacket.Header readFirstEssenceHeader(ResourceByteRangeProvider resourceByteRangeProvider) throws IOException
+    {
+        if ((this.partitionStreamOffsets[0] != 0) || (this.partitionLengths[0] < KLVPacket.KEY_FIELD_SIZE + 1))
+        {
+            return null;
+        }
+        long rangeStart = this.partitionFileOffsets[0];
+        long rangeEnd = rangeStart + Math.min(this.partitionLengths[0], KLVPacket.KEY_FIELD_SIZE + 1 + KLVPacket.LENGTH_FIELD_SUFFIX_MAX_SIZE) - 1;
+        byte[] bytes = resourceByteRangeProvider.getByteRangeAsBytes(rangeStart, rangeEnd);
+        return new KLVPacket.Header(new ByteBufferDataProvider(bytes), rangeStart);
+    }
+
+    private long getStreamEnd(long editUnit)
+    {
+        int run = getRun(editUnit);
+        if (this.runEditUnitByteCounts[run] > 0)
+        {
+            return getStreamOffset(editUnit) + this.runEditUnitByteCounts[run];
+        }
+        return (editUnit + 1 < this.editUnitCount) ? getStreamOffset(editUnit + 1) : this.streamLength;
+    }
+
+    private int getRun(long editUnit)
+    {
+        int run = Arrays.binarySearch(this.runFirstEditUnits, editUnit);
+        return (run >= 0) ? run : -run - 2;
+    }
+
+    private void validateEditUnit(long editUnit)
+    {
+        if ((editUnit < 0) || (editUnit >= this.editUnitCount))
+        {
+            throw new IllegalArgumentException(String.format("editUnit = %d should be in the range [0, %d]", editUnit, this.editUnitCount - 1));
+        }
+    }
+
+    private static int readCount(DataInputStream dataInputStream) throws IOException
+    {
+        int count = dataInputStream.readInt();
+        if (count < 0)
+        {
+            throw new IOException(String.format("Invalid count = %d in serialized %s", count, EssenceIndex.class.getSimpleName()));
+        }
+        return count;
+    }
+
+    private static void writeVarLong(DataOutputStream dataOutputStream, long value) throws IOException
+    {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0)
+        {
+            dataOutputStream.writeByte((int)((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        dataOutputStream.writeByte((int)zigZag);
+    }
+
+    private static long readVarLong(DataInputStream dataInputStream) throws IOException
+    {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            int b = dataInputStream.readUnsignedByte();
+            zigZag |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+            {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException(String.format("Malformed variable length integer in serialized %s", EssenceIndex.class.getSimpleName()));
+    }
+
+    /**
+     * An inclusive range of bytes in the MXF file
+     */
+    @Immutable
+    public static final class ByteRange
+    {
+        private final long rangeStart;
+        private final long rangeEnd;
+
+        /**
+         * Instantiates a new ByteRange
+         *
+         * @param rangeStart zero indexed inclusive start offset
+         * @param rangeEnd zero indexed inclusive end offset
+         */
+        public ByteRange(long rangeStart, long rangeEnd)
+        {
+            this.rangeStart = rangeStart;
+            this.rangeEnd = rangeEnd;
+        }
+
+        /**
+         * Getter for the inclusive start offset of the range
+         *
+         * @return the range start
+         */
+        public long getRangeStart()
+        {
+            return this.rangeStart;
+        }
+
+        /**
+         * Getter for the inclusive end offset of the range
+         *
+         * @return the range end
+         */
+        public long getRangeEnd()
+        {
+            return this.rangeEnd;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (!(other instanceof ByteRange))
+            {
+                return false;
+            }
+            ByteRange otherByteRange = (ByteRange) other;
+            return (this.rangeStart == otherByteRange.rangeStart) && (this.rangeEnd == otherByteRange.rangeEnd);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * Long.hashCode(this.rangeStart) + Long.hashCode(this.rangeEnd);
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("[%d, %d]", this.rangeStart, this.rangeEnd);
+        }
+    }
+}
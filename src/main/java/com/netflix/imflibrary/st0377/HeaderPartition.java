@@ -23,6 +23,7 @@ import com.netflix.imflibrary.IMFErrorLogger;
 import com.netflix.imflibrary.KLVPacket;
 import com.netflix.imflibrary.MXFPropertyPopulator;
 import com.netflix.imflibrary.MXFUID;
+import com.netflix.imflibrary.exceptions.IMFFatalErrorException;
 import com.netflix.imflibrary.exceptions.MXFException;
 import com.netflix.imflibrary.st0377.header.AudioChannelLabelSubDescriptor;
 import com.netflix.imflibrary.st0377.header.CDCIPictureEssenceDescriptor;
@@ -58,8 +59,6 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -71,6 +70,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * This class corresponds to an object model for the Header Partition construct defined in st377-1:2011
@@ -162,8 +162,8 @@ public final class HeaderPartition
 
             if (StructuralMetadata.isStructuralMetadata(Arrays.copyOf(header.getKey(), header.getKey().length)))
             {
-                Class clazz = StructuralMetadata.getStructuralMetadataSetClass(key);
-                if(!clazz.getSimpleName().equals(Object.class.getSimpleName())){
+                Class<?> clazz = StructuralMetadata.getStructuralMetadataSetClass(key);
+                if(!clazz.equals(Object.class)){
                     //logger.info(String.format("KLV item with key = %s corresponds to class %s", new MXFUID(header.getKey()), clazz.getSimpleName()));
                     InterchangeObject.InterchangeObjectBO interchangeObjectBO = this.constructInterchangeObjectBO(clazz, header, byteProvider, this.primerPack.getLocalTagEntryBatch().getLocalTagToUIDMap(), imfErrorLogger);
                     List<InterchangeObject.InterchangeObjectBO> list = this.interchangeObjectBOsMap.get(interchangeObjectBO.getClass().getSimpleName());
@@ -439,37 +439,58 @@ public final class HeaderPartition
     }
 
     /**
-     * A factory method to reflectively construct InterchangeObjectBO types by classname and argument list
+     * A factory method to construct InterchangeObjectBO types using the factory registered for the class
      * @return the constructed InterchangeBO
      */
-    private InterchangeObject.InterchangeObjectBO constructInterchangeObjectBO(Class clazz, KLVPacket.Header header, ByteProvider byteProvider, Map localTagToUIDMap, IMFErrorLogger imfErrorLogger) throws IOException{
+    private InterchangeObject.InterchangeObjectBO constructInterchangeObjectBO(Class<?> clazz, KLVPacket.Header header, ByteProvider byteProvider, Map<Integer, MXFUID> localTagToUIDMap, IMFErrorLogger imfErrorLogger) throws IOException{
+        StructuralMetadata.InterchangeObjectBOFactory<?> interchangeObjectBOFactory = StructuralMetadata.getInterchangeObjectBOFactory(clazz);
+        if(interchangeObjectBOFactory == null){
+            throw new IOException(String.format("No matching constructor for class %s", clazz.getSimpleName()));
+        }
+        InterchangeObject.InterchangeObjectBO interchangeObjectBO;
         try {
-
-            Constructor<?> constructor = clazz.getConstructor(KLVPacket.Header.class, ByteProvider.class, Map.class, IMFErrorLogger.class);
-            InterchangeObject.InterchangeObjectBO interchangeObjectBO = (InterchangeObject.InterchangeObjectBO)constructor.newInstance(header, byteProvider, localTagToUIDMap, imfErrorLogger);
+            interchangeObjectBO = interchangeObjectBOFactory.create(header, byteProvider, localTagToUIDMap, imfErrorLogger);
+        }
+        catch(IMFFatalErrorException e){
+            //Raised by a fail-fast error listener, aborts the validation rather than being reported as a parse failure
+            throw e;
+        }
+        catch(RuntimeException e){
+            //Preserves the behavior of the reflective construction that this factory replaced
+            throw new IOException(String.format("No matching constructor for class %s", clazz.getSimpleName()), e);
+        }
+        if(logger.isDebugEnabled()) {
             String simpleClassName = interchangeObjectBO.getClass().getSimpleName();
             logger.debug(String.format("Parsed and read %s metadata in the header partition.", simpleClassName.substring(0, simpleClassName.length() - 2)));
-            return interchangeObjectBO;
-        }
-        catch(NoSuchMethodException|IllegalAccessException|InstantiationException|InvocationTargetException e){
-            throw new IOException(String.format("No matching constructor for class %s", clazz.getSimpleName()));
         }
+        return interchangeObjectBO;
     }
 
     /**
-     * A factory method to reflectively construct InterchangeObject types by classname
+     * A factory method to construct InterchangeObject types using the factory registered for the InterchangeObjectBO class
      * @return the constructed InterchangeObject
      */
-    private InterchangeObject constructInterchangeObject(Class clazz, InterchangeObject.InterchangeObjectBO interchangeObjectBO, Node node) throws IOException{
+    private InterchangeObject constructInterchangeObject(Class<?> clazz, InterchangeObject.InterchangeObjectBO interchangeObjectBO, Node node) throws IOException{
+        Function<InterchangeObject.InterchangeObjectBO, InterchangeObject> interchangeObjectFactory = StructuralMetadata.getInterchangeObjectFactory(interchangeObjectBO.getClass());
+        if(interchangeObjectFactory == null){
+            throw new IOException(String.format("No matching constructor for class %s", clazz.getSimpleName()));
+        }
+        InterchangeObject interchangeObject;
         try {
-            Constructor<?> constructor = clazz.getConstructor(interchangeObjectBO.getClass());
-            InterchangeObject interchangeObject = (InterchangeObject)constructor.newInstance(interchangeObjectBO);
-            logger.debug(String.format("Constructing the object model for %s metadata in the header partition.", interchangeObject.getClass().getSimpleName()));
-            return interchangeObject;
+            interchangeObject = interchangeObjectFactory.apply(interchangeObjectBO);
         }
-        catch(NoSuchMethodException|IllegalAccessException|InstantiationException|InvocationTargetException e){
-            throw new IOException(String.format("No matching constructor for class %s", clazz.getSimpleName()));
+        catch(IMFFatalErrorException e){
+            //Raised by a fail-fast error listener, aborts the validation rather than being reported as a parse failure
+            throw e;
+        }
+        catch(RuntimeException e){
+            //Preserves the behavior of the reflective construction that this factory replaced
+            throw new IOException(String.format("No matching constructor for class %s", clazz.getSimpleName()), e);
+        }
+        if(logger.isDebugEnabled()) {
+            logger.debug(String.format("Constructing the object model for %s metadata in the header partition.", interchangeObject.getClass().getSimpleName()));
         }
+        return interchangeObject;
     }
 
     /**
@@ -19,14 +19,17 @@
 package com.netflix.imflibrary.st0377;
 
 import com.netflix.imflibrary.utils.ByteProvider;
+import com.netflix.imflibrary.utils.StreamingByteProvider;
 import com.netflix.imflibrary.exceptions.MXFException;
 import com.netflix.imflibrary.annotations.MXFProperty;
 import com.netflix.imflibrary.MXFPropertyPopulator;
 import com.netflix.imflibrary.KLVPacket;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -97,24 +100,25 @@ public final class IndexTableSegment
                     this.header.getKey()[5]));
         }
 
+        StreamingByteProvider streamingByteProvider = StreamingByteProvider.of(byteProvider);
         long numBytesToRead = this.header.getVSize();
         long numBytesRead = 0;
 
         IndexEntryArray indexEntryArray = null;
         while (numBytesRead < numBytesToRead)
         {
-            Integer itemTag = MXFPropertyPopulator.getUnsignedShortAsInt(byteProvider.getBytes(2), KLVPacket.BYTE_ORDER);
+            int itemTag = streamingByteProvider.readUnsignedShort();
             numBytesRead += 2;
 
             long itemSize;
             if (this.header.getKey()[5] == 0x53)
             {
-                itemSize = MXFPropertyPopulator.getUnsignedShortAsInt(byteProvider.getBytes(2), KLVPacket.BYTE_ORDER);
+                itemSize = streamingByteProvider.readUnsignedShort();
                 numBytesRead += 2;
             }
             else
             {//(this.header.getKey()[5] == 0x13)
-                KLVPacket.LengthField lengthField = KLVPacket.getLength(byteProvider);
+                KLVPacket.LengthField lengthField = KLVPacket.getLength(streamingByteProvider);
                 itemSize = lengthField.value;
                 numBytesRead += lengthField.sizeOfLengthField;
             }
@@ -128,17 +132,17 @@ public final class IndexTableSegment
                     throw new MXFException(String.format("Actual length from bitstream = %d is different from expected length = %d",
                             itemSize, expectedLength));
                 }
-                MXFPropertyPopulator.populateField(byteProvider, this, itemName);
+                MXFPropertyPopulator.populateField(streamingByteProvider, this, itemName);
                 numBytesRead += itemSize;
             }
             else if (itemTag == 0x3f0a)
             {
-                indexEntryArray = new IndexEntryArray(byteProvider);
+                indexEntryArray = new IndexEntryArray(streamingByteProvider);
                 numBytesRead += itemSize;
             }
             else
             {
-                byteProvider.skipBytes(itemSize);
+                streamingByteProvider.skipBytes(itemSize);
                 numBytesRead += itemSize;
             }
         }
@@ -183,15 +187,92 @@ public final class IndexTableSegment
     }
 
     /**
-     * Getter for the index entries.
+     * Getter for the position of the first edit unit indexed by this segment
      *
-     * @return a read-only copy of a list of IndexTableSegment.IndexEntryArray.IndexEntry or null when not present
+     * @return the index start position, 0 when not present
+     */
+    public long getIndexStartPosition()
+    {
+        return (this.index_start_position != null) ? this.index_start_position : 0L;
+    }
+
+    /**
+     * Getter for the number of edit units indexed by this segment
+     *
+     * @return the index duration, 0 when not present
+     */
+    public long getIndexDuration()
+    {
+        return (this.index_duration != null) ? this.index_duration : 0L;
+    }
+
+    /**
+     * Getter for the byte count of each edit unit when the essence has a constant number of bytes per edit unit
+     *
+     * @return the edit unit byte count, 0 when edit units have a variable number of bytes or when not present
+     */
+    public long getEditUnitByteCount()
+    {
+        return (this.edit_unit_byte_count != null) ? this.edit_unit_byte_count : 0L;
+    }
+
+    /**
+     * Getter for the stream ID of the index table this segment belongs to
+     *
+     * @return the index SID, 0 when not present
+     */
+    public long getIndexSID()
+    {
+        return (this.index_SID != null) ? this.index_SID : 0L;
+    }
+
+    /**
+     * Getter for the stream ID of the essence container indexed by this segment
+     *
+     * @return the body SID, 0 when not present
+     */
+    public long getBodySID()
+    {
+        return (this.body_SID != null) ? this.body_SID : 0L;
+    }
+
+    /**
+     * Getter for the byte offset of the first essence data in a constant bytes per edit unit essence stream
+     *
+     * @return the ext start offset or null when not present
+     */
+    @Nullable
+    public Long getExtStartOffset()
+    {
+        return this.ext_start_offset;
+    }
+
+    /**
+     * Getter for the index entries. The list is a read-only view of the index entry array, IndexEntry objects are created
+     * as the list is accessed; {@link #getIndexEntryArray()} provides access to the entries without creating objects.
+     *
+     * @return a read-only list of IndexTableSegment.IndexEntryArray.IndexEntry or null when not present
      */
     public List<IndexEntryArray.IndexEntry> getIndexEntries()
     {
         if (this.indexEntryArray != null)
         {
-            return Collections.unmodifiableList(this.indexEntryArray.indexEntries);
+            final IndexEntryArray indexEntries = this.indexEntryArray;
+            return new AbstractList<IndexEntryArray.IndexEntry>()
+            {
+                @Override
+                public IndexEntryArray.IndexEntry get(int index)
+                {
+                    return new IndexEntryArray.IndexEntry(indexEntries.getTemporalOffset(index), indexEntries.getKeyFrameOffset(index),
+                            indexEntries.getFlags(index), indexEntries.getStreamOffset(index));
+                }
+
+                @Override
+                public int size()
+                {
+                    return indexEntries.size();
+                }
+            };
         }
         else
         {
@@ -199,6 +280,17 @@ public final class IndexTableSegment
         }
     }
 
+    /**
+     * Getter for the index entry array.
+     *
+     * @return the index entry array or null when not present
+     */
+    @Nullable
+    public IndexEntryArray getIndexEntryArray()
+    {
+        return this.indexEntryArray;
+    }
+
     /**
      * Checks if the key passed in corresponds to a IndexTable segment
      *
@@ -218,13 +310,17 @@ public final class IndexTableSegment
     }
 
     /**
-     * Object model corresponding to a collection of Index Table entries
+     * Object model corresponding to a collection of Index Table entries. The entries are stored in parallel primitive arrays,
+     * one per field of an entry, so that index tables with a large number of edit units do not result in one object per entry.
      */
     @Immutable
     public static final class IndexEntryArray
     {
         private final CompoundDataTypes.MXFCollections.Header header;
-        private final List<IndexEntry> indexEntries = new ArrayList<>();
+        private final byte[] temporalOffsets;
+        private final byte[] keyFrameOffsets;
+        private final byte[] flags;
+        private final long[] streamOffsets;
 
         /**
          * Instantiates a new Index entry array.
@@ -232,14 +328,94 @@ public final class IndexTableSegment
          * @param byteProvider the mxf byte provider
          * @throws IOException the iO exception
          */
-        IndexEntryArray(ByteProvider byteProvider) throws IOException
+        IndexEntryArray(StreamingByteProvider byteProvider) throws IOException
         {
             this.header = new CompoundDataTypes.MXFCollections.Header(byteProvider);
-            for (long i=0; i<header.getNumberOfElements(); i++)
+            long sizeOfElement = this.header.getSizeOfElement();
+            if (sizeOfElement < IndexEntry.FIXED_SIZE)
+            {
+                throw new MXFException(String.format("Element size = %d in IndexEntryArray header is smaller than minimum size = %d",
+                        sizeOfElement, IndexEntry.FIXED_SIZE));
+            }
+            long numBytesToRead = this.header.getNumberOfElements() * sizeOfElement;
+            if (numBytesToRead > Integer.MAX_VALUE)
             {
-                indexEntries.add(new IndexEntry(byteProvider));
-                byteProvider.skipBytes(this.header.getSizeOfElement() - 11);
+                throw new MXFException(String.format("IndexEntryArray size = %d is larger than maximum supported size = %d",
+                        numBytesToRead, Integer.MAX_VALUE));
             }
+
+            int numberOfElements = (int)this.header.getNumberOfElements();
+            this.temporalOffsets = new byte[numberOfElements];
+            this.keyFrameOffsets = new byte[numberOfElements];
+            this.flags = new byte[numberOfElements];
+            this.streamOffsets = new long[numberOfElements];
+
+            //read all entries at once and decode each field at its offset within the entry
+            byte[] entryBytes = new byte[(int)numBytesToRead];
+            byteProvider.readInto(entryBytes, 0, entryBytes.length);
+            ByteBuffer entryBuffer = ByteBuffer.wrap(entryBytes).order(KLVPacket.BYTE_ORDER);
+            for (int i=0; i<numberOfElements; i++)
+            {
+                int entryOffset = (int)(i * sizeOfElement);
+                this.temporalOffsets[i] = entryBuffer.get(entryOffset);
+                this.keyFrameOffsets[i] = entryBuffer.get(entryOffset + 1);
+                this.flags[i] = entryBuffer.get(entryOffset + 2);
+                this.streamOffsets[i] = entryBuffer.getLong(entryOffset + 3);
+            }
+        }
+
+        /**
+         * Getter for the number of index entries
+         *
+         * @return the number of index entries
+         */
+        public int size()
+        {
+            return this.streamOffsets.length;
+        }
+
+        /**
+         * Getter for the temporal offset of an index entry
+         *
+         * @param index zero-based index of the entry
+         * @return the temporal offset
+         */
+        public byte getTemporalOffset(int index)
+        {
+            return this.temporalOffsets[index];
+        }
+
+        /**
+         * Getter for the key frame offset of an index entry
+         *
+         * @param index zero-based index of the entry
+         * @return the key frame offset
+         */
+        public byte getKeyFrameOffset(int index)
+        {
+            return this.keyFrameOffsets[index];
+        }
+
+        /**
+         * Getter for the flags of an index entry
+         *
+         * @param index zero-based index of the entry
+         * @return the flags
+         */
+        public byte getFlags(int index)
+        {
+            return this.flags[index];
+        }
+
+        /**
+         * Getter for the stream offset of an index entry
+         *
+         * @param index zero-based index of the entry
+         * @return the stream offset
+         */
+        public long getStreamOffset(int index)
+        {
+            return this.streamOffsets[index];
         }
 
         /**
@@ -252,9 +428,9 @@ public final class IndexTableSegment
             StringBuilder sb = new StringBuilder();
             sb.append("================== IndexEntryArray ======================\n");
             sb.append(this.header.toString());
-            for (IndexEntry indexEntry : indexEntries)
+            for (int i=0; i<this.size(); i++)
             {
-                sb.append(indexEntry.toString());
+                sb.append(IndexEntry.toString(this.temporalOffsets[i], this.keyFrameOffsets[i], this.flags[i], this.streamOffsets[i]));
             }
             return sb.toString();
         }
@@ -265,23 +441,28 @@ public final class IndexTableSegment
         @Immutable
         public static final class IndexEntry
         {
-            @MXFProperty(size=1) private final Byte temporal_offset = null;
-            @MXFProperty(size=1) private final Byte key_frame_offset = null;
-            @MXFProperty(size=1) private final Byte flags = null;
-            @MXFProperty(size=8) private final Long stream_offset = null;
+            //size in bytes of temporal_offset, key_frame_offset, flags and stream_offset
+            private static final int FIXED_SIZE = 11;
+
+            private final byte temporal_offset;
+            private final byte key_frame_offset;
+            private final byte flags;
+            private final long stream_offset;
 
             /**
              * Instantiates a new Index entry.
              *
-             * @param byteProvider the mxf byte provider
-             * @throws IOException the iO exception
+             * @param temporal_offset the temporal offset
+             * @param key_frame_offset the key frame offset
+             * @param flags the flags
+             * @param stream_offset the stream offset
              */
-            IndexEntry(ByteProvider byteProvider) throws IOException
+            IndexEntry(byte temporal_offset, byte key_frame_offset, byte flags, long stream_offset)
             {
-                MXFPropertyPopulator.populateField(byteProvider, this, "temporal_offset");
-                MXFPropertyPopulator.populateField(byteProvider, this, "key_frame_offset");
-                MXFPropertyPopulator.populateField(byteProvider, this, "flags");
-                MXFPropertyPopulator.populateField(byteProvider, this, "stream_offset");
+                this.temporal_offset = temporal_offset;
+                this.key_frame_offset = key_frame_offset;
+                this.flags = flags;
+                this.stream_offset = stream_offset;
             }
 
             /**
@@ -300,9 +481,14 @@ public final class IndexTableSegment
              * @return string representing the object
              */
             public String toString()
+            {
+                return IndexEntry.toString(this.temporal_offset, this.key_frame_offset, this.flags, this.stream_offset);
+            }
+
+            private static String toString(byte temporal_offset, byte key_frame_offset, byte flags, long stream_offset)
             {
                 return String.format("temporal_offset = %d, key_frame_offset = %d, flags = 0x%x, stream_offset = 0x%x%n",
-                        this.temporal_offset, this.key_frame_offset, this.flags, this.stream_offset);
+                        temporal_offset, key_frame_offset, flags, stream_offset);
             }
 
         }
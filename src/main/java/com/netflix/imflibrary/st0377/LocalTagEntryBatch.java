@@ -19,9 +19,8 @@
 package com.netflix.imflibrary.st0377;
 
 import com.netflix.imflibrary.utils.ByteProvider;
+import com.netflix.imflibrary.utils.StreamingByteProvider;
 import com.netflix.imflibrary.exceptions.MXFException;
-import com.netflix.imflibrary.MXFPropertyPopulator;
-import com.netflix.imflibrary.KLVPacket;
 import com.netflix.imflibrary.MXFUID;
 
 import javax.annotation.concurrent.Immutable;
@@ -50,7 +49,8 @@ public final class LocalTagEntryBatch
      */
     LocalTagEntryBatch(ByteProvider byteProvider) throws IOException
     {
-        this.header = new CompoundDataTypes.MXFCollections.Header(byteProvider);
+        StreamingByteProvider streamingByteProvider = StreamingByteProvider.of(byteProvider);
+        this.header = new CompoundDataTypes.MXFCollections.Header(streamingByteProvider);
         if (this.header.getSizeOfElement() != LocalTagEntryBatch.LOCAL_TAG_ENTRY_SIZE)
         {
             throw new MXFException(String.format("Element size = %d in LocalTagEntryBatch header is different from expected size = %d",
@@ -61,7 +61,7 @@ public final class LocalTagEntryBatch
 
         for (long i=0; i<this.header.getNumberOfElements(); i++)
         {
-            int localTag = MXFPropertyPopulator.getUnsignedShortAsInt(byteProvider.getBytes(2), KLVPacket.BYTE_ORDER);
+            int localTag = streamingByteProvider.readUnsignedShort();
             //smpte st 377-1:2011, section 9.2
             if (localTag == 0)
             {
@@ -73,7 +73,7 @@ public final class LocalTagEntryBatch
                 throw new MXFException(String.format("localTag = 0x%04x(%d) has already been observed", localTag, localTag));
             }
 
-            MXFUID mxfUL = new MXFUID(byteProvider.getBytes(16));
+            MXFUID mxfUL = new MXFUID(streamingByteProvider.getBytes(16));
             localTagToUID.put(localTag, mxfUL);
         }
     }
@@ -83,7 +83,7 @@ public final class LocalTagEntryBatch
      *
      * @return the local tag to uID map
      */
-    public Map getLocalTagToUIDMap()
+    public Map<Integer, MXFUID> getLocalTagToUIDMap()
     {
         return java.util.Collections.unmodifiableMap(localTagToUID);
     }
@@ -19,17 +19,21 @@
 package com.netflix.imflibrary.st0377.header;
 
 
+import com.netflix.imflibrary.IMFErrorLogger;
 import com.netflix.imflibrary.MXFUID;
 import com.netflix.imflibrary.utils.ByteProvider;
+import com.netflix.imflibrary.utils.StreamingByteProvider;
 import com.netflix.imflibrary.exceptions.MXFException;
 import com.netflix.imflibrary.MXFPropertyPopulator;
 import com.netflix.imflibrary.KLVPacket;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * A class that contains helper methods to identify and populate Structural Metadata set objects
@@ -549,7 +553,7 @@ public final class StructuralMetadata
      * @param key the key
      * @return the structural metadata set name
      */
-    public static Class getStructuralMetadataSetClass(byte[] key)
+    public static Class<?> getStructuralMetadataSetClass(byte[] key)
     {
 
         if (isPHDRMetadataTrackSubDescriptor(key))
@@ -638,6 +642,123 @@ public final class StructuralMetadata
         }
     }
 
+    /**
+     * A factory for the InterchangeObjectBO corresponding to a Structural Metadata set
+     * @param <T> the type of the InterchangeObjectBO
+     */
+    @FunctionalInterface
+    public interface InterchangeObjectBOFactory<T extends InterchangeObject.InterchangeObjectBO>
+    {
+        /**
+         * Constructs an InterchangeObjectBO from the KLV packet of a Structural Metadata set
+         *
+         * @param header the header of the KLV packet of the set
+         * @param byteProvider the mxf byte provider positioned at the value of the KLV packet
+         * @param localTagToUIDMap the local tag to uID map
+         * @param imfErrorLogger an error logger for recording any errors
+         * @return the constructed InterchangeObjectBO
+         * @throws IOException the iO exception
+         */
+        T create(KLVPacket.Header header, ByteProvider byteProvider, Map<Integer, MXFUID> localTagToUIDMap, IMFErrorLogger imfErrorLogger)
+                throws IOException;
+    }
+
+    /**
+     * A factory for the InterchangeObject corresponding to an InterchangeObjectBO
+     * @param <B> the type of the InterchangeObjectBO
+     */
+    @FunctionalInterface
+    public interface InterchangeObjectFactory<B extends InterchangeObject.InterchangeObjectBO>
+    {
+        /**
+         * Constructs an InterchangeObject from its InterchangeObjectBO
+         *
+         * @param interchangeObjectBO the InterchangeObjectBO
+         * @return the constructed InterchangeObject
+         */
+        InterchangeObject create(B interchangeObjectBO);
+    }
+
+    private static final Map<Class<?>, InterchangeObjectBOFactory<?>> InterchangeObjectBOFactories;
+    static
+    {
+        Map<Class<?>, InterchangeObjectBOFactory<?>> map = new HashMap<>();
+        putInterchangeObjectBOFactory(map, Preface.PrefaceBO.class, Preface.PrefaceBO::new);
+        putInterchangeObjectBOFactory(map, ContentStorage.ContentStorageBO.class, ContentStorage.ContentStorageBO::new);
+        putInterchangeObjectBOFactory(map, EssenceContainerData.EssenceContainerDataBO.class, EssenceContainerData.EssenceContainerDataBO::new);
+        putInterchangeObjectBOFactory(map, MaterialPackage.MaterialPackageBO.class, MaterialPackage.MaterialPackageBO::new);
+        putInterchangeObjectBOFactory(map, SourcePackage.SourcePackageBO.class, SourcePackage.SourcePackageBO::new);
+        putInterchangeObjectBOFactory(map, TimelineTrack.TimelineTrackBO.class, TimelineTrack.TimelineTrackBO::new);
+        putInterchangeObjectBOFactory(map, Sequence.SequenceBO.class, Sequence.SequenceBO::new);
+        putInterchangeObjectBOFactory(map, SourceClip.SourceClipBO.class, SourceClip.SourceClipBO::new);
+        putInterchangeObjectBOFactory(map, TimecodeComponent.TimecodeComponentBO.class, TimecodeComponent.TimecodeComponentBO::new);
+        putInterchangeObjectBOFactory(map, CDCIPictureEssenceDescriptor.CDCIPictureEssenceDescriptorBO.class, CDCIPictureEssenceDescriptor.CDCIPictureEssenceDescriptorBO::new);
+        putInterchangeObjectBOFactory(map, RGBAPictureEssenceDescriptor.RGBAPictureEssenceDescriptorBO.class, RGBAPictureEssenceDescriptor.RGBAPictureEssenceDescriptorBO::new);
+        putInterchangeObjectBOFactory(map, WaveAudioEssenceDescriptor.WaveAudioEssenceDescriptorBO.class, WaveAudioEssenceDescriptor.WaveAudioEssenceDescriptorBO::new);
+        putInterchangeObjectBOFactory(map, TimedTextDescriptor.TimedTextDescriptorBO.class, TimedTextDescriptor.TimedTextDescriptorBO::new);
+        putInterchangeObjectBOFactory(map, TimeTextResourceSubDescriptor.TimeTextResourceSubdescriptorBO.class, TimeTextResourceSubDescriptor.TimeTextResourceSubdescriptorBO::new);
+        putInterchangeObjectBOFactory(map, AudioChannelLabelSubDescriptor.AudioChannelLabelSubDescriptorBO.class, AudioChannelLabelSubDescriptor.AudioChannelLabelSubDescriptorBO::new);
+        putInterchangeObjectBOFactory(map, SoundFieldGroupLabelSubDescriptor.SoundFieldGroupLabelSubDescriptorBO.class, SoundFieldGroupLabelSubDescriptor.SoundFieldGroupLabelSubDescriptorBO::new);
+        putInterchangeObjectBOFactory(map, GroupOfSoundFieldGroupLabelSubDescriptor.GroupOfSoundFieldGroupLabelSubDescriptorBO.class, GroupOfSoundFieldGroupLabelSubDescriptor.GroupOfSoundFieldGroupLabelSubDescriptorBO::new);
+        putInterchangeObjectBOFactory(map, JPEG2000PictureSubDescriptor.JPEG2000PictureSubDescriptorBO.class, JPEG2000PictureSubDescriptor.JPEG2000PictureSubDescriptorBO::new);
+        putInterchangeObjectBOFactory(map, PHDRMetaDataTrackSubDescriptor.PHDRMetaDataTrackSubDescriptorBO.class, PHDRMetaDataTrackSubDescriptor.PHDRMetaDataTrackSubDescriptorBO::new);
+        InterchangeObjectBOFactories = Collections.unmodifiableMap(map);
+    }
+
+    private static final Map<Class<?>, Function<InterchangeObject.InterchangeObjectBO, InterchangeObject>> InterchangeObjectFactories;
+    static
+    {
+        Map<Class<?>, Function<InterchangeObject.InterchangeObjectBO, InterchangeObject>> map = new HashMap<>();
+        putInterchangeObjectFactory(map, TimecodeComponent.TimecodeComponentBO.class, TimecodeComponent::new);
+        putInterchangeObjectFactory(map, CDCIPictureEssenceDescriptor.CDCIPictureEssenceDescriptorBO.class, CDCIPictureEssenceDescriptor::new);
+        putInterchangeObjectFactory(map, RGBAPictureEssenceDescriptor.RGBAPictureEssenceDescriptorBO.class, RGBAPictureEssenceDescriptor::new);
+        putInterchangeObjectFactory(map, WaveAudioEssenceDescriptor.WaveAudioEssenceDescriptorBO.class, WaveAudioEssenceDescriptor::new);
+        putInterchangeObjectFactory(map, TimeTextResourceSubDescriptor.TimeTextResourceSubdescriptorBO.class, TimeTextResourceSubDescriptor::new);
+        putInterchangeObjectFactory(map, AudioChannelLabelSubDescriptor.AudioChannelLabelSubDescriptorBO.class, AudioChannelLabelSubDescriptor::new);
+        putInterchangeObjectFactory(map, SoundFieldGroupLabelSubDescriptor.SoundFieldGroupLabelSubDescriptorBO.class, SoundFieldGroupLabelSubDescriptor::new);
+        putInterchangeObjectFactory(map, GroupOfSoundFieldGroupLabelSubDescriptor.GroupOfSoundFieldGroupLabelSubDescriptorBO.class, GroupOfSoundFieldGroupLabelSubDescriptor::new);
+        putInterchangeObjectFactory(map, JPEG2000PictureSubDescriptor.JPEG2000PictureSubDescriptorBO.class, JPEG2000PictureSubDescriptor::new);
+        putInterchangeObjectFactory(map, PHDRMetaDataTrackSubDescriptor.PHDRMetaDataTrackSubDescriptorBO.class, PHDRMetaDataTrackSubDescriptor::new);
+        InterchangeObjectFactories = Collections.unmodifiableMap(map);
+    }
+
+    private static <T extends InterchangeObject.InterchangeObjectBO> void putInterchangeObjectBOFactory(Map<Class<?>, InterchangeObjectBOFactory<?>> map,
+                                                                                                      Class<T> clazz, InterchangeObjectBOFactory<T> interchangeObjectBOFactory)
+    {
+        map.put(clazz, interchangeObjectBOFactory);
+    }
+
+    private static <B extends InterchangeObject.InterchangeObjectBO> void putInterchangeObjectFactory(Map<Class<?>, Function<InterchangeObject.InterchangeObjectBO, InterchangeObject>> map,
+                                                                                                    Class<B> clazz, InterchangeObjectFactory<B> interchangeObjectFactory)
+    {
+        //the factories are looked up by the class of the InterchangeObjectBO, hence the cast cannot fail
+        map.put(clazz, interchangeObjectBO -> interchangeObjectFactory.create(clazz.cast(interchangeObjectBO)));
+    }
+
+    /**
+     * Gets the factory for the InterchangeObjectBO class corresponding to a structural metadata set, as returned by
+     * {@link #getStructuralMetadataSetClass(byte[])}
+     * @param clazz the InterchangeObjectBO class
+     * @return the factory, null if the class cannot be instantiated
+     */
+    @Nullable
+    public static InterchangeObjectBOFactory<?> getInterchangeObjectBOFactory(Class<?> clazz)
+    {
+        return InterchangeObjectBOFactories.get(clazz);
+    }
+
+    /**
+     * Gets the factory for the InterchangeObject corresponding to an InterchangeObjectBO class, for the InterchangeObjects
+     * that are constructed from their InterchangeObjectBO alone
+     * @param clazz the InterchangeObjectBO class
+     * @return the factory, null if the InterchangeObject cannot be constructed from its InterchangeObjectBO alone
+     */
+    @Nullable
+    public static Function<InterchangeObject.InterchangeObjectBO, InterchangeObject> getInterchangeObjectFactory(Class<?> clazz)
+    {
+        return InterchangeObjectFactories.get(clazz);
+    }
+
     /**
      * A method that populates the fields of a Structural Metadata set
      *
@@ -650,25 +771,26 @@ public final class StructuralMetadata
     public static void populate(InterchangeObject.InterchangeObjectBO object, ByteProvider byteProvider, long numBytesToRead, Map<Integer, MXFUID> localTagToUIDMap)
             throws IOException
     {
+        StreamingByteProvider streamingByteProvider = StreamingByteProvider.of(byteProvider);
         long numBytesRead = 0;
         while (numBytesRead < numBytesToRead)
         {
             /*From smpte st 377-1:2011 section 9.6, all structural header metadata objects shall be implemented as MXF Local Sets
             which implies that the data item local tag is always 2 bytes long*/
             //read local tag
-            int localTag = MXFPropertyPopulator.getUnsignedShortAsInt(byteProvider.getBytes(2), KLVPacket.BYTE_ORDER);
+            int localTag = streamingByteProvider.readUnsignedShort();
             numBytesRead += 2;
 
             //read length
             long length;
             if (object.getHeader().getRegistryDesignator() == 0x53)
             {
-                length = MXFPropertyPopulator.getUnsignedShortAsInt(byteProvider.getBytes(2), KLVPacket.BYTE_ORDER);
+                length = streamingByteProvider.readUnsignedShort();
                 numBytesRead += 2;
             }
             else if (object.getHeader().getRegistryDesignator() == 0x13)
             {
-                KLVPacket.LengthField lengthField = KLVPacket.getLength(byteProvider);
+                KLVPacket.LengthField lengthField = KLVPacket.getLength(streamingByteProvider);
                 length = lengthField.value;
                 numBytesRead += lengthField.sizeOfLengthField;
             }
@@ -689,11 +811,11 @@ public final class StructuralMetadata
                     throw new MXFException(String.format("Actual length from bitstream = %d is different from expected length = %d",
                             length, expectedLength));
                 }
-                MXFPropertyPopulator.populateField((int) length, byteProvider, object, itemName);
+                MXFPropertyPopulator.populateField((int) length, streamingByteProvider, object, itemName);
             }
             else
             {
-                byteProvider.skipBytes(length);
+                streamingByteProvider.skipBytes(length);
             }
             numBytesRead += length;
         }
@@ -41,6 +41,7 @@ import com.netflix.imflibrary.utils.ErrorLogger;
 import com.netflix.imflibrary.utils.FileByteRangeProvider;
 import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
 import com.netflix.imflibrary.utils.UUIDHelper;
+import com.netflix.imflibrary.utils.XMLSchemaRegistry;
 import com.netflix.imflibrary.writerTools.utils.ValidationEventHandlerImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,8 +50,6 @@ import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
 import javax.annotation.concurrent.Immutable;
-import javax.xml.XMLConstants;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
@@ -58,9 +57,7 @@ import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -185,40 +182,13 @@ public final class OutputProfileList {
      */
     public static OutputProfileList getOutputProfileListType(ResourceByteRangeProvider resourceByteRangeProvider, IMFErrorLogger imfErrorLogger) throws IOException {
         JAXBElement jaxbElement = null;
-        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
-        try (InputStream inputStream = resourceByteRangeProvider.getByteRangeAsStream(0, resourceByteRangeProvider.getResourceSize() - 1);
-             InputStream xmldsig_core_is = contextClassLoader.getResourceAsStream(xmldsig_core_schema_path);
-             InputStream dcmlTypes_is = contextClassLoader.getResourceAsStream(dcmlTypes_schema_path);
-             InputStream imf_opl_100a_is = contextClassLoader.getResourceAsStream(opl_100a_schema_path);
-             InputStream imf_opl_101a_is = contextClassLoader.getResourceAsStream(opl_101a_schema_path);
-             InputStream imf_opl_101b_is = contextClassLoader.getResourceAsStream(opl_101b_schema_path);
-             InputStream imf_opl_101c_is = contextClassLoader.getResourceAsStream(opl_101c_schema_path);
-             InputStream imf_opl_101d_is = contextClassLoader.getResourceAsStream(opl_101d_schema_path);
-             InputStream imf_opl_101e_is = contextClassLoader.getResourceAsStream(opl_101e_schema_path);
-             InputStream imf_opl_101f_is = contextClassLoader.getResourceAsStream(opl_101f_schema_path);
-             InputStream imf_opl_102a_is = contextClassLoader.getResourceAsStream(opl_102a_schema_path);
-             InputStream imf_opl_103b_is = contextClassLoader.getResourceAsStream(opl_103b_schema_path)
-             ) {
-            StreamSource[] streamSources = new StreamSource[11];
-            streamSources[0] = new StreamSource(xmldsig_core_is);
-            streamSources[1] = new StreamSource(dcmlTypes_is);
-            streamSources[2] = new StreamSource(imf_opl_100a_is);
-            streamSources[3] = new StreamSource(imf_opl_101d_is);
-            streamSources[4] = new StreamSource(imf_opl_101b_is);
-            streamSources[5] = new StreamSource(imf_opl_101c_is);
-            streamSources[6] = new StreamSource(imf_opl_101a_is);
-            streamSources[7] = new StreamSource(imf_opl_101e_is);
-            streamSources[8] = new StreamSource(imf_opl_101f_is);
-            streamSources[9] = new StreamSource(imf_opl_102a_is);
-            streamSources[10] = new StreamSource(imf_opl_103b_is);
-
-
-            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            Schema schema = schemaFactory.newSchema(streamSources);
+        try (InputStream inputStream = resourceByteRangeProvider.getByteRangeAsStream(0, resourceByteRangeProvider.getResourceSize() - 1)) {
+            Schema schema = XMLSchemaRegistry.getSchema(xmldsig_core_schema_path, dcmlTypes_schema_path, opl_100a_schema_path,
+                    opl_101d_schema_path, opl_101b_schema_path, opl_101c_schema_path, opl_101a_schema_path, opl_101e_schema_path,
+                    opl_101f_schema_path, opl_102a_schema_path, opl_103b_schema_path);
 
             ValidationEventHandlerImpl validationEventHandlerImpl = new ValidationEventHandlerImpl(true);
-            JAXBContext jaxbContext = JAXBContext.newInstance(outputProfileList_context_path);
-            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+            Unmarshaller unmarshaller = XMLSchemaRegistry.getUnmarshaller(outputProfileList_context_path);
             unmarshaller.setEventHandler(validationEventHandlerImpl);
             unmarshaller.setSchema(schema);
 
@@ -18,43 +18,31 @@
 
 package com.netflix.imflibrary.st2067_2;
 
+import com.netflix.imflibrary.ConcurrentIMFErrorLogger;
 import com.netflix.imflibrary.IMFConstraints;
 import com.netflix.imflibrary.IMFErrorLogger;
 import com.netflix.imflibrary.IMFErrorLoggerImpl;
-import com.netflix.imflibrary.KLVPacket;
 import com.netflix.imflibrary.MXFOperationalPattern1A;
 import com.netflix.imflibrary.exceptions.IMFException;
 import com.netflix.imflibrary.exceptions.MXFException;
-import com.netflix.imflibrary.st0377.HeaderPartition;
-import com.netflix.imflibrary.st0377.PrimerPack;
 import com.netflix.imflibrary.st0377.header.GenericPackage;
-import com.netflix.imflibrary.st0377.header.InterchangeObject;
 import com.netflix.imflibrary.st0377.header.Preface;
 import com.netflix.imflibrary.st0377.header.SourcePackage;
-import com.netflix.imflibrary.utils.ByteArrayDataProvider;
-import com.netflix.imflibrary.utils.ByteProvider;
 import com.netflix.imflibrary.utils.DOMNodeObjectModel;
 import com.netflix.imflibrary.utils.ErrorLogger;
 import com.netflix.imflibrary.utils.FileByteRangeProvider;
 import com.netflix.imflibrary.utils.RegXMLLibDictionary;
-import com.netflix.imflibrary.utils.RegXMLLibHelper;
 import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
 import com.netflix.imflibrary.utils.UUIDHelper;
 import com.netflix.imflibrary.utils.Utilities;
-import com.sandflow.smpte.klv.Triplet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.DocumentFragment;
 import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -68,6 +56,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -125,7 +118,7 @@ public abstract class AbstractApplicationComposition implements ApplicationCompo
 
         this.compositionPlaylistType = imfCompositionPlaylistType;
 
-        this.regXMLLibDictionary = new RegXMLLibDictionary();
+        this.regXMLLibDictionary = RegXMLLibDictionary.getInstance();
 
         this.coreConstraintsVersion = this.compositionPlaylistType.getCoreConstraintsVersion();
 
@@ -159,87 +152,12 @@ public abstract class AbstractApplicationComposition implements ApplicationCompo
      */
     private static Map<UUID, Composition.VirtualTrack> getVirtualTracksMap(@Nonnull IMFCompositionPlaylistType
                                                                              compositionPlaylistType, @Nonnull IMFErrorLogger imfErrorLogger) {
-        Map<UUID, Composition.VirtualTrack> virtualTrackMap = new LinkedHashMap<>();
-
-        Map<UUID, List<IMFBaseResourceType>> virtualTrackResourceMap = getVirtualTrackResourceMap(compositionPlaylistType, imfErrorLogger);
-
-        //process first segment to create virtual track map
-        IMFSegmentType segment = compositionPlaylistType.getSegmentList().get(0);
-        for (IMFSequenceType sequence : segment.getSequenceList()) {
-            UUID uuid = UUIDHelper.fromUUIDAsURNStringToUUID(sequence.getTrackId());
-            if (virtualTrackMap.get(uuid) == null) {
-                List<? extends IMFBaseResourceType> virtualTrackResourceList = null;
-                if (virtualTrackResourceMap.get(uuid) == null) {
-                    virtualTrackResourceList = new ArrayList<IMFBaseResourceType>();
-                } else {
-                    virtualTrackResourceList = virtualTrackResourceMap.get(uuid);
-                }
-                Composition.VirtualTrack virtualTrack = null;
-                if (virtualTrackResourceList.size() != 0) {
-                    if (virtualTrackResourceList.get(0) instanceof IMFTrackFileResourceType) {
-                        virtualTrack = new IMFEssenceComponentVirtualTrack(uuid,
-                                sequence.getType(),
-                                (List<IMFTrackFileResourceType>) virtualTrackResourceList,
-                                compositionPlaylistType.getEditRate());
-                    } else if (virtualTrackResourceList.get(0) instanceof IMFMarkerResourceType) {
-                        virtualTrack = new IMFMarkerVirtualTrack(uuid,
-                                sequence.getType(),
-                                (List<IMFMarkerResourceType>) virtualTrackResourceList,
-                                compositionPlaylistType.getEditRate());
-                    }
-                }
-                virtualTrackMap.put(uuid, virtualTrack);
-            } else {
-                //Section 6.9.3 st2067-3:2016
-                String message = String.format(
-                        "First segment in Composition XML file has multiple occurrences of virtual track UUID %s this is invalid.", uuid);
-                imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CORE_CONSTRAINTS_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, message);
-            }
-        }
-
-        IMFCoreConstraintsChecker.checkSegments(compositionPlaylistType, virtualTrackMap, imfErrorLogger);
-
-        return virtualTrackMap;
-    }
-
-    /**
-     * A stateless method that completely reads and parses the resources of all the Composition.VirtualTracks that are a part of the Composition
-     *
-     * @param compositionPlaylistType - a CompositionPlaylist object model
-     * @param imfErrorLogger          - an object for logging errors
-     * @return map of VirtualTrack identifier to the list of all the Track's resources, for every Composition.VirtualTrack of the Composition
-     */
-    private static Map<UUID, List<IMFBaseResourceType>> getVirtualTrackResourceMap(@Nonnull IMFCompositionPlaylistType
-                                                                                     compositionPlaylistType, @Nonnull IMFErrorLogger imfErrorLogger) {
-        Map<UUID, List<IMFBaseResourceType>> virtualTrackResourceMap = new LinkedHashMap<>();
+        VirtualTrackMapBuilder virtualTrackMapBuilder = new VirtualTrackMapBuilder(imfErrorLogger);
+        virtualTrackMapBuilder.onCompositionPlaylist(compositionPlaylistType);
         for (IMFSegmentType segment : compositionPlaylistType.getSegmentList()) {
-            for (IMFSequenceType sequence : segment.getSequenceList()) {
-                UUID uuid = UUIDHelper.fromUUIDAsURNStringToUUID(sequence.getTrackId());
-                if (virtualTrackResourceMap.get(uuid) == null) {
-                    virtualTrackResourceMap.put(uuid, new ArrayList<IMFBaseResourceType>());
-                }
-
-                for (IMFBaseResourceType baseResource : sequence.getResourceList()) {
-                   /* Ignore track file resource with zero or negative duration */
-                    if (baseResource.getSourceDuration().longValue() <= 0) {
-                        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR,
-                                IMFErrorLogger.IMFErrors.ErrorLevels.WARNING, String.format("Resource with zero source duration ignored: VirtualTrackID %s ResourceID %s",
-                                        uuid.toString(),
-                                        baseResource.getId()));
-                    } else {
-                        virtualTrackResourceMap.get(uuid).add(baseResource);
-                    }
-                }
-            }
+            virtualTrackMapBuilder.onSegment(segment);
         }
-
-        //make virtualTrackResourceMap immutable
-        for (Map.Entry<UUID, List<IMFBaseResourceType>> entry : virtualTrackResourceMap.entrySet()) {
-            List<? extends IMFBaseResourceType> baseResources = entry.getValue();
-            entry.setValue(Collections.unmodifiableList(baseResources));
-        }
-
-        return virtualTrackResourceMap;
+        return virtualTrackMapBuilder.build();
     }
 
     /**
@@ -673,6 +591,49 @@ public abstract class AbstractApplicationComposition implements ApplicationCompo
     public List<ErrorLogger.ErrorObject> conformVirtualTracksInComposition(List<Composition.HeaderPartitionTuple>
                                                                    headerPartitionTuples,
                                                      boolean conformAllVirtualTracksInCpl) throws IOException {
+        return conformVirtualTracksInComposition(headerPartitionTuples, conformAllVirtualTracksInCpl, new EssenceDescriptorCache());
+    }
+
+    /**
+     * This method can be used to determine if a Composition is conformant. Conformance checks
+     * perform deeper inspection of the Composition and the EssenceDescriptors corresponding to the
+     * resources referenced by the Composition.
+     *
+     * @param headerPartitionTuples        list of HeaderPartitionTuples corresponding to the IMF essences referenced in the Composition
+     * @param conformAllVirtualTracksInCpl a boolean that turns on/off conforming all the VirtualTracks in the Composition
+     * @param essenceDescriptorCache       a cache of the EssenceDescriptors of the IMF essences, that can be shared with
+     *                                     the other Compositions that reference the same IMF essences
+     * @return boolean to indicate of the Composition is conformant or not
+     * @throws IOException        - any I/O related error is exposed through an IOException.
+     */
+    public List<ErrorLogger.ErrorObject> conformVirtualTracksInComposition(List<Composition.HeaderPartitionTuple>
+                                                                   headerPartitionTuples,
+                                                     boolean conformAllVirtualTracksInCpl,
+                                                     @Nonnull EssenceDescriptorCache essenceDescriptorCache) throws IOException {
+        return conformVirtualTracksInComposition(headerPartitionTuples, conformAllVirtualTracksInCpl, essenceDescriptorCache, null);
+    }
+
+    /**
+     * This method can be used to determine if a Composition is conformant. Conformance checks
+     * perform deeper inspection of the Composition and the EssenceDescriptors corresponding to the
+     * resources referenced by the Composition. The EssenceDescriptors of the IMF essences are created and compared
+     * with the EssenceDescriptorList concurrently on an executor, the errors are reported in the same order as when
+     * the Composition is conformed sequentially.
+     *
+     * @param headerPartitionTuples        list of HeaderPartitionTuples corresponding to the IMF essences referenced in the Composition
+     * @param conformAllVirtualTracksInCpl a boolean that turns on/off conforming all the VirtualTracks in the Composition
+     * @param essenceDescriptorCache       a cache of the EssenceDescriptors of the IMF essences, that can be shared with
+     *                                     the other Compositions that reference the same IMF essences
+     * @param executor                     the executor on which the IMF essences are conformed, or null to conform
+     *                                     them sequentially on the calling thread
+     * @return boolean to indicate of the Composition is conformant or not
+     * @throws IOException        - any I/O related error is exposed through an IOException.
+     */
+    public List<ErrorLogger.ErrorObject> conformVirtualTracksInComposition(List<Composition.HeaderPartitionTuple>
+                                                                   headerPartitionTuples,
+                                                     boolean conformAllVirtualTracksInCpl,
+                                                     @Nonnull EssenceDescriptorCache essenceDescriptorCache,
+                                                     @Nullable Executor executor) throws IOException {
         /*
          * The algorithm for conformance checking a Composition (CPL) would be
          * 1) Verify that every EssenceDescriptor element in the EssenceDescriptor list (EDL) is referenced through its id element if conformAllVirtualTracks is enabled
@@ -719,7 +680,7 @@ public abstract class AbstractApplicationComposition implements ApplicationCompo
         }
 
         try {
-            resourceEssenceDescriptorMap = this.getResourcesEssenceDescriptorsMap(headerPartitionTuples);
+            resourceEssenceDescriptorMap = this.getResourcesEssenceDescriptorsMap(headerPartitionTuples, essenceDescriptorCache, executor);
         }
         catch(IMFException e)
         {
@@ -731,7 +692,7 @@ public abstract class AbstractApplicationComposition implements ApplicationCompo
             return imfErrorLogger.getErrors();
         }
 
-        imfErrorLogger.addAllErrors(conformEssenceDescriptors(resourceEssenceDescriptorMap, essenceDescriptorMap));
+        imfErrorLogger.addAllErrors(conformEssenceDescriptors(resourceEssenceDescriptorMap, essenceDescriptorMap, executor));
         return imfErrorLogger.getErrors();
     }
 
@@ -771,7 +732,7 @@ public abstract class AbstractApplicationComposition implements ApplicationCompo
     }
 
     private Map<UUID, List<DOMNodeObjectModel>> getResourcesEssenceDescriptorsMap(List<Composition
-            .HeaderPartitionTuple> headerPartitionTuples) throws IOException {
+            .HeaderPartitionTuple> headerPartitionTuples, EssenceDescriptorCache essenceDescriptorCache, @Nullable Executor executor) throws IOException {
         int previousNumberOfErrors = imfErrorLogger.getErrors().size();
         Map<UUID, List<DOMNodeObjectModel>> resourcesEssenceDescriptorMap = new LinkedHashMap<>();
 
@@ -809,36 +770,48 @@ public abstract class AbstractApplicationComposition implements ApplicationCompo
         }
         List<Composition.VirtualTrack> virtualTracks = new ArrayList<>(this.getVirtualTrackMap().values());
 
+        /*Create a DOM Node representation of the EssenceDescriptors present in the header partition of every IMFTrackFile
+        referenced by the Composition, concurrently if an executor was provided*/
+        Set<UUID> trackFileIds = new LinkedHashSet<>();
+        List<Callable<IMFErrorLogger>> tasks = new ArrayList<>();
+        Map<UUID, List<DOMNodeObjectModel>> trackFileEssenceDescriptorsMap = new ConcurrentHashMap<>();
+        for (ResourceIdTuple resourceIdTuple : getResourceIdTuples(virtualTracks)) {
+            UUID trackFileId = resourceIdTuple.getTrackFileId();
+            Composition.HeaderPartitionTuple headerPartitionTuple = resourceUUIDHeaderPartitionMap.get(trackFileId);
+            if (headerPartitionTuple != null && trackFileIds.add(trackFileId)) {
+                tasks.add(() -> {
+                    IMFErrorLogger trackFileErrorLogger = new ConcurrentIMFErrorLogger();
+                    try {
+                        trackFileEssenceDescriptorsMap.put(trackFileId, essenceDescriptorCache.getEssenceDescriptors(trackFileId, headerPartitionTuple, trackFileErrorLogger));
+                    }
+                    catch (IMFException e) {
+                        trackFileErrorLogger.addAllErrors(e.getErrors());
+                    }
+                    return trackFileErrorLogger;
+                });
+            }
+        }
+        Map<UUID, IMFErrorLogger> trackFileErrorLoggerMap = new HashMap<>();
+        Iterator<IMFErrorLogger> trackFileErrorLoggers = invokeAll(tasks, executor).iterator();
+        for (UUID trackFileId : trackFileIds) {
+            trackFileErrorLoggerMap.put(trackFileId, trackFileErrorLoggers.next());
+        }
+
         /*Go through all the Virtual Tracks in the Composition and construct a map of Resource Source Encoding Element and a list of DOM nodes representing every EssenceDescriptor in the HeaderPartition corresponding to that Resource*/
         for (Composition.VirtualTrack virtualTrack : virtualTracks) {
             List<AbstractApplicationComposition.ResourceIdTuple> resourceIdTuples = this.getVirtualTrackResourceIDs(virtualTrack);/*Retrieve a list of ResourceIDTuples corresponding to this virtual track*/
             for (AbstractApplicationComposition.ResourceIdTuple resourceIdTuple : resourceIdTuples)
             {
-                try
+                IMFErrorLogger trackFileErrorLogger = trackFileErrorLoggerMap.get(resourceIdTuple.getTrackFileId());
+                if (trackFileErrorLogger != null)
                 {
-                    Composition.HeaderPartitionTuple headerPartitionTuple = resourceUUIDHeaderPartitionMap.get(resourceIdTuple.getTrackFileId());
-                    if (headerPartitionTuple != null)
+                    imfErrorLogger.addAllErrors(trackFileErrorLogger.getErrors());
+                    List<DOMNodeObjectModel> domNodeObjectModels = trackFileEssenceDescriptorsMap.get(resourceIdTuple.getTrackFileId());
+                    if (domNodeObjectModels != null)
                     {
-                        /*Create a DOM Node representation of the EssenceDescriptors present in this header partition
-                        corresponding to an IMFTrackFile*/
-                        List<Node> essenceDescriptorDOMNodes = getEssenceDescriptorDOMNodes(headerPartitionTuple);
-                        List<DOMNodeObjectModel> domNodeObjectModels = new ArrayList<>();
-                        for (Node node : essenceDescriptorDOMNodes) {
-                            try {
-                                domNodeObjectModels.add(new DOMNodeObjectModel(node));
-                            }
-                            catch( IMFException e) {
-                                imfErrorLogger.addAllErrors(e.getErrors());
-                            }
-
-                        }
                         resourcesEssenceDescriptorMap.put(resourceIdTuple.getSourceEncoding(), domNodeObjectModels);
                     }
                 }
-                catch( IMFException e)
-                {
-                    imfErrorLogger.addAllErrors(e.getErrors());
-                }
             }
         }
 
@@ -859,71 +832,9 @@ public abstract class AbstractApplicationComposition implements ApplicationCompo
         return Collections.unmodifiableMap(resourcesEssenceDescriptorMap);
     }
 
-    private List<Node> getEssenceDescriptorDOMNodes(Composition.HeaderPartitionTuple headerPartitionTuple) throws IOException {
-        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
-            List<InterchangeObject.InterchangeObjectBO> essenceDescriptors = headerPartitionTuple.getHeaderPartition().getEssenceDescriptors();
-            List<Node> essenceDescriptorNodes = new ArrayList<>();
-            for (InterchangeObject.InterchangeObjectBO essenceDescriptor : essenceDescriptors) {
-                try {
-                    KLVPacket.Header essenceDescriptorHeader = essenceDescriptor.getHeader();
-                    List<KLVPacket.Header> subDescriptorHeaders = this.getSubDescriptorKLVHeader(headerPartitionTuple.getHeaderPartition(), essenceDescriptor);
-                    /*Create a dom*/
-                    DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-                    DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-                    Document document = docBuilder.newDocument();
-
-                    DocumentFragment documentFragment = this.getEssenceDescriptorAsDocumentFragment(document, headerPartitionTuple, essenceDescriptorHeader, subDescriptorHeaders);
-                    Node node = documentFragment.getFirstChild();
-                    essenceDescriptorNodes.add(node);
-                } catch (ParserConfigurationException e) {
-                    imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.INTERNAL_ERROR,
-                            IMFErrorLogger.IMFErrors
-                            .ErrorLevels.FATAL, e.getMessage());
-                }
-            }
-            if(imfErrorLogger.hasFatalErrors()) {
-                throw new IMFException("Failed to get Essence Descriptor for a resource", imfErrorLogger);
-            }
-            return essenceDescriptorNodes;
-
-    }
-
-    private List<KLVPacket.Header> getSubDescriptorKLVHeader(HeaderPartition headerPartition, InterchangeObject.InterchangeObjectBO essenceDescriptor) {
-        List<KLVPacket.Header> subDescriptorHeaders = new ArrayList<>();
-        List<InterchangeObject.InterchangeObjectBO> subDescriptors = headerPartition.getSubDescriptors(essenceDescriptor);
-        for (InterchangeObject.InterchangeObjectBO subDescriptorBO : subDescriptors) {
-            if (subDescriptorBO != null) {
-                subDescriptorHeaders.add(subDescriptorBO.getHeader());
-            }
-        }
-        return Collections.unmodifiableList(subDescriptorHeaders);
-    }
-
-    private DocumentFragment getEssenceDescriptorAsDocumentFragment(Document document, Composition.HeaderPartitionTuple headerPartitionTuple, KLVPacket.Header essenceDescriptor, List<KLVPacket.Header> subDescriptors) throws MXFException, IOException {
-        document.setXmlStandalone(true);
-
-        PrimerPack primerPack = headerPartitionTuple.getHeaderPartition().getPrimerPack();
-        ResourceByteRangeProvider resourceByteRangeProvider = headerPartitionTuple.getResourceByteRangeProvider();
-        RegXMLLibHelper regXMLLibHelper = new RegXMLLibHelper(primerPack.getHeader(), getByteProvider(resourceByteRangeProvider, primerPack.getHeader()));
-        Triplet essenceDescriptorTriplet = regXMLLibHelper.getTripletFromKLVHeader(essenceDescriptor, getByteProvider(resourceByteRangeProvider, essenceDescriptor));
-        //DocumentFragment documentFragment = this.regXMLLibHelper.getDocumentFragment(essenceDescriptorTriplet, document);
-        /*Get the Triplets corresponding to the SubDescriptors*/
-        List<Triplet> subDescriptorTriplets = new ArrayList<>();
-        for (KLVPacket.Header subDescriptorHeader : subDescriptors) {
-            subDescriptorTriplets.add(regXMLLibHelper.getTripletFromKLVHeader(subDescriptorHeader, this.getByteProvider(resourceByteRangeProvider, subDescriptorHeader)));
-        }
-        return regXMLLibHelper.getEssenceDescriptorDocumentFragment(essenceDescriptorTriplet, subDescriptorTriplets, document, this.imfErrorLogger);
-    }
-
-    private ByteProvider getByteProvider(ResourceByteRangeProvider resourceByteRangeProvider, KLVPacket.Header header) throws IOException {
-        byte[] bytes = resourceByteRangeProvider.getByteRangeAsBytes(header.getByteOffset(), header.getByteOffset() + header.getKLSize() + header.getVSize());
-        ByteProvider byteProvider = new ByteArrayDataProvider(bytes);
-        return byteProvider;
-    }
-
     private List<IMFErrorLogger.ErrorObject> conformEssenceDescriptors(Map<UUID, List<DOMNodeObjectModel>>
                                                                     essenceDescriptorsMap, Map<UUID,
-            DOMNodeObjectModel> eDLMap) {
+            DOMNodeObjectModel> eDLMap, @Nullable Executor executor) throws IOException {
         IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
 
         /**
@@ -959,49 +870,62 @@ public abstract class AbstractApplicationComposition implements ApplicationCompo
         ignoreSet.add("PHDRMetadataTrackSubDescriptor");
 
         /**
-         * The following check ensures that we have atleast one EssenceDescriptor in a TrackFile that equals the corresponding EssenceDescriptor element in the CPL's EDL
+         * The following check ensures that we have atleast one EssenceDescriptor in a TrackFile that equals the corresponding EssenceDescriptor element in the CPL's EDL.
+         * The EssenceDescriptors of every resource are checked independently, concurrently if an executor was provided,
+         * and the errors are recorded in the order of the resources.
          */
-        Iterator<Map.Entry<UUID, List<DOMNodeObjectModel>>> iterator = essenceDescriptorsMap.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, List<DOMNodeObjectModel>> entry = (Map.Entry<UUID, List<DOMNodeObjectModel>>) iterator.next();
-            List<DOMNodeObjectModel> domNodeObjectModels = entry.getValue();
-            DOMNodeObjectModel referenceDOMNodeObjectModel = eDLMap.get(entry.getKey());
-            if (referenceDOMNodeObjectModel == null) {
-                imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, String.format("EssenceDescriptor with Source Encoding " +
-                        "Element %s in a track does not have a corresponding entry in the CPL's Essence Descriptor List.", entry.getKey().toString()));
+        List<Callable<List<ErrorLogger.ErrorObject>>> tasks = new ArrayList<>();
+        for (Map.Entry<UUID, List<DOMNodeObjectModel>> entry : essenceDescriptorsMap.entrySet()) {
+            tasks.add(() -> conformEssenceDescriptor(entry.getKey(), entry.getValue(), eDLMap.get(entry.getKey()), ignoreSet));
+        }
+        for (List<ErrorLogger.ErrorObject> errors : invokeAll(tasks, executor)) {
+            imfErrorLogger.addAllErrors(errors);
+        }
+
+        return imfErrorLogger.getErrors();
+    }
+
+    private static List<ErrorLogger.ErrorObject> conformEssenceDescriptor(UUID sourceEncodingElement,
+                                                                          List<DOMNodeObjectModel> domNodeObjectModels,
+                                                                          @Nullable DOMNodeObjectModel eDLDOMNodeObjectModel,
+                                                                          Set<String> ignoreSet) {
+        IMFErrorLogger imfErrorLogger = new ConcurrentIMFErrorLogger();
+        DOMNodeObjectModel referenceDOMNodeObjectModel = eDLDOMNodeObjectModel;
+        if (referenceDOMNodeObjectModel == null) {
+            imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, String.format("EssenceDescriptor with Source Encoding " +
+                    "Element %s in a track does not have a corresponding entry in the CPL's Essence Descriptor List.", sourceEncodingElement.toString()));
+        }
+        else {
+            referenceDOMNodeObjectModel = DOMNodeObjectModel.createDOMNodeObjectModelIgnoreSet(eDLDOMNodeObjectModel, ignoreSet);
+            boolean intermediateResult = false;
+
+            List<DOMNodeObjectModel> domNodeObjectModelsIgnoreSet = new ArrayList<>();
+            for (DOMNodeObjectModel domNodeObjectModel : domNodeObjectModels) {
+                domNodeObjectModel = DOMNodeObjectModel.createDOMNodeObjectModelIgnoreSet(domNodeObjectModel, ignoreSet);
+                domNodeObjectModelsIgnoreSet.add(domNodeObjectModel);
+                intermediateResult |= referenceDOMNodeObjectModel.equals(domNodeObjectModel);
             }
-            else {
-                referenceDOMNodeObjectModel = DOMNodeObjectModel.createDOMNodeObjectModelIgnoreSet(eDLMap.get(entry.getKey()), ignoreSet);
-                boolean intermediateResult = false;
-
-                List<DOMNodeObjectModel> domNodeObjectModelsIgnoreSet = new ArrayList<>();
-                for (DOMNodeObjectModel domNodeObjectModel : domNodeObjectModels) {
-                    domNodeObjectModel = DOMNodeObjectModel.createDOMNodeObjectModelIgnoreSet(domNodeObjectModel, ignoreSet);
-                    domNodeObjectModelsIgnoreSet.add(domNodeObjectModel);
-                    intermediateResult |= referenceDOMNodeObjectModel.equals(domNodeObjectModel);
-                }
-                if (!intermediateResult) {
-                    DOMNodeObjectModel matchingDOMNodeObjectModel = DOMNodeObjectModel.getMatchingDOMNodeObjectModel(referenceDOMNodeObjectModel, domNodeObjectModelsIgnoreSet);
-                    imfErrorLogger.addAllErrors(DOMNodeObjectModel.getNamespaceURIMismatchErrors(referenceDOMNodeObjectModel, matchingDOMNodeObjectModel));
+            if (!intermediateResult) {
+                DOMNodeObjectModel matchingDOMNodeObjectModel = DOMNodeObjectModel.getMatchingDOMNodeObjectModel(referenceDOMNodeObjectModel, domNodeObjectModelsIgnoreSet);
+                imfErrorLogger.addAllErrors(DOMNodeObjectModel.getNamespaceURIMismatchErrors(referenceDOMNodeObjectModel, matchingDOMNodeObjectModel));
 
-                    String domNodeName = referenceDOMNodeObjectModel.getLocalName();
-                    List<DOMNodeObjectModel> domNodeObjectModelList = domNodeObjectModelsIgnoreSet.stream().filter( e -> e.getLocalName().equals(domNodeName)).collect(Collectors.toList());
-                    if(domNodeObjectModelList.size() != 0)
-                    {
-                        DOMNodeObjectModel diffCPLEssenceDescriptor = referenceDOMNodeObjectModel.removeNodes(domNodeObjectModelList.get(0));
-                        DOMNodeObjectModel diffTrackFileEssenceDescriptor = domNodeObjectModelList.get(0).removeNodes(referenceDOMNodeObjectModel);
-                        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, String.format("EssenceDescriptor with Id %s in the CPL's " +
-                                "EssenceDescriptorList doesn't match any EssenceDescriptors within the IMFTrackFile resource that references it, " +
-                                "%n%n EssenceDescriptor in CPL EssenceDescriptorList with mismatching fields is as follows %n%s, %n%nEssenceDescriptor found in the " +
-                                "TrackFile resource with mismatching fields is as follows %n%s%n%n",
-                                entry.getKey().toString(), diffCPLEssenceDescriptor.toString(), diffTrackFileEssenceDescriptor.toString()));
-                    }
-                    else {
-                        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, String.format("EssenceDescriptor with Id %s in the CPL's " +
-                                "EssenceDescriptorList doesn't match any EssenceDescriptors within the IMFTrackFile resource that references it, " +
-                                "%n%n EssenceDescriptor in CPL EssenceDescriptorList is as follows %n%s, %n%nEssenceDescriptors found in the TrackFile resource %n%s%n%n",
-                                entry.getKey().toString(), referenceDOMNodeObjectModel.toString(), Utilities.serializeObjectCollectionToString(domNodeObjectModelsIgnoreSet)));
-                    }
+                String domNodeName = referenceDOMNodeObjectModel.getLocalName();
+                List<DOMNodeObjectModel> domNodeObjectModelList = domNodeObjectModelsIgnoreSet.stream().filter( e -> e.getLocalName().equals(domNodeName)).collect(Collectors.toList());
+                if(domNodeObjectModelList.size() != 0)
+                {
+                    DOMNodeObjectModel diffCPLEssenceDescriptor = referenceDOMNodeObjectModel.removeNodes(domNodeObjectModelList.get(0));
+                    DOMNodeObjectModel diffTrackFileEssenceDescriptor = domNodeObjectModelList.get(0).removeNodes(referenceDOMNodeObjectModel);
+                    imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, String.format("EssenceDescriptor with Id %s in the CPL's " +
+                            "EssenceDescriptorList doesn't match any EssenceDescriptors within the IMFTrackFile resource that references it, " +
+                            "%n%n EssenceDescriptor in CPL EssenceDescriptorList with mismatching fields is as follows %n%s, %n%nEssenceDescriptor found in the " +
+                            "TrackFile resource with mismatching fields is as follows %n%s%n%n",
+                            sourceEncodingElement.toString(), diffCPLEssenceDescriptor.toString(), diffTrackFileEssenceDescriptor.toString()));
+                }
+                else {
+                    imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, String.format("EssenceDescriptor with Id %s in the CPL's " +
+                            "EssenceDescriptorList doesn't match any EssenceDescriptors within the IMFTrackFile resource that references it, " +
+                            "%n%n EssenceDescriptor in CPL EssenceDescriptorList is as follows %n%s, %n%nEssenceDescriptors found in the TrackFile resource %n%s%n%n",
+                            sourceEncodingElement.toString(), referenceDOMNodeObjectModel.toString(), Utilities.serializeObjectCollectionToString(domNodeObjectModelsIgnoreSet)));
                 }
             }
         }
@@ -1009,6 +933,68 @@ public abstract class AbstractApplicationComposition implements ApplicationCompo
         return imfErrorLogger.getErrors();
     }
 
+    /**
+     * A method that runs a list of tasks, either sequentially on the calling thread or concurrently on an executor, and
+     * returns their results in the order of the tasks. When a task fails the tasks that have not started yet are
+     * cancelled.
+     */
+    private static <T> List<T> invokeAll(List<Callable<T>> tasks, @Nullable Executor executor) throws IOException {
+        List<T> results = new ArrayList<>();
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        try {
+            if (executor == null) {
+                for (Callable<T> task : tasks) {
+                    results.add(task.call());
+                }
+            }
+            else {
+                for (Callable<T> task : tasks) {
+                    futures.add(CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return task.call();
+                        }
+                        catch (Exception e) {
+                            throw new CompletionException(e);
+                        }
+                    }, executor));
+                }
+                for (CompletableFuture<T> future : futures) {
+                    results.add(future.join());
+                }
+            }
+        }
+        catch (CompletionException e) {
+            throw getCause(e);
+        }
+        catch (IOException | RuntimeException e) {
+            throw e;
+        }
+        catch (Exception e) {
+            throw new IOException(e);
+        }
+        finally {
+            //a no-op for the tasks that have completed
+            for (CompletableFuture<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    private static IOException getCause(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException(cause);
+    }
+
     public @Nullable CompositionImageEssenceDescriptorModel getCompositionImageEssenceDescriptorModel() {
         CompositionImageEssenceDescriptorModel imageEssenceDescriptorModel = null;
         DOMNodeObjectModel imageEssencedescriptorDOMNode = this.getEssenceDescriptor(
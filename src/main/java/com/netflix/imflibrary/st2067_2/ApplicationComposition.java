@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 /**
  * This interface represents a canonical model of the XML type 'CompositionPlaylistType' defined by SMPTE st2067-3,
@@ -200,6 +201,45 @@ public interface ApplicationComposition {
                                                                    headerPartitionTuples,
                                                      boolean conformAllVirtualTracksInCpl) throws IOException;
 
+    /**
+     * This method can be used to determine if a Composition is conformant, the EssenceDescriptors of the resources
+     * referenced by the Composition are obtained from a cache that can be shared by the Compositions of an IMF package.
+     * The default implementation ignores the cache.
+     *
+     * @param headerPartitionTuples        list of HeaderPartitionTuples corresponding to the IMF essences referenced in the Composition
+     * @param conformAllVirtualTracksInCpl a boolean that turns on/off conforming all the VirtualTracks in the Composition
+     * @param essenceDescriptorCache       a cache of the EssenceDescriptors of the IMF essences
+     * @return boolean to indicate of the Composition is conformant or not
+     * @throws IOException        - any I/O related error is exposed through an IOException.
+     */
+    default List<ErrorLogger.ErrorObject> conformVirtualTracksInComposition(List<Composition.HeaderPartitionTuple>
+                                                                   headerPartitionTuples,
+                                                     boolean conformAllVirtualTracksInCpl,
+                                                     EssenceDescriptorCache essenceDescriptorCache) throws IOException {
+        return conformVirtualTracksInComposition(headerPartitionTuples, conformAllVirtualTracksInCpl);
+    }
+
+    /**
+     * This method can be used to determine if a Composition is conformant, the EssenceDescriptors of the resources
+     * referenced by the Composition are created and compared concurrently on an executor. The errors are reported in
+     * the same order as when the Composition is conformed sequentially. The default implementation ignores the executor
+     * and conforms the Composition sequentially.
+     *
+     * @param headerPartitionTuples        list of HeaderPartitionTuples corresponding to the IMF essences referenced in the Composition
+     * @param conformAllVirtualTracksInCpl a boolean that turns on/off conforming all the VirtualTracks in the Composition
+     * @param essenceDescriptorCache       a cache of the EssenceDescriptors of the IMF essences
+     * @param executor                     the executor on which the IMF essences are conformed, or null to conform them sequentially
+     * @return boolean to indicate of the Composition is conformant or not
+     * @throws IOException        - any I/O related error is exposed through an IOException.
+     */
+    default List<ErrorLogger.ErrorObject> conformVirtualTracksInComposition(List<Composition.HeaderPartitionTuple>
+                                                                   headerPartitionTuples,
+                                                     boolean conformAllVirtualTracksInCpl,
+                                                     EssenceDescriptorCache essenceDescriptorCache,
+                                                     @Nullable Executor executor) throws IOException {
+        return conformVirtualTracksInComposition(headerPartitionTuples, conformAllVirtualTracksInCpl, essenceDescriptorCache);
+    }
+
     /**
      * A method to get Application Composition type.
      *
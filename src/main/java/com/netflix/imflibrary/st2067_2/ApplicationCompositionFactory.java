@@ -87,11 +87,47 @@ public class ApplicationCompositionFactory {
     }
 
     public static ApplicationComposition getApplicationComposition(ResourceByteRangeProvider resourceByteRangeProvider, IMFErrorLogger imfErrorLogger) throws IOException {
+        IMFCompositionPlaylistType imfCompositionPlaylistType;
+        try {
+            imfCompositionPlaylistType = IMFCompositionPlaylistType.getCompositionPlayListType(resourceByteRangeProvider, imfErrorLogger);
+        }
+        catch(IMFException e) {
+            imfErrorLogger.addAllErrors(e.getErrors());
+            return null;
+        }
+        return getApplicationComposition(imfCompositionPlaylistType, imfErrorLogger);
+    }
+
+    /**
+     * A factory method that constructs an ApplicationComposition from a Composition Playlist document that is read using
+     * an {@link IMFCompositionPlaylistStreamReader}, rather than by unmarshalling the entire document into a JAXB object
+     * graph. The result is identical to that of {@link #getApplicationComposition(ResourceByteRangeProvider, IMFErrorLogger)}.
+     * Only the JAXB object graph of one Segment or EssenceDescriptor is held at a time, however the canonical models of
+     * all the Segments and EssenceDescriptors are retained since the ApplicationComposition refers to them, hence the
+     * memory used grows with the size of the Composition.
+     *
+     * @param resourceByteRangeProvider corresponding to the Composition XML file
+     * @param imfErrorLogger an error logger for recording any errors - cannot be null
+     * @return the ApplicationComposition, or null if it could not be constructed, in which case the errors are recorded in imfErrorLogger
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static ApplicationComposition getApplicationCompositionFromStream(ResourceByteRangeProvider resourceByteRangeProvider, IMFErrorLogger imfErrorLogger) throws IOException {
+        IMFCompositionPlaylistType imfCompositionPlaylistType;
+        try {
+            imfCompositionPlaylistType = IMFCompositionPlaylistStreamReader.readCompositionPlaylistType(resourceByteRangeProvider, imfErrorLogger);
+        }
+        catch(IMFException e) {
+            imfErrorLogger.addAllErrors(e.getErrors());
+            return null;
+        }
+        return getApplicationComposition(imfCompositionPlaylistType, imfErrorLogger);
+    }
+
+    private static ApplicationComposition getApplicationComposition(IMFCompositionPlaylistType imfCompositionPlaylistType, IMFErrorLogger imfErrorLogger) {
         ApplicationComposition composition = null;
         Class<?> clazz = null;
 
         try {
-            IMFCompositionPlaylistType imfCompositionPlaylistType = IMFCompositionPlaylistType.getCompositionPlayListType(resourceByteRangeProvider, imfErrorLogger);
             String applicationIdentification = imfCompositionPlaylistType.getApplicationIdentification();
             ApplicationCompositionType applicationCompositionType = ApplicationCompositionType.fromApplicationID(applicationIdentification);
 
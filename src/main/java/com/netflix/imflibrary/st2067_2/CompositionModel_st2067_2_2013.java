@@ -8,6 +8,7 @@ import org.w3c.dom.Element;
 
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.xml.bind.JAXBElement;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -34,11 +35,116 @@ final class CompositionModel_st2067_2_2013 {
     public static IMFCompositionPlaylistType getCompositionPlaylist (@Nonnull org.smpte_ra.schemas.st2067_2_2013.CompositionPlaylistType compositionPlaylistType, @Nonnull IMFErrorLogger imfErrorLogger) {
         List<IMFSegmentType> segmentList = new ArrayList<IMFSegmentType>();
         for (org.smpte_ra.schemas.st2067_2_2013.SegmentType segment : compositionPlaylistType.getSegmentList().getSegment()) {
-            List<IMFSequenceType> sequenceList = new ArrayList<IMFSequenceType>();
-            org.smpte_ra.schemas.st2067_2_2013.SequenceType sequence;
+            segmentList.add(getSegment(segment, compositionPlaylistType.getEditRate(), imfErrorLogger));
+        }
+        segmentList = Collections.unmodifiableList(segmentList);
+
+        List<IMFEssenceDescriptorBaseType> essenceDescriptorList = new ArrayList<IMFEssenceDescriptorBaseType>();
 
-            /* Parse Marker sequence */
-            sequence = segment.getSequenceList().getMarkerSequence();
+        if (compositionPlaylistType.getEssenceDescriptorList() != null &&
+                compositionPlaylistType.getEssenceDescriptorList().getEssenceDescriptor().size() >= 1) {
+            for (org.smpte_ra.schemas.st2067_2_2013.EssenceDescriptorBaseType essenceDescriptor : compositionPlaylistType.getEssenceDescriptorList().getEssenceDescriptor()) {
+                essenceDescriptorList.add(new IMFEssenceDescriptorBaseType(essenceDescriptor.getId(),
+                        essenceDescriptor.getAny()));
+            }
+        }
+        essenceDescriptorList = Collections.unmodifiableList(essenceDescriptorList);
+
+
+        String applicationID = getApplicationIdentification(compositionPlaylistType.getExtensionProperties());
+
+        return new IMFCompositionPlaylistType(compositionPlaylistType.getId(),
+                compositionPlaylistType.getEditRate(),
+                (compositionPlaylistType.getAnnotation() == null ? null : compositionPlaylistType.getAnnotation().getValue()),
+                (compositionPlaylistType.getIssuer() == null ? null : compositionPlaylistType.getIssuer().getValue()),
+                (compositionPlaylistType.getCreator() == null ? null : compositionPlaylistType.getCreator().getValue()),
+                (compositionPlaylistType.getContentOriginator() == null ? null : compositionPlaylistType.getContentOriginator().getValue()),
+                (compositionPlaylistType.getContentTitle() == null ? null : compositionPlaylistType.getContentTitle().getValue()),
+                Collections.synchronizedList(segmentList),
+                Collections.synchronizedList(essenceDescriptorList),
+                "org.smpte_ra.schemas.st2067_2_2013", applicationID);
+    }
+
+    /**
+     * A stateless method that converts a Segment of a Composition to its canonical model, a Segment can be converted
+     * on its own, for e.g., when a Composition is read one Segment at a time
+     * @param segment - a Segment object model
+     * @param compositionEditRate - the EditRate of the Composition, which applies to resources that do not specify one
+     * @param imfErrorLogger - an object for logging errors
+     * @return the canonical model of the Segment
+     */
+    public static IMFSegmentType getSegment(@Nonnull org.smpte_ra.schemas.st2067_2_2013.SegmentType segment, @Nonnull List<Long> compositionEditRate, @Nonnull IMFErrorLogger imfErrorLogger) {
+        List<IMFSequenceType> sequenceList = new ArrayList<IMFSequenceType>();
+        org.smpte_ra.schemas.st2067_2_2013.SequenceType sequence;
+
+        /* Parse Marker sequence */
+        sequence = segment.getSequenceList().getMarkerSequence();
+        if (sequence != null) {
+            UUID uuid = UUIDHelper.fromUUIDAsURNStringToUUID(sequence.getTrackId());
+            /**
+             * A LinkedList seems appropriate since we want to preserve the order of the Resources referenced
+             * by a virtual track to recreate the presentation. Since the LinkedList implementation is not
+             * synchronized wrapping it around a synchronized list collection, although in this case it
+             * is perhaps not required since this method is only invoked from the context of the constructor.
+             */
+            List<IMFBaseResourceType> baseResources = Collections.synchronizedList(new LinkedList<>());
+            for (org.smpte_ra.schemas.st2067_2_2013.BaseResourceType resource : sequence.getResourceList().getResource()) {
+                IMFBaseResourceType baseResource = null;
+                if (resource instanceof org.smpte_ra.schemas.st2067_2_2013.MarkerResourceType) {
+                    org.smpte_ra.schemas.st2067_2_2013.MarkerResourceType markerResource =
+                            (org.smpte_ra.schemas.st2067_2_2013.MarkerResourceType) resource;
+
+                    List<IMFMarkerType> markerList = new ArrayList<IMFMarkerType>();
+                    for (org.smpte_ra.schemas.st2067_2_2013.MarkerType marker : markerResource.getMarker()) {
+                        markerList.add(new IMFMarkerType(marker.getAnnotation() == null? null : marker.getAnnotation().getValue(),
+                                new IMFMarkerType.Label(marker.getLabel().getValue(), marker.getLabel().getScope()),
+                                marker.getOffset()));
+                    }
+
+                    try {
+                        baseResource = new IMFMarkerResourceType(
+                                markerResource.getId(),
+                                markerResource.getEditRate().size() != 0 ? markerResource.getEditRate() : compositionEditRate,
+                                markerResource.getIntrinsicDuration(),
+                                markerResource.getEntryPoint(),
+                                markerResource.getSourceDuration(),
+                                markerResource.getRepeatCount(),
+                                markerList);
+                    } catch (IMFException e) {
+                        imfErrorLogger.addAllErrors(e.getErrors());
+                    }
+
+                } else {
+                    imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, "Unsupported Resource type in Marker Sequence");
+                }
+
+                if (baseResource != null) {
+                    baseResources.add(baseResource);
+                }
+            }
+            sequenceList.add(new IMFSequenceType(sequence.getId(),
+                    sequence.getTrackId(),
+                    Composition.SequenceTypeEnum.MarkerSequence,
+                    Collections.synchronizedList(baseResources)));
+        }
+
+        /* Parse rest of the sequences */
+        for (Object object : segment.getSequenceList().getAny()) {
+            if (!(object instanceof JAXBElement)) {
+                String details = "";
+                if(object instanceof Element)
+                {
+                    Element element = Element.class.cast(object);
+                    details = "Tag: " + element.getTagName() + " URI: " + element.getNamespaceURI();
+                }
+                imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger
+                        .IMFErrors.ErrorLevels.NON_FATAL, String.format("Unsupported sequence type or schema %s",
+                        details));
+                continue;
+            }
+            JAXBElement jaxbElement = (JAXBElement) (object);
+            String name = jaxbElement.getName().getLocalPart();
+            sequence = (org.smpte_ra.schemas.st2067_2_2013.SequenceType) (jaxbElement).getValue();
             if (sequence != null) {
                 UUID uuid = UUIDHelper.fromUUIDAsURNStringToUUID(sequence.getTrackId());
                 /**
@@ -50,32 +156,29 @@ final class CompositionModel_st2067_2_2013 {
                 List<IMFBaseResourceType> baseResources = Collections.synchronizedList(new LinkedList<>());
                 for (org.smpte_ra.schemas.st2067_2_2013.BaseResourceType resource : sequence.getResourceList().getResource()) {
                     IMFBaseResourceType baseResource = null;
-                    if (resource instanceof org.smpte_ra.schemas.st2067_2_2013.MarkerResourceType) {
-                        org.smpte_ra.schemas.st2067_2_2013.MarkerResourceType markerResource =
-                                (org.smpte_ra.schemas.st2067_2_2013.MarkerResourceType) resource;
-
-                        List<IMFMarkerType> markerList = new ArrayList<IMFMarkerType>();
-                        for (org.smpte_ra.schemas.st2067_2_2013.MarkerType marker : markerResource.getMarker()) {
-                            markerList.add(new IMFMarkerType(marker.getAnnotation() == null? null : marker.getAnnotation().getValue(),
-                                    new IMFMarkerType.Label(marker.getLabel().getValue(), marker.getLabel().getScope()),
-                                    marker.getOffset()));
-                        }
+                    if (resource instanceof org.smpte_ra.schemas.st2067_2_2013.TrackFileResourceType) {
+
+                        org.smpte_ra.schemas.st2067_2_2013.TrackFileResourceType trackFileResource =
+                                (org.smpte_ra.schemas.st2067_2_2013.TrackFileResourceType) resource;
 
                         try {
-                            baseResource = new IMFMarkerResourceType(
-                                    markerResource.getId(),
-                                    markerResource.getEditRate().size() != 0 ? markerResource.getEditRate() : compositionPlaylistType.getEditRate(),
-                                    markerResource.getIntrinsicDuration(),
-                                    markerResource.getEntryPoint(),
-                                    markerResource.getSourceDuration(),
-                                    markerResource.getRepeatCount(),
-                                    markerList);
+                            baseResource = new IMFTrackFileResourceType(
+                                    trackFileResource.getId(),
+                                    trackFileResource.getTrackFileId(),
+                                    trackFileResource.getEditRate().size() != 0 ? trackFileResource.getEditRate() : compositionEditRate,
+                                    trackFileResource.getIntrinsicDuration(),
+                                    trackFileResource.getEntryPoint(),
+                                    trackFileResource.getSourceDuration(),
+                                    trackFileResource.getRepeatCount(),
+                                    trackFileResource.getSourceEncoding(),
+                                    trackFileResource.getHash(),
+                                    CompositionPlaylistBuilder_2013.defaultHashAlgorithm
+                            );
                         } catch (IMFException e) {
                             imfErrorLogger.addAllErrors(e.getErrors());
                         }
-
                     } else {
-                        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, "Unsupported Resource type in Marker Sequence");
+                        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.WARNING, "Unsupported Resource type");
                     }
 
                     if (baseResource != null) {
@@ -84,93 +187,23 @@ final class CompositionModel_st2067_2_2013 {
                 }
                 sequenceList.add(new IMFSequenceType(sequence.getId(),
                         sequence.getTrackId(),
-                        Composition.SequenceTypeEnum.MarkerSequence,
+                        Composition.SequenceTypeEnum.getSequenceTypeEnum(name),
                         Collections.synchronizedList(baseResources)));
             }
-
-            /* Parse rest of the sequences */
-            for (Object object : segment.getSequenceList().getAny()) {
-                if (!(object instanceof JAXBElement)) {
-                    String details = "";
-                    if(object instanceof Element)
-                    {
-                        Element element = Element.class.cast(object);
-                        details = "Tag: " + element.getTagName() + " URI: " + element.getNamespaceURI();
-                    }
-                    imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger
-                            .IMFErrors.ErrorLevels.NON_FATAL, String.format("Unsupported sequence type or schema %s",
-                            details));
-                    continue;
-                }
-                JAXBElement jaxbElement = (JAXBElement) (object);
-                String name = jaxbElement.getName().getLocalPart();
-                sequence = (org.smpte_ra.schemas.st2067_2_2013.SequenceType) (jaxbElement).getValue();
-                if (sequence != null) {
-                    UUID uuid = UUIDHelper.fromUUIDAsURNStringToUUID(sequence.getTrackId());
-                    /**
-                     * A LinkedList seems appropriate since we want to preserve the order of the Resources referenced
-                     * by a virtual track to recreate the presentation. Since the LinkedList implementation is not
-                     * synchronized wrapping it around a synchronized list collection, although in this case it
-                     * is perhaps not required since this method is only invoked from the context of the constructor.
-                     */
-                    List<IMFBaseResourceType> baseResources = Collections.synchronizedList(new LinkedList<>());
-                    for (org.smpte_ra.schemas.st2067_2_2013.BaseResourceType resource : sequence.getResourceList().getResource()) {
-                        IMFBaseResourceType baseResource = null;
-                        if (resource instanceof org.smpte_ra.schemas.st2067_2_2013.TrackFileResourceType) {
-
-                            org.smpte_ra.schemas.st2067_2_2013.TrackFileResourceType trackFileResource =
-                                    (org.smpte_ra.schemas.st2067_2_2013.TrackFileResourceType) resource;
-
-                            try {
-                                baseResource = new IMFTrackFileResourceType(
-                                        trackFileResource.getId(),
-                                        trackFileResource.getTrackFileId(),
-                                        trackFileResource.getEditRate().size() != 0 ? trackFileResource.getEditRate() : compositionPlaylistType.getEditRate(),
-                                        trackFileResource.getIntrinsicDuration(),
-                                        trackFileResource.getEntryPoint(),
-                                        trackFileResource.getSourceDuration(),
-                                        trackFileResource.getRepeatCount(),
-                                        trackFileResource.getSourceEncoding(),
-                                        trackFileResource.getHash(),
-                                        CompositionPlaylistBuilder_2013.defaultHashAlgorithm
-                                );
-                            } catch (IMFException e) {
-                                imfErrorLogger.addAllErrors(e.getErrors());
-                            }
-                        } else {
-                            imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.WARNING, "Unsupported Resource type");
-                        }
-
-                        if (baseResource != null) {
-                            baseResources.add(baseResource);
-                        }
-                    }
-                    sequenceList.add(new IMFSequenceType(sequence.getId(),
-                            sequence.getTrackId(),
-                            Composition.SequenceTypeEnum.getSequenceTypeEnum(name),
-                            Collections.synchronizedList(baseResources)));
-                }
-            }
-            sequenceList = Collections.unmodifiableList(sequenceList);
-            segmentList.add(new IMFSegmentType(segment.getId(), Collections.synchronizedList(sequenceList)));
         }
-        segmentList = Collections.unmodifiableList(segmentList);
-
-        List<IMFEssenceDescriptorBaseType> essenceDescriptorList = new ArrayList<IMFEssenceDescriptorBaseType>();
-
-        if (compositionPlaylistType.getEssenceDescriptorList() != null &&
-                compositionPlaylistType.getEssenceDescriptorList().getEssenceDescriptor().size() >= 1) {
-            for (org.smpte_ra.schemas.st2067_2_2013.EssenceDescriptorBaseType essenceDescriptor : compositionPlaylistType.getEssenceDescriptorList().getEssenceDescriptor()) {
-                essenceDescriptorList.add(new IMFEssenceDescriptorBaseType(essenceDescriptor.getId(),
-                        essenceDescriptor.getAny()));
-            }
-        }
-        essenceDescriptorList = Collections.unmodifiableList(essenceDescriptorList);
-
+        sequenceList = Collections.unmodifiableList(sequenceList);
+        return new IMFSegmentType(segment.getId(), Collections.synchronizedList(sequenceList));
+    }
 
+    /**
+     * A stateless method that reads the ApplicationIdentification from the ExtensionProperties of a Composition
+     * @param extensionProperties - the ExtensionProperties object model, may be null
+     * @return a string representing the ApplicationIdentification, empty if the Composition does not specify one
+     */
+    public static String getApplicationIdentification(@Nullable org.smpte_ra.schemas.st2067_2_2013.CompositionPlaylistType.ExtensionProperties extensionProperties) {
         String applicationID = "";
-        if(compositionPlaylistType.getExtensionProperties() != null) {
-            for (Object object : compositionPlaylistType.getExtensionProperties().getAny()) {
+        if(extensionProperties != null) {
+            for (Object object : extensionProperties.getAny()) {
                 if (object instanceof JAXBElement) {
                     JAXBElement jaxbElement = (JAXBElement) (object);
                     if (jaxbElement.getName().getLocalPart().equals("ApplicationIdentification")) {
@@ -184,16 +217,6 @@ final class CompositionModel_st2067_2_2013 {
                 }
             }
         }
-
-        return new IMFCompositionPlaylistType(compositionPlaylistType.getId(),
-                compositionPlaylistType.getEditRate(),
-                (compositionPlaylistType.getAnnotation() == null ? null : compositionPlaylistType.getAnnotation().getValue()),
-                (compositionPlaylistType.getIssuer() == null ? null : compositionPlaylistType.getIssuer().getValue()),
-                (compositionPlaylistType.getCreator() == null ? null : compositionPlaylistType.getCreator().getValue()),
-                (compositionPlaylistType.getContentOriginator() == null ? null : compositionPlaylistType.getContentOriginator().getValue()),
-                (compositionPlaylistType.getContentTitle() == null ? null : compositionPlaylistType.getContentTitle().getValue()),
-                Collections.synchronizedList(segmentList),
-                Collections.synchronizedList(essenceDescriptorList),
-                "org.smpte_ra.schemas.st2067_2_2013", applicationID);
+        return applicationID;
     }
 }
\ No newline at end of file
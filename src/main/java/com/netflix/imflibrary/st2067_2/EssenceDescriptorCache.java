@@ -0,0 +1,236 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.st2067_2;
+
+import com.netflix.imflibrary.IMFErrorLogger;
+import com.netflix.imflibrary.IMFErrorLoggerImpl;
+import com.netflix.imflibrary.KLVPacket;
+import com.netflix.imflibrary.exceptions.IMFException;
+import com.netflix.imflibrary.st0377.HeaderPartition;
+import com.netflix.imflibrary.st0377.header.InterchangeObject;
+import com.netflix.imflibrary.utils.ByteArrayDataProvider;
+import com.netflix.imflibrary.utils.DOMNodeObjectModel;
+import com.netflix.imflibrary.utils.ErrorLogger;
+import com.netflix.imflibrary.utils.RegXMLLibHelper;
+import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
+import com.sandflow.smpte.klv.Triplet;
+import org.w3c.dom.Document;
+import org.w3c.dom.DocumentFragment;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of the RegXML representation of the EssenceDescriptors in the HeaderPartitions of IMF track files. Creating
+ * the RegXML DOM of an EssenceDescriptor requires a RegXMLLibHelper for the PrimerPack of the track file and the KLV
+ * packets of the EssenceDescriptor and its SubDescriptors, which is expensive and is otherwise repeated for every resource
+ * that references the track file, in every Composition that references it.
+ *
+ * Entries are keyed by the track file UUID and a digest of the PrimerPack, EssenceDescriptor and SubDescriptor KLV packets
+ * of the HeaderPartition, so that a different HeaderPartition presented for the same track file is not served stale
+ * EssenceDescriptors. The digest is computed once per HeaderPartition object, so that a HeaderPartition that is presented
+ * again is served from the cache without reading any of its KLV packets. A single instance can be shared by all the
+ * ApplicationCompositions of an IMF package that are conformed against the same track files, and should be discarded
+ * once the analysis of the package is complete.
+ */
+@ThreadSafe
+public final class EssenceDescriptorCache {
+
+    private static final String DIGEST_ALGORITHM = "MD5";
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    //HeaderPartition does not override equals(), the digests are keyed by identity and released with their HeaderPartition
+    private final Map<HeaderPartition, String> digests = Collections.synchronizedMap(new WeakHashMap<HeaderPartition, String>());
+
+    /**
+     * A method that returns the DOMNodeObjectModels of the EssenceDescriptors in the HeaderPartition of a track file,
+     * and records any errors that were encountered while they were created into an error logger. The DOMNodeObjectModels
+     * are created the first time they are requested and are shared by subsequent requests.
+     *
+     * @param trackFileId the UUID of the track file
+     * @param headerPartitionTuple the HeaderPartition of the track file and a ResourceByteRangeProvider to access its raw bytes
+     * @param imfErrorLogger an error logger for recording any errors encountered while the EssenceDescriptors were created
+     * @return an unmodifiable list of DOMNodeObjectModels, one for every EssenceDescriptor in the HeaderPartition
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public List<DOMNodeObjectModel> getEssenceDescriptors(@Nonnull UUID trackFileId,
+                                                          @Nonnull Composition.HeaderPartitionTuple headerPartitionTuple,
+                                                          @Nonnull IMFErrorLogger imfErrorLogger) throws IOException {
+        HeaderPartition headerPartition = headerPartitionTuple.getHeaderPartition();
+        String digest = this.digests.get(headerPartition);
+        Entry entry = (digest == null) ? null : this.entries.get(getKey(trackFileId, digest));
+        if (entry == null) {
+            entry = createEntry(trackFileId, headerPartitionTuple);
+        }
+        imfErrorLogger.addAllErrors(entry.errors);
+        return entry.essenceDescriptors;
+    }
+
+    /**
+     * Getter for the number of HeaderPartitions whose EssenceDescriptors are cached
+     * @return the number of entries in this cache
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    private Entry createEntry(UUID trackFileId, Composition.HeaderPartitionTuple headerPartitionTuple) throws IOException {
+        HeaderPartition headerPartition = headerPartitionTuple.getHeaderPartition();
+        ResourceByteRangeProvider resourceByteRangeProvider = headerPartitionTuple.getResourceByteRangeProvider();
+
+        /*Read the KLV packets that are needed to create the EssenceDescriptors once, and derive the cache key from them*/
+        MessageDigest messageDigest = getMessageDigest();
+        KLVPacket.Header primerPackHeader = headerPartition.getPrimerPack().getHeader();
+        byte[] primerPackBytes = getBytes(resourceByteRangeProvider, primerPackHeader);
+        messageDigest.update(primerPackBytes);
+        Map<KLVPacket.Header, byte[]> descriptorBytes = new LinkedHashMap<>();
+        Map<KLVPacket.Header, List<KLVPacket.Header>> subDescriptorHeaders = new LinkedHashMap<>();
+        for (InterchangeObject.InterchangeObjectBO essenceDescriptor : headerPartition.getEssenceDescriptors()) {
+            KLVPacket.Header essenceDescriptorHeader = essenceDescriptor.getHeader();
+            List<KLVPacket.Header> headers = getSubDescriptorKLVHeaders(headerPartition, essenceDescriptor);
+            subDescriptorHeaders.put(essenceDescriptorHeader, headers);
+            messageDigest.update(getBytes(descriptorBytes, resourceByteRangeProvider, essenceDescriptorHeader));
+            for (KLVPacket.Header header : headers) {
+                messageDigest.update(getBytes(descriptorBytes, resourceByteRangeProvider, header));
+            }
+        }
+        String digest = toHexString(messageDigest.digest());
+        this.digests.put(headerPartition, digest);
+        String key = getKey(trackFileId, digest);
+
+        Entry entry = this.entries.get(key);
+        if (entry == null) {
+            entry = createEntry(primerPackHeader, primerPackBytes, subDescriptorHeaders, descriptorBytes);
+            Entry previousEntry = this.entries.putIfAbsent(key, entry);
+            if (previousEntry != null) {
+                entry = previousEntry;
+            }
+        }
+        return entry;
+    }
+
+    private static String getKey(UUID trackFileId, String digest) {
+        return String.format("%s:%s", trackFileId.toString(), digest);
+    }
+
+    private static Entry createEntry(KLVPacket.Header primerPackHeader,
+                                     byte[] primerPackBytes,
+                                     Map<KLVPacket.Header, List<KLVPacket.Header>> subDescriptorHeaders,
+                                     Map<KLVPacket.Header, byte[]> descriptorBytes) throws IOException {
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        DocumentBuilder docBuilder;
+        try {
+            docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        }
+        catch (ParserConfigurationException e) {
+            imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.INTERNAL_ERROR,
+                    IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, e.getMessage());
+            throw new IMFException("Failed to get Essence Descriptor for a resource", imfErrorLogger);
+        }
+
+        RegXMLLibHelper regXMLLibHelper = new RegXMLLibHelper(primerPackHeader, new ByteArrayDataProvider(primerPackBytes));
+        List<DOMNodeObjectModel> essenceDescriptors = new ArrayList<>();
+        for (Map.Entry<KLVPacket.Header, List<KLVPacket.Header>> entry : subDescriptorHeaders.entrySet()) {
+            /*Create a dom*/
+            Document document = docBuilder.newDocument();
+            document.setXmlStandalone(true);
+            Triplet essenceDescriptorTriplet = regXMLLibHelper.getTripletFromKLVHeader(entry.getKey(), new ByteArrayDataProvider(descriptorBytes.get(entry.getKey())));
+            /*Get the Triplets corresponding to the SubDescriptors*/
+            List<Triplet> subDescriptorTriplets = new ArrayList<>();
+            for (KLVPacket.Header subDescriptorHeader : entry.getValue()) {
+                subDescriptorTriplets.add(regXMLLibHelper.getTripletFromKLVHeader(subDescriptorHeader, new ByteArrayDataProvider(descriptorBytes.get(subDescriptorHeader))));
+            }
+            DocumentFragment documentFragment = regXMLLibHelper.getEssenceDescriptorDocumentFragment(essenceDescriptorTriplet, subDescriptorTriplets, document, imfErrorLogger);
+            try {
+                essenceDescriptors.add(new DOMNodeObjectModel(documentFragment.getFirstChild()));
+            }
+            catch (IMFException e) {
+                imfErrorLogger.addAllErrors(e.getErrors());
+            }
+        }
+        return new Entry(essenceDescriptors, imfErrorLogger.getErrors());
+    }
+
+    private static List<KLVPacket.Header> getSubDescriptorKLVHeaders(HeaderPartition headerPartition, InterchangeObject.InterchangeObjectBO essenceDescriptor) {
+        List<KLVPacket.Header> subDescriptorHeaders = new ArrayList<>();
+        for (InterchangeObject.InterchangeObjectBO subDescriptorBO : headerPartition.getSubDescriptors(essenceDescriptor)) {
+            if (subDescriptorBO != null) {
+                subDescriptorHeaders.add(subDescriptorBO.getHeader());
+            }
+        }
+        return Collections.unmodifiableList(subDescriptorHeaders);
+    }
+
+    private static byte[] getBytes(Map<KLVPacket.Header, byte[]> descriptorBytes, ResourceByteRangeProvider resourceByteRangeProvider, KLVPacket.Header header) throws IOException {
+        byte[] bytes = descriptorBytes.get(header);
+        if (bytes == null) {
+            bytes = getBytes(resourceByteRangeProvider, header);
+            descriptorBytes.put(header, bytes);
+        }
+        return bytes;
+    }
+
+    private static byte[] getBytes(ResourceByteRangeProvider resourceByteRangeProvider, KLVPacket.Header header) throws IOException {
+        return resourceByteRangeProvider.getByteRangeAsBytes(header.getByteOffset(), header.getByteOffset() + header.getKLSize() + header.getVSize());
+    }
+
+    private static MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e) {
+            //Every implementation of the Java platform is required to support MD5
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHexString(byte[] bytes) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (byte b : bytes) {
+            stringBuilder.append(String.format("%02x", b));
+        }
+        return stringBuilder.toString();
+    }
+
+    @Immutable
+    private static final class Entry {
+        private final List<DOMNodeObjectModel> essenceDescriptors;
+        private final List<ErrorLogger.ErrorObject> errors;
+
+        private Entry(List<DOMNodeObjectModel> essenceDescriptors, List<ErrorLogger.ErrorObject> errors) {
+            this.essenceDescriptors = Collections.unmodifiableList(essenceDescriptors);
+            this.errors = Collections.unmodifiableList(new ArrayList<>(errors));
+        }
+    }
+}
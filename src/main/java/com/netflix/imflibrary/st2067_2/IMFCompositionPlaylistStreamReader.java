@@ -0,0 +1,413 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.st2067_2;
+
+import com.netflix.imflibrary.IMFErrorLogger;
+import com.netflix.imflibrary.exceptions.IMFException;
+import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
+import com.netflix.imflibrary.utils.XMLSchemaRegistry;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A class that reads a Composition Playlist document incrementally using a StAX parser, rather than unmarshalling the
+ * entire document into a JAXB object graph. Every EssenceDescriptor and every Segment is unmarshalled on its own,
+ * converted to its canonical model and handed to a {@link Handler}, after which it is no longer referenced by the reader.
+ * The memory required to read a Composition is therefore bounded by the size of its largest Segment or EssenceDescriptor,
+ * provided the ResourceByteRangeProvider streams the document, for e.g., a
+ * {@link com.netflix.imflibrary.utils.FileChannelByteRangeProvider}.
+ *
+ * The document is validated against the CompositionPlaylist and core constraints schemas in a separate streaming pass
+ * before it is read. A {@link VirtualTrackMapBuilder} can be used as the Handler to build the virtual tracks of the
+ * Composition as its Segments are read.
+ */
+@NotThreadSafe
+public final class IMFCompositionPlaylistStreamReader {
+
+    /**
+     * An interface for consumers of the elements of a Composition Playlist as they are read, all the methods are
+     * invoked on the thread that reads the document, in document order
+     */
+    public interface Handler {
+        /**
+         * A callback for every EssenceDescriptor in the EssenceDescriptorList of the Composition
+         * @param essenceDescriptor the next EssenceDescriptor
+         */
+        default void onEssenceDescriptor(IMFEssenceDescriptorBaseType essenceDescriptor) {
+        }
+
+        /**
+         * A callback that is invoked once, before the first Segment of the Composition
+         * @param compositionPlaylistType the Composition Playlist, whose SegmentList and EssenceDescriptorList are empty
+         */
+        default void onCompositionPlaylist(IMFCompositionPlaylistType compositionPlaylistType) {
+        }
+
+        /**
+         * A callback for every Segment of the Composition
+         * @param segment the next Segment
+         */
+        default void onSegment(IMFSegmentType segment) {
+        }
+    }
+
+    private static final String CORE_CONSTRAINTS_2013 = "org.smpte_ra.schemas.st2067_2_2013";
+    private static final String CORE_CONSTRAINTS_2016 = "org.smpte_ra.schemas.st2067_2_2016";
+
+    private final XMLStreamReader xmlStreamReader;
+    private final Unmarshaller unmarshaller;
+    private final String coreConstraintsVersion;
+    private final Handler handler;
+    private final IMFErrorLogger imfErrorLogger;
+
+    private String id = null;
+    private String annotation = null;
+    private String issuer = null;
+    private String creator = null;
+    private String contentOriginator = null;
+    private String contentTitle = null;
+    private String applicationId = "";
+    private List<Long> editRate = null;
+
+    private IMFCompositionPlaylistStreamReader(XMLStreamReader xmlStreamReader, Unmarshaller unmarshaller, String coreConstraintsVersion,
+                                               Handler handler, IMFErrorLogger imfErrorLogger) {
+        this.xmlStreamReader = xmlStreamReader;
+        this.unmarshaller = unmarshaller;
+        this.coreConstraintsVersion = coreConstraintsVersion;
+        this.handler = handler;
+        this.imfErrorLogger = imfErrorLogger;
+    }
+
+    /**
+     * A method that validates a Composition Playlist document and then reads it one element at a time
+     *
+     * @param resourceByteRangeProvider corresponding to the Composition XML file
+     * @param handler the consumer of the elements of the Composition
+     * @param imfErrorLogger an error logger for recording any errors - cannot be null
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public static void read(ResourceByteRangeProvider resourceByteRangeProvider, @Nonnull Handler handler, @Nonnull IMFErrorLogger imfErrorLogger) throws IOException {
+        readDocument(resourceByteRangeProvider, handler, imfErrorLogger);
+    }
+
+    /**
+     * A method that validates a Composition Playlist document and reads it into its canonical model. Unlike
+     * {@link IMFCompositionPlaylistType#getCompositionPlayListType(ResourceByteRangeProvider, IMFErrorLogger)} the JAXB
+     * object graph of the entire document is never built, only that of one EssenceDescriptor or Segment at a time.
+     *
+     * @param resourceByteRangeProvider corresponding to the Composition XML file
+     * @param imfErrorLogger an error logger for recording any errors - cannot be null
+     * @return the canonical model of the Composition Playlist
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    static IMFCompositionPlaylistType readCompositionPlaylistType(ResourceByteRangeProvider resourceByteRangeProvider, @Nonnull IMFErrorLogger imfErrorLogger) throws IOException {
+        List<IMFEssenceDescriptorBaseType> essenceDescriptors = new ArrayList<>();
+        List<IMFSegmentType> segments = new ArrayList<>();
+        IMFCompositionPlaylistStreamReader compositionPlaylistStreamReader = readDocument(resourceByteRangeProvider, new Handler() {
+            @Override
+            public void onEssenceDescriptor(IMFEssenceDescriptorBaseType essenceDescriptor) {
+                essenceDescriptors.add(essenceDescriptor);
+            }
+
+            @Override
+            public void onSegment(IMFSegmentType segment) {
+                segments.add(segment);
+            }
+        }, imfErrorLogger);
+        return compositionPlaylistStreamReader.getCompositionPlaylistType(Collections.unmodifiableList(segments),
+                Collections.unmodifiableList(essenceDescriptors));
+    }
+
+    private static IMFCompositionPlaylistStreamReader readDocument(ResourceByteRangeProvider resourceByteRangeProvider, Handler handler,
+                                                                   IMFErrorLogger imfErrorLogger) throws IOException {
+        IMFCompositionPlaylistType.CoreConstraintsSchemas coreConstraintsSchema =
+                IMFCompositionPlaylistType.getCoreConstraintsSchemas(resourceByteRangeProvider, imfErrorLogger);
+        String coreConstraintsVersion = coreConstraintsSchema.getCoreConstraintsContext();
+
+        validate(resourceByteRangeProvider, coreConstraintsSchema, imfErrorLogger);
+
+        try (InputStream inputStream = resourceByteRangeProvider.getByteRangeAsStream(0, resourceByteRangeProvider.getResourceSize() - 1);) {
+            XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+            xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            XMLStreamReader xmlStreamReader = xmlInputFactory.createXMLStreamReader(inputStream);
+            try {
+                Unmarshaller unmarshaller = XMLSchemaRegistry.getUnmarshaller(coreConstraintsVersion);
+                IMFCompositionPlaylistStreamReader compositionPlaylistStreamReader =
+                        new IMFCompositionPlaylistStreamReader(xmlStreamReader, unmarshaller, coreConstraintsVersion, handler, imfErrorLogger);
+                compositionPlaylistStreamReader.readCompositionPlaylist();
+                return compositionPlaylistStreamReader;
+            }
+            finally {
+                xmlStreamReader.close();
+            }
+        } catch (XMLStreamException | JAXBException e) {
+            imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger
+                            .IMFErrors.ErrorLevels.FATAL,
+                    e.getMessage());
+            throw new IMFException(e.getMessage(), imfErrorLogger);
+        }
+    }
+
+    private static void validate(ResourceByteRangeProvider resourceByteRangeProvider,
+                                 IMFCompositionPlaylistType.CoreConstraintsSchemas coreConstraintsSchema,
+                                 IMFErrorLogger imfErrorLogger) throws IOException {
+        List<String> validationErrors = new ArrayList<>();
+        try (InputStream inputStream = resourceByteRangeProvider.getByteRangeAsStream(0, resourceByteRangeProvider.getResourceSize() - 1);) {
+            Validator validator = IMFCompositionPlaylistType.getCompositionSchema(coreConstraintsSchema, imfErrorLogger).newValidator();
+            validator.setErrorHandler(new ErrorHandler() {
+                @Override
+                public void warning(SAXParseException exception) {
+                    addValidationError(IMFErrorLogger.IMFErrors.ErrorLevels.WARNING, exception);
+                }
+
+                @Override
+                public void error(SAXParseException exception) {
+                    addValidationError(IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, exception);
+                }
+
+                @Override
+                public void fatalError(SAXParseException exception) throws SAXException {
+                    addValidationError(IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, exception);
+                    throw exception;
+                }
+
+                private void addValidationError(IMFErrorLogger.IMFErrors.ErrorLevels errorLevel, SAXParseException exception) {
+                    String message = "Line Number : " + exception.getLineNumber() + " - " + exception.getMessage();
+                    validationErrors.add(message);
+                    imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, errorLevel, message);
+                }
+            });
+            validator.validate(new StreamSource(inputStream));
+        } catch (SAXException e) {
+            if (validationErrors.isEmpty()) {
+                imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger
+                                .IMFErrors.ErrorLevels.FATAL,
+                        e.getMessage());
+                throw new IMFException(e.getMessage(), imfErrorLogger);
+            }
+        }
+        if (!validationErrors.isEmpty()) {
+            throw new IMFException(String.join(String.format("%n"), validationErrors), imfErrorLogger);
+        }
+    }
+
+    private void readCompositionPlaylist() throws XMLStreamException, JAXBException {
+        //CompositionPlaylist root element
+        this.nextStartOrEndElement();
+        this.xmlStreamReader.next();
+        this.nextStartOrEndElement();
+        while (this.xmlStreamReader.isStartElement()) {
+            switch (this.xmlStreamReader.getLocalName()) {
+                case "Id":
+                    this.id = this.readElementText();
+                    break;
+                case "Annotation":
+                    this.annotation = this.readElementText();
+                    break;
+                case "Issuer":
+                    this.issuer = this.readElementText();
+                    break;
+                case "Creator":
+                    this.creator = this.readElementText();
+                    break;
+                case "ContentOriginator":
+                    this.contentOriginator = this.readElementText();
+                    break;
+                case "ContentTitle":
+                    this.contentTitle = this.readElementText();
+                    break;
+                case "EditRate":
+                    this.editRate = new ArrayList<>();
+                    for (String value : this.readElementText().trim().split("\\s+")) {
+                        this.editRate.add(Long.valueOf(value));
+                    }
+                    break;
+                case "ExtensionProperties":
+                    this.applicationId = this.readApplicationIdentification();
+                    break;
+                case "EssenceDescriptorList":
+                    this.readList("EssenceDescriptor", this::readEssenceDescriptor);
+                    break;
+                case "SegmentList":
+                    this.handler.onCompositionPlaylist(this.getCompositionPlaylistType(Collections.<IMFSegmentType>emptyList(),
+                            Collections.<IMFEssenceDescriptorBaseType>emptyList()));
+                    this.readList("Segment", this::readSegment);
+                    break;
+                default:
+                    this.skipElement();
+                    break;
+            }
+            this.nextStartOrEndElement();
+        }
+    }
+
+    private IMFCompositionPlaylistType getCompositionPlaylistType(List<IMFSegmentType> segments, List<IMFEssenceDescriptorBaseType> essenceDescriptors) {
+        try {
+            return new IMFCompositionPlaylistType(this.id,
+                    this.editRate,
+                    this.annotation,
+                    this.issuer,
+                    this.creator,
+                    this.contentOriginator,
+                    this.contentTitle,
+                    segments,
+                    essenceDescriptors,
+                    this.coreConstraintsVersion,
+                    this.applicationId);
+        }
+        catch (IMFException e) {
+            this.imfErrorLogger.addAllErrors(e.getErrors());
+            throw new IMFException("Composition creation failed", this.imfErrorLogger);
+        }
+    }
+
+    private interface ElementReader {
+        void read() throws XMLStreamException, JAXBException;
+    }
+
+    private void readList(String elementName, ElementReader elementReader) throws XMLStreamException, JAXBException {
+        this.xmlStreamReader.next();
+        this.nextStartOrEndElement();
+        while (this.xmlStreamReader.isStartElement()) {
+            if (elementName.equals(this.xmlStreamReader.getLocalName())) {
+                elementReader.read();
+            }
+            else {
+                this.skipElement();
+            }
+            this.nextStartOrEndElement();
+        }
+        //end of the list element
+        this.xmlStreamReader.next();
+    }
+
+    private void readEssenceDescriptor() throws JAXBException {
+        switch (this.coreConstraintsVersion) {
+            case CORE_CONSTRAINTS_2013: {
+                org.smpte_ra.schemas.st2067_2_2013.EssenceDescriptorBaseType essenceDescriptor = this.unmarshaller
+                        .unmarshal(this.xmlStreamReader, org.smpte_ra.schemas.st2067_2_2013.EssenceDescriptorBaseType.class).getValue();
+                this.handler.onEssenceDescriptor(new IMFEssenceDescriptorBaseType(essenceDescriptor.getId(), essenceDescriptor.getAny()));
+            }
+            break;
+            case CORE_CONSTRAINTS_2016: {
+                org.smpte_ra.schemas.st2067_2_2016.EssenceDescriptorBaseType essenceDescriptor = this.unmarshaller
+                        .unmarshal(this.xmlStreamReader, org.smpte_ra.schemas.st2067_2_2016.EssenceDescriptorBaseType.class).getValue();
+                this.handler.onEssenceDescriptor(new IMFEssenceDescriptorBaseType(essenceDescriptor.getId(), essenceDescriptor.getAny()));
+            }
+            break;
+            default:
+                throw this.unsupportedCoreConstraintsVersion();
+        }
+    }
+
+    private void readSegment() throws JAXBException {
+        switch (this.coreConstraintsVersion) {
+            case CORE_CONSTRAINTS_2013: {
+                org.smpte_ra.schemas.st2067_2_2013.SegmentType segment = this.unmarshaller
+                        .unmarshal(this.xmlStreamReader, org.smpte_ra.schemas.st2067_2_2013.SegmentType.class).getValue();
+                this.handler.onSegment(CompositionModel_st2067_2_2013.getSegment(segment, this.editRate, this.imfErrorLogger));
+            }
+            break;
+            case CORE_CONSTRAINTS_2016: {
+                org.smpte_ra.schemas.st2067_2_2016.SegmentType segment = this.unmarshaller
+                        .unmarshal(this.xmlStreamReader, org.smpte_ra.schemas.st2067_2_2016.SegmentType.class).getValue();
+                this.handler.onSegment(CompositionModel_st2067_2_2016.getSegment(segment, this.editRate, this.imfErrorLogger));
+            }
+            break;
+            default:
+                throw this.unsupportedCoreConstraintsVersion();
+        }
+    }
+
+    private String readApplicationIdentification() throws JAXBException {
+        switch (this.coreConstraintsVersion) {
+            case CORE_CONSTRAINTS_2013:
+                return CompositionModel_st2067_2_2013.getApplicationIdentification(this.unmarshaller.unmarshal(this.xmlStreamReader,
+                        org.smpte_ra.schemas.st2067_2_2013.CompositionPlaylistType.ExtensionProperties.class).getValue());
+            case CORE_CONSTRAINTS_2016:
+                return CompositionModel_st2067_2_2016.getApplicationIdentification(this.unmarshaller.unmarshal(this.xmlStreamReader,
+                        org.smpte_ra.schemas.st2067_2_2016.CompositionPlaylistType.ExtensionProperties.class).getValue());
+            default:
+                throw this.unsupportedCoreConstraintsVersion();
+        }
+    }
+
+    private IMFException unsupportedCoreConstraintsVersion() {
+        String message = String.format("Please check the CPL document, core constraints schema %s is not supported",
+                this.coreConstraintsVersion);
+        this.imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger
+                .IMFErrors.ErrorLevels.FATAL, message);
+        return new IMFException(message, this.imfErrorLogger);
+    }
+
+    /**
+     * Reads the text content of the current element, leaving the reader past its end tag
+     */
+    private String readElementText() throws XMLStreamException {
+        String text = this.xmlStreamReader.getElementText();
+        this.xmlStreamReader.next();
+        return text;
+    }
+
+    /**
+     * Skips the current element along with its descendants, leaving the reader past its end tag
+     */
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = this.xmlStreamReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        this.xmlStreamReader.next();
+    }
+
+    /**
+     * Advances the reader to the next start or end tag, unless it is already positioned at one
+     */
+    private void nextStartOrEndElement() throws XMLStreamException {
+        while (!this.xmlStreamReader.isStartElement()
+                && !this.xmlStreamReader.isEndElement()
+                && this.xmlStreamReader.hasNext()) {
+            this.xmlStreamReader.next();
+        }
+    }
+}
@@ -25,27 +25,26 @@ import com.netflix.imflibrary.utils.ErrorLogger;
 import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
 import com.netflix.imflibrary.utils.UUIDHelper;
 import com.netflix.imflibrary.utils.Utilities;
+import com.netflix.imflibrary.utils.XMLSchemaRegistry;
 import com.netflix.imflibrary.writerTools.utils.ValidationEventHandlerImpl;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
-import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
-import org.xml.sax.SAXParseException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
-import javax.xml.XMLConstants;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.stream.StreamSource;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
@@ -109,27 +108,42 @@ final class IMFCompositionPlaylistType {
         }
     }
 
-    private static class CoreConstraintsSchemas {
+    /**
+     * A class that pairs a supported core constraints schema with the JAXB context of its generated classes and the
+     * namespace of the CompositionPlaylist schema that it imports
+     */
+    static final class CoreConstraintsSchemas {
         private final String coreConstraintsSchemaPath;
         private final String coreConstraintsContext;
+        private final String cplNamespaceURI;
 
-        private CoreConstraintsSchemas(String coreConstraintsSchemaPath, String coreConstraintsContext) {
+        private CoreConstraintsSchemas(String coreConstraintsSchemaPath, String coreConstraintsContext, String cplNamespaceURI) {
             this.coreConstraintsSchemaPath = coreConstraintsSchemaPath;
             this.coreConstraintsContext = coreConstraintsContext;
+            this.cplNamespaceURI = cplNamespaceURI;
         }
 
-        private String getCoreConstraintsSchemaPath() {
+        String getCoreConstraintsSchemaPath() {
             return this.coreConstraintsSchemaPath;
         }
 
-        private String getCoreConstraintsContext() {
+        String getCoreConstraintsContext() {
             return this.coreConstraintsContext;
         }
+
+        /**
+         * Getter for the namespace URI of the CompositionPlaylist schema that the core constraints schema imports, a CPL
+         * whose root element is in this namespace can only be valid against this core constraints schema
+         * @return the namespace URI of the CompositionPlaylist root element
+         */
+        String getCPLNamespaceURI() {
+            return this.cplNamespaceURI;
+        }
     }
     private static final List<CoreConstraintsSchemas> supportedIMFCoreConstraintsSchemas = Collections.unmodifiableList
             (new ArrayList<CoreConstraintsSchemas>() {{
-                add(new CoreConstraintsSchemas("org/smpte_ra/schemas/st2067_2_2013/imf-core-constraints-20130620-pal.xsd", "org.smpte_ra.schemas.st2067_2_2013"));
-                add(new CoreConstraintsSchemas("org/smpte_ra/schemas/st2067_2_2016/imf-core-constraints-20160411.xsd", "org.smpte_ra.schemas.st2067_2_2016"));
+                add(new CoreConstraintsSchemas("org/smpte_ra/schemas/st2067_2_2013/imf-core-constraints-20130620-pal.xsd", "org.smpte_ra.schemas.st2067_2_2013", "http://www.smpte-ra.org/schemas/2067-3/2013"));
+                add(new CoreConstraintsSchemas("org/smpte_ra/schemas/st2067_2_2016/imf-core-constraints-20160411.xsd", "org.smpte_ra.schemas.st2067_2_2016", "http://www.smpte-ra.org/schemas/2067-3/2016"));
             }});
 
     private static final String dcmlTypes_schema_path = "org/smpte_ra/schemas/st0433_2008/dcmlTypes/dcmlTypes.xsd";
@@ -144,38 +158,29 @@ final class IMFCompositionPlaylistType {
 
         String result = "";
 
+        //Only the prolog and the start tag of the root element are read, the rest of the document is parsed once when it is unmarshalled
         try (InputStream inputStream = resourceByteRangeProvider.getByteRangeAsStream(0, resourceByteRangeProvider.getResourceSize() - 1);) {
-            DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-            documentBuilderFactory.setNamespaceAware(true);
-            DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-            documentBuilder.setErrorHandler(new ErrorHandler() {
-                @Override
-                public void warning(SAXParseException exception) throws SAXException {
-                    imfErrorLogger.addError(new ErrorLogger.ErrorObject(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.WARNING, exception.getMessage()));
-                }
-
-                @Override
-                public void error(SAXParseException exception) throws SAXException {
-                    imfErrorLogger.addError(new ErrorLogger.ErrorObject(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, exception.getMessage()));
-                }
-
-                @Override
-                public void fatalError(SAXParseException exception) throws SAXException {
-                    imfErrorLogger.addError(new ErrorLogger.ErrorObject(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, exception.getMessage()));
-                }
-            });
-            Document document = documentBuilder.parse(inputStream);
-
-            //obtain root node
-            NodeList nodeList = null;
-            for (String cplNamespaceURI : supportedCPLSchemaURIs) {
-                nodeList = document.getElementsByTagNameNS(cplNamespaceURI, "CompositionPlaylist");
-                if (nodeList != null && nodeList.getLength() == 1) {
-                    result = cplNamespaceURI;
-                    break;
+            XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+            xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            XMLStreamReader xmlStreamReader = xmlInputFactory.createXMLStreamReader(inputStream);
+            try {
+                while (xmlStreamReader.hasNext()) {
+                    if (xmlStreamReader.next() == XMLStreamConstants.START_ELEMENT) {
+                        String rootNamespaceURI = xmlStreamReader.getNamespaceURI();
+                        if ("CompositionPlaylist".equals(xmlStreamReader.getLocalName())
+                                && rootNamespaceURI != null
+                                && supportedCPLSchemaURIs.contains(rootNamespaceURI)) {
+                            result = rootNamespaceURI;
+                        }
+                        break;
+                    }
                 }
             }
-        } catch (ParserConfigurationException | SAXException e) {
+            finally {
+                xmlStreamReader.close();
+            }
+        } catch (XMLStreamException e) {
             String message = String.format("Error occurred while trying to determine the Composition Playlist " +
                     "Namespace URI, XML document appears to be invalid. Error Message : %s", e.getMessage());
             imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors
@@ -259,13 +264,19 @@ final class IMFCompositionPlaylistType {
         return false;
     }
 
-    public static IMFCompositionPlaylistType getCompositionPlayListType(ResourceByteRangeProvider resourceByteRangeProvider, IMFErrorLogger imfErrorLogger) throws IOException {
-        String imf_cpl_schema_path = "";
+    /**
+     * A method that determines the core constraints schema of a Composition document from the namespace of its root
+     * element, only the start of the document is read
+     *
+     * @param resourceByteRangeProvider corresponding to the Composition XML file
+     * @param imfErrorLogger an error logger for recording any errors - cannot be null
+     * @return the core constraints schema that the Composition document should be valid against
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    static CoreConstraintsSchemas getCoreConstraintsSchemas(ResourceByteRangeProvider resourceByteRangeProvider, @Nonnull IMFErrorLogger imfErrorLogger) throws IOException {
+        String cplNameSpaceURI = "";
         try {
-            String cplNameSpaceURI = getCompositionNamespaceURI(resourceByteRangeProvider, imfErrorLogger);
-
-            String namespaceVersion = getCPLNamespaceVersion(cplNameSpaceURI);
-            imf_cpl_schema_path = getIMFCPLSchemaPath(namespaceVersion, imfErrorLogger);
+            cplNameSpaceURI = getCompositionNamespaceURI(resourceByteRangeProvider, imfErrorLogger);
         }
         catch(IMFException e)
         {
@@ -273,54 +284,63 @@ final class IMFCompositionPlaylistType {
             throw new IMFException("Composition creation failed", imfErrorLogger);
         }
 
+        //The core constraints schema is picked up front from the namespace of the root element, so that the CPL is
+        //unmarshalled and validated exactly once
         CoreConstraintsSchemas coreConstraintsSchema = supportedIMFCoreConstraintsSchemas.get(0);
+        for (CoreConstraintsSchemas supportedCoreConstraintsSchema : supportedIMFCoreConstraintsSchemas) {
+            if (supportedCoreConstraintsSchema.getCPLNamespaceURI().equals(cplNameSpaceURI)) {
+                coreConstraintsSchema = supportedCoreConstraintsSchema;
+                break;
+            }
+        }
+        return coreConstraintsSchema;
+    }
+
+    /**
+     * Getter for the compiled schema that a Composition document is validated against
+     *
+     * @param coreConstraintsSchema the core constraints schema of the Composition document
+     * @param imfErrorLogger an error logger for recording any errors - cannot be null
+     * @return the Schema comprising the CompositionPlaylist schema and the core constraints schema
+     * @throws SAXException - any issues with compiling the XSD documents are exposed through a SAXException
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    static Schema getCompositionSchema(CoreConstraintsSchemas coreConstraintsSchema, @Nonnull IMFErrorLogger imfErrorLogger) throws SAXException, IOException {
+        String imf_cpl_schema_path = getIMFCPLSchemaPath(getCPLNamespaceVersion(coreConstraintsSchema.getCPLNamespaceURI()), imfErrorLogger);
+        return XMLSchemaRegistry.getSchema(xmldsig_core_schema_path, dcmlTypes_schema_path, imf_cpl_schema_path,
+                coreConstraintsSchema.getCoreConstraintsSchemaPath());
+    }
+
+    public static IMFCompositionPlaylistType getCompositionPlayListType(ResourceByteRangeProvider resourceByteRangeProvider, IMFErrorLogger imfErrorLogger) throws IOException {
+        CoreConstraintsSchemas coreConstraintsSchema = getCoreConstraintsSchemas(resourceByteRangeProvider, imfErrorLogger);
         JAXBElement jaxbElement = null;
 
-        for (int i = 0; i < supportedIMFCoreConstraintsSchemas.size(); i++) {
-            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
-            try (InputStream inputStream = resourceByteRangeProvider.getByteRangeAsStream(0, resourceByteRangeProvider.getResourceSize() - 1);
-                 InputStream xmldsig_core_is = contextClassLoader.getResourceAsStream(xmldsig_core_schema_path);
-                 InputStream dcmlTypes_is = contextClassLoader.getResourceAsStream(dcmlTypes_schema_path);
-                 InputStream imf_cpl_is = contextClassLoader.getResourceAsStream(imf_cpl_schema_path);
-                 InputStream imf_core_constraints_is = contextClassLoader.getResourceAsStream(supportedIMFCoreConstraintsSchemas.get(i).coreConstraintsSchemaPath);) {
-                StreamSource[] streamSources = new StreamSource[4];
-                streamSources[0] = new StreamSource(xmldsig_core_is);
-                streamSources[1] = new StreamSource(dcmlTypes_is);
-                streamSources[2] = new StreamSource(imf_cpl_is);
-                streamSources[3] = new StreamSource(imf_core_constraints_is);
-
-                SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-                Schema schema = schemaFactory.newSchema(streamSources);
-
-                ValidationEventHandlerImpl validationEventHandlerImpl = new ValidationEventHandlerImpl(true);
-                JAXBContext jaxbContext = JAXBContext.newInstance(supportedIMFCoreConstraintsSchemas.get(i).coreConstraintsContext);
-                Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-                unmarshaller.setEventHandler(validationEventHandlerImpl);
-                unmarshaller.setSchema(schema);
-
-                jaxbElement = (JAXBElement) unmarshaller.unmarshal(inputStream);
-                coreConstraintsSchema = supportedIMFCoreConstraintsSchemas.get(i);
-
-                if (validationEventHandlerImpl.hasErrors()) {
-                    validationEventHandlerImpl.getErrors().stream()
-                            .map(e -> new ErrorLogger.ErrorObject(
-                                    IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR,
-                                    e.getValidationEventSeverity(),
-                                    "Line Number : " + e.getLineNumber().toString() + " - " + e.getErrorMessage())
-                            )
-                            .forEach(imfErrorLogger::addError);
-
-                    throw new IMFException(validationEventHandlerImpl.toString(), imfErrorLogger);
-                }
-                break; //No errors so we can break out without trying other Core constraints schema namespaces.
-            } catch (SAXException | JAXBException e) {
-                if (i == supportedIMFCoreConstraintsSchemas.size() - 1) {
-                    imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger
-                                    .IMFErrors.ErrorLevels.FATAL,
-                            e.getMessage());
-                    throw new IMFException(e.getMessage(), imfErrorLogger);
-                }
+        try (InputStream inputStream = resourceByteRangeProvider.getByteRangeAsStream(0, resourceByteRangeProvider.getResourceSize() - 1);) {
+            Schema schema = getCompositionSchema(coreConstraintsSchema, imfErrorLogger);
+
+            ValidationEventHandlerImpl validationEventHandlerImpl = new ValidationEventHandlerImpl(true);
+            Unmarshaller unmarshaller = XMLSchemaRegistry.getUnmarshaller(coreConstraintsSchema.getCoreConstraintsContext());
+            unmarshaller.setEventHandler(validationEventHandlerImpl);
+            unmarshaller.setSchema(schema);
+
+            jaxbElement = (JAXBElement) unmarshaller.unmarshal(inputStream);
+
+            if (validationEventHandlerImpl.hasErrors()) {
+                validationEventHandlerImpl.getErrors().stream()
+                        .map(e -> new ErrorLogger.ErrorObject(
+                                IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR,
+                                e.getValidationEventSeverity(),
+                                "Line Number : " + e.getLineNumber().toString() + " - " + e.getErrorMessage())
+                        )
+                        .forEach(imfErrorLogger::addError);
+
+                throw new IMFException(validationEventHandlerImpl.toString(), imfErrorLogger);
             }
+        } catch (SAXException | JAXBException e) {
+            imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger
+                            .IMFErrors.ErrorLevels.FATAL,
+                    e.getMessage());
+            throw new IMFException(e.getMessage(), imfErrorLogger);
         }
 
         String coreConstraintsVersion = coreConstraintsSchema.getCoreConstraintsContext();
@@ -44,7 +44,7 @@ final class IMFCoreConstraintsChecker {
     public static List checkVirtualTracks(IMFCompositionPlaylistType compositionPlaylistType,
                                           Map<UUID, ? extends Composition.VirtualTrack> virtualTrackMap,
                                           Map<UUID, DOMNodeObjectModel> essenceDescriptorListMap) {
-        RegXMLLibDictionary regXMLLibDictionary = new RegXMLLibDictionary();
+        RegXMLLibDictionary regXMLLibDictionary = RegXMLLibDictionary.getInstance();
         return checkVirtualTracks(compositionPlaylistType, virtualTrackMap, essenceDescriptorListMap, regXMLLibDictionary);
     }
 
@@ -225,63 +225,77 @@ final class IMFCoreConstraintsChecker {
     {
         for (IMFSegmentType segment : compositionPlaylistType.getSegmentList())
         {
-            Set<UUID> trackIDs = new HashSet<>();
-
-            /* TODO: Add check for Marker sequence */
-            Set<Long> sequencesDurationSet = new HashSet<>();
-            double compositionEditRate = (double)compositionPlaylistType.getEditRate().getNumerator()/compositionPlaylistType.getEditRate().getDenominator();
-            for (IMFSequenceType sequence : segment.getSequenceList())
-            {
-                UUID uuid = UUIDHelper.fromUUIDAsURNStringToUUID(sequence.getTrackId());
-                trackIDs.add(uuid);
-                if (virtualTrackMap.get(uuid) == null)
-                {
-                    //Section 6.9.3 st2067-3:2016
-                    String message = String.format(
-                            "Segment represented by the ID %s in the Composition represented by ID %s contains virtual track represented by ID %s, which does not appear in all the segments of the Composition, this is invalid",
-                            segment.getId(), compositionPlaylistType.getId().toString(), uuid);
-                    imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, message);
-                }
-                List<? extends IMFBaseResourceType> resources = sequence.getResourceList();
-                Long sequenceDurationInCompositionEditUnits = 0L;
-                Long sequenceDuration = 0L;
-                //Based on Section 6.2 and 6.3 in st2067-2:2016 All resources of either an Image Sequence or an Audio Sequence have to be of the same EditRate, hence we can sum the source durations of all the resources
-                //of a virtual track to get its duration in resource edit units.
-                for(IMFBaseResourceType imfBaseResourceType : resources){
-                    sequenceDuration += imfBaseResourceType.getDuration();
-                }
-                //Section 7.3 st2067-3:2016
-                long compositionEditRateNumerator = compositionPlaylistType.getEditRate().getNumerator();
-                long compositionEditRateDenominator = compositionPlaylistType.getEditRate().getDenominator();
-                long resourceEditRateNumerator = resources.get(0).getEditRate().getNumerator();
-                long resourceEditRateDenominator = resources.get(0).getEditRate().getDenominator();
+            checkSegment(compositionPlaylistType, segment, virtualTrackMap, imfErrorLogger);
+        }
+    }
 
-                long sequenceDurationInCompositionEditRateReminder = (sequenceDuration * compositionEditRateNumerator * resourceEditRateDenominator) % (compositionEditRateDenominator * resourceEditRateNumerator);
-                Double sequenceDurationDoubleValue = ((double)sequenceDuration * compositionEditRateNumerator * resourceEditRateDenominator) / (compositionEditRateDenominator * resourceEditRateNumerator);
-                //Section 7.3 st2067-3:2016
-                if(sequenceDurationInCompositionEditRateReminder != 0){
-                    imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL,
-                            String.format("Segment represented by the Id %s in the Composition represented by ID %s has a sequence represented by ID %s, whose duration represented in Composition Edit Units is (%f) is not an integer"
-                                    , segment.getId(), compositionPlaylistType.getId().toString(), sequence.getId(), sequenceDurationDoubleValue));
-                }
-                sequenceDurationInCompositionEditUnits = Math.round(sequenceDurationDoubleValue);
-                sequencesDurationSet.add(sequenceDurationInCompositionEditUnits);
+    /**
+     * A method that checks a single Segment of a Composition, so that a Composition that is read one Segment at a time
+     * can be checked without holding all of its Segments in memory
+     *
+     * @param compositionPlaylistType the Composition Playlist whose Id and EditRate apply to the Segment, its SegmentList is not used
+     * @param segment the Segment to be checked
+     * @param virtualTrackMap a map keyed by the IDs of the virtual tracks in the first Segment of the Composition
+     * @param imfErrorLogger an error logger for recording any errors
+     */
+    public static void checkSegment(IMFCompositionPlaylistType compositionPlaylistType, IMFSegmentType segment, Map<UUID, ?> virtualTrackMap, @Nullable IMFErrorLogger imfErrorLogger)
+    {
+        Set<UUID> trackIDs = new HashSet<>();
 
-            }
-            //Section 7.2 st2067-3:2016
-            if(sequencesDurationSet.size() > 1){
-                imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL,
-                        String.format("Segment represented by the Id %s seems to have sequences that are not of the same duration, following sequence durations were computed based on the information in the Sequence List for this Segment, %s represented in Composition Edit Units", segment.getId(), Utilities.serializeObjectCollectionToString(sequencesDurationSet)));
-            }
-            //Section 6.9.3 st2067-3:2016
-            if (trackIDs.size() != virtualTrackMap.size())
+        /* TODO: Add check for Marker sequence */
+        Set<Long> sequencesDurationSet = new HashSet<>();
+        double compositionEditRate = (double)compositionPlaylistType.getEditRate().getNumerator()/compositionPlaylistType.getEditRate().getDenominator();
+        for (IMFSequenceType sequence : segment.getSequenceList())
+        {
+            UUID uuid = UUIDHelper.fromUUIDAsURNStringToUUID(sequence.getTrackId());
+            trackIDs.add(uuid);
+            if (virtualTrackMap.get(uuid) == null)
             {
+                //Section 6.9.3 st2067-3:2016
                 String message = String.format(
-                        "Number of distinct virtual trackIDs in a segment = %s, different from first segment %d", trackIDs.size(), virtualTrackMap.size());
-                imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, message);
+                        "Segment represented by the ID %s in the Composition represented by ID %s contains virtual track represented by ID %s, which does not appear in all the segments of the Composition, this is invalid",
+                        segment.getId(), compositionPlaylistType.getId().toString(), uuid);
+                imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, message);
+            }
+            List<? extends IMFBaseResourceType> resources = sequence.getResourceList();
+            Long sequenceDurationInCompositionEditUnits = 0L;
+            Long sequenceDuration = 0L;
+            //Based on Section 6.2 and 6.3 in st2067-2:2016 All resources of either an Image Sequence or an Audio Sequence have to be of the same EditRate, hence we can sum the source durations of all the resources
+            //of a virtual track to get its duration in resource edit units.
+            for(IMFBaseResourceType imfBaseResourceType : resources){
+                sequenceDuration += imfBaseResourceType.getDuration();
+            }
+            //Section 7.3 st2067-3:2016
+            long compositionEditRateNumerator = compositionPlaylistType.getEditRate().getNumerator();
+            long compositionEditRateDenominator = compositionPlaylistType.getEditRate().getDenominator();
+            long resourceEditRateNumerator = resources.get(0).getEditRate().getNumerator();
+            long resourceEditRateDenominator = resources.get(0).getEditRate().getDenominator();
+
+            long sequenceDurationInCompositionEditRateReminder = (sequenceDuration * compositionEditRateNumerator * resourceEditRateDenominator) % (compositionEditRateDenominator * resourceEditRateNumerator);
+            Double sequenceDurationDoubleValue = ((double)sequenceDuration * compositionEditRateNumerator * resourceEditRateDenominator) / (compositionEditRateDenominator * resourceEditRateNumerator);
+            //Section 7.3 st2067-3:2016
+            if(sequenceDurationInCompositionEditRateReminder != 0){
+                imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL,
+                        String.format("Segment represented by the Id %s in the Composition represented by ID %s has a sequence represented by ID %s, whose duration represented in Composition Edit Units is (%f) is not an integer"
+                                , segment.getId(), compositionPlaylistType.getId().toString(), sequence.getId(), sequenceDurationDoubleValue));
             }
+            sequenceDurationInCompositionEditUnits = Math.round(sequenceDurationDoubleValue);
+            sequencesDurationSet.add(sequenceDurationInCompositionEditUnits);
 
         }
+        //Section 7.2 st2067-3:2016
+        if(sequencesDurationSet.size() > 1){
+            imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL,
+                    String.format("Segment represented by the Id %s seems to have sequences that are not of the same duration, following sequence durations were computed based on the information in the Sequence List for this Segment, %s represented in Composition Edit Units", segment.getId(), Utilities.serializeObjectCollectionToString(sequencesDurationSet)));
+        }
+        //Section 6.9.3 st2067-3:2016
+        if (trackIDs.size() != virtualTrackMap.size())
+        {
+            String message = String.format(
+                    "Number of distinct virtual trackIDs in a segment = %s, different from first segment %d", trackIDs.size(), virtualTrackMap.size());
+            imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, message);
+        }
+
     }
 
     public static List checkVirtualTrackResourceList(UUID trackID, List<? extends IMFBaseResourceType>
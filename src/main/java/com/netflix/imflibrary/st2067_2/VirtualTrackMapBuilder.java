@@ -0,0 +1,162 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.st2067_2;
+
+import com.netflix.imflibrary.IMFErrorLogger;
+import com.netflix.imflibrary.utils.UUIDHelper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A class that builds the virtual tracks of a Composition from its Segments, one Segment at a time. Every Segment is
+ * checked as it is added and only the resources of its sequences are retained, hence the Segments of a Composition
+ * need not be held in memory while its virtual tracks are built, for e.g., when the Composition is read using an
+ * {@link IMFCompositionPlaylistStreamReader}.
+ */
+@NotThreadSafe
+public final class VirtualTrackMapBuilder implements IMFCompositionPlaylistStreamReader.Handler {
+
+    private final IMFErrorLogger imfErrorLogger;
+    private final Map<UUID, Composition.SequenceTypeEnum> firstSegmentSequenceTypes = new LinkedHashMap<>();
+    private final Map<UUID, List<IMFBaseResourceType>> virtualTrackResourceMap = new LinkedHashMap<>();
+    private final Map<UUID, List<String>> virtualTrackSegmentIds = new LinkedHashMap<>();
+    private IMFCompositionPlaylistType compositionPlaylistType = null;
+    private int numberOfSegments = 0;
+
+    /**
+     * Constructor for a VirtualTrackMapBuilder
+     * @param imfErrorLogger an error logger for recording any errors found in the Segments
+     */
+    public VirtualTrackMapBuilder(@Nonnull IMFErrorLogger imfErrorLogger) {
+        this.imfErrorLogger = imfErrorLogger;
+    }
+
+    /**
+     * A method that sets the Composition Playlist whose Id and EditRate apply to the Segments that are added subsequently,
+     * its SegmentList is not used
+     * @param compositionPlaylistType the Composition Playlist
+     */
+    @Override
+    public void onCompositionPlaylist(IMFCompositionPlaylistType compositionPlaylistType) {
+        this.compositionPlaylistType = compositionPlaylistType;
+    }
+
+    /**
+     * A method that checks a Segment and adds the resources of its sequences to the corresponding virtual tracks
+     * @param segment the next Segment of the Composition
+     */
+    @Override
+    public void onSegment(IMFSegmentType segment) {
+        if (this.compositionPlaylistType == null) {
+            throw new IllegalStateException("The Composition Playlist should be set before Segments are added");
+        }
+
+        if (this.numberOfSegments == 0) {
+            //process first segment to determine the virtual tracks of the Composition
+            for (IMFSequenceType sequence : segment.getSequenceList()) {
+                UUID uuid = UUIDHelper.fromUUIDAsURNStringToUUID(sequence.getTrackId());
+                if (this.firstSegmentSequenceTypes.get(uuid) == null) {
+                    this.firstSegmentSequenceTypes.put(uuid, sequence.getType());
+                } else {
+                    //Section 6.9.3 st2067-3:2016
+                    String message = String.format(
+                            "First segment in Composition XML file has multiple occurrences of virtual track UUID %s this is invalid.", uuid);
+                    this.imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CORE_CONSTRAINTS_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, message);
+                }
+            }
+        }
+        this.numberOfSegments++;
+
+        for (IMFSequenceType sequence : segment.getSequenceList()) {
+            UUID uuid = UUIDHelper.fromUUIDAsURNStringToUUID(sequence.getTrackId());
+            if (this.virtualTrackResourceMap.get(uuid) == null) {
+                this.virtualTrackResourceMap.put(uuid, new ArrayList<IMFBaseResourceType>());
+            }
+            if (this.firstSegmentSequenceTypes.containsKey(uuid)) {
+                if (this.virtualTrackSegmentIds.get(uuid) == null) {
+                    this.virtualTrackSegmentIds.put(uuid, new ArrayList<String>());
+                }
+                this.virtualTrackSegmentIds.get(uuid).add(segment.getId());
+            }
+
+            for (IMFBaseResourceType baseResource : sequence.getResourceList()) {
+                /* Ignore track file resource with zero or negative duration */
+                if (baseResource.getSourceDuration().longValue() <= 0) {
+                    this.imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR,
+                            IMFErrorLogger.IMFErrors.ErrorLevels.WARNING, String.format("Resource with zero source duration ignored: VirtualTrackID %s ResourceID %s",
+                                    uuid.toString(),
+                                    baseResource.getId()));
+                } else {
+                    this.virtualTrackResourceMap.get(uuid).add(baseResource);
+                }
+            }
+        }
+
+        IMFCoreConstraintsChecker.checkSegment(this.compositionPlaylistType, segment, this.firstSegmentSequenceTypes, this.imfErrorLogger);
+    }
+
+    /**
+     * A method that creates the virtual tracks from the resources of all the Segments added so far. A virtual track
+     * none of whose resources has a positive duration cannot be created, hence every Segment that contains it is
+     * reported as containing a virtual track that does not appear in all the segments of the Composition
+     * @return a map containing mappings of a UUID to the corresponding Composition.VirtualTrack, in the order in which
+     * the virtual tracks appear in the first Segment
+     */
+    public Map<UUID, Composition.VirtualTrack> build() {
+        Map<UUID, Composition.VirtualTrack> virtualTrackMap = new LinkedHashMap<>();
+        for (Map.Entry<UUID, Composition.SequenceTypeEnum> entry : this.firstSegmentSequenceTypes.entrySet()) {
+            UUID uuid = entry.getKey();
+            List<? extends IMFBaseResourceType> virtualTrackResourceList = (this.virtualTrackResourceMap.get(uuid) == null)
+                    ? new ArrayList<IMFBaseResourceType>()
+                    : Collections.unmodifiableList(this.virtualTrackResourceMap.get(uuid));
+            Composition.VirtualTrack virtualTrack = null;
+            if (virtualTrackResourceList.size() != 0) {
+                if (virtualTrackResourceList.get(0) instanceof IMFTrackFileResourceType) {
+                    virtualTrack = new IMFEssenceComponentVirtualTrack(uuid,
+                            entry.getValue(),
+                            (List<IMFTrackFileResourceType>) virtualTrackResourceList,
+                            this.compositionPlaylistType.getEditRate());
+                } else if (virtualTrackResourceList.get(0) instanceof IMFMarkerResourceType) {
+                    virtualTrack = new IMFMarkerVirtualTrack(uuid,
+                            entry.getValue(),
+                            (List<IMFMarkerResourceType>) virtualTrackResourceList,
+                            this.compositionPlaylistType.getEditRate());
+                }
+            }
+            if (virtualTrack == null) {
+                for (String segmentId : this.virtualTrackSegmentIds.get(uuid)) {
+                    //Section 6.9.3 st2067-3:2016
+                    String message = String.format(
+                            "Segment represented by the ID %s in the Composition represented by ID %s contains virtual track represented by ID %s, which does not appear in all the segments of the Composition, this is invalid",
+                            segmentId, this.compositionPlaylistType.getId().toString(), uuid);
+                    this.imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, message);
+                }
+            }
+            virtualTrackMap.put(uuid, virtualTrack);
+        }
+        return virtualTrackMap;
+    }
+}
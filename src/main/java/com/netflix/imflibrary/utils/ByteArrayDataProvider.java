@@ -23,12 +23,12 @@ import java.io.IOException;
 import java.util.Arrays;
 
 /**
- * This class is a non-thread-safe implementation of {@link com.netflix.imflibrary.utils.ByteProvider}. The underlying input
+ * This class is a non-thread-safe implementation of {@link com.netflix.imflibrary.utils.StreamingByteProvider}. The underlying input
  * sequence of bytes is sourced from an array of bytes. While this implementation could be enhanced to make it thread-safe, it is
  * difficult to envision an application scenario where an input stream could be shared meaningfully among multiple callers
  */
 @NotThreadSafe
-public final class ByteArrayDataProvider implements ByteProvider {
+public final class ByteArrayDataProvider implements StreamingByteProvider {
 
     private final byte[] bytes;
     private int position = 0;
@@ -78,4 +78,67 @@ public final class ByteArrayDataProvider implements ByteProvider {
 
         this.position += totalNumBytesToSkip;
     }
+
+    @Override
+    public int readUnsignedByte() throws IOException
+    {
+        checkRead(1);
+        return this.bytes[this.position++] & 0xFF;
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException
+    {
+        checkRead(2);
+        int value = ((this.bytes[this.position] & 0xFF) << 8) | (this.bytes[this.position + 1] & 0xFF);
+        this.position += 2;
+        return value;
+    }
+
+    @Override
+    public long readUnsignedInt() throws IOException
+    {
+        checkRead(4);
+        long value = 0;
+        for (int i = 0; i < 4; i++)
+        {
+            value = (value << 8) | (this.bytes[this.position++] & 0xFFL);
+        }
+        return value;
+    }
+
+    @Override
+    public long readUnsignedLong() throws IOException
+    {
+        checkRead(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++)
+        {
+            value = (value << 8) | (this.bytes[this.position++] & 0xFFL);
+        }
+        return value;
+    }
+
+    @Override
+    public void readInto(byte[] destination, int offset, int length) throws IOException
+    {
+        checkRead(length);
+        System.arraycopy(this.bytes, this.position, destination, offset, length);
+        this.position += length;
+    }
+
+    @Override
+    public long position()
+    {
+        return this.position;
+    }
+
+    private void checkRead(int totalNumBytesToRead) throws IOException
+    {
+        if ((totalNumBytesToRead < 0) || ((this.position + totalNumBytesToRead) > bytes.length))
+        {
+            throw new IOException(String.format("Cannot read %d bytes from zero-index position %d as total length = %d",
+                    totalNumBytesToRead, this.position, bytes.length));
+        }
+    }
 }
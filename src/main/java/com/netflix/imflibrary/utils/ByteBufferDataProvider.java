@@ -0,0 +1,188 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.utils;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * This class is a non-thread-safe implementation of {@link com.netflix.imflibrary.utils.StreamingByteProvider}. The underlying
+ * input sequence of bytes is the remaining content of a {@link java.nio.ByteBuffer}, which may be a heap buffer, a direct buffer or
+ * a memory mapped region of a file. Primitive values are read straight out of the buffer, so no per-field byte[] is allocated.
+ *
+ * The buffer content is not copied, callers should not modify it while this provider is in use.
+ */
+@NotThreadSafe
+public final class ByteBufferDataProvider implements StreamingByteProvider {
+
+    private final ByteBuffer byteBuffer;
+
+    /**
+     * Instantiates a new ByteBufferDataProvider object over the remaining bytes of a heap or a direct byte buffer. The position
+     * and limit of the byteBuffer passed in are not modified.
+     *
+     * @param byteBuffer the byte buffer
+     */
+    public ByteBufferDataProvider(ByteBuffer byteBuffer)
+    {
+        this.byteBuffer = byteBuffer.slice().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Instantiates a new ByteBufferDataProvider object over a byte[], the array is wrapped and not copied
+     *
+     * @param bytes the input sequence of bytes
+     */
+    public ByteBufferDataProvider(byte[] bytes)
+    {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Getter for the raw bytes from the byte buffer that this data provider encapsulates
+     *
+     * @param totalNumBytesToRead the total num bytes to read
+     * @return byte[] containing next totalNumBytesToRead number of bytes
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    @Override
+    public byte[] getBytes(int totalNumBytesToRead) throws IOException
+    {
+        byte[] bytes = new byte[checkRead(totalNumBytesToRead)];
+        this.byteBuffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * A method that lets the caller skip bytes in the encapsulated byte buffer
+     *
+     * @param totalNumBytesToSkip the total num bytes to skip from the current position
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    @Override
+    public void skipBytes(long totalNumBytesToSkip) throws IOException
+    {
+        if ((totalNumBytesToSkip < 0) || (totalNumBytesToSkip > this.byteBuffer.remaining()))
+        {
+            throw new IOException(String.format("Cannot skip %d bytes from zero-index position %d as total length = %d",
+                    totalNumBytesToSkip, this.byteBuffer.position(), this.byteBuffer.limit()));
+        }
+        this.byteBuffer.position(this.byteBuffer.position() + (int)totalNumBytesToSkip);
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException
+    {
+        try
+        {
+            return this.byteBuffer.get() & 0xFF;
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw readException(1);
+        }
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException
+    {
+        try
+        {
+            return this.byteBuffer.getShort() & 0xFFFF;
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw readException(2);
+        }
+    }
+
+    @Override
+    public long readUnsignedInt() throws IOException
+    {
+        try
+        {
+            return this.byteBuffer.getInt() & 0xFFFFFFFFL;
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw readException(4);
+        }
+    }
+
+    @Override
+    public long readUnsignedLong() throws IOException
+    {
+        try
+        {
+            return this.byteBuffer.getLong();
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw readException(8);
+        }
+    }
+
+    @Override
+    public void readInto(byte[] destination, int offset, int length) throws IOException
+    {
+        checkRead(length);
+        this.byteBuffer.get(destination, offset, length);
+    }
+
+    @Override
+    public long position()
+    {
+        return this.byteBuffer.position();
+    }
+
+    /**
+     * Returns a provider for the next length bytes, which shares the underlying buffer content with this provider
+     *
+     * @param length the number of bytes in the slice
+     * @return a StreamingByteProvider for the next length bytes
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    @Override
+    public StreamingByteProvider slice(int length) throws IOException
+    {
+        checkRead(length);
+        ByteBuffer slice = this.byteBuffer.slice();
+        slice.limit(length);
+        this.byteBuffer.position(this.byteBuffer.position() + length);
+        return new ByteBufferDataProvider(slice);
+    }
+
+    private int checkRead(int totalNumBytesToRead) throws IOException
+    {
+        if ((totalNumBytesToRead < 0) || (totalNumBytesToRead > this.byteBuffer.remaining()))
+        {
+            throw readException(totalNumBytesToRead);
+        }
+        return totalNumBytesToRead;
+    }
+
+    private IOException readException(int totalNumBytesToRead)
+    {
+        return new IOException(String.format("Cannot read %d bytes from zero-index position %d as total length = %d",
+                totalNumBytesToRead, this.byteBuffer.position(), this.byteBuffer.limit()));
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a thread-safe decorator of a {@link com.netflix.imflibrary.utils.ResourceByteRangeProvider} that keeps
+ * the most recently used blocks of the underlying resource in memory. The resource is divided into aligned blocks of a
+ * fixed size, a byte range request is served from the cached blocks that it spans, and the blocks that are missing are
+ * fetched from the underlying resource with a single range request per run of consecutive missing blocks. When the
+ * cache holds more bytes than its budget the least recently used blocks are evicted.
+ *
+ * Requests that span more blocks than the cache can hold, as well as requests for a byte range as a file, are passed
+ * through to the underlying resource without being cached. Since the underlying resource is assumed not to change,
+ * a single instance can be shared by all the readers of a resource.
+ */
+@ThreadSafe
+public final class CachingResourceByteRangeProvider implements ResourceByteRangeProvider
+{
+    /**
+     * Suggested size of a cached block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    /**
+     * Suggested number of bytes that the cache may hold
+     */
+    public static final long DEFAULT_CACHE_SIZE = 16L * 1024 * 1024;
+
+    private final ResourceByteRangeProvider resourceByteRangeProvider;
+    private final long resourceSize;
+    private final int blockSize;
+    private final int maxNumberOfBlocks;
+    private final int maxNumberOfBlocksPerRead;
+    private final boolean offHeap;
+    private final Blocks blocks;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Constructor for a CachingResourceByteRangeProvider with the default block and cache sizes, that caches blocks on
+     * the heap
+     * @param resourceByteRangeProvider the underlying resource whose blocks will be cached
+     */
+    public CachingResourceByteRangeProvider(@Nonnull ResourceByteRangeProvider resourceByteRangeProvider)
+    {
+        this(resourceByteRangeProvider, DEFAULT_BLOCK_SIZE, DEFAULT_CACHE_SIZE, false);
+    }
+
+    /**
+     * Constructor for a CachingResourceByteRangeProvider
+     * @param resourceByteRangeProvider the underlying resource whose blocks will be cached
+     * @param blockSize size in bytes of a cached block, the offsets of the blocks are multiples of this size
+     * @param cacheSize maximum number of bytes that the cache may hold, should be at least as large as blockSize
+     * @param offHeap true if the cached blocks should be held in direct byte buffers outside the java heap
+     */
+    public CachingResourceByteRangeProvider(@Nonnull ResourceByteRangeProvider resourceByteRangeProvider, int blockSize, long cacheSize, boolean offHeap)
+    {
+        if (blockSize <= 0)
+        {
+            throw new IllegalArgumentException(String.format("blockSize = %d is not > 0", blockSize));
+        }
+        if (cacheSize < blockSize || (cacheSize / blockSize) > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(String.format("cacheSize = %d should be in the range [%d, %d]",
+                    cacheSize, blockSize, (long)Integer.MAX_VALUE * blockSize));
+        }
+        this.resourceByteRangeProvider = resourceByteRangeProvider;
+        this.resourceSize = resourceByteRangeProvider.getResourceSize();
+        this.blockSize = blockSize;
+        this.maxNumberOfBlocks = (int)(cacheSize / blockSize);
+        //a single request to the underlying resource returns at most Integer.MAX_VALUE bytes
+        this.maxNumberOfBlocksPerRead = Integer.MAX_VALUE / blockSize;
+        this.offHeap = offHeap;
+        this.blocks = new Blocks(this.maxNumberOfBlocks);
+    }
+
+    /**
+     * A method that returns the size in bytes of the underlying resource
+     * @return the size in bytes of the underlying resource
+     */
+    public long getResourceSize()
+    {
+        return this.resourceSize;
+    }
+
+    /**
+     * A method to obtain bytes in the inclusive range [start, end] as a file, the request is passed through to the
+     * underlying resource
+     *
+     * @param rangeStart zero indexed inclusive start offset; range from [0, (resourceSize -1)] inclusive
+     * @param rangeEnd zero indexed inclusive end offset; range from [0, (resourceSize -1)] inclusive
+     * @param workingDirectory the working directory where the output file is placed
+     * @return file containing desired byte range
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public File getByteRange(long rangeStart, long rangeEnd, File workingDirectory) throws IOException
+    {
+        return this.resourceByteRangeProvider.getByteRange(rangeStart, rangeEnd, workingDirectory);
+    }
+
+    /**
+     * This method provides a way to obtain a byte range from the resource in-memory. A limitation of this method is
+     * that the total size of the byte range request is capped at 0x7fffffff (the maximum value possible for type int
+     * in java)
+     *
+     * @param rangeStart zero indexed inclusive start offset; ranges from 0 through (resourceSize -1) both included
+     * @param rangeEnd zero indexed inclusive end offset; ranges from 0 through (resourceSize -1) both included
+     * @return byte[] containing desired byte range
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public byte[] getByteRangeAsBytes(long rangeStart, long rangeEnd) throws IOException
+    {
+        //validation of range request guarantees that 0 <= rangeStart <= rangeEnd <= (resourceSize - 1)
+        ResourceByteRangeProvider.Utilities.validateRangeRequest(this.resourceSize, rangeStart, rangeEnd);
+        if((rangeEnd - rangeStart + 1) > Integer.MAX_VALUE){
+            throw new IOException(String.format("Number of bytes requested = %d is greater than %d", (rangeEnd - rangeStart + 1), Integer.MAX_VALUE));
+        }
+        if (!this.isCacheable(rangeStart, rangeEnd))
+        {
+            return this.resourceByteRangeProvider.getByteRangeAsBytes(rangeStart, rangeEnd);
+        }
+
+        long firstBlockIndex = rangeStart / this.blockSize;
+        ByteBuffer[] rangeBlocks = this.getBlocks(rangeStart, rangeEnd);
+        byte[] bytes = new byte[(int)(rangeEnd - rangeStart + 1)];
+        int numBytesCopied = 0;
+        for (int j = 0; j < rangeBlocks.length; j++)
+        {
+            ByteBuffer block = rangeBlocks[j].duplicate();
+            long blockStart = (firstBlockIndex + j) * this.blockSize;
+            int offset = (int)Math.max(0, rangeStart - blockStart);
+            int length = Math.min(block.limit() - offset, bytes.length - numBytesCopied);
+            block.position(offset);
+            block.get(bytes, numBytesCopied, length);
+            numBytesCopied += length;
+        }
+        return bytes;
+    }
+
+    /**
+     * A method to obtain bytes in the inclusive range [start, end] as a stream, ranges that cannot be cached are
+     * streamed from the underlying resource
+     *
+     * @param rangeStart zero indexed inclusive start offset; ranges from 0 through (resourceSize -1) both included
+     * @param rangeEnd zero indexed inclusive end offset; ranges from 0 through (resourceSize -1) both included
+     * @return inputStream corresponding to the desired byte range
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public InputStream getByteRangeAsStream(long rangeStart, long rangeEnd) throws IOException
+    {
+        //validation of range request guarantees that 0 <= rangeStart <= rangeEnd <= (resourceSize - 1)
+        ResourceByteRangeProvider.Utilities.validateRangeRequest(this.resourceSize, rangeStart, rangeEnd);
+        if (!this.isCacheable(rangeStart, rangeEnd))
+        {
+            return this.resourceByteRangeProvider.getByteRangeAsStream(rangeStart, rangeEnd);
+        }
+        return new ByteArrayInputStream(this.getByteRangeAsBytes(rangeStart, rangeEnd));
+    }
+
+    /**
+     * A method that reads the blocks spanned by the inclusive range [start, end] into the cache, so that subsequent
+     * requests within the range are served from memory. The blocks that are missing are fetched with a single request
+     * per run of consecutive missing blocks, a run being split so that no request exceeds Integer.MAX_VALUE bytes.
+     *
+     * @param rangeStart zero indexed inclusive start offset; ranges from 0 through (resourceSize -1) both included
+     * @param rangeEnd zero indexed inclusive end offset; ranges from 0 through (resourceSize -1) both included
+     * @return true if the range was cached, false if it spans more blocks than the cache can hold
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    @Override
+    public boolean prefetch(long rangeStart, long rangeEnd) throws IOException
+    {
+        //validation of range request guarantees that 0 <= rangeStart <= rangeEnd <= (resourceSize - 1)
+        ResourceByteRangeProvider.Utilities.validateRangeRequest(this.resourceSize, rangeStart, rangeEnd);
+        if (!this.isCacheable(rangeStart, rangeEnd))
+        {
+            return false;
+        }
+        this.getBlocks(rangeStart, rangeEnd);
+        return true;
+    }
+
+    /**
+     * Getter for the number of blocks that were served from the cache
+     * @return the number of cache hits
+     */
+    public long getHitCount()
+    {
+        return this.hitCount.get();
+    }
+
+    /**
+     * Getter for the number of blocks that had to be fetched from the underlying resource
+     * @return the number of cache misses
+     */
+    public long getMissCount()
+    {
+        return this.missCount.get();
+    }
+
+    /**
+     * Getter for the number of blocks that are currently cached
+     * @return the number of cached blocks
+     */
+    public int getNumberOfCachedBlocks()
+    {
+        synchronized (this.blocks)
+        {
+            return this.blocks.size();
+        }
+    }
+
+    /**
+     * A method that discards all the cached blocks
+     */
+    public void invalidate()
+    {
+        synchronized (this.blocks)
+        {
+            this.blocks.clear();
+        }
+    }
+
+    private boolean isCacheable(long rangeStart, long rangeEnd)
+    {
+        return ((rangeEnd / this.blockSize) - (rangeStart / this.blockSize) + 1) <= this.maxNumberOfBlocks;
+    }
+
+    private ByteBuffer[] getBlocks(long rangeStart, long rangeEnd) throws IOException
+    {
+        long firstBlockIndex = rangeStart / this.blockSize;
+        int numberOfBlocks = (int)((rangeEnd / this.blockSize) - firstBlockIndex + 1);
+        ByteBuffer[] rangeBlocks = new ByteBuffer[numberOfBlocks];
+        synchronized (this.blocks)
+        {
+            for (int i = 0; i < numberOfBlocks; i++)
+            {
+                rangeBlocks[i] = this.blocks.get(firstBlockIndex + i);
+            }
+        }
+
+        int i = 0;
+        while (i < numberOfBlocks)
+        {
+            if (rangeBlocks[i] != null)
+            {
+                this.hitCount.incrementAndGet();
+                i++;
+                continue;
+            }
+            //fetch a run of consecutive missing blocks with a single request
+            int runStart = i;
+            while (i < numberOfBlocks && rangeBlocks[i] == null && (i - runStart) < this.maxNumberOfBlocksPerRead)
+            {
+                i++;
+            }
+            this.missCount.addAndGet(i - runStart);
+            this.readBlocks(firstBlockIndex, rangeBlocks, runStart, i);
+        }
+        return rangeBlocks;
+    }
+
+    private void readBlocks(long firstBlockIndex, ByteBuffer[] rangeBlocks, int fromIndex, int toIndex) throws IOException
+    {
+        if ((toIndex - fromIndex) > this.maxNumberOfBlocksPerRead)
+        {
+            throw new IllegalArgumentException(String.format("Number of blocks requested = %d is greater than %d",
+                    (toIndex - fromIndex), this.maxNumberOfBlocksPerRead));
+        }
+        long readStart = (firstBlockIndex + fromIndex) * this.blockSize;
+        long readEnd = Math.min((firstBlockIndex + toIndex) * this.blockSize, this.resourceSize) - 1;
+        byte[] bytes = this.resourceByteRangeProvider.getByteRangeAsBytes(readStart, readEnd);
+
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            int offset = (i - fromIndex) * this.blockSize;
+            int length = Math.min(this.blockSize, bytes.length - offset);
+            ByteBuffer block;
+            if (this.offHeap)
+            {
+                block = ByteBuffer.allocateDirect(length);
+                block.put(bytes, offset, length);
+                block.flip();
+            }
+            else
+            {
+                block = (fromIndex + 1 == toIndex) ? ByteBuffer.wrap(bytes) : ByteBuffer.wrap(Arrays.copyOfRange(bytes, offset, offset + length));
+            }
+            rangeBlocks[i] = block;
+        }
+
+        synchronized (this.blocks)
+        {
+            for (int i = fromIndex; i < toIndex; i++)
+            {
+                this.blocks.put(firstBlockIndex + i, rangeBlocks[i]);
+            }
+        }
+    }
+
+    /**
+     * The cached blocks keyed by block index in access order, the least recently used block is evicted once the maximum
+     * number of blocks is exceeded
+     */
+    private static final class Blocks extends LinkedHashMap<Long, ByteBuffer>
+    {
+        private static final long serialVersionUID = 1L;
+        private final int maxNumberOfBlocks;
+
+        private Blocks(int maxNumberOfBlocks)
+        {
+            super(16, 0.75f, true);
+            this.maxNumberOfBlocks = maxNumberOfBlocks;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> eldest)
+        {
+            return this.size() > this.maxNumberOfBlocks;
+        }
+    }
+}
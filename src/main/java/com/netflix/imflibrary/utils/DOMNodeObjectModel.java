@@ -27,17 +27,26 @@ import org.w3c.dom.Node;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
- * A class that implements the logic of representing a DOM Node into a Hierarchical Hash Map
+ * A class that implements the logic of representing a DOM Node into a Hierarchical Hash Map. A DOMNodeObjectModel is
+ * immutable once constructed, hence its hash code and a 128-bit canonical fingerprint of its content are computed once,
+ * when it is constructed, from those of its children. Two DOMNodeObjectModels are equal if and only if their fingerprints
+ * are equal, so that deep essence descriptors are compared without traversing their subtrees.
  */
+@Immutable
 public class DOMNodeObjectModel {
     /*See definitions of NodeType in package org.w3c.dom.Node*/
     @Nonnull
@@ -50,11 +59,17 @@ public class DOMNodeObjectModel {
     @Nonnull
     private final String localNamespaceURI;
     /*List of child ElementDOMNodes*/
-    private final Map<DOMNodeObjectModel, Integer> childrenDOMNodes = new HashMap<>();
+    private final Map<DOMNodeObjectModel, Integer> childrenDOMNodes;
     /*Store for the Key-Value pairs corresponding of the Text Nodes of this ElementDOMNode*/
-    private final Map<DOMNodeElementTuple, Map<String, Integer>> fields = new HashMap<>();
-    private final Map<String, Map<String, Integer>> fieldsLocalNameMap = new HashMap<>();
+    private final Map<DOMNodeElementTuple, Map<String, Integer>> fields;
+    private final Map<String, Map<String, Integer>> fieldsLocalNameMap;
+    /*Cached hash code, field count and 128-bit fingerprint of the content of this ElementDOMNode*/
+    private final int hash;
+    private final int fieldCount;
+    private final long fingerprintHigh;
+    private final long fingerprintLow;
     private static final Logger logger = LoggerFactory.getLogger(DOMNodeObjectModel.class);
+    private static final String FINGERPRINT_ALGORITHM = "MD5";
     private final IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
     /**
      * A constructor for the object model of a DOM Node.
@@ -65,12 +80,36 @@ public class DOMNodeObjectModel {
         this.nodeType = node.getNodeType();
         this.localName = node.getLocalName();
         this.localNamespaceURI = node.getNamespaceURI();
+        Map<DOMNodeObjectModel, Integer> childrenDOMNodes = new HashMap<>();
+        Map<DOMNodeElementTuple, Map<String, Integer>> fields = new HashMap<>();
+        Map<String, Map<String, Integer>> fieldsLocalNameMap = new HashMap<>();
         if(this.localName == null){
             imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger
                             .IMFErrors.ErrorLevels.NON_FATAL,
                     String.format("DOM Node Local Name is not set for a node of type %d", node.getNodeType()));
-            return;
         }
+        else {
+            readChildNodes(node, childrenDOMNodes, fields, fieldsLocalNameMap);
+        }
+        for(Map.Entry<DOMNodeElementTuple, Map<String, Integer>> entry : fields.entrySet()){
+            entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+        }
+        for(Map.Entry<String, Map<String, Integer>> entry : fieldsLocalNameMap.entrySet()){
+            entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+        }
+        this.childrenDOMNodes = Collections.unmodifiableMap(childrenDOMNodes);
+        this.fields = Collections.unmodifiableMap(fields);
+        this.fieldsLocalNameMap = Collections.unmodifiableMap(fieldsLocalNameMap);
+        this.hash = computeHashCode();
+        this.fieldCount = computeFieldCount();
+        long[] fingerprint = computeFingerprint();
+        this.fingerprintHigh = fingerprint[0];
+        this.fingerprintLow = fingerprint[1];
+    }
+
+    private void readChildNodes(Node node, Map<DOMNodeObjectModel, Integer> childrenDOMNodes,
+                                Map<DOMNodeElementTuple, Map<String, Integer>> fields,
+                                Map<String, Map<String, Integer>> fieldsLocalNameMap){
         Node child = node.getFirstChild();
         switch(child.getNodeType()){
             case Node.ELEMENT_NODE:
@@ -125,16 +164,21 @@ public class DOMNodeObjectModel {
         }
     }
 
-    private DOMNodeObjectModel(Node node, String localName, String localNamespaceURI, short nodeType, Map<DOMNodeObjectModel, Integer> childrenDOMNodes, Map<DOMNodeElementTuple, Map<String,
+    DOMNodeObjectModel(Node node, String localName, String localNamespaceURI, short nodeType, Map<DOMNodeObjectModel, Integer> childrenDOMNodes, Map<DOMNodeElementTuple, Map<String,
             Integer>> fields,
                                Map<String, Map<String, Integer>> fieldsLocalNamesMap){
         this.node = node;
         this.localName = localName;
         this.localNamespaceURI = localNamespaceURI;
         this.nodeType = nodeType;
-        this.childrenDOMNodes.putAll(childrenDOMNodes);
-        this.fields.putAll(fields);
-        this.fieldsLocalNameMap.putAll(fieldsLocalNamesMap);
+        this.childrenDOMNodes = Collections.unmodifiableMap(new HashMap<>(childrenDOMNodes));
+        this.fields = Collections.unmodifiableMap(new HashMap<>(fields));
+        this.fieldsLocalNameMap = Collections.unmodifiableMap(new HashMap<>(fieldsLocalNamesMap));
+        this.hash = computeHashCode();
+        this.fieldCount = computeFieldCount();
+        long[] fingerprint = computeFingerprint();
+        this.fingerprintHigh = fingerprint[0];
+        this.fingerprintLow = fingerprint[1];
     }
 
     /**
@@ -321,7 +365,7 @@ public class DOMNodeObjectModel {
      * @return a map of Key, Value pairs corresponding to the fields on the DOM Node
      */
     public Map<DOMNodeElementTuple, Map<String, Integer>> getFields(){
-        return Collections.unmodifiableMap(this.fields);
+        return this.fields;
     }
 
     /**
@@ -329,7 +373,7 @@ public class DOMNodeObjectModel {
      * @return a map of Key, Value pairs corresponding to the fieldsLocalName and the corresponding NamespaceURIs
      */
     public Map<String, Map<String, Integer>> getFieldsLocalNameMap(){
-        return Collections.unmodifiableMap(this.fieldsLocalNameMap);
+        return this.fieldsLocalNameMap;
     }
 
     /**
@@ -337,7 +381,17 @@ public class DOMNodeObjectModel {
      * @return a map of Key, Value pairs corresponding to the fields on the DOM Node
      */
     public Map<DOMNodeObjectModel, Integer> getChildrenDOMNodes(){
-        return Collections.unmodifiableMap(this.childrenDOMNodes);
+        return this.childrenDOMNodes;
+    }
+
+    /**
+     * A getter for the canonical fingerprint of the content of this DOMNodeObjectModel. The fingerprint is a 128-bit
+     * digest of the node type, the fields sorted by namespace URI, local name and value, and the sorted fingerprints of
+     * the children, hence it does not depend on the order in which the fields and children appear in the DOM Node.
+     * @return a string of 32 hexadecimal characters representing the fingerprint
+     */
+    public String getFingerprint(){
+        return String.format("%016x%016x", this.fingerprintHigh, this.fingerprintLow);
     }
 
 
@@ -351,13 +405,18 @@ public class DOMNodeObjectModel {
 
     /**
      * A method to compare 2 DOMObjectNodeModel objects to verify if 2 DOM Nodes have the same
-     * content.
+     * content. The content of 2 DOM Nodes is the same if the node types, the fields and the children of the DOM Nodes
+     * are the same, which is established by comparing their fingerprints.
      * @param other the node to compare with.
      * @return boolean returns true if the 2 DOMNodeObjectModels have the same content.
      */
     @Override
     public boolean equals(Object other){
 
+        if(this == other){
+            return true;
+        }
+
         if(other == null
                 || this.getClass() != other.getClass()){
             return false;
@@ -365,16 +424,14 @@ public class DOMNodeObjectModel {
 
         DOMNodeObjectModel otherDOMNodeObjectModel = (DOMNodeObjectModel) other;
 
-        if(this.nodeType.equals(otherDOMNodeObjectModel.nodeType) &&
-            this.fields.equals(otherDOMNodeObjectModel.fields) &&
-            this.childrenDOMNodes.equals(otherDOMNodeObjectModel.childrenDOMNodes)) {
-            return true;
-        }
-        return false;
+        return this.fingerprintHigh == otherDOMNodeObjectModel.fingerprintHigh
+                && this.fingerprintLow == otherDOMNodeObjectModel.fingerprintLow;
     }
 
     /**
      * A method to remove nodes from a DOMNodeObjectNodel that are also present in another DOMNodeObjectModel.
+     * Children are matched through their fingerprints and identifying fields before they are aligned by content, see
+     * {@link DOMNodeObjectModelDiff}.
      * @param other DoMNodeObjectModel
      * @return DOMNodeObjectModel this DOMNodeObjectModel without any common nodes from other DoMNodeObjectModel
      */
@@ -385,75 +442,7 @@ public class DOMNodeObjectModel {
             return createDOMNodeObjectModelIgnoreSet(this, new HashSet<>());
         }
 
-
-        DOMNodeObjectModel otherDOMNodeObjectModel = (DOMNodeObjectModel) other;
-
-        if(!this.localName.equals(otherDOMNodeObjectModel.localName)) {
-            return createDOMNodeObjectModelIgnoreSet(this, new HashSet<>());
-        }
-
-        Map<DOMNodeElementTuple, Map<String, Integer>> thisFields = new HashMap<>();
-        thisFields.putAll(this.fields);
-        thisFields.entrySet().removeAll(otherDOMNodeObjectModel.fields.entrySet());
-
-        Map<DOMNodeObjectModel, Integer> thisChildrenDOMNodes = new HashMap<>();
-        Map<DOMNodeObjectModel, Integer> outChildrenDOMNodes = new HashMap<>();
-        Map<DOMNodeObjectModel, Integer> otherChildrenDOMNodes = new HashMap<>();
-
-        thisChildrenDOMNodes.putAll(this.childrenDOMNodes);
-        thisChildrenDOMNodes.entrySet().removeAll(otherDOMNodeObjectModel.childrenDOMNodes.entrySet());
-
-        otherChildrenDOMNodes.putAll(otherDOMNodeObjectModel.childrenDOMNodes);
-        otherChildrenDOMNodes.entrySet().removeAll(this.childrenDOMNodes.entrySet());
-
-        while(!thisChildrenDOMNodes.isEmpty()) {
-            Map.Entry<DOMNodeObjectModel, Integer> entry = thisChildrenDOMNodes.entrySet().iterator().next();
-            Integer minDiffCount = entry.getKey().getFieldCount();
-            Map.Entry<DOMNodeObjectModel, Integer> matchingEntry = null;
-            for(Map.Entry<DOMNodeObjectModel, Integer> otherEntry: otherChildrenDOMNodes.entrySet()) {
-                DOMNodeObjectModel diffDOMNodeObjectModel = entry.getKey().removeNodes(otherEntry.getKey());
-                if(diffDOMNodeObjectModel.getFieldCount() < minDiffCount) {
-                    matchingEntry = otherEntry;
-                    minDiffCount = diffDOMNodeObjectModel.getFieldCount();
-                }
-            }
-            if(matchingEntry != null) {
-                Integer remaining = entry.getValue() - matchingEntry.getValue();
-                Integer count = remaining >= 0 ? matchingEntry.getValue() : entry.getValue();
-
-                if(remaining == 0) {
-                    otherChildrenDOMNodes.remove(matchingEntry.getKey());
-                    thisChildrenDOMNodes.remove(entry.getKey());
-                }
-                else if(remaining > 0) {
-                    otherChildrenDOMNodes.remove(matchingEntry.getKey());
-                    thisChildrenDOMNodes.put(entry.getKey(), remaining);
-                } else {
-                    otherChildrenDOMNodes.put(matchingEntry.getKey(), -remaining);
-                    thisChildrenDOMNodes.remove(entry.getKey());
-                }
-
-                if(!entry.getKey().equals(matchingEntry.getKey())) {
-                    DOMNodeObjectModel diffDOMNodeObjectModel = entry.getKey().removeNodes(matchingEntry.getKey());
-                    if(outChildrenDOMNodes.containsKey(diffDOMNodeObjectModel)) {
-                        count += outChildrenDOMNodes.get(diffDOMNodeObjectModel);
-                    }
-                    outChildrenDOMNodes.put(diffDOMNodeObjectModel, count);
-                }
-            } else {
-                Integer count = entry.getValue();
-                if(outChildrenDOMNodes.containsKey(entry.getKey())) {
-                    count += outChildrenDOMNodes.get(entry.getKey());
-                }
-                outChildrenDOMNodes.put(entry.getKey(), count);
-                thisChildrenDOMNodes.remove(entry.getKey());
-            }
-        }
-
-
-        return new DOMNodeObjectModel(this.getNode(), this.getLocalName(), this.getLocalNamespaceURI(),
-                this.getNodeType(), Collections.unmodifiableMap(outChildrenDOMNodes), Collections.unmodifiableMap
-                (thisFields), Collections.unmodifiableMap(this.fieldsLocalNameMap));
+        return DOMNodeObjectModelDiff.diff(this, (DOMNodeObjectModel) other);
     }
 
 
@@ -462,7 +451,11 @@ public class DOMNodeObjectModel {
      * @return Integer total number of fields .
      */
     public Integer getFieldCount(){
-        Integer entryCount = 0;
+        return this.fieldCount;
+    }
+
+    private int computeFieldCount(){
+        int entryCount = 0;
 
         entryCount += this.fields.size();
 
@@ -479,14 +472,78 @@ public class DOMNodeObjectModel {
      */
     @Override
     public int hashCode(){
+        return this.hash;
+    }
+
+    private int computeHashCode(){
         int hash = 1;
-        hash = hash * 31 + localName.hashCode();
+        hash = hash * 31 + (this.localName == null ? 0 : this.localName.hashCode());
         hash = hash * 31 + this.nodeType.hashCode();
         hash = hash * 31 + this.fields.hashCode();
         hash = hash * 31 + this.childrenDOMNodes.hashCode();
         return hash;
     }
 
+    private long[] computeFingerprint(){
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e) {
+            //Every implementation of the Java platform is required to support MD5
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 3);
+
+        buffer.putLong(this.nodeType);
+        buffer.putLong(this.fields.size());
+        buffer.putLong(this.childrenDOMNodes.size());
+        messageDigest.update(buffer.array());
+
+        List<DOMNodeElementTuple> fieldKeys = new ArrayList<>(this.fields.keySet());
+        fieldKeys.sort(Comparator.comparing(DOMNodeElementTuple::getNamespaceURI, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(DOMNodeElementTuple::getLocalName, Comparator.nullsFirst(Comparator.<String>naturalOrder())));
+        for(DOMNodeElementTuple fieldKey : fieldKeys){
+            updateFingerprint(messageDigest, fieldKey.getNamespaceURI());
+            updateFingerprint(messageDigest, fieldKey.getLocalName());
+            Map<String, Integer> values = this.fields.get(fieldKey);
+            List<String> sortedValues = new ArrayList<>(values.keySet());
+            sortedValues.sort(Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+            buffer.clear();
+            buffer.putLong(sortedValues.size());
+            messageDigest.update(buffer.array(), 0, Long.BYTES);
+            for(String value : sortedValues){
+                updateFingerprint(messageDigest, value);
+                buffer.clear();
+                buffer.putLong(values.get(value));
+                messageDigest.update(buffer.array(), 0, Long.BYTES);
+            }
+        }
+
+        List<Map.Entry<DOMNodeObjectModel, Integer>> children = new ArrayList<>(this.childrenDOMNodes.entrySet());
+        children.sort(Comparator.comparingLong((Map.Entry<DOMNodeObjectModel, Integer> e) -> e.getKey().fingerprintHigh)
+                .thenComparingLong(e -> e.getKey().fingerprintLow));
+        for(Map.Entry<DOMNodeObjectModel, Integer> child : children){
+            buffer.clear();
+            buffer.putLong(child.getKey().fingerprintHigh);
+            buffer.putLong(child.getKey().fingerprintLow);
+            buffer.putLong(child.getValue());
+            messageDigest.update(buffer.array());
+        }
+
+        ByteBuffer digest = ByteBuffer.wrap(messageDigest.digest());
+        return new long[]{digest.getLong(), digest.getLong()};
+    }
+
+    private static void updateFingerprint(MessageDigest messageDigest, @Nullable String value){
+        //Strings are length prefixed, so that the concatenation of the fields is unambiguous
+        byte[] bytes = (value == null) ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        buffer.putInt(value == null ? -1 : bytes.length);
+        messageDigest.update(buffer.array());
+        messageDigest.update(bytes);
+    }
+
     /**
      * A method that returns a string representation of a DOMNodeObjectModel object
      *
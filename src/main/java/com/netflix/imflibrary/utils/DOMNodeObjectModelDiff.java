@@ -0,0 +1,212 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A class that computes the difference between 2 DOMNodeObjectModels, i.e., the fields and children of a DOMNodeObjectModel
+ * that are not present in another DOMNodeObjectModel, as reported by {@link DOMNodeObjectModel#removeNodes(Object)}.
+ *
+ * Identical children are matched through their fingerprints. The remaining children are first matched through the values
+ * of their identifying fields (for e.g., the MCALinkID of an AudioChannelLabelSubDescriptor), and the children that are
+ * still unmatched are aligned with the child of the same local name in the other DOMNodeObjectModel that leaves the fewest
+ * fields unmatched. The difference of every pair of nodes is computed at most once per diff, hence the cost of a diff is
+ * bounded by the sum over the levels of the 2 DOMNodeObjectModels of the product of the number of unmatched children at
+ * that level.
+ */
+@NotThreadSafe
+final class DOMNodeObjectModelDiff {
+
+    /*Local names of the fields whose values identify a child node, for e.g., one of many MCA sub-descriptors*/
+    private static final List<String> keyFieldLocalNames = Collections.unmodifiableList(Arrays.asList("MCALinkID", "MCAChannelID", "InstanceUID"));
+
+    private final Map<List<Object>, DOMNodeObjectModel> diffs = new HashMap<>();
+
+    private DOMNodeObjectModelDiff(){
+
+    }
+
+    /**
+     * A method that computes the nodes of a DOMNodeObjectModel that are not present in another DOMNodeObjectModel
+     * @param domNodeObjectModel the DOMNodeObjectModel whose nodes are to be retained
+     * @param other the DOMNodeObjectModel whose nodes are to be removed from domNodeObjectModel
+     * @return a DOMNodeObjectModel containing the fields and children of domNodeObjectModel that are not present in other
+     */
+    static DOMNodeObjectModel diff(@Nonnull DOMNodeObjectModel domNodeObjectModel, @Nonnull DOMNodeObjectModel other){
+        return new DOMNodeObjectModelDiff().getDiff(domNodeObjectModel, other);
+    }
+
+    private DOMNodeObjectModel getDiff(DOMNodeObjectModel domNodeObjectModel, DOMNodeObjectModel other){
+        List<Object> key = Arrays.asList(domNodeObjectModel.getLocalName(), domNodeObjectModel, other.getLocalName(), other);
+        DOMNodeObjectModel diff = this.diffs.get(key);
+        if(diff == null){
+            diff = computeDiff(domNodeObjectModel, other);
+            this.diffs.put(key, diff);
+        }
+        return diff;
+    }
+
+    private DOMNodeObjectModel computeDiff(DOMNodeObjectModel domNodeObjectModel, DOMNodeObjectModel other){
+
+        if(!Objects.equals(domNodeObjectModel.getLocalName(), other.getLocalName())){
+            return DOMNodeObjectModel.createDOMNodeObjectModelIgnoreSet(domNodeObjectModel, Collections.emptySet());
+        }
+
+        Map<DOMNodeObjectModel.DOMNodeElementTuple, Map<String, Integer>> thisFields = new HashMap<>(domNodeObjectModel.getFields());
+        thisFields.entrySet().removeAll(other.getFields().entrySet());
+
+        /*Remove the children that are present in both DOMNodeObjectModels*/
+        Map<DOMNodeObjectModel, Integer> thisChildrenDOMNodes = new LinkedHashMap<>();
+        Map<DOMNodeObjectModel, Integer> otherChildrenDOMNodes = new LinkedHashMap<>(other.getChildrenDOMNodes());
+        Map<DOMNodeObjectModel, Integer> outChildrenDOMNodes = new HashMap<>();
+        for(Map.Entry<DOMNodeObjectModel, Integer> entry : domNodeObjectModel.getChildrenDOMNodes().entrySet()){
+            Integer otherCount = otherChildrenDOMNodes.get(entry.getKey());
+            if(otherCount == null){
+                thisChildrenDOMNodes.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            int remaining = entry.getValue() - otherCount;
+            if(remaining > 0){
+                thisChildrenDOMNodes.put(entry.getKey(), remaining);
+                otherChildrenDOMNodes.remove(entry.getKey());
+            }
+            else if(remaining < 0){
+                otherChildrenDOMNodes.put(entry.getKey(), -remaining);
+            }
+            else{
+                otherChildrenDOMNodes.remove(entry.getKey());
+            }
+        }
+
+        /*Match the remaining children through the values of their identifying fields*/
+        Map<String, DOMNodeObjectModel> otherChildrenByKey = getUniqueChildrenByKey(otherChildrenDOMNodes);
+        if(!otherChildrenByKey.isEmpty()) {
+            for (Map.Entry<String, DOMNodeObjectModel> entry : getUniqueChildrenByKey(thisChildrenDOMNodes).entrySet()) {
+                DOMNodeObjectModel matchingChild = otherChildrenByKey.get(entry.getKey());
+                if (matchingChild != null) {
+                    thisChildrenDOMNodes.remove(entry.getValue());
+                    otherChildrenDOMNodes.remove(matchingChild);
+                    addChild(outChildrenDOMNodes, getDiff(entry.getValue(), matchingChild), 1);
+                }
+            }
+        }
+
+        /*Align every other child with the child of the same local name that leaves the fewest fields unmatched*/
+        while(!thisChildrenDOMNodes.isEmpty()) {
+            Map.Entry<DOMNodeObjectModel, Integer> entry = thisChildrenDOMNodes.entrySet().iterator().next();
+            int minDiffCount = entry.getKey().getFieldCount();
+            Map.Entry<DOMNodeObjectModel, Integer> matchingEntry = null;
+            for(Map.Entry<DOMNodeObjectModel, Integer> otherEntry : otherChildrenDOMNodes.entrySet()) {
+                if(!Objects.equals(entry.getKey().getLocalName(), otherEntry.getKey().getLocalName())){
+                    continue;
+                }
+                int diffCount = getDiff(entry.getKey(), otherEntry.getKey()).getFieldCount();
+                if(diffCount < minDiffCount) {
+                    matchingEntry = otherEntry;
+                    minDiffCount = diffCount;
+                }
+            }
+            if(matchingEntry != null) {
+                int remaining = entry.getValue() - matchingEntry.getValue();
+                int count = remaining >= 0 ? matchingEntry.getValue() : entry.getValue();
+
+                if(remaining == 0) {
+                    otherChildrenDOMNodes.remove(matchingEntry.getKey());
+                    thisChildrenDOMNodes.remove(entry.getKey());
+                }
+                else if(remaining > 0) {
+                    otherChildrenDOMNodes.remove(matchingEntry.getKey());
+                    thisChildrenDOMNodes.put(entry.getKey(), remaining);
+                } else {
+                    otherChildrenDOMNodes.put(matchingEntry.getKey(), -remaining);
+                    thisChildrenDOMNodes.remove(entry.getKey());
+                }
+                addChild(outChildrenDOMNodes, getDiff(entry.getKey(), matchingEntry.getKey()), count);
+            } else {
+                addChild(outChildrenDOMNodes, entry.getKey(), entry.getValue());
+                thisChildrenDOMNodes.remove(entry.getKey());
+            }
+        }
+
+        return new DOMNodeObjectModel(domNodeObjectModel.getNode(), domNodeObjectModel.getLocalName(), domNodeObjectModel.getLocalNamespaceURI(),
+                domNodeObjectModel.getNodeType(), outChildrenDOMNodes, thisFields, domNodeObjectModel.getFieldsLocalNameMap());
+    }
+
+    private static void addChild(Map<DOMNodeObjectModel, Integer> childrenDOMNodes, DOMNodeObjectModel child, int count){
+        Integer previousCount = childrenDOMNodes.get(child);
+        childrenDOMNodes.put(child, (previousCount == null) ? count : previousCount + count);
+    }
+
+    /**
+     * A method that indexes the children that occur once and carry identifying fields by their local name and the values
+     * of those fields, children whose key is shared with another child are not indexed
+     */
+    private static Map<String, DOMNodeObjectModel> getUniqueChildrenByKey(Map<DOMNodeObjectModel, Integer> childrenDOMNodes){
+        Map<String, DOMNodeObjectModel> childrenByKey = new LinkedHashMap<>();
+        List<String> duplicateKeys = new ArrayList<>();
+        for(Map.Entry<DOMNodeObjectModel, Integer> entry : childrenDOMNodes.entrySet()){
+            String key = getKey(entry.getKey());
+            if(key == null){
+                continue;
+            }
+            if(entry.getValue() != 1
+                    || childrenByKey.containsKey(key)){
+                duplicateKeys.add(key);
+            }
+            else{
+                childrenByKey.put(key, entry.getKey());
+            }
+        }
+        childrenByKey.keySet().removeAll(duplicateKeys);
+        return childrenByKey;
+    }
+
+    @Nullable
+    private static String getKey(DOMNodeObjectModel domNodeObjectModel){
+        StringBuilder stringBuilder = new StringBuilder();
+        for(String keyFieldLocalName : keyFieldLocalNames){
+            Map<String, Integer> values = null;
+            for(Map.Entry<DOMNodeObjectModel.DOMNodeElementTuple, Map<String, Integer>> entry : domNodeObjectModel.getFields().entrySet()){
+                if(keyFieldLocalName.equals(entry.getKey().getLocalName())){
+                    values = entry.getValue();
+                    break;
+                }
+            }
+            if(values != null
+                    && values.size() == 1){
+                stringBuilder.append(keyFieldLocalName).append('=').append(values.keySet().iterator().next()).append(';');
+            }
+        }
+        if(stringBuilder.length() == 0){
+            return null;
+        }
+        return domNodeObjectModel.getLocalName() + ':' + stringBuilder.toString();
+    }
+}
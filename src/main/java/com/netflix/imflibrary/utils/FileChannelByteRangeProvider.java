@@ -0,0 +1,408 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.utils;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class is a thread-safe implementation of {@link com.netflix.imflibrary.utils.ResourceByteRangeProvider} - the
+ * underlying resource is a file that is kept open for the lifetime of this object. Byte ranges are obtained using
+ * positional reads on a {@link java.nio.channels.FileChannel}, so that concurrent range requests neither share nor
+ * modify a file position. Optionally, the file can be accessed through read-only memory mapped windows of a fixed size,
+ * in which case range requests that fall within a single window are served from the mapping. At most a fixed number of
+ * mapped windows are retained, the least recently used window being released when a new window is mapped.
+ *
+ * Instances of this class hold an open file handle, and should be closed when no longer needed.
+ */
+@ThreadSafe
+public final class FileChannelByteRangeProvider implements ResourceByteRangeProvider, Closeable
+{
+    /**
+     * Value of the mapped window size that disables memory mapping, i.e., all range requests use positional reads
+     */
+    public static final long NO_MEMORY_MAPPING = 0L;
+    /**
+     * Suggested size of a memory mapped window
+     */
+    public static final long DEFAULT_MAPPED_WINDOW_SIZE = 64L * 1024 * 1024;
+    /**
+     * Suggested maximum number of memory mapped windows retained at any time
+     */
+    public static final int DEFAULT_MAX_NUMBER_OF_MAPPED_WINDOWS = 16;
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final File resourceFile;
+    private final FileChannel fileChannel;
+    private final long fileSize;
+    private final long mappedWindowSize;
+    private final MappedWindows mappedWindows;
+
+    /**
+     * Constructor for a FileChannelByteRangeProvider that uses positional reads only
+     * @param resourceFile whose data will be read by this data provider
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public FileChannelByteRangeProvider(File resourceFile) throws IOException
+    {
+        this(resourceFile, NO_MEMORY_MAPPING);
+    }
+
+    /**
+     * Constructor for a FileChannelByteRangeProvider
+     * @param resourceFile whose data will be read by this data provider
+     * @param mappedWindowSize size in bytes of the memory mapped windows used to serve range requests, a value of
+     *                         {@link #NO_MEMORY_MAPPING} disables memory mapping
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public FileChannelByteRangeProvider(File resourceFile, long mappedWindowSize) throws IOException
+    {
+        this(resourceFile, mappedWindowSize, DEFAULT_MAX_NUMBER_OF_MAPPED_WINDOWS);
+    }
+
+    /**
+     * Constructor for a FileChannelByteRangeProvider
+     * @param resourceFile whose data will be read by this data provider
+     * @param mappedWindowSize size in bytes of the memory mapped windows used to serve range requests, a value of
+     *                         {@link #NO_MEMORY_MAPPING} disables memory mapping
+     * @param maxNumberOfMappedWindows maximum number of memory mapped windows retained at any time
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public FileChannelByteRangeProvider(File resourceFile, long mappedWindowSize, int maxNumberOfMappedWindows) throws IOException
+    {
+        if (mappedWindowSize < 0 || mappedWindowSize > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(String.format("mappedWindowSize = %d should be in the range [0, %d]", mappedWindowSize, Integer.MAX_VALUE));
+        }
+        if (maxNumberOfMappedWindows <= 0)
+        {
+            throw new IllegalArgumentException(String.format("maxNumberOfMappedWindows = %d is not > 0", maxNumberOfMappedWindows));
+        }
+        this.resourceFile = resourceFile;
+        this.fileChannel = FileChannel.open(resourceFile.toPath(), StandardOpenOption.READ);
+        this.fileSize = this.fileChannel.size();
+        this.mappedWindowSize = mappedWindowSize;
+        this.mappedWindows = new MappedWindows(maxNumberOfMappedWindows);
+    }
+
+    /**
+     * A method that returns the size in bytes of the underlying resource, in this case a File
+     * @return the size in bytes of the underlying resource, in this case a File
+     */
+    public long getResourceSize()
+    {
+        return this.fileSize;
+    }
+
+    /**
+     * A method to obtain bytes in the inclusive range [start, endOfFile] as a file
+     *
+     * @param rangeStart zero indexed inclusive start offset; ranges from 0 through (resourceSize -1) both included
+     * @param workingDirectory the working directory where the output file is placed
+     * @return file containing desired byte range from rangeStart through end of file
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public File getByteRange(long rangeStart, File workingDirectory) throws IOException
+    {
+        return this.getByteRange(rangeStart, this.fileSize - 1, workingDirectory);
+    }
+
+    /**
+     * A method to obtain bytes in the inclusive range [start, end] as a file
+     *
+     * @param rangeStart zero indexed inclusive start offset; range from [0, (resourceSize -1)] inclusive
+     * @param rangeEnd zero indexed inclusive end offset; range from [0, (resourceSize -1)] inclusive
+     * @param workingDirectory the working directory where the output file is placed
+     * @return file containing desired byte range
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public File getByteRange(long rangeStart, long rangeEnd, File workingDirectory) throws IOException
+    {
+        //validation of range request guarantees that 0 <= rangeStart <= rangeEnd <= (resourceSize - 1)
+        ResourceByteRangeProvider.Utilities.validateRangeRequest(this.fileSize, rangeStart, rangeEnd);
+
+        File rangeFile = new File(workingDirectory, "range");
+
+        try(FileOutputStream fileOutputStream = new FileOutputStream(rangeFile);
+            FileChannel outputChannel = fileOutputStream.getChannel())
+        {
+            long totalNumBytesToTransfer = rangeEnd - rangeStart + 1;
+            long totalNumBytesTransferred = 0;
+            while (totalNumBytesTransferred < totalNumBytesToTransfer)
+            {
+                long numBytesTransferred = this.fileChannel.transferTo(rangeStart + totalNumBytesTransferred,
+                        totalNumBytesToTransfer - totalNumBytesTransferred, outputChannel);
+                if (numBytesTransferred <= 0)
+                {
+                    throw new EOFException(String.format("Tried to transfer %d bytes from %s, which ended after transferring %d bytes",
+                            totalNumBytesToTransfer, this.resourceFile.getName(), totalNumBytesTransferred));
+                }
+                totalNumBytesTransferred += numBytesTransferred;
+            }
+        }
+
+        return rangeFile;
+    }
+
+    /**
+     * This method provides a way to obtain a byte range from the resource in-memory. A limitation of this method is
+     * that the total size of the byte range request is capped at 0x7fffffff (the maximum value possible for type int
+     * in java)
+     *
+     * @param rangeStart zero indexed inclusive start offset; ranges from 0 through (resourceSize -1) both included
+     * @param rangeEnd zero indexed inclusive end offset; ranges from 0 through (resourceSize -1) both included
+     * @return byte[] containing desired byte range
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public byte[] getByteRangeAsBytes(long rangeStart, long rangeEnd) throws IOException
+    {
+        //validation of range request guarantees that 0 <= rangeStart <= rangeEnd <= (resourceSize - 1)
+        ResourceByteRangeProvider.Utilities.validateRangeRequest(this.fileSize, rangeStart, rangeEnd);
+        if((rangeEnd - rangeStart + 1) > Integer.MAX_VALUE){
+            throw new IOException(String.format("Number of bytes requested = %d is greater than %d", (rangeEnd - rangeStart + 1), Integer.MAX_VALUE));
+        }
+
+        byte[] bytes = new byte[(int)(rangeEnd - rangeStart + 1)];
+        this.read(ByteBuffer.wrap(bytes), rangeStart);
+        return bytes;
+    }
+
+    /**
+     * A method to obtain bytes in the inclusive range [start, end] as a stream. Ranges that are larger than the internal
+     * buffer size are streamed from the file rather than being read in their entirety into memory.
+     *
+     * @param rangeStart zero indexed inclusive start offset; ranges from 0 through (resourceSize -1) both included
+     * @param rangeEnd zero indexed inclusive end offset; ranges from 0 through (resourceSize -1) both included
+     * @return inputStream corresponding to the desired byte range
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public InputStream getByteRangeAsStream(long rangeStart, long rangeEnd) throws IOException
+    {
+        //validation of range request guarantees that 0 <= rangeStart <= rangeEnd <= (resourceSize - 1)
+        ResourceByteRangeProvider.Utilities.validateRangeRequest(this.fileSize, rangeStart, rangeEnd);
+        if ((rangeEnd - rangeStart + 1) <= BUFFER_SIZE)
+        {
+            return new ByteArrayInputStream(this.getByteRangeAsBytes(rangeStart, rangeEnd));
+        }
+        return new RangeInputStream(rangeStart, rangeEnd + 1);
+    }
+
+    /**
+     * A method that reads bytes from the underlying file into a ByteBuffer starting at an absolute position. The file
+     * position of the underlying channel is neither used nor modified, hence concurrent calls to this method are safe.
+     *
+     * @param byteBuffer the buffer into which bytes are read, this method fills the buffer from its position through its limit
+     * @param position zero indexed absolute offset in the file at which the read starts
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public void read(ByteBuffer byteBuffer, long position) throws IOException
+    {
+        int totalNumBytesToRead = byteBuffer.remaining();
+        if (this.mappedWindowSize != NO_MEMORY_MAPPING)
+        {
+            long windowIndex = position / this.mappedWindowSize;
+            long windowStart = windowIndex * this.mappedWindowSize;
+            if (position + totalNumBytesToRead <= windowStart + this.mappedWindowSize
+                    && position + totalNumBytesToRead <= this.fileSize)
+            {
+                ByteBuffer window = this.getMappedWindow(windowIndex).duplicate();
+                window.position((int)(position - windowStart));
+                window.limit(window.position() + totalNumBytesToRead);
+                byteBuffer.put(window);
+                return;
+            }
+        }
+
+        int totalNumBytesRead = 0;
+        while (totalNumBytesRead < totalNumBytesToRead)
+        {
+            int numBytesRead = this.fileChannel.read(byteBuffer, position + totalNumBytesRead);
+            if (numBytesRead == -1)
+            {
+                throw new EOFException(String.format("Tried to read %d bytes from %s at offset %d, which ended after reading %d bytes",
+                        totalNumBytesToRead, this.resourceFile.getName(), position, totalNumBytesRead));
+            }
+            totalNumBytesRead += numBytesRead;
+        }
+    }
+
+    /**
+     * A method that closes the underlying file, subsequent range requests will fail
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    @Override
+    public void close() throws IOException
+    {
+        synchronized (this.mappedWindows)
+        {
+            this.mappedWindows.clear();
+        }
+        this.fileChannel.close();
+    }
+
+    /**
+     * A method that returns the number of memory mapped windows currently retained
+     * @return the number of memory mapped windows currently retained
+     */
+    int getNumberOfMappedWindows()
+    {
+        synchronized (this.mappedWindows)
+        {
+            return this.mappedWindows.size();
+        }
+    }
+
+    private MappedByteBuffer getMappedWindow(long windowIndex) throws IOException
+    {
+        synchronized (this.mappedWindows)
+        {
+            MappedByteBuffer mappedWindow = this.mappedWindows.get(windowIndex);
+            if (mappedWindow == null)
+            {
+                long windowStart = windowIndex * this.mappedWindowSize;
+                long windowSize = Math.min(this.mappedWindowSize, this.fileSize - windowStart);
+                mappedWindow = this.fileChannel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+                this.mappedWindows.put(windowIndex, mappedWindow);
+            }
+            return mappedWindow;
+        }
+    }
+
+    /**
+     * The memory mapped windows keyed by window index in access order, the least recently used window is released
+     * once the maximum number of windows is exceeded
+     */
+    private static final class MappedWindows extends LinkedHashMap<Long, MappedByteBuffer>
+    {
+        private static final long serialVersionUID = 1L;
+        private final int maxNumberOfMappedWindows;
+
+        private MappedWindows(int maxNumberOfMappedWindows)
+        {
+            super(16, 0.75f, true);
+            this.maxNumberOfMappedWindows = maxNumberOfMappedWindows;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, MappedByteBuffer> eldest)
+        {
+            return this.size() > this.maxNumberOfMappedWindows;
+        }
+    }
+
+    /**
+     * An InputStream over a byte range of the underlying file that reads through a private buffer using positional reads
+     */
+    private final class RangeInputStream extends InputStream
+    {
+        private final long exclusiveRangeEnd;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private long position;
+
+        private RangeInputStream(long rangeStart, long exclusiveRangeEnd)
+        {
+            this.position = rangeStart;
+            this.exclusiveRangeEnd = exclusiveRangeEnd;
+            this.buffer.limit(0);
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            if (!this.fill())
+            {
+                return -1;
+            }
+            return this.buffer.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException
+        {
+            if (length == 0)
+            {
+                return 0;
+            }
+            if (!this.fill())
+            {
+                return -1;
+            }
+            int numBytesRead = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, numBytesRead);
+            return numBytesRead;
+        }
+
+        @Override
+        public long skip(long numBytesToSkip) throws IOException
+        {
+            if (numBytesToSkip <= 0)
+            {
+                return 0;
+            }
+            long numBytesSkipped = Math.min(numBytesToSkip, this.buffer.remaining() + (this.exclusiveRangeEnd - this.position));
+            if (numBytesSkipped <= this.buffer.remaining())
+            {
+                this.buffer.position(this.buffer.position() + (int)numBytesSkipped);
+            }
+            else
+            {
+                this.position += numBytesSkipped - this.buffer.remaining();
+                this.buffer.limit(0);
+            }
+            return numBytesSkipped;
+        }
+
+        @Override
+        public int available()
+        {
+            return (int)Math.min(Integer.MAX_VALUE, this.buffer.remaining() + (this.exclusiveRangeEnd - this.position));
+        }
+
+        private boolean fill() throws IOException
+        {
+            if (this.buffer.hasRemaining())
+            {
+                return true;
+            }
+            if (this.position >= this.exclusiveRangeEnd)
+            {
+                return false;
+            }
+            this.buffer.clear();
+            this.buffer.limit((int)Math.min(BUFFER_SIZE, this.exclusiveRangeEnd - this.position));
+            FileChannelByteRangeProvider.this.read(this.buffer, this.position);
+            this.position += this.buffer.limit();
+            this.buffer.flip();
+            return true;
+        }
+    }
+}
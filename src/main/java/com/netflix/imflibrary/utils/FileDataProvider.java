@@ -19,18 +19,33 @@
 package com.netflix.imflibrary.utils;
 
 import javax.annotation.concurrent.NotThreadSafe;
-import java.io.*;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 
 /**
- * This class is an non-thread-safe implementation of {@link com.netflix.imflibrary.utils.ByteProvider}. The underlying input
+ * This class is an non-thread-safe implementation of {@link com.netflix.imflibrary.utils.StreamingByteProvider}. The underlying input
  * sequence of bytes is sourced from a file. While this implementation could be enhanced to make it thread-safe, it is
- * difficult to envision an application scenario where an input stream could be shared meaningfully among multiple callers
+ * difficult to envision an application scenario where an input stream could be shared meaningfully among multiple callers.
+ *
+ * The file is opened on first access and kept open, along with a reusable read buffer and the current position, so that
+ * reading through the file sequentially costs time linear in the number of bytes read, and skipping bytes is a seek.
+ * Instances of this class should be closed when no longer needed.
  */
 @NotThreadSafe
-public final class FileDataProvider implements ByteProvider {
+public final class FileDataProvider implements StreamingByteProvider, Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
 
     private final File inputFile;
-    private Long position = 0L;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private SeekableByteChannel seekableByteChannel = null;
+    private long bufferStart = 0L;
+    private long position = 0L;
 
     /**
      * Instantiates a new FileDataProvider object
@@ -40,6 +55,7 @@ public final class FileDataProvider implements ByteProvider {
     public FileDataProvider(File file)
     {
         this.inputFile = file;
+        this.buffer.limit(0);
     }
 
     /**
@@ -55,22 +71,43 @@ public final class FileDataProvider implements ByteProvider {
             throw new IOException(String.format("Cannot read %d bytes, should be non-negative and non-zero", totalNumBytesToRead));
         }
         byte[] bytes = new byte[totalNumBytesToRead];
-        Integer bytesRead = 0;
-        Integer totalBytesRead = 0;
-        try(BufferedInputStream inputStream = new BufferedInputStream(new FileInputStream(this.inputFile))) {
-            skipBytes(inputStream, this.position); //reach current position
-            while (bytesRead != -1
-                    && totalBytesRead < totalNumBytesToRead) {
-                bytesRead = inputStream.read(bytes, totalBytesRead, totalNumBytesToRead - totalBytesRead);
-                if (bytesRead != -1) {
-                    totalBytesRead += bytesRead;
+        long initialPosition = this.position;
+        int totalBytesRead = 0;
+        while (totalBytesRead < totalNumBytesToRead)
+        {
+            int bytesRead;
+            int numBytesRemaining = totalNumBytesToRead - totalBytesRead;
+            long bufferOffset = this.position - this.bufferStart;
+            if (bufferOffset >= 0 && bufferOffset < this.buffer.limit())
+            {
+                bytesRead = Math.min(numBytesRemaining, this.buffer.limit() - (int)bufferOffset);
+                this.buffer.position((int)bufferOffset);
+                this.buffer.get(bytes, totalBytesRead, bytesRead);
+            }
+            else if (numBytesRemaining >= BUFFER_SIZE)
+            {//large reads bypass the buffer
+                bytesRead = this.read(ByteBuffer.wrap(bytes, totalBytesRead, numBytesRemaining));
+            }
+            else
+            {
+                this.buffer.clear();
+                int bytesBuffered = this.read(this.buffer);
+                this.buffer.flip();
+                this.bufferStart = this.position;
+                bytesRead = 0;
+                if (bytesBuffered <= 0)
+                {
+                    bytesRead = -1;
                 }
             }
+            if (bytesRead == -1)
+            {
+                this.position = initialPosition;
+                throw new IOException(String.format("Could not read %d bytes of data, only read %d bytes of data, possible truncated data", totalNumBytesToRead, totalBytesRead));
+            }
+            totalBytesRead += bytesRead;
+            this.position += bytesRead;
         }
-        if(totalBytesRead < totalNumBytesToRead) {
-            throw new IOException(String.format("Could not read %d bytes of data, only read %d bytes of data, possible truncated data", totalNumBytesToRead, totalBytesRead));
-        }
-        this.position += totalBytesRead;
         return bytes;
     }
 
@@ -82,27 +119,73 @@ public final class FileDataProvider implements ByteProvider {
      */
     public void skipBytes(long totalNumBytesToSkip) throws IOException
     {
-        try(BufferedInputStream inputStream = new BufferedInputStream(new FileInputStream(this.inputFile)))
+        if (this.position + totalNumBytesToSkip < 0)
         {
-            skipBytes(inputStream, this.position + totalNumBytesToSkip);
-            this.position += totalNumBytesToSkip;
+            throw new IOException(String.format("Could not skip %d bytes of data from position %d", totalNumBytesToSkip, this.position));
         }
+        this.position += totalNumBytesToSkip;
     }
 
-    private void skipBytes(InputStream inputStream, long totalNumBytesToSkip) throws IOException
+    /**
+     * Reads the next byte as an unsigned value, from the read buffer if it holds the byte at the current position
+     *
+     * @return the next byte, ranges from 0 through 255 both included
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    @Override
+    public int readUnsignedByte() throws IOException
     {
-        long bytesSkipped = 0;
-        long totalBytesSkipped = 0;
-        while ((bytesSkipped != -1) && (totalBytesSkipped < totalNumBytesToSkip))
+        long bufferOffset = this.position - this.bufferStart;
+        if (bufferOffset >= 0 && bufferOffset < this.buffer.limit())
         {
-            bytesSkipped = inputStream.skip(totalNumBytesToSkip - totalBytesSkipped);
-            {
-                totalBytesSkipped += bytesSkipped;
-            }
+            this.position++;
+            return this.buffer.get((int)bufferOffset) & 0xFF;
         }
-        if(totalBytesSkipped != totalNumBytesToSkip){
-            throw new IOException(String.format("Could not skip %d bytes of data, possible truncated data", totalNumBytesToSkip));
+        return getBytes(1)[0] & 0xFF;
+    }
+
+    @Override
+    public long position()
+    {
+        return this.position;
+    }
+
+    /**
+     * A method that closes the underlying file
+     *
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (this.seekableByteChannel != null)
+        {
+            this.seekableByteChannel.close();
+            this.seekableByteChannel = null;
         }
+    }
 
+    /*
+     * Reads bytes at the current position into the remaining space of byteBuffer, stopping early only at the end of the file.
+     * Returns the number of bytes read, or -1 if the current position is at or beyond the end of the file.
+     */
+    private int read(ByteBuffer byteBuffer) throws IOException
+    {
+        if (this.seekableByteChannel == null)
+        {
+            this.seekableByteChannel = Files.newByteChannel(this.inputFile.toPath(), StandardOpenOption.READ);
+        }
+        this.seekableByteChannel.position(this.position);
+        int totalBytesRead = 0;
+        while (byteBuffer.hasRemaining())
+        {
+            int bytesRead = this.seekableByteChannel.read(byteBuffer);
+            if (bytesRead == -1)
+            {
+                return (totalBytesRead == 0) ? -1 : totalBytesRead;
+            }
+            totalBytesRead += bytesRead;
+        }
+        return totalBytesRead;
     }
 }
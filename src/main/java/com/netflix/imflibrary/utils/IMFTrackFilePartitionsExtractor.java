@@ -45,8 +45,9 @@ public class IMFTrackFilePartitionsExtractor {
         }
 
         File fileWithRandomIndexPack = resourceByteRangeProvider.getByteRange(rangeStart, rangeEnd, workingDirectory);
-        ByteProvider byteProvider = new FileDataProvider(fileWithRandomIndexPack);
-        randomIndexPack = new RandomIndexPack(byteProvider, rangeStart, randomIndexPackSize);
+        try(FileDataProvider byteProvider = new FileDataProvider(fileWithRandomIndexPack)) {
+            randomIndexPack = new RandomIndexPack(byteProvider, rangeStart, randomIndexPackSize);
+        }
         List<Long> partitionByteOffsets = randomIndexPack.getAllPartitionByteOffsets();
 
         File headerPartition = resourceByteRangeProvider.getByteRange(partitionByteOffsets.get(0), partitionByteOffsets.get(1) - 1, workingDirectory);
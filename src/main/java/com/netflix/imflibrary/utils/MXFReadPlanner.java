@@ -0,0 +1,245 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.utils;
+
+import com.netflix.imflibrary.KLVPacket;
+import com.netflix.imflibrary.exceptions.MXFException;
+import com.netflix.imflibrary.st0377.PartitionPack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A class that plans the reads needed to locate the metadata of an MXF file, so that the RandomIndexPack and the header
+ * metadata of a typical track file are obtained with 2 requests to the underlying resource rather than with a chain of
+ * dependent requests. This matters when every request to the underlying resource incurs a significant latency.
+ *
+ * The last bytes of the file are fetched speculatively with a single request; this tail window usually contains the
+ * RandomIndexPack and often the footer partition and its index table segments. The first bytes of the file are fetched
+ * speculatively with a second request, and the read is extended if needed to the end of the header metadata as given by
+ * the header_byte_count of the header partition pack. The windows are fetched using
+ * {@link ResourceByteRangeProvider#prefetch(long, long)}, for e.g., into the cache of a
+ * {@link com.netflix.imflibrary.utils.CachingResourceByteRangeProvider} from which the subsequent reads of the metadata
+ * are served, hence its cache should be large enough to hold both windows. Nothing is read speculatively from a
+ * ResourceByteRangeProvider that ignores the prefetch hint.
+ */
+@ThreadSafe
+public final class MXFReadPlanner
+{
+    /**
+     * Suggested size of the window at the end of the file that is fetched speculatively
+     */
+    public static final int DEFAULT_TAIL_WINDOW_SIZE = 64 * 1024;
+    /**
+     * Suggested size of the window at the start of the file that is fetched speculatively
+     */
+    public static final int DEFAULT_HEAD_WINDOW_SIZE = 64 * 1024;
+    /**
+     * Value returned when the end of the header metadata could not be determined from the header partition pack
+     */
+    public static final long UNKNOWN_HEADER_METADATA_END = -1L;
+
+    private static final int RANDOM_INDEX_PACK_LENGTH_FIELD_SIZE = 4;
+
+    private final ResourceByteRangeProvider resourceByteRangeProvider;
+    private final int tailWindowSize;
+    private final int headWindowSize;
+
+    /**
+     * Constructor for an MXFReadPlanner with the default window sizes
+     * @param resourceByteRangeProvider the MXF file whose metadata will be prefetched
+     */
+    public MXFReadPlanner(@Nonnull ResourceByteRangeProvider resourceByteRangeProvider)
+    {
+        this(resourceByteRangeProvider, DEFAULT_TAIL_WINDOW_SIZE, DEFAULT_HEAD_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructor for an MXFReadPlanner
+     * @param resourceByteRangeProvider the MXF file whose metadata will be prefetched
+     * @param tailWindowSize size in bytes of the window at the end of the file that is fetched speculatively
+     * @param headWindowSize size in bytes of the window at the start of the file that is fetched speculatively
+     */
+    public MXFReadPlanner(@Nonnull ResourceByteRangeProvider resourceByteRangeProvider, int tailWindowSize, int headWindowSize)
+    {
+        if (tailWindowSize < RANDOM_INDEX_PACK_LENGTH_FIELD_SIZE)
+        {
+            throw new IllegalArgumentException(String.format("tailWindowSize = %d is not >= %d", tailWindowSize, RANDOM_INDEX_PACK_LENGTH_FIELD_SIZE));
+        }
+        if (headWindowSize <= 0)
+        {
+            throw new IllegalArgumentException(String.format("headWindowSize = %d is not > 0", headWindowSize));
+        }
+        this.resourceByteRangeProvider = resourceByteRangeProvider;
+        this.tailWindowSize = tailWindowSize;
+        this.headWindowSize = headWindowSize;
+    }
+
+    /**
+     * A method that fetches the RandomIndexPack and the header metadata of the MXF file into the cache
+     * @return the exclusive end offset of the header metadata, or {@link #UNKNOWN_HEADER_METADATA_END} if it could
+     * not be determined from the header partition pack
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public long prefetch() throws IOException
+    {
+        this.prefetchTail();
+        return this.prefetchHeaderMetadata();
+    }
+
+    /**
+     * A method that fetches the tail window of the MXF file into the cache, and the part of the RandomIndexPack that
+     * precedes the tail window, if any
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public void prefetchTail() throws IOException
+    {
+        long resourceSize = this.resourceByteRangeProvider.getResourceSize();
+        if (resourceSize < RANDOM_INDEX_PACK_LENGTH_FIELD_SIZE)
+        {
+            return;
+        }
+        long windowStart = Math.max(0, resourceSize - this.tailWindowSize);
+        if (!this.resourceByteRangeProvider.prefetch(windowStart, resourceSize - 1))
+        {
+            //the RandomIndexPack is left to be read on demand
+            return;
+        }
+
+        //the last 4 bytes of the file hold the size of the RandomIndexPack
+        byte[] bytes = this.resourceByteRangeProvider.getByteRangeAsBytes(resourceSize - RANDOM_INDEX_PACK_LENGTH_FIELD_SIZE, resourceSize - 1);
+        long randomIndexPackSize = ByteBuffer.wrap(bytes).getInt() & 0xffffffffL;
+        long randomIndexPackStart = resourceSize - randomIndexPackSize;
+        if (randomIndexPackStart >= 0 && randomIndexPackStart < windowStart)
+        {
+            this.resourceByteRangeProvider.prefetch(randomIndexPackStart, windowStart - 1);
+        }
+    }
+
+    /**
+     * A method that fetches the head window of the MXF file into the cache, followed by the rest of the header metadata
+     * if the header_byte_count of the header partition pack indicates that it extends beyond the head window
+     * @return the exclusive end offset of the header metadata, or {@link #UNKNOWN_HEADER_METADATA_END} if it could
+     * not be determined from the header partition pack, for e.g., because the header_byte_count is 0
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public long prefetchHeaderMetadata() throws IOException
+    {
+        long resourceSize = this.resourceByteRangeProvider.getResourceSize();
+        if (resourceSize == 0)
+        {
+            return UNKNOWN_HEADER_METADATA_END;
+        }
+        long windowEnd = Math.min(this.headWindowSize, resourceSize) - 1;
+        //the head window is fetched with a single request
+        if (!this.resourceByteRangeProvider.prefetch(0, windowEnd))
+        {
+            return getHeaderMetadataEnd(this.resourceByteRangeProvider);
+        }
+        byte[] bytes = this.resourceByteRangeProvider.getByteRangeAsBytes(0, windowEnd);
+
+        PartitionPack partitionPack;
+        try
+        {
+            //the partition pack and the header of the KLV packet that follows it, which could be a KLV fill item
+            partitionPack = new PartitionPack(new ByteArrayDataProvider(bytes), 0L, true);
+        }
+        catch (MXFException | IOException e)
+        {
+            //not a partition pack or not contained in the head window, the metadata is left to be read on demand
+            return UNKNOWN_HEADER_METADATA_END;
+        }
+        long headerMetadataEnd = getHeaderMetadataEnd(partitionPack, resourceSize);
+        if (headerMetadataEnd == UNKNOWN_HEADER_METADATA_END)
+        {
+            return UNKNOWN_HEADER_METADATA_END;
+        }
+        if (headerMetadataEnd - 1 > windowEnd)
+        {
+            this.resourceByteRangeProvider.prefetch(windowEnd + 1, headerMetadataEnd - 1);
+        }
+        return headerMetadataEnd;
+    }
+
+    /**
+     * A method that returns the exclusive end offset of the header metadata of an MXF file as given by the
+     * header_byte_count of its header partition pack, so that the header metadata can be read without the essence or
+     * the index table segments that may follow it in the header partition. The header partition pack and the KLV header
+     * that follows it are read with 2 small requests.
+     *
+     * @param resourceByteRangeProvider the MXF file whose header partition starts at offset 0
+     * @return the exclusive end offset of the header metadata, or {@link #UNKNOWN_HEADER_METADATA_END} if the header
+     * partition pack could not be read, or if its header_byte_count is 0
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public static long getHeaderMetadataEnd(@Nonnull ResourceByteRangeProvider resourceByteRangeProvider) throws IOException
+    {
+        long resourceSize = resourceByteRangeProvider.getResourceSize();
+        if (resourceSize == 0)
+        {
+            return UNKNOWN_HEADER_METADATA_END;
+        }
+
+        KLVPacket.Header header;
+        {//the KLV header of the partition pack
+            byte[] bytes = resourceByteRangeProvider.getByteRangeAsBytes(0, Math.min(KLVPacket.KEY_FIELD_SIZE + KLVPacket.LENGTH_FIELD_SUFFIX_MAX_SIZE, resourceSize) - 1);
+            try
+            {
+                header = new KLVPacket.Header(new ByteArrayDataProvider(bytes), 0L);
+            }
+            catch (MXFException | IOException e)
+            {
+                return UNKNOWN_HEADER_METADATA_END;
+            }
+        }
+
+        PartitionPack partitionPack;
+        {//the partition pack and the header of the KLV packet that follows it, which could be a KLV fill item
+            long rangeEnd = header.getKLSize() + header.getVSize() + KLVPacket.KEY_FIELD_SIZE + KLVPacket.LENGTH_FIELD_SUFFIX_MAX_SIZE;
+            byte[] bytes = resourceByteRangeProvider.getByteRangeAsBytes(0, Math.min(rangeEnd, resourceSize) - 1);
+            try
+            {
+                partitionPack = new PartitionPack(new ByteArrayDataProvider(bytes), 0L, true);
+            }
+            catch (MXFException | IOException e)
+            {
+                return UNKNOWN_HEADER_METADATA_END;
+            }
+        }
+
+        return getHeaderMetadataEnd(partitionPack, resourceSize);
+    }
+
+    private static long getHeaderMetadataEnd(PartitionPack partitionPack, long resourceSize)
+    {
+        if (!partitionPack.isHeaderPartition() || !partitionPack.hasHeaderMetadata())
+        {
+            return UNKNOWN_HEADER_METADATA_END;
+        }
+        //header_byte_count counts the bytes from the first byte of the primer pack through the end of the header metadata
+        long headerMetadataEnd = partitionPack.getPartitionDataByteOffset() + partitionPack.getHeaderByteCount();
+        if (headerMetadataEnd > resourceSize)
+        {
+            return UNKNOWN_HEADER_METADATA_END;
+        }
+        return headerMetadataEnd;
+    }
+}
@@ -31,24 +31,63 @@ import com.sandflow.smpte.regxml.dict.definitions.EnumerationTypeDefinition;
 import com.sandflow.smpte.regxml.dict.definitions.RecordTypeDefinition;
 import com.sandflow.smpte.util.AUID;
 
+import javax.annotation.concurrent.ThreadSafe;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static com.sandflow.smpte.regxml.dict.importers.RegisterImporter.fromRegister;
 
 /**
  * A utility class that provides the methods to obtain a RegXML representation of a MXF metadata set
+ *
+ * Loading the registers is expensive, and the resulting dictionary is never modified, hence a single shared instance
+ * obtained through {@link #getInstance()} should be used in preference to constructing new instances.
  */
+@ThreadSafe
 public final class RegXMLLibDictionary {
 
+    private static volatile RegXMLLibDictionary sharedInstance;
+
     private final MetaDictionaryCollection metaDictionaryCollection;
 
     /**
-     * Constructor for the RegXMLLibHelper
+     * Getter for the process-wide RegXMLLibDictionary instance, the registers are loaded the first time this method
+     * is invoked. If loading the registers fails, the next invocation attempts to load them again.
+     *
+     * @return the shared RegXMLLibDictionary instance
+     * @throws IMFException - if any error occurs loading registers
+     */
+    public static RegXMLLibDictionary getInstance() throws IMFException {
+        RegXMLLibDictionary regXMLLibDictionary = sharedInstance;
+        if (regXMLLibDictionary == null) {
+            synchronized (RegXMLLibDictionary.class) {
+                regXMLLibDictionary = sharedInstance;
+                if (regXMLLibDictionary == null) {
+                    regXMLLibDictionary = new RegXMLLibDictionary();
+                    sharedInstance = regXMLLibDictionary;
+                }
+            }
+        }
+        return regXMLLibDictionary;
+    }
+
+    /**
+     * A method that loads the shared RegXMLLibDictionary instance on a background thread, so that applications can hide
+     * the cost of loading the registers at startup. Subsequent invocations of {@link #getInstance()} wait for the load to complete.
+     *
+     * @return a CompletableFuture that completes with the shared RegXMLLibDictionary instance
+     */
+    public static CompletableFuture<RegXMLLibDictionary> loadInBackground() {
+        return CompletableFuture.supplyAsync(RegXMLLibDictionary::getInstance);
+    }
+
+    /**
+     * Constructor for the RegXMLLibHelper, {@link #getInstance()} should be preferred
      *
      * @throws IMFException - if any error occurs loading registers
      */
@@ -78,7 +78,7 @@ public final class RegXMLLibHelper {
 
         try
         {
-            this.regXMLLibDictionary = new RegXMLLibDictionary();
+            this.regXMLLibDictionary = RegXMLLibDictionary.getInstance();
             this.localTagRegister = PrimerPack.createLocalTagRegister(this.getTripletFromKLVHeader(primerPack, primerPackByteProvider));
         }
         catch (Exception e){
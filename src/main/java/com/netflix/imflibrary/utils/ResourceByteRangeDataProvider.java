@@ -0,0 +1,163 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.utils;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+
+/**
+ * This class is a non-thread-safe implementation of {@link com.netflix.imflibrary.utils.StreamingByteProvider}. The underlying input
+ * sequence of bytes is an inclusive byte range of a {@link com.netflix.imflibrary.utils.ResourceByteRangeProvider}, which
+ * is read on demand in blocks of a fixed size, so that neither the entire range needs to be held in memory nor written
+ * to a file. This is useful for byte ranges that are larger than the maximum size of a byte[].
+ */
+@NotThreadSafe
+public final class ResourceByteRangeDataProvider implements StreamingByteProvider {
+
+    private static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private final ResourceByteRangeProvider resourceByteRangeProvider;
+    private final long rangeStart;
+    private final long exclusiveRangeEnd;
+    private final int blockSize;
+    private long position;
+    private byte[] block = new byte[0];
+    private long blockStart = 0L;
+
+    /**
+     * Instantiates a new ResourceByteRangeDataProvider object
+     *
+     * @param resourceByteRangeProvider the resource whose bytes are provided
+     * @param rangeStart zero indexed inclusive start offset; ranges from 0 through (resourceSize -1) both included
+     * @param rangeEnd zero indexed inclusive end offset; ranges from 0 through (resourceSize -1) both included
+     */
+    public ResourceByteRangeDataProvider(ResourceByteRangeProvider resourceByteRangeProvider, long rangeStart, long rangeEnd)
+    {
+        this(resourceByteRangeProvider, rangeStart, rangeEnd, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Instantiates a new ResourceByteRangeDataProvider object
+     *
+     * @param resourceByteRangeProvider the resource whose bytes are provided
+     * @param rangeStart zero indexed inclusive start offset; ranges from 0 through (resourceSize -1) both included
+     * @param rangeEnd zero indexed inclusive end offset; ranges from 0 through (resourceSize -1) both included
+     * @param blockSize the number of bytes requested from the resource at a time
+     */
+    public ResourceByteRangeDataProvider(ResourceByteRangeProvider resourceByteRangeProvider, long rangeStart, long rangeEnd, int blockSize)
+    {
+        ResourceByteRangeProvider.Utilities.validateRangeRequest(resourceByteRangeProvider.getResourceSize(), rangeStart, rangeEnd);
+        if (blockSize <= 0)
+        {
+            throw new IllegalArgumentException(String.format("blockSize = %d should be positive", blockSize));
+        }
+        this.resourceByteRangeProvider = resourceByteRangeProvider;
+        this.rangeStart = rangeStart;
+        this.exclusiveRangeEnd = rangeEnd + 1;
+        this.blockSize = blockSize;
+        this.position = rangeStart;
+    }
+
+    /**
+     * Getter for the raw bytes from the byte range that this data provider encapsulates
+     *
+     * @param totalNumBytesToRead the total num bytes to read
+     * @return byte[] containing next totalNumBytesToRead number of bytes
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public byte[] getBytes(int totalNumBytesToRead) throws IOException
+    {
+        if (totalNumBytesToRead < 0)
+        {
+            throw new IOException(String.format("Cannot read %d bytes, should be non-negative", totalNumBytesToRead));
+        }
+        if ((this.position + totalNumBytesToRead) > this.exclusiveRangeEnd)
+        {
+            throw new IOException(String.format("Cannot read %d bytes from zero-index position %d as total length = %d",
+                    totalNumBytesToRead, this.position - this.rangeStart, this.exclusiveRangeEnd - this.rangeStart));
+        }
+
+        byte[] bytes = new byte[totalNumBytesToRead];
+        int totalNumBytesCopied = 0;
+        while (totalNumBytesCopied < totalNumBytesToRead)
+        {
+            int numBytesRemaining = totalNumBytesToRead - totalNumBytesCopied;
+            if (this.position >= this.blockStart && this.position < (this.blockStart + this.block.length))
+            {
+                int blockOffset = (int)(this.position - this.blockStart);
+                int numBytesToCopy = Math.min(numBytesRemaining, this.block.length - blockOffset);
+                System.arraycopy(this.block, blockOffset, bytes, totalNumBytesCopied, numBytesToCopy);
+                totalNumBytesCopied += numBytesToCopy;
+                this.position += numBytesToCopy;
+            }
+            else if (numBytesRemaining >= this.blockSize)
+            {//large reads bypass the block
+                byte[] rangeBytes = this.resourceByteRangeProvider.getByteRangeAsBytes(this.position, this.position + numBytesRemaining - 1);
+                System.arraycopy(rangeBytes, 0, bytes, totalNumBytesCopied, numBytesRemaining);
+                totalNumBytesCopied += numBytesRemaining;
+                this.position += numBytesRemaining;
+            }
+            else
+            {
+                long blockEnd = Math.min(this.position + this.blockSize, this.exclusiveRangeEnd) - 1;
+                this.block = this.resourceByteRangeProvider.getByteRangeAsBytes(this.position, blockEnd);
+                this.blockStart = this.position;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * A method that lets the caller skip bytes in the encapsulated byte range
+     *
+     * @param totalNumBytesToSkip the total num bytes to skip from the current position
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public void skipBytes(long totalNumBytesToSkip) throws IOException
+    {
+        if ((this.position + totalNumBytesToSkip) > this.exclusiveRangeEnd)
+        {
+            throw new IOException(String.format("Cannot skip %d bytes from zero-index position %d as total length = %d",
+                    totalNumBytesToSkip, this.position - this.rangeStart, this.exclusiveRangeEnd - this.rangeStart));
+        }
+        this.position += totalNumBytesToSkip;
+    }
+
+    /**
+     * Reads the next byte as an unsigned value, from the current block if it holds the byte at the current position
+     *
+     * @return the next byte, ranges from 0 through 255 both included
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    @Override
+    public int readUnsignedByte() throws IOException
+    {
+        if (this.position >= this.blockStart && this.position < (this.blockStart + this.block.length))
+        {
+            return this.block[(int)(this.position++ - this.blockStart)] & 0xFF;
+        }
+        return getBytes(1)[0] & 0xFF;
+    }
+
+    @Override
+    public long position()
+    {
+        return this.position - this.rangeStart;
+    }
+}
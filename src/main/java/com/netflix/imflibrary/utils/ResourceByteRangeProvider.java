@@ -64,6 +64,20 @@ public interface ResourceByteRangeProvider
      */
     InputStream getByteRangeAsStream(long rangeStart, long rangeEnd) throws IOException;
 
+    /**
+     * A hint that the bytes in the inclusive range [start, end] will be requested soon, so that a provider that caches
+     * the resource can fetch them ahead of the requests. The default implementation ignores the hint.
+     *
+     * @param rangeStart zero indexed inclusive start offset; ranges from 0 through (resourceSize -1) both included
+     * @param rangeEnd zero indexed inclusive end offset; ranges from 0 through (resourceSize -1) both included
+     * @return true if the range was fetched ahead of the requests, false if the hint was ignored
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    default boolean prefetch(long rangeStart, long rangeEnd) throws IOException
+    {
+        return false;
+    }
+
     class Utilities
     {
         public static void validateRangeRequest(long resourceSize, long rangeStart, long rangeEnd)
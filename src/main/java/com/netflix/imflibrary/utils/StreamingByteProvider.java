@@ -0,0 +1,175 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.utils;
+
+import java.io.IOException;
+
+/**
+ * This interface extends {@link com.netflix.imflibrary.utils.ByteProvider} with methods for reading primitive values and
+ * copying bytes into caller owned arrays, so that parsers can walk through an input sequence of bytes without allocating
+ * a byte[] per field. Multi-byte values are read in big-endian byte order (smpte st 377-1:2011, section 6.4.2).
+ *
+ * The default methods fall back on {@link #getBytes(int)}, implementations are expected to override them where the underlying
+ * input sequence of bytes can be accessed directly.
+ */
+public interface StreamingByteProvider extends ByteProvider
+{
+
+    /**
+     * Reads the next byte as an unsigned value
+     *
+     * @return the next byte, ranges from 0 through 255 both included
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public default int readUnsignedByte() throws IOException
+    {
+        return getBytes(1)[0] & 0xFF;
+    }
+
+    /**
+     * Reads the next 2 bytes as an unsigned big-endian value
+     *
+     * @return the unsigned short as int
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public default int readUnsignedShort() throws IOException
+    {
+        byte[] bytes = getBytes(2);
+        return ((bytes[0] & 0xFF) << 8) | (bytes[1] & 0xFF);
+    }
+
+    /**
+     * Reads the next 4 bytes as an unsigned big-endian value
+     *
+     * @return the unsigned int as long
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public default long readUnsignedInt() throws IOException
+    {
+        byte[] bytes = getBytes(4);
+        return ((bytes[0] & 0xFFL) << 24) | ((bytes[1] & 0xFFL) << 16) | ((bytes[2] & 0xFFL) << 8) | (bytes[3] & 0xFFL);
+    }
+
+    /**
+     * Reads the next 8 bytes as a big-endian value. Values greater than Long.MAX_VALUE are returned as negative numbers,
+     * callers that require unsigned semantics should check the sign of the returned value.
+     *
+     * @return the 64 bits read as a long
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public default long readUnsignedLong() throws IOException
+    {
+        byte[] bytes = getBytes(8);
+        long value = 0;
+        for (byte b : bytes)
+        {
+            value = (value << 8) | (b & 0xFFL);
+        }
+        return value;
+    }
+
+    /**
+     * Copies the next length bytes into the destination array
+     *
+     * @param destination the array the bytes are copied into
+     * @param offset the offset in the destination array of the first byte copied
+     * @param length the number of bytes to copy
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public default void readInto(byte[] destination, int offset, int length) throws IOException
+    {
+        if ((offset < 0) || (length < 0) || (offset + length > destination.length))
+        {
+            throw new IndexOutOfBoundsException(String.format("Cannot copy %d bytes at offset %d into an array of length %d",
+                    length, offset, destination.length));
+        }
+        System.arraycopy(getBytes(length), 0, destination, offset, length);
+    }
+
+    /**
+     * Getter for the number of bytes that have been read or skipped
+     *
+     * @return the zero-index position of the next byte to be read
+     */
+    public long position();
+
+    /**
+     * Returns a provider for the next length bytes and advances past them. The returned provider starts at position 0
+     * and cannot read beyond the length bytes.
+     *
+     * @param length the number of bytes in the slice
+     * @return a StreamingByteProvider for the next length bytes
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public default StreamingByteProvider slice(int length) throws IOException
+    {
+        return new ByteBufferDataProvider(getBytes(length));
+    }
+
+    /**
+     * Returns the byteProvider if it is already a StreamingByteProvider, otherwise a StreamingByteProvider that reads through
+     * the byteProvider and whose position counts the bytes read or skipped through it.
+     *
+     * @param byteProvider the byte provider
+     * @return a StreamingByteProvider reading from byteProvider
+     */
+    public static StreamingByteProvider of(ByteProvider byteProvider)
+    {
+        if (byteProvider instanceof StreamingByteProvider)
+        {
+            return (StreamingByteProvider) byteProvider;
+        }
+        return new ByteProviderAdapter(byteProvider);
+    }
+
+    /**
+     * A StreamingByteProvider that reads through a plain ByteProvider
+     */
+    final class ByteProviderAdapter implements StreamingByteProvider
+    {
+        private final ByteProvider byteProvider;
+        private long position = 0L;
+
+        private ByteProviderAdapter(ByteProvider byteProvider)
+        {
+            this.byteProvider = byteProvider;
+        }
+
+        @Override
+        public byte[] getBytes(int totalNumBytesToRead) throws IOException
+        {
+            byte[] bytes = this.byteProvider.getBytes(totalNumBytesToRead);
+            this.position += totalNumBytesToRead;
+            return bytes;
+        }
+
+        @Override
+        public void skipBytes(long totalNumBytesToSkip) throws IOException
+        {
+            this.byteProvider.skipBytes(totalNumBytesToSkip);
+            this.position += totalNumBytesToSkip;
+        }
+
+        @Override
+        public long position()
+        {
+            return this.position;
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.netflix.imflibrary.utils;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * A stateless class that provides general utility methods
@@ -56,4 +60,42 @@ public final class Utilities {
     {
         return message + " [Photon version: " + Utilities.getVersionString(Utilities.class) + "]";
     }
+
+    /**
+     * A method that waits for the result of a task, and rethrows the exception that the task failed with, if any
+     * @param <T> the type of the result
+     * @param future the Future of the task
+     * @param taskDescription a description of the task, used in the message of the exception raised on an interruption
+     * @return the result of the task
+     * @throws IOException - any I/O related error, or an interruption while waiting, will be exposed through an IOException
+     */
+    public static <T> T getFutureResult(Future<T> future, String taskDescription) throws IOException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Interrupted while waiting for %s", taskDescription));
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            else if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            else if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.utils;
+
+import org.xml.sax.SAXException;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide registry of compiled XML schemas and JAXB contexts. Compiling an XSD grammar or creating a JAXBContext
+ * is expensive, whereas both objects are thread-safe once created, hence they are created once and shared by all the
+ * readers and writers of IMF documents (CPL, PKL, AssetMap and OPL).
+ *
+ * Schemas are keyed by the ordered list of classpath locations of the XSD documents they are compiled from, JAXB contexts
+ * are keyed by their context path, i.e., the package of the generated classes for a namespace. Unmarshallers and
+ * Marshallers are not thread-safe, and are therefore cached per thread.
+ */
+@ThreadSafe
+public final class XMLSchemaRegistry {
+
+    private static final ConcurrentHashMap<List<String>, Schema> schemas = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, JAXBContext> jaxbContexts = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, Unmarshaller>> unmarshallers = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, Marshaller>> marshallers = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private XMLSchemaRegistry(){
+
+    }
+
+    /**
+     * Getter for the Schema compiled from a set of XSD documents on the classpath, the schema is compiled the first time
+     * it is requested
+     *
+     * @param schemaPaths the classpath locations of the XSD documents, in the order in which they are to be compiled
+     * @return the compiled Schema
+     * @throws SAXException - any issues with compiling the XSD documents are exposed through a SAXException
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public static Schema getSchema(String... schemaPaths) throws SAXException, IOException {
+        List<String> key = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(schemaPaths)));
+        Schema schema = schemas.get(key);
+        if (schema == null) {
+            schema = compileSchema(key);
+            Schema previousSchema = schemas.putIfAbsent(key, schema);
+            if (previousSchema != null) {
+                schema = previousSchema;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Getter for the JAXBContext of a context path, the context is created the first time it is requested
+     *
+     * @param contextPath the package name of the JAXB generated classes, for e.g., "org.smpte_ra.schemas.st2067_2_2016"
+     * @return the JAXBContext
+     * @throws JAXBException - any issues in creating the JAXBContext are exposed through a JAXBException
+     */
+    public static JAXBContext getJAXBContext(String contextPath) throws JAXBException {
+        JAXBContext jaxbContext = jaxbContexts.get(contextPath);
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(contextPath);
+            JAXBContext previousJAXBContext = jaxbContexts.putIfAbsent(contextPath, jaxbContext);
+            if (previousJAXBContext != null) {
+                jaxbContext = previousJAXBContext;
+            }
+        }
+        return jaxbContext;
+    }
+
+    /**
+     * Getter for an Unmarshaller of a context path that is owned by the calling thread. The Unmarshaller is reused by
+     * subsequent calls on the same thread, its schema and event handler are reset to their defaults every time it is returned.
+     *
+     * @param contextPath the package name of the JAXB generated classes
+     * @return an Unmarshaller that should only be used by the calling thread
+     * @throws JAXBException - any issues in creating the Unmarshaller are exposed through a JAXBException
+     */
+    public static Unmarshaller getUnmarshaller(String contextPath) throws JAXBException {
+        Map<String, Unmarshaller> threadUnmarshallers = unmarshallers.get();
+        Unmarshaller unmarshaller = threadUnmarshallers.get(contextPath);
+        if (unmarshaller == null) {
+            unmarshaller = getJAXBContext(contextPath).createUnmarshaller();
+            threadUnmarshallers.put(contextPath, unmarshaller);
+        }
+        unmarshaller.setSchema(null);
+        unmarshaller.setEventHandler(null);
+        return unmarshaller;
+    }
+
+    /**
+     * Getter for a Marshaller of a context path that is owned by the calling thread. The Marshaller is reused by subsequent
+     * calls on the same thread, its schema, event handler and formatted output property are reset to their defaults every
+     * time it is returned.
+     *
+     * @param contextPath the package name of the JAXB generated classes
+     * @return a Marshaller that should only be used by the calling thread
+     * @throws JAXBException - any issues in creating the Marshaller are exposed through a JAXBException
+     */
+    public static Marshaller getMarshaller(String contextPath) throws JAXBException {
+        Map<String, Marshaller> threadMarshallers = marshallers.get();
+        Marshaller marshaller = threadMarshallers.get(contextPath);
+        if (marshaller == null) {
+            marshaller = getJAXBContext(contextPath).createMarshaller();
+            threadMarshallers.put(contextPath, marshaller);
+        }
+        marshaller.setSchema(null);
+        marshaller.setEventHandler(null);
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+        return marshaller;
+    }
+
+    /**
+     * A method that compiles a Schema and creates a JAXBContext on a background thread, so that applications can hide
+     * their cost at startup
+     *
+     * @param contextPath the package name of the JAXB generated classes
+     * @param schemaPaths the classpath locations of the XSD documents, in the order in which they are to be compiled
+     * @return a CompletableFuture that completes when both the Schema and the JAXBContext are available
+     */
+    public static CompletableFuture<Void> loadInBackground(String contextPath, String... schemaPaths) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                getSchema(schemaPaths);
+                getJAXBContext(contextPath);
+            }
+            catch (SAXException | JAXBException | IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private static Schema compileSchema(List<String> schemaPaths) throws SAXException, IOException {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        List<InputStream> inputStreams = new ArrayList<>();
+        try {
+            StreamSource[] streamSources = new StreamSource[schemaPaths.size()];
+            for (int i = 0; i < schemaPaths.size(); i++) {
+                InputStream inputStream = contextClassLoader.getResourceAsStream(schemaPaths.get(i));
+                if (inputStream != null) {
+                    inputStreams.add(inputStream);
+                }
+                streamSources[i] = new StreamSource(inputStream);
+            }
+            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            return schemaFactory.newSchema(streamSources);
+        }
+        finally {
+            for (InputStream inputStream : inputStreams) {
+                inputStream.close();
+            }
+        }
+    }
+}
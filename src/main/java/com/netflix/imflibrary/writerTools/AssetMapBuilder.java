@@ -24,23 +24,20 @@ import com.netflix.imflibrary.exceptions.IMFAuthoringException;
 import com.netflix.imflibrary.utils.ErrorLogger;
 import com.netflix.imflibrary.utils.UUIDHelper;
 import com.netflix.imflibrary.utils.Utilities;
+import com.netflix.imflibrary.utils.XMLSchemaRegistry;
 import com.netflix.imflibrary.writerTools.utils.ValidationEventHandlerImpl;
 import org.smpte_ra.schemas.st0429_9_2007.AM.AssetType;
 import org.xml.sax.SAXException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
-import javax.xml.XMLConstants;
 import javax.xml.bind.*;
 import javax.xml.datatype.XMLGregorianCalendar;
 import javax.xml.namespace.QName;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.net.URISyntaxException;
@@ -286,16 +283,10 @@ public class AssetMapBuilder {
     private List<IMFErrorLogger.ErrorObject> serializeAssetMapToXML(org.smpte_ra.schemas.st0429_9_2007.AM.AssetMapType assetMapType, File outputFile, boolean formatted) throws IOException {
         IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
         try {
-            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
-            InputStream assetMapSchemaAsAStream = contextClassLoader.getResourceAsStream("org/smpte_ra/schemas/st0429_9_2007/AM/assetMap_schema.xsd");
             OutputStream outputStream = new FileOutputStream(outputFile);
-            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            StreamSource[] schemaSources = new StreamSource[1];
-            schemaSources[0] = new StreamSource(assetMapSchemaAsAStream);
-            Schema schema = schemaFactory.newSchema(schemaSources);
+            Schema schema = XMLSchemaRegistry.getSchema("org/smpte_ra/schemas/st0429_9_2007/AM/assetMap_schema.xsd");
 
-            JAXBContext jaxbContext = JAXBContext.newInstance("org.smpte_ra.schemas.st0429_9_2007.AM");
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            Marshaller marshaller = XMLSchemaRegistry.getMarshaller("org.smpte_ra.schemas.st0429_9_2007.AM");
             ValidationEventHandlerImpl validationEventHandler = new ValidationEventHandlerImpl(true);
             marshaller.setEventHandler(validationEventHandler);
             marshaller.setSchema(schema);
@@ -0,0 +1,198 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.writerTools.utils;
+
+import com.netflix.imflibrary.utils.Utilities;
+import com.netflix.imflibrary.writerTools.IMPBuilder;
+import com.netflix.imflibrary.writerTools.PackingListBuilder;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A class that generates digests of the assets of an IMF package concurrently. Files are hashed on a bounded pool of
+ * threads, and the number of files that are read concurrently from a single storage device is limited separately, so
+ * that a spinning disk can be read one file at a time while an NVMe device is read by many threads at once. A file can
+ * be copied and hashed in the same read pass, and the results can be obtained as {@link IMPBuilder.IMFTrackFileMetadata}.
+ *
+ * Instances of this class own a thread pool, and should be closed when no longer needed.
+ */
+@ThreadSafe
+public final class IMFHashEngine implements Closeable {
+
+    /**
+     * Number of files that are read concurrently from a storage device for which no limit was set
+     */
+    public static final int DEFAULT_DEVICE_CONCURRENCY = 1;
+    /**
+     * Hash algorithm identifier of the SHA-256 digest algorithm used in CPL and PKL documents
+     */
+    public static final String SHA256_ALGORITHM_URI = "http://www.w3.org/2001/04/xmlenc#sha256";
+
+    private final ExecutorService executorService;
+    private final String algorithm;
+    private final String hashAlgorithmURI;
+    private final int defaultDeviceConcurrency;
+    private final ConcurrentHashMap<FileStore, Semaphore> deviceSemaphores = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for an IMFHashEngine that generates SHA-1 digests and reads at most {@link #DEFAULT_DEVICE_CONCURRENCY}
+     * files concurrently from a storage device
+     * @param parallelism the maximum number of files that are hashed concurrently
+     */
+    public IMFHashEngine(int parallelism) {
+        this(parallelism, IMFUtils.SHA1_ALGORITHM, DEFAULT_DEVICE_CONCURRENCY);
+    }
+
+    /**
+     * Constructor for an IMFHashEngine
+     * @param parallelism the maximum number of files that are hashed concurrently
+     * @param algorithm the name of the digest algorithm, either {@link IMFUtils#SHA1_ALGORITHM} or {@link IMFUtils#SHA256_ALGORITHM}
+     * @param defaultDeviceConcurrency the maximum number of files that are read concurrently from a storage device for
+     *                                 which no limit was set using {@link #setDeviceConcurrency(File, int)}
+     */
+    public IMFHashEngine(int parallelism, String algorithm, int defaultDeviceConcurrency) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format("parallelism = %d should be >= 1", parallelism));
+        }
+        if (defaultDeviceConcurrency < 1) {
+            throw new IllegalArgumentException(String.format("defaultDeviceConcurrency = %d should be >= 1", defaultDeviceConcurrency));
+        }
+        this.hashAlgorithmURI = getHashAlgorithmURI(algorithm);
+        this.algorithm = algorithm;
+        this.defaultDeviceConcurrency = defaultDeviceConcurrency;
+        this.executorService = Executors.newFixedThreadPool(parallelism);
+    }
+
+    /**
+     * A method that sets the maximum number of files that are read concurrently from the storage device on which a file
+     * resides. This method should be invoked before any file on that device is submitted.
+     *
+     * @param fileOnDevice any existing file or directory that resides on the storage device
+     * @param deviceConcurrency the maximum number of files that are read concurrently from the storage device
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public void setDeviceConcurrency(File fileOnDevice, int deviceConcurrency) throws IOException {
+        if (deviceConcurrency < 1) {
+            throw new IllegalArgumentException(String.format("deviceConcurrency = %d should be >= 1", deviceConcurrency));
+        }
+        this.deviceSemaphores.put(Files.getFileStore(fileOnDevice.toPath()), new Semaphore(deviceConcurrency, true));
+    }
+
+    /**
+     * Getter for the hash algorithm identifier of the digests generated by this engine, as used in CPL and PKL documents
+     * @return a string representing the hash algorithm
+     */
+    public String getHashAlgorithmURI() {
+        return this.hashAlgorithmURI;
+    }
+
+    /**
+     * A method that submits a file to be hashed
+     * @param file the file whose digest is to be generated
+     * @return a Future of the digest of the file
+     */
+    public Future<byte[]> submitHash(File file) {
+        return this.submit(file, () -> IMFUtils.generateHash(file, this.algorithm, null));
+    }
+
+    /**
+     * A method that submits a file to be copied and hashed in the same read pass
+     * @param sourceFile the file that is to be copied and whose digest is to be generated
+     * @param targetFile the file that the contents of sourceFile are copied to
+     * @return a Future of the digest of the source file, that completes after the copy is complete
+     */
+    public Future<byte[]> submitCopyAndHash(File sourceFile, File targetFile) {
+        return this.submit(sourceFile, () -> IMFUtils.copyAndGenerateHash(sourceFile, targetFile, this.algorithm, null));
+    }
+
+    /**
+     * A method that submits an IMF track file to be hashed, and optionally copied in the same read pass
+     * @param headerPartition a byte[] containing the EssenceHeaderPartition metadata of the IMFTrack file
+     * @param file the IMF track file
+     * @param copyTargetFile the file that the contents of the track file are copied to, or null if no copy is required
+     * @return a Future of the track file metadata that includes the digest of the track file
+     */
+    public Future<IMPBuilder.IMFTrackFileMetadata> submitTrackFile(byte[] headerPartition, File file, @Nullable File copyTargetFile) {
+        return this.submit(file, () -> {
+            byte[] hash = (copyTargetFile == null)
+                    ? IMFUtils.generateHash(file, this.algorithm, null)
+                    : IMFUtils.copyAndGenerateHash(file, copyTargetFile, this.algorithm, null);
+            return new IMPBuilder.IMFTrackFileMetadata(headerPartition, hash, this.hashAlgorithmURI, file.getName(), file.length());
+        });
+    }
+
+    /**
+     * A method that waits for the result of a task submitted to this engine
+     * @param <T> the type of the result
+     * @param future the Future returned when the task was submitted
+     * @return the result of the task
+     * @throws IOException - any I/O related error, or an interruption while waiting, will be exposed through an IOException
+     */
+    public static <T> T getResult(Future<T> future) throws IOException {
+        return Utilities.getFutureResult(future, "the hash of a file");
+    }
+
+    /**
+     * A method that stops the engine, tasks that have not completed are cancelled
+     */
+    @Override
+    public void close() {
+        this.executorService.shutdownNow();
+    }
+
+    private <T> Future<T> submit(File file, Callable<T> task) {
+        return this.executorService.submit(() -> {
+            Semaphore deviceSemaphore = this.getDeviceSemaphore(file);
+            deviceSemaphore.acquire();
+            try {
+                return task.call();
+            }
+            finally {
+                deviceSemaphore.release();
+            }
+        });
+    }
+
+    private Semaphore getDeviceSemaphore(File file) throws IOException {
+        return this.deviceSemaphores.computeIfAbsent(Files.getFileStore(file.toPath()),
+                fileStore -> new Semaphore(this.defaultDeviceConcurrency, true));
+    }
+
+    private static String getHashAlgorithmURI(String algorithm) {
+        if (IMFUtils.SHA1_ALGORITHM.equalsIgnoreCase(algorithm) || "SHA1".equalsIgnoreCase(algorithm)) {
+            return PackingListBuilder.defaultHashAlgorithm;
+        }
+        else if (IMFUtils.SHA256_ALGORITHM.equalsIgnoreCase(algorithm) || "SHA256".equalsIgnoreCase(algorithm)) {
+            return SHA256_ALGORITHM_URI;
+        }
+        throw new IllegalArgumentException(String.format("Digest algorithm %s is not supported", algorithm));
+    }
+}
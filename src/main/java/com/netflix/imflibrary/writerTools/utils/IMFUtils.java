@@ -20,6 +20,7 @@ package com.netflix.imflibrary.writerTools.utils;
 
 import com.netflix.imflibrary.IMFErrorLoggerImpl;
 import com.netflix.imflibrary.exceptions.IMFException;
+import com.netflix.imflibrary.utils.FileChannelByteRangeProvider;
 import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
 import org.smpte_ra.schemas.st2067_2_2013.BaseResourceType;
 import org.smpte_ra.schemas.st2067_2_2013.CompositionPlaylistType;
@@ -31,10 +32,12 @@ import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
@@ -47,6 +50,19 @@ import java.util.TimeZone;
  */
 public class IMFUtils {
 
+    /**
+     * Name of the SHA-1 digest algorithm
+     */
+    public static final String SHA1_ALGORITHM = "SHA-1";
+    /**
+     * Name of the SHA-256 digest algorithm
+     */
+    public static final String SHA256_ALGORITHM = "SHA-256";
+    /**
+     * Size in bytes of the blocks in which a resource is read while its digest is generated
+     */
+    public static final int HASH_BLOCK_SIZE = 4 * 1024 * 1024;
+
     /**
      * Private constructor to prevent instantiation
      */
@@ -98,17 +114,8 @@ public class IMFUtils {
      */
     public static byte[] generateSHA1HashAndBase64Encode(File file) throws IOException {
         try {
-            MessageDigest messageDigest = MessageDigest.getInstance("SHA1");
-            FileInputStream fileInputStream = new FileInputStream(file);
-            byte[] bytes = new byte[1024];
-            int bytesRead = 0;
-            while((bytesRead = fileInputStream.read(bytes)) != -1){
-                messageDigest.update(bytes, 0, bytesRead);
-            }
-            byte[] digest = messageDigest.digest();
-            byte[] base64EncodedDigest = Base64.getEncoder().encodeToString(digest).getBytes("UTF-8");
-            fileInputStream.close();
-            return base64EncodedDigest;
+            byte[] digest = generateHash(file, SHA1_ALGORITHM, null);
+            return Base64.getEncoder().encodeToString(digest).getBytes("UTF-8");
         }
         catch (NoSuchAlgorithmException | FileNotFoundException e){
             throw new IMFException(e);
@@ -134,27 +141,126 @@ public class IMFUtils {
      * @throws IOException - any I/O related error will be exposed through an IOException
      */
     public static byte[] generateSHA1Hash(ResourceByteRangeProvider resourceByteRangeProvider) throws NoSuchAlgorithmException, IOException {
-        MessageDigest md = MessageDigest.getInstance("SHA1");
+        return generateHash(resourceByteRangeProvider, SHA1_ALGORITHM, null);
+    }
+
+    /**
+     * A method to generate a digest of a file. The file is read sequentially in large blocks through a
+     * {@link FileChannelByteRangeProvider} that is kept open for the duration of the call.
+     *
+     * @param file the file whose digest is to be generated
+     * @param algorithm the name of the digest algorithm, for e.g., {@link #SHA1_ALGORITHM} or {@link #SHA256_ALGORITHM}
+     * @param hashProgressListener an optional listener that is notified as the file is read
+     * @return a byte[] representing the digest of the file
+     * @throws NoSuchAlgorithmException - if no Provider supports a MessageDigestSpi implementation for the
+     *          specified algorithm.
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public static byte[] generateHash(File file, String algorithm, @Nullable HashProgressListener hashProgressListener)
+            throws NoSuchAlgorithmException, IOException {
+        try (FileChannelByteRangeProvider fileChannelByteRangeProvider = new FileChannelByteRangeProvider(file)) {
+            return generateHash(fileChannelByteRangeProvider, algorithm, hashProgressListener);
+        }
+    }
+
+    /**
+     * A method to generate a digest of the incoming resource. The resource is read sequentially in blocks of
+     * {@link #HASH_BLOCK_SIZE} bytes; when the resource is backed by a {@link FileChannelByteRangeProvider} the blocks
+     * are read into a single reusable buffer, so that no memory is allocated per block.
+     *
+     * @param resourceByteRangeProvider representing the resource whose digest is to be generated
+     * @param algorithm the name of the digest algorithm, for e.g., {@link #SHA1_ALGORITHM} or {@link #SHA256_ALGORITHM}
+     * @param hashProgressListener an optional listener that is notified after every block that is digested
+     * @return a byte[] representing the digest of the resource
+     * @throws NoSuchAlgorithmException - if no Provider supports a MessageDigestSpi implementation for the
+     *          specified algorithm.
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public static byte[] generateHash(ResourceByteRangeProvider resourceByteRangeProvider, String algorithm,
+                                      @Nullable HashProgressListener hashProgressListener) throws NoSuchAlgorithmException, IOException {
+        MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
+        long resourceSize = resourceByteRangeProvider.getResourceSize();
+        ByteBuffer buffer = null;
+        if (resourceByteRangeProvider instanceof FileChannelByteRangeProvider) {
+            buffer = ByteBuffer.allocateDirect((int) Math.min(HASH_BLOCK_SIZE, Math.max(resourceSize, 1)));
+        }
+
         long rangeStart = 0;
-        long rangeEnd = (rangeStart + 1023 > resourceByteRangeProvider.getResourceSize()-1)
-                ? resourceByteRangeProvider.getResourceSize()-1
-                : rangeStart + 1023;
-
-        int nread = 0;
-
-        while (rangeStart < resourceByteRangeProvider.getResourceSize()
-                && rangeEnd < resourceByteRangeProvider.getResourceSize()) {
-            byte[] dataBytes = resourceByteRangeProvider.getByteRangeAsBytes(rangeStart, rangeEnd);
-            nread = (int)(rangeEnd - rangeStart + 1);
-            md.update(dataBytes, 0, nread);
-            rangeStart = rangeEnd+1;
-            rangeEnd = (rangeStart + 1023 > resourceByteRangeProvider.getResourceSize()-1)
-                    ? resourceByteRangeProvider.getResourceSize()-1
-                    : rangeStart + 1023;
-        };
-
-        byte[] mdbytes = md.digest();
-        return Arrays.copyOf(mdbytes, mdbytes.length);
+        while (rangeStart < resourceSize) {
+            int numBytesToRead = (int) Math.min(HASH_BLOCK_SIZE, resourceSize - rangeStart);
+            if (buffer != null) {
+                buffer.clear();
+                buffer.limit(numBytesToRead);
+                ((FileChannelByteRangeProvider) resourceByteRangeProvider).read(buffer, rangeStart);
+                buffer.flip();
+                messageDigest.update(buffer);
+            }
+            else {
+                messageDigest.update(resourceByteRangeProvider.getByteRangeAsBytes(rangeStart, rangeStart + numBytesToRead - 1));
+            }
+            rangeStart += numBytesToRead;
+            if (hashProgressListener != null) {
+                hashProgressListener.onProgress(rangeStart, resourceSize);
+            }
+        }
+
+        return messageDigest.digest();
+    }
+
+    /**
+     * A method that copies a file and generates a digest of its contents in the same pass, so that the source file is
+     * read only once. The source is read sequentially in blocks of {@link #HASH_BLOCK_SIZE} bytes, every block is
+     * digested and then written to the target, which is created or truncated.
+     *
+     * @param sourceFile the file that is to be copied and whose digest is to be generated
+     * @param targetFile the file that the contents of sourceFile are copied to
+     * @param algorithm the name of the digest algorithm, for e.g., {@link #SHA1_ALGORITHM} or {@link #SHA256_ALGORITHM}
+     * @param hashProgressListener an optional listener that is notified after every block that is digested and copied
+     * @return a byte[] representing the digest of the source file
+     * @throws NoSuchAlgorithmException - if no Provider supports a MessageDigestSpi implementation for the
+     *          specified algorithm.
+     * @throws IOException - any I/O related error will be exposed through an IOException
+     */
+    public static byte[] copyAndGenerateHash(File sourceFile, File targetFile, String algorithm, @Nullable HashProgressListener hashProgressListener)
+            throws NoSuchAlgorithmException, IOException {
+        MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
+        try (FileChannelByteRangeProvider fileChannelByteRangeProvider = new FileChannelByteRangeProvider(sourceFile);
+             FileChannel targetChannel = FileChannel.open(targetFile.toPath(), StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long resourceSize = fileChannelByteRangeProvider.getResourceSize();
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(HASH_BLOCK_SIZE, Math.max(resourceSize, 1)));
+            long rangeStart = 0;
+            while (rangeStart < resourceSize) {
+                int numBytesToRead = (int) Math.min(HASH_BLOCK_SIZE, resourceSize - rangeStart);
+                buffer.clear();
+                buffer.limit(numBytesToRead);
+                fileChannelByteRangeProvider.read(buffer, rangeStart);
+                buffer.flip();
+                messageDigest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    targetChannel.write(buffer);
+                }
+                rangeStart += numBytesToRead;
+                if (hashProgressListener != null) {
+                    hashProgressListener.onProgress(rangeStart, resourceSize);
+                }
+            }
+        }
+
+        return messageDigest.digest();
+    }
+
+    /**
+     * A listener that is notified of the progress of a digest computation
+     */
+    @FunctionalInterface
+    public interface HashProgressListener {
+        /**
+         * A method that is invoked every time a block of the resource has been digested
+         * @param numBytesHashed the number of bytes of the resource that have been digested so far
+         * @param resourceSize the size in bytes of the resource
+         */
+        void onProgress(long numBytesHashed, long resourceSize);
     }
 
     /**
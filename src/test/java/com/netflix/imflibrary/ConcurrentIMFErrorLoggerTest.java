@@ -0,0 +1,116 @@
+package com.netflix.imflibrary;
+
+import com.netflix.imflibrary.utils.ErrorLogger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Test(groups = "unit")
+public class ConcurrentIMFErrorLoggerTest
+{
+    @Test
+    public void testInsertionOrderAndDeduplication()
+    {
+        ConcurrentIMFErrorLogger imfErrorLogger = new ConcurrentIMFErrorLogger();
+        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.WARNING, "first");
+        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_PKL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, "second");
+        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.WARNING, "first");
+        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, "third");
+
+        List<ErrorLogger.ErrorObject> errors = imfErrorLogger.getErrors();
+        Assert.assertEquals(imfErrorLogger.getNumberOfErrors(), 3);
+        Assert.assertEquals(errors.size(), 3);
+        Assert.assertTrue(errors.get(0).getErrorDescription().startsWith("first"));
+        Assert.assertTrue(errors.get(1).getErrorDescription().startsWith("second"));
+        Assert.assertTrue(errors.get(2).getErrorDescription().startsWith("third"));
+        Assert.assertEquals(imfErrorLogger.getError(1), errors.get(1));
+    }
+
+    @Test
+    public void testCountsAndFilters()
+    {
+        ConcurrentIMFErrorLogger imfErrorLogger = new ConcurrentIMFErrorLogger();
+        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.WARNING, "warning");
+        Assert.assertFalse(imfErrorLogger.hasFatalErrors());
+        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_PKL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, "fatal");
+        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL, "non fatal");
+
+        Assert.assertTrue(imfErrorLogger.hasFatalErrors());
+        Assert.assertFalse(imfErrorLogger.hasFatalErrors(0, 1));
+        Assert.assertTrue(imfErrorLogger.hasFatalErrors(1, 2));
+        Assert.assertFalse(imfErrorLogger.hasFatalErrors(2, 3));
+
+        Assert.assertEquals(imfErrorLogger.getNumberOfErrors(IMFErrorLogger.IMFErrors.ErrorLevels.FATAL), 1);
+        Assert.assertEquals(imfErrorLogger.getNumberOfErrors(IMFErrorLogger.IMFErrors.ErrorLevels.WARNING), 1);
+        Assert.assertEquals(imfErrorLogger.getNumberOfErrors(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR), 2);
+        Assert.assertEquals(imfErrorLogger.getNumberOfErrors(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_AM_ERROR), 0);
+
+        Assert.assertEquals(imfErrorLogger.getErrors(IMFErrorLogger.IMFErrors.ErrorLevels.NON_FATAL).size(), 1);
+        Assert.assertEquals(imfErrorLogger.getErrors(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR).size(), 2);
+        Assert.assertEquals(imfErrorLogger.getErrors(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, 1, 3).size(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidRange()
+    {
+        ConcurrentIMFErrorLogger imfErrorLogger = new ConcurrentIMFErrorLogger();
+        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, IMFErrorLogger.IMFErrors.ErrorLevels.FATAL, "fatal");
+        imfErrorLogger.hasFatalErrors(0, 2);
+    }
+
+    @Test
+    public void testConcurrentAdds() throws Exception
+    {
+        final int numberOfThreads = 8;
+        final int numberOfErrorsPerThread = 2000;
+        ConcurrentIMFErrorLogger imfErrorLogger = new ConcurrentIMFErrorLogger();
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < numberOfThreads; i++)
+            {
+                final int thread = i;
+                futures.add(executorService.submit(() -> {
+                    latch.await();
+                    for (int j = 0; j < numberOfErrorsPerThread; j++)
+                    {
+                        IMFErrorLogger.IMFErrors.ErrorLevels errorLevel = (j % 10 == 0) ? IMFErrorLogger.IMFErrors.ErrorLevels.FATAL : IMFErrorLogger.IMFErrors.ErrorLevels.WARNING;
+                        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, errorLevel, String.format("error %d", j));
+                        imfErrorLogger.addError(IMFErrorLogger.IMFErrors.ErrorCodes.IMF_CPL_ERROR, errorLevel, String.format("thread %d error %d", thread, j));
+                    }
+                    return null;
+                }));
+            }
+            latch.countDown();
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+            executorService.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        int expectedNumberOfErrors = numberOfErrorsPerThread * (numberOfThreads + 1);
+        List<ErrorLogger.ErrorObject> errors = imfErrorLogger.getErrors();
+        Assert.assertEquals(imfErrorLogger.getNumberOfErrors(), expectedNumberOfErrors);
+        Assert.assertEquals(errors.size(), expectedNumberOfErrors);
+        Set<ErrorLogger.ErrorObject> distinctErrors = new HashSet<>(errors);
+        Assert.assertEquals(distinctErrors.size(), expectedNumberOfErrors);
+        Assert.assertEquals(imfErrorLogger.getNumberOfErrors(IMFErrorLogger.IMFErrors.ErrorLevels.FATAL), expectedNumberOfErrors / 10);
+        Assert.assertEquals(imfErrorLogger.getErrors(IMFErrorLogger.IMFErrors.ErrorLevels.FATAL).size(), expectedNumberOfErrors / 10);
+    }
+}
@@ -133,6 +133,35 @@ public class KLVPacketTest
         assertEquals(header.getVSize(), 65793);
     }
 
+    @Test
+    public void testBER7ThroughByteProvider() throws Exception
+    {
+        ByteProvider byteArrayDataProvider = new ByteArrayDataProvider(KLVPacketTest.KberL7);
+        int[] numberOfReads = {0};
+        ByteProvider byteProvider = new ByteProvider()
+        {
+            @Override
+            public byte[] getBytes(int totalNumBytesToRead) throws IOException
+            {
+                numberOfReads[0]++;
+                return byteArrayDataProvider.getBytes(totalNumBytesToRead);
+            }
+
+            @Override
+            public void skipBytes(long totalNumBytesToSkip) throws IOException
+            {
+                byteArrayDataProvider.skipBytes(totalNumBytesToSkip);
+            }
+        };
+
+        KLVPacket.Header header = new KLVPacket.Header(byteProvider, 0L);
+
+        assertEquals(header.getLSize(), 8);
+        assertEquals(header.getVSize(), 65793);
+        //the key, the first byte of the length field and the rest of the length field
+        assertEquals(numberOfReads[0], 3);
+    }
+
     @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Cannot read .*")
     public void testInvalidBER8() throws Exception
     {
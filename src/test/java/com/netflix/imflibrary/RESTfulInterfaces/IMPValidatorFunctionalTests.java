@@ -18,6 +18,7 @@
 package com.netflix.imflibrary.RESTfulInterfaces;
 
 import com.netflix.imflibrary.IMFConstraints;
+import com.netflix.imflibrary.IMFErrorListener;
 import com.netflix.imflibrary.IMFErrorLogger;
 import com.netflix.imflibrary.IMFErrorLoggerImpl;
 import com.netflix.imflibrary.MXFOperationalPattern1A;
@@ -28,6 +29,7 @@ import com.netflix.imflibrary.st0377.header.SourcePackage;
 import com.netflix.imflibrary.st2067_2.ApplicationComposition;
 import com.netflix.imflibrary.st2067_2.Composition;
 import com.netflix.imflibrary.st2067_2.ApplicationCompositionFactory;
+import com.netflix.imflibrary.st2067_2.EssenceDescriptorCache;
 import com.netflix.imflibrary.utils.ByteArrayByteRangeProvider;
 import com.netflix.imflibrary.utils.ByteArrayDataProvider;
 import com.netflix.imflibrary.utils.ByteProvider;
@@ -58,6 +60,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 @Test(groups = "functional")
@@ -270,6 +274,31 @@ public class IMPValidatorFunctionalTests {
         Assert.assertEquals(errors.size(), 8);
     }
 
+    @Test
+    public void validateEssencesHeaderPartitionErrorListenerTest() throws IOException {
+        List<PayloadRecord> essencesHeaderPartition = new ArrayList<>();
+
+        File inputFile = TestHelper.findResourceByPath("TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015_ENG20.mxf.hdr");
+        ResourceByteRangeProvider resourceByteRangeProvider = new FileByteRangeProvider(inputFile);
+        byte[] bytes = resourceByteRangeProvider.getByteRangeAsBytes(0, resourceByteRangeProvider.getResourceSize()-1);
+        //A payload of the wrong asset type is a fatal error
+        essencesHeaderPartition.add(new PayloadRecord(bytes, PayloadRecord.PayloadAssetType.CompositionPlaylist, 0L, resourceByteRangeProvider.getResourceSize()));
+        essencesHeaderPartition.add(new PayloadRecord(bytes, PayloadRecord.PayloadAssetType.EssencePartition, 0L, resourceByteRangeProvider.getResourceSize()));
+
+        List<ErrorLogger.ErrorObject> listenerErrors = new ArrayList<>();
+        List<ErrorLogger.ErrorObject> errors = IMPValidator.validateIMFTrackFileHeaderMetadata(essencesHeaderPartition, listenerErrors::add);
+        Assert.assertTrue(errors.size() > 1);
+        Assert.assertEquals(listenerErrors.size(), errors.size());
+        Assert.assertTrue(listenerErrors.containsAll(errors));
+
+        List<ErrorLogger.ErrorObject> failFastListenerErrors = new ArrayList<>();
+        List<ErrorLogger.ErrorObject> failFastErrors = IMPValidator.validateIMFTrackFileHeaderMetadata(essencesHeaderPartition,
+                IMFErrorListener.failFast(failFastListenerErrors::add));
+        Assert.assertEquals(failFastErrors.size(), 1);
+        Assert.assertEquals(failFastErrors.get(0).getErrorLevel(), IMFErrorLogger.IMFErrors.ErrorLevels.FATAL);
+        Assert.assertEquals(failFastListenerErrors, failFastErrors);
+    }
+
     @Test
     public void cplConformanceNegativeTest() throws IOException, SAXException, JAXBException, URISyntaxException {
 
@@ -305,6 +334,65 @@ public class IMPValidatorFunctionalTests {
         Assert.assertTrue(errors.get(0).toString().contains("ERROR-EssenceDescriptorID 3febc096-8727-495d-8715-bb5398d98cfe in the CPL EssenceDescriptorList is not referenced by any resource in any of the Virtual tracks in the CPL"));
     }
 
+    @Test
+    public void cplConformanceSharedEssenceDescriptorCacheTest() throws IOException {
+
+        File inputFile = TestHelper.findResourceByPath("TestIMP/Netflix_Sony_Plugfest_2015/CPL_BLACKL_202_HD_REC709_178_ENG_fe8cf2f4-1bcd-4145-8f72-6775af4038c4.xml");
+        ResourceByteRangeProvider resourceByteRangeProvider = new FileByteRangeProvider(inputFile);
+        byte[] bytes = resourceByteRangeProvider.getByteRangeAsBytes(0, resourceByteRangeProvider.getResourceSize()-1);
+        PayloadRecord cplPayloadRecord = new PayloadRecord(bytes, PayloadRecord.PayloadAssetType.CompositionPlaylist, 0L, resourceByteRangeProvider.getResourceSize());
+
+        List<PayloadRecord> essencesHeaderPartition = new ArrayList<>();
+        for (String headerPartitionPath : new String[]{"TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015_ENG20.mxf.hdr",
+                "TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015_ENG51.mxf.hdr",
+                "TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015.mxf.hdr"}) {
+            resourceByteRangeProvider = new FileByteRangeProvider(TestHelper.findResourceByPath(headerPartitionPath));
+            bytes = resourceByteRangeProvider.getByteRangeAsBytes(0, resourceByteRangeProvider.getResourceSize()-1);
+            essencesHeaderPartition.add(new PayloadRecord(bytes, PayloadRecord.PayloadAssetType.EssencePartition, 0L, resourceByteRangeProvider.getResourceSize()));
+        }
+
+        EssenceDescriptorCache essenceDescriptorCache = new EssenceDescriptorCache();
+        List<ErrorLogger.ErrorObject> errors = IMPValidator.areAllVirtualTracksInCPLConformed(cplPayloadRecord, essencesHeaderPartition, essenceDescriptorCache);
+        int cacheSize = essenceDescriptorCache.size();
+        Assert.assertTrue(cacheSize > 0);
+
+        //The EssenceDescriptors of the track files are reused, and so are the errors encountered while they were created
+        List<ErrorLogger.ErrorObject> cachedErrors = IMPValidator.areAllVirtualTracksInCPLConformed(cplPayloadRecord, essencesHeaderPartition, essenceDescriptorCache);
+        Assert.assertEquals(essenceDescriptorCache.size(), cacheSize);
+        Assert.assertEquals(cachedErrors.toString(), errors.toString());
+        Assert.assertEquals(IMPValidator.areAllVirtualTracksInCPLConformed(cplPayloadRecord, essencesHeaderPartition).toString(), errors.toString());
+    }
+
+    @Test
+    public void cplConformanceParallelTest() throws IOException {
+
+        File inputFile = TestHelper.findResourceByPath("TestIMP/Netflix_Sony_Plugfest_2015/CPL_BLACKL_202_HD_REC709_178_ENG_fe8cf2f4-1bcd-4145-8f72-6775af4038c4.xml");
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        ApplicationComposition applicationComposition = ApplicationCompositionFactory.getApplicationComposition(new FileByteRangeProvider(inputFile), imfErrorLogger);
+        Assert.assertNotNull(applicationComposition);
+
+        List<Composition.HeaderPartitionTuple> headerPartitionTuples = new ArrayList<>();
+        for (String headerPartitionPath : new String[]{"TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015_ENG20.mxf.hdr",
+                "TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015_ENG51.mxf.hdr",
+                "TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015.mxf.hdr"}) {
+            ResourceByteRangeProvider resourceByteRangeProvider = new FileByteRangeProvider(TestHelper.findResourceByPath(headerPartitionPath));
+            byte[] bytes = resourceByteRangeProvider.getByteRangeAsBytes(0, resourceByteRangeProvider.getResourceSize()-1);
+            headerPartitionTuples.add(new Composition.HeaderPartitionTuple(new HeaderPartition(new ByteArrayDataProvider(bytes), 0L, bytes.length, imfErrorLogger),
+                    new ByteArrayByteRangeProvider(bytes)));
+        }
+
+        List<ErrorLogger.ErrorObject> errors = applicationComposition.conformVirtualTracksInComposition(headerPartitionTuples, true);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<ErrorLogger.ErrorObject> parallelErrors = applicationComposition.conformVirtualTracksInComposition(headerPartitionTuples, true,
+                    new EssenceDescriptorCache(), executorService);
+            Assert.assertEquals(parallelErrors.toString(), errors.toString());
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test
     public void cplVirtualTrackConformanceNegativeTest() throws IOException, SAXException, JAXBException, URISyntaxException {
 
@@ -19,15 +19,20 @@ package com.netflix.imflibrary.app;
 import com.netflix.imflibrary.IMFErrorLogger;
 import com.netflix.imflibrary.IMFErrorLoggerImpl;
 import com.netflix.imflibrary.exceptions.MXFException;
+import com.netflix.imflibrary.st0377.EssenceIndex;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import testUtils.TestHelper;
 import com.netflix.imflibrary.utils.FileByteRangeProvider;
 import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.mockito.Mockito.*;
 
@@ -51,9 +56,59 @@ public class IMFTrackFileReaderTest
         File workingDirectory = Files.createTempDirectory(null).toFile();
         ResourceByteRangeProvider resourceByteRangeProvider = mock(ResourceByteRangeProvider.class);
         when(resourceByteRangeProvider.getResourceSize()).thenReturn(16L);
-        when(resourceByteRangeProvider.getByteRange(anyLong(), anyLong(), any(File.class))).thenReturn(inputFile);
+        when(resourceByteRangeProvider.getByteRangeAsBytes(anyLong(), anyLong())).thenReturn(Files.readAllBytes(inputFile.toPath()));
         IMFTrackFileReader imfTrackFileReader = new IMFTrackFileReader(workingDirectory, resourceByteRangeProvider);
         IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
         imfTrackFileReader.getRandomIndexPack(imfErrorLogger);
     }
+
+    @Test
+    public void constantBytesPerEditUnitEssenceIndexTest() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TearsOfSteel_4k_Test_Master_Audio_002.mxf");
+        IMFTrackFileReader imfTrackFileReader = new IMFTrackFileReader(new FileByteRangeProvider(inputFile));
+        EssenceIndex essenceIndex = imfTrackFileReader.getEssenceIndex(new IMFErrorLoggerImpl());
+        //clip wrapped 6 byte audio samples, following the key and length of the essence element in the body partition
+        Assert.assertEquals(essenceIndex.getEditUnitCount(), 35232L);
+        Assert.assertEquals(essenceIndex.getByteRanges(0, 0), Collections.singletonList(new EssenceIndex.ByteRange(12252, 12257)));
+        Assert.assertEquals(essenceIndex.getByteRanges(35231, 35231), Collections.singletonList(new EssenceIndex.ByteRange(223638, 223643)));
+        Assert.assertEquals(essenceIndex.getByteRanges(10, 19), Collections.singletonList(new EssenceIndex.ByteRange(12312, 12371)));
+    }
+
+    @Test
+    public void variableBytesPerEditUnitEssenceIndexTest() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TestIMP/MERIDIAN_Netflix_Photon_161006/MERIDIAN_Netflix_Photon_161006_00_tt.mxf");
+        IMFTrackFileReader imfTrackFileReader = new IMFTrackFileReader(new FileByteRangeProvider(inputFile));
+        EssenceIndex essenceIndex = imfTrackFileReader.getEssenceIndex(new IMFErrorLoggerImpl());
+        Assert.assertEquals(essenceIndex.getEditUnitCount(), 1L);
+        Assert.assertEquals(essenceIndex.getByteRanges(0, 0), Collections.singletonList(new EssenceIndex.ByteRange(13960, 21904)));
+    }
+
+    @Test
+    public void essenceIndexSerializationTest() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TearsOfSteel_4k_Test_Master_Audio_002.mxf");
+        IMFTrackFileReader imfTrackFileReader = new IMFTrackFileReader(new FileByteRangeProvider(inputFile));
+        EssenceIndex essenceIndex = imfTrackFileReader.getEssenceIndex(new IMFErrorLoggerImpl());
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        essenceIndex.writeTo(byteArrayOutputStream);
+        EssenceIndex readEssenceIndex = EssenceIndex.readFrom(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
+        Assert.assertEquals(readEssenceIndex.getEditUnitCount(), essenceIndex.getEditUnitCount());
+        Assert.assertEquals(readEssenceIndex.getByteRanges(100, 35231), essenceIndex.getByteRanges(100, 35231));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void badSerializedEssenceIndex() throws IOException
+    {
+        EssenceIndex.readFrom(new ByteArrayInputStream(Arrays.copyOf("not an index".getBytes(), 64)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "editUnit = .*")
+    public void essenceIndexEditUnitOutOfRange() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TearsOfSteel_4k_Test_Master_Audio_002.mxf");
+        IMFTrackFileReader imfTrackFileReader = new IMFTrackFileReader(new FileByteRangeProvider(inputFile));
+        imfTrackFileReader.getEssenceIndex(new IMFErrorLoggerImpl()).getByteRanges(0, 35232);
+    }
 }
@@ -1,5 +1,7 @@
 package com.netflix.imflibrary.app;
 
+import com.netflix.imflibrary.IMFErrorListener;
+import com.netflix.imflibrary.IMFErrorLogger;
 import com.netflix.imflibrary.utils.ErrorLogger;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -7,8 +9,18 @@ import testUtils.TestHelper;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.netflix.imflibrary.app.IMPAnalyzer.analyzePackage;
 
@@ -32,4 +44,121 @@ public class IMPAnalyzerTest
         );
 
     }
+
+    @Test
+    public void IMPAnalyzerParallelTest() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TestIMP/MERIDIAN_Netflix_Photon_161006/");
+        Map<String, List<ErrorLogger.ErrorObject>> sequentialErrorMap = analyzePackage(inputFile);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try
+        {
+            Map<String, List<ErrorLogger.ErrorObject>> parallelErrorMap = analyzePackage(inputFile, executorService);
+            Assert.assertEquals(new ArrayList<>(parallelErrorMap.keySet()), new ArrayList<>(sequentialErrorMap.keySet()));
+            for (Map.Entry<String, List<ErrorLogger.ErrorObject>> entry : sequentialErrorMap.entrySet())
+            {
+                Assert.assertEquals(parallelErrorMap.get(entry.getKey()).toString(), entry.getValue().toString());
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+        Assert.assertEquals(analyzePackage(inputFile, 2).keySet(), sequentialErrorMap.keySet());
+    }
+
+    @Test
+    public void IMPAnalyzerFailFastTest() throws IOException
+    {
+        //both track files of the packing list have a RandomIndexPack size that is larger than the file
+        File rootFile = copyPackage(TestHelper.findResourceByPath("TestIMP/MERIDIAN_Netflix_Photon_161006/"));
+        byte[] bytes = new byte[100];
+        Arrays.fill(bytes, 96, 100, (byte) 0x7f);
+        Files.write(new File(rootFile, "MERIDIAN_Netflix_Photon_161006_00.mxf").toPath(), bytes);
+        Files.write(new File(rootFile, "MERIDIAN_Netflix_Photon_161006_ENG-51_00.mxf").toPath(), bytes);
+
+        List<ErrorLogger.ErrorObject> listenerErrors = Collections.synchronizedList(new ArrayList<>());
+        List<Runnable> tasks = new ArrayList<>();
+        Executor executor = runnable -> {
+            tasks.add(runnable);
+            runnable.run();
+        };
+        Map<String, List<ErrorLogger.ErrorObject>> errorMap = analyzePackage(rootFile, executor, IMFErrorListener.failFast(listenerErrors::add));
+
+        //the analysis stops at the fatal error of the first track file, the second one is not analyzed
+        Assert.assertEquals(tasks.size(), 1);
+        Assert.assertEquals(errorMap.get("MERIDIAN_Netflix_Photon_161006_00.mxf").size(), 1);
+        Assert.assertEquals(errorMap.get("MERIDIAN_Netflix_Photon_161006_00.mxf").get(0).getErrorLevel(), IMFErrorLogger.IMFErrors.ErrorLevels.FATAL);
+        Assert.assertFalse(errorMap.containsKey("MERIDIAN_Netflix_Photon_161006_ENG-51_00.mxf"));
+        Assert.assertEquals(listenerErrors, errorMap.get("MERIDIAN_Netflix_Photon_161006_00.mxf"));
+    }
+
+    @Test
+    public void IMPAnalyzerCancelsPendingTrackFilesOnIOExceptionTest() throws IOException
+    {
+        //the first track file of the packing list cannot be read
+        File rootFile = copyPackage(TestHelper.findResourceByPath("TestIMP/MERIDIAN_Netflix_Photon_161006/"));
+        Assert.assertTrue(new File(rootFile, "MERIDIAN_Netflix_Photon_161006_00.mxf").mkdir());
+
+        //runs the first track file analysis in the calling thread, and holds back the others
+        List<Runnable> pendingTasks = new ArrayList<>();
+        Executor executor = runnable -> {
+            if (pendingTasks.isEmpty())
+            {
+                pendingTasks.add(runnable);
+                runnable.run();
+            }
+            else
+            {
+                pendingTasks.add(runnable);
+            }
+        };
+        try
+        {
+            analyzePackage(rootFile, executor);
+            Assert.fail("Expected an IOException");
+        }
+        catch (IOException e)
+        {
+            Assert.assertEquals(pendingTasks.size(), 2);
+            Assert.assertTrue(((Future<?>) pendingTasks.get(1)).isCancelled());
+        }
+    }
+
+    @Test
+    public void IMPAnalyzerCancelsSubmittedTrackFilesOnRejectionTest() throws IOException
+    {
+        File rootFile = copyPackage(TestHelper.findResourceByPath("TestIMP/MERIDIAN_Netflix_Photon_161006/"));
+        Files.write(new File(rootFile, "MERIDIAN_Netflix_Photon_161006_00.mxf").toPath(), new byte[100]);
+
+        //holds back the first track file analysis, and rejects the others
+        List<Runnable> pendingTasks = new ArrayList<>();
+        Executor executor = runnable -> {
+            if (!pendingTasks.isEmpty())
+            {
+                throw new RejectedExecutionException("Executor is saturated");
+            }
+            pendingTasks.add(runnable);
+        };
+        try
+        {
+            analyzePackage(rootFile, executor);
+            Assert.fail("Expected a RejectedExecutionException");
+        }
+        catch (RejectedExecutionException e)
+        {
+            Assert.assertEquals(pendingTasks.size(), 1);
+            Assert.assertTrue(((Future<?>) pendingTasks.get(0)).isCancelled());
+        }
+    }
+
+    private static File copyPackage(File packageDirectory) throws IOException
+    {
+        File rootFile = Files.createTempDirectory("IMPAnalyzerTest").toFile();
+        for (File file : packageDirectory.listFiles())
+        {
+            Files.copy(file.toPath(), new File(rootFile, file.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return rootFile;
+    }
 }
@@ -1,6 +1,7 @@
 package com.netflix.imflibrary.app;
 
 import com.netflix.imflibrary.exceptions.MXFException;
+import com.netflix.imflibrary.st0377.EssenceIndex;
 import com.netflix.imflibrary.st0377.HeaderPartition;
 import com.netflix.imflibrary.utils.FileByteRangeProvider;
 import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
@@ -11,8 +12,8 @@ import testUtils.TestHelper;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Collections;
 
-import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -35,6 +36,17 @@ public class MXFEssenceReaderTest
         Assert.assertEquals(mxfEssenceReader.getEssenceDescriptorsDOMNodes().size(), 1);
     }
 
+    @Test
+    public void MXFEssenceReaderEssenceIndexTest() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TearsOfSteel_4k_Test_Master_Audio_002.mxf");
+        MXFEssenceReader mxfEssenceReader = new MXFEssenceReader(new FileByteRangeProvider(inputFile));
+        EssenceIndex essenceIndex = mxfEssenceReader.getEssenceIndex();
+        Assert.assertEquals(essenceIndex.getEditUnitCount(), 35232L);
+        Assert.assertEquals(essenceIndex.getByteRanges(10, 19), Collections.singletonList(new EssenceIndex.ByteRange(12312, 12371)));
+        Assert.assertSame(mxfEssenceReader.getEssenceIndex(), essenceIndex);
+    }
+
     @Test(expectedExceptions = MXFException.class, expectedExceptionsMessageRegExp = "randomIndexPackSize = .*")
     public void badRandomIndexPackLength() throws IOException
     {
@@ -42,7 +54,7 @@ public class MXFEssenceReaderTest
         File workingDirectory = Files.createTempDirectory(null).toFile();
         ResourceByteRangeProvider resourceByteRangeProvider = mock(ResourceByteRangeProvider.class);
         when(resourceByteRangeProvider.getResourceSize()).thenReturn(16L);
-        when(resourceByteRangeProvider.getByteRange(anyLong(), anyLong(), any(File.class))).thenReturn(inputFile);
+        when(resourceByteRangeProvider.getByteRangeAsBytes(anyLong(), anyLong())).thenReturn(Files.readAllBytes(inputFile.toPath()));
         MXFEssenceReader mxfEssenceReader = new MXFEssenceReader(workingDirectory, resourceByteRangeProvider);
         mxfEssenceReader.getRandomIndexPack();
     }
@@ -0,0 +1,115 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.netflix.imflibrary.app;
+
+import com.netflix.imflibrary.IMFErrorLogger;
+import com.netflix.imflibrary.IMFErrorLoggerImpl;
+import com.netflix.imflibrary.st0377.EssenceIndex;
+import com.netflix.imflibrary.utils.ErrorLogger;
+import com.netflix.imflibrary.utils.FileByteRangeProvider;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import testUtils.SyntheticIMFTrackFileWriter;
+import testUtils.SyntheticIMPGenerator;
+import testUtils.TestHelper;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Test(groups = "functional")
+public class SyntheticIMPGeneratorTest
+{
+    @Test
+    public void syntheticImageTrackFileTest() throws Exception
+    {
+        File workingDirectory = Files.createTempDirectory(null).toFile();
+        File trackFile = new File(workingDirectory, "image.mxf");
+        byte[] template = Files.readAllBytes(TestHelper.findResourceByPath("TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015.mxf.hdr").toPath());
+        SyntheticIMFTrackFileWriter trackFileWriter = new SyntheticIMFTrackFileWriter(template, UUID.randomUUID(),
+                SyntheticIMPGenerator.COMPOSITION_EDIT_RATE, 240, 3, 50, 1024);
+        long length = trackFileWriter.write(trackFile);
+        Assert.assertEquals(trackFile.length(), length);
+        Assert.assertEquals(trackFileWriter.getDuration(), 240L);
+
+        Assert.assertEquals(IMPAnalyzer.analyzeFile(trackFile).size(), 0);
+
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        IMFTrackFileReader imfTrackFileReader = new IMFTrackFileReader(new FileByteRangeProvider(trackFile));
+        //header, 3 body partitions with essence, 3 body partitions with index table segments and footer
+        Assert.assertEquals(imfTrackFileReader.getPartitionPacksType(imfErrorLogger).size(), 8);
+        Assert.assertEquals(imfTrackFileReader.getEssenceDuration(imfErrorLogger), BigInteger.valueOf(240));
+        EssenceIndex essenceIndex = imfTrackFileReader.getEssenceIndex(imfErrorLogger);
+        Assert.assertEquals(essenceIndex.getEditUnitCount(), 240L);
+        List<EssenceIndex.ByteRange> byteRanges = essenceIndex.getByteRanges(239, 239);
+        Assert.assertEquals(byteRanges.size(), 1);
+        Assert.assertEquals(byteRanges.get(0).getRangeEnd() - byteRanges.get(0).getRangeStart() + 1, 1024L + 20L);
+        Assert.assertEquals(imfErrorLogger.getNumberOfErrors(), 0);
+    }
+
+    @Test
+    public void syntheticAudioTrackFileTest() throws Exception
+    {
+        File workingDirectory = Files.createTempDirectory(null).toFile();
+        File trackFile = new File(workingDirectory, "audio.mxf");
+        byte[] template = Files.readAllBytes(TestHelper.findResourceByPath("TestIMP/MERIDIAN_Netflix_Photon_161006/MERIDIAN_Netflix_Photon_161006_ENG-51_00.mxf").toPath());
+        SyntheticIMFTrackFileWriter trackFileWriter = new SyntheticIMFTrackFileWriter(template, UUID.randomUUID(),
+                SyntheticIMPGenerator.COMPOSITION_EDIT_RATE, 240, 3, 50, 1024);
+        trackFileWriter.write(trackFile);
+        //48000 samples per second at 24000/1001 frames per second
+        Assert.assertEquals(trackFileWriter.getDuration(), 240L * 2002L);
+
+        Assert.assertEquals(IMPAnalyzer.analyzeFile(trackFile).size(), 0);
+
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        IMFTrackFileReader imfTrackFileReader = new IMFTrackFileReader(new FileByteRangeProvider(trackFile));
+        //clip-wrapped essence is written in a single body partition
+        Assert.assertEquals(imfTrackFileReader.getPartitionPacksType(imfErrorLogger).size(), 4);
+        Assert.assertEquals(imfTrackFileReader.getEssenceDuration(imfErrorLogger), BigInteger.valueOf(240L * 2002L));
+        Assert.assertEquals(imfTrackFileReader.getEssenceIndex(imfErrorLogger).getEditUnitCount(), 240L * 2002L);
+        Assert.assertEquals(imfErrorLogger.getNumberOfErrors(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void syntheticTrackFileInvalidDurationTest() throws Exception
+    {
+        byte[] template = Files.readAllBytes(TestHelper.findResourceByPath("TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015.mxf.hdr").toPath());
+        new SyntheticIMFTrackFileWriter(template, UUID.randomUUID(), SyntheticIMPGenerator.COMPOSITION_EDIT_RATE, 2, 3, 50, 1024);
+    }
+
+    @Test
+    public void syntheticIMPTest() throws Exception
+    {
+        File workingDirectory = Files.createTempDirectory(null).toFile();
+        List<ErrorLogger.ErrorObject> buildErrors = SyntheticIMPGenerator.generateIMP(workingDirectory, 240, 3, 50, 10, 2);
+        Assert.assertEquals(buildErrors, Collections.emptyList());
+
+        Map<String, List<ErrorLogger.ErrorObject>> errorMap = IMPAnalyzer.analyzePackage(workingDirectory);
+        //AssetMap, PackingList, CompositionPlaylist and 3 track files
+        Assert.assertEquals(errorMap.size(), 6);
+        for (Map.Entry<String, List<ErrorLogger.ErrorObject>> entry : errorMap.entrySet())
+        {
+            Assert.assertEquals(entry.getValue().stream().filter(e -> e.getErrorLevel() == IMFErrorLogger.IMFErrors.ErrorLevels.FATAL).count(), 0L, entry.getKey());
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.netflix.imflibrary.IMFErrorLoggerImpl;
 import com.netflix.imflibrary.MXFUID;
 import com.netflix.imflibrary.RESTfulInterfaces.IMPValidator;
 import com.netflix.imflibrary.RESTfulInterfaces.PayloadRecord;
+import com.netflix.imflibrary.exceptions.IMFFatalErrorException;
 import com.netflix.imflibrary.exceptions.MXFException;
 import com.netflix.imflibrary.st0377.header.AudioChannelLabelSubDescriptor;
 import com.netflix.imflibrary.st0377.header.ContentStorage;
@@ -29,11 +30,13 @@ import com.netflix.imflibrary.st0377.header.EssenceContainerData;
 import com.netflix.imflibrary.st0377.header.GenericTrack;
 import com.netflix.imflibrary.st0377.header.InterchangeObject;
 import com.netflix.imflibrary.st0377.header.MaterialPackage;
+import com.netflix.imflibrary.st0377.header.PHDRMetaDataTrackSubDescriptor;
 import com.netflix.imflibrary.st0377.header.Preface;
 import com.netflix.imflibrary.st0377.header.Sequence;
 import com.netflix.imflibrary.st0377.header.SoundFieldGroupLabelSubDescriptor;
 import com.netflix.imflibrary.st0377.header.SourceClip;
 import com.netflix.imflibrary.st0377.header.SourcePackage;
+import com.netflix.imflibrary.st0377.header.StructuralMetadata;
 import com.netflix.imflibrary.st0377.header.TimelineTrack;
 import com.netflix.imflibrary.st0377.header.WaveAudioEssenceDescriptor;
 import com.netflix.imflibrary.st2067_2.AudioContentKind;
@@ -47,12 +50,75 @@ import testUtils.TestHelper;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Modifier;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 
 public class HeaderPartitionTest
 {
+    @Test(expectedExceptions = IMFFatalErrorException.class)
+    public void failFastHeaderPartitionTest() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015_ENG20.mxf.hdr");
+        byte[] bytes = Files.readAllBytes(inputFile.toPath());
+        //the local tag of the instance_uid of the Preface set is replaced by a local tag that is not in the primer pack
+        byte[] prefaceKey = new byte[]{0x06, 0x0e, 0x2b, 0x34, 0x02, 0x53, 0x01, 0x01, 0x0d, 0x01, 0x01, 0x01, 0x01, 0x01, 0x2f, 0x00};
+        int prefaceOffset = indexOf(bytes, prefaceKey);
+        Assert.assertTrue(prefaceOffset > 0);
+        //the key and the 4 byte BER length of the set, followed by the local tag and length of the instance_uid
+        int instanceUIDTagOffset = prefaceOffset + prefaceKey.length + 4;
+        Assert.assertEquals(bytes[instanceUIDTagOffset], 0x3c);
+        Assert.assertEquals(bytes[instanceUIDTagOffset + 1], 0x0a);
+        bytes[instanceUIDTagOffset] = (byte) 0x7f;
+        bytes[instanceUIDTagOffset + 1] = (byte) 0xfe;
+
+        //a listener that aborts on the first error, as a fail-fast listener does on the first fatal error
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl(errorObject -> {
+            throw new IMFFatalErrorException(errorObject);
+        });
+        new HeaderPartition(new ByteArrayDataProvider(bytes), 0L, (long) bytes.length, imfErrorLogger);
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern)
+    {
+        for (int i = 0; i + pattern.length <= bytes.length; i++)
+        {
+            int j = 0;
+            while (j < pattern.length && bytes[i + j] == pattern[j])
+            {
+                j++;
+            }
+            if (j == pattern.length)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void structuralMetadataSetFactoriesTest()
+    {
+        byte[] key = {0x06, 0x0e, 0x2b, 0x34, 0x02, 0x53, 0x01, 0x01, 0x0d, 0x01, 0x01, 0x01, 0x01, 0x01, 0x00, 0x00};
+        int numberOfConcreteSetClasses = 0;
+        for (int i = 0; i < 256; i++)
+        {
+            key[14] = (byte)i;
+            Class<?> clazz = StructuralMetadata.getStructuralMetadataSetClass(key);
+            if (!clazz.equals(Object.class) && !Modifier.isAbstract(clazz.getModifiers()))
+            {
+                Assert.assertNotNull(StructuralMetadata.getInterchangeObjectBOFactory(clazz), clazz.getName());
+                numberOfConcreteSetClasses++;
+            }
+        }
+        Assert.assertEquals(numberOfConcreteSetClasses, 18);
+        Assert.assertNotNull(StructuralMetadata.getInterchangeObjectBOFactory(PHDRMetaDataTrackSubDescriptor.PHDRMetaDataTrackSubDescriptorBO.class));
+        Assert.assertNull(StructuralMetadata.getInterchangeObjectBOFactory(Object.class));
+        Assert.assertNotNull(StructuralMetadata.getInterchangeObjectFactory(WaveAudioEssenceDescriptor.WaveAudioEssenceDescriptorBO.class));
+        Assert.assertNull(StructuralMetadata.getInterchangeObjectFactory(Preface.PrefaceBO.class));
+    }
+
     @Test
     public void audioHeaderPartitionTest() throws IOException
     {
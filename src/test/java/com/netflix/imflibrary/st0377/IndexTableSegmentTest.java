@@ -41,5 +41,12 @@ public class IndexTableSegmentTest
         Assert.assertTrue(indexTableSegment.toString().length() > 0);
         Assert.assertEquals(indexTableSegment.getIndexEntries().size(), 96);
         Assert.assertEquals(indexTableSegment.getIndexEntries().get(1).getStreamOffset(), 28127L);
+        IndexTableSegment.IndexEntryArray indexEntryArray = indexTableSegment.getIndexEntryArray();
+        Assert.assertEquals(indexEntryArray.size(), 96);
+        for (int i = 0; i < indexEntryArray.size(); i++)
+        {
+            Assert.assertEquals(indexEntryArray.getStreamOffset(i), indexTableSegment.getIndexEntries().get(i).getStreamOffset());
+        }
+        Assert.assertEquals(indexEntryArray.getStreamOffset(0), 0L);
     }
 }
@@ -2,6 +2,7 @@ package com.netflix.imflibrary.st2067_2;
 
 import com.netflix.imflibrary.IMFErrorLogger;
 import com.netflix.imflibrary.IMFErrorLoggerImpl;
+import com.netflix.imflibrary.exceptions.IMFException;
 import com.netflix.imflibrary.utils.FileByteRangeProvider;
 import com.netflix.imflibrary.writerTools.CompositionPlaylistBuilder_2013;
 import com.netflix.imflibrary.writerTools.utils.IMFUUIDGenerator;
@@ -70,6 +71,29 @@ public class CompositionTest
         Assert.assertTrue(imfErrorLogger.getErrors().size() == 11);
     }
 
+    @Test
+    public void compositionCoreConstraintsFromRootNamespaceTest() throws IOException {
+        File inputFile2013 = TestHelper.findResourceByPath
+                ("TestIMP/Netflix_Sony_Plugfest_2015/CPL_BLACKL_202_HD_REC709_178_ENG_fe8cf2f4-1bcd-4145-8f72-6775af4038c4.xml");
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        IMFCompositionPlaylistType compositionPlaylistType = IMFCompositionPlaylistType.getCompositionPlayListType(new FileByteRangeProvider(inputFile2013), imfErrorLogger);
+        Assert.assertEquals(compositionPlaylistType.getCoreConstraintsVersion(), "org.smpte_ra.schemas.st2067_2_2013");
+        Assert.assertEquals(imfErrorLogger.getErrors().size(), 0);
+
+        File inputFile2016 = TestHelper.findResourceByPath
+                ("TestIMP/Netflix_Sony_Plugfest_2015/CPL_BLACKL_202_HD_REC709_178_ENG_fe8cf2f4-1bcd-4145-8f72-6775af4038c4-2016Schema.xml");
+        imfErrorLogger = new IMFErrorLoggerImpl();
+        compositionPlaylistType = IMFCompositionPlaylistType.getCompositionPlayListType(new FileByteRangeProvider(inputFile2016), imfErrorLogger);
+        Assert.assertEquals(compositionPlaylistType.getCoreConstraintsVersion(), "org.smpte_ra.schemas.st2067_2_2016");
+        Assert.assertEquals(imfErrorLogger.getErrors().size(), 0);
+    }
+
+    @Test(expectedExceptions = IMFException.class)
+    public void compositionUnsupportedRootElementTest() throws IOException {
+        File inputFile = TestHelper.findResourceByPath("TestIMP/MERIDIAN_Netflix_Photon_161006/ASSETMAP.xml");
+        IMFCompositionPlaylistType.getCompositionPlayListType(new FileByteRangeProvider(inputFile), new IMFErrorLoggerImpl());
+    }
+
     @Test
     public void virtualTracksEquivalenceTest(){
         String trackFileId1 = IMFUUIDGenerator.getInstance().getUrnUUID();
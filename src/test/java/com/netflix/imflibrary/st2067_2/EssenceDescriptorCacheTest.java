@@ -0,0 +1,52 @@
+package com.netflix.imflibrary.st2067_2;
+
+import com.netflix.imflibrary.IMFErrorLogger;
+import com.netflix.imflibrary.IMFErrorLoggerImpl;
+import com.netflix.imflibrary.st0377.HeaderPartition;
+import com.netflix.imflibrary.utils.ByteArrayByteRangeProvider;
+import com.netflix.imflibrary.utils.ByteArrayDataProvider;
+import com.netflix.imflibrary.utils.DOMNodeObjectModel;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import testUtils.CountingResourceByteRangeProvider;
+import testUtils.TestHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+
+@Test(groups = "unit")
+public class EssenceDescriptorCacheTest
+{
+    @Test
+    public void testCacheHitDoesNotReadHeaderPartition() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015_ENG20.mxf.hdr");
+        byte[] bytes = Files.readAllBytes(inputFile.toPath());
+        HeaderPartition headerPartition = new HeaderPartition(new ByteArrayDataProvider(bytes), 0L, (long) bytes.length, new IMFErrorLoggerImpl());
+        CountingResourceByteRangeProvider resourceByteRangeProvider = new CountingResourceByteRangeProvider(new ByteArrayByteRangeProvider(bytes));
+        Composition.HeaderPartitionTuple headerPartitionTuple = new Composition.HeaderPartitionTuple(headerPartition, resourceByteRangeProvider);
+        UUID trackFileId = UUID.randomUUID();
+
+        EssenceDescriptorCache essenceDescriptorCache = new EssenceDescriptorCache();
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        List<DOMNodeObjectModel> essenceDescriptors = essenceDescriptorCache.getEssenceDescriptors(trackFileId, headerPartitionTuple, imfErrorLogger);
+        long numberOfRequests = resourceByteRangeProvider.getNumberOfRequests();
+        Assert.assertTrue(numberOfRequests > 0);
+        Assert.assertEquals(essenceDescriptorCache.size(), 1);
+
+        //the cache key of the HeaderPartition is memoised, a cache hit does not read any of its KLV packets
+        IMFErrorLogger cachedErrorLogger = new IMFErrorLoggerImpl();
+        Assert.assertSame(essenceDescriptorCache.getEssenceDescriptors(trackFileId, headerPartitionTuple, cachedErrorLogger), essenceDescriptors);
+        Assert.assertEquals(resourceByteRangeProvider.getNumberOfRequests(), numberOfRequests);
+        Assert.assertEquals(cachedErrorLogger.getErrors().size(), imfErrorLogger.getErrors().size());
+
+        //a different HeaderPartition object with the same KLV packets is read once and served the same entry
+        HeaderPartition otherHeaderPartition = new HeaderPartition(new ByteArrayDataProvider(bytes), 0L, (long) bytes.length, new IMFErrorLoggerImpl());
+        Assert.assertSame(essenceDescriptorCache.getEssenceDescriptors(trackFileId, new Composition.HeaderPartitionTuple(otherHeaderPartition, resourceByteRangeProvider), new IMFErrorLoggerImpl()), essenceDescriptors);
+        Assert.assertTrue(resourceByteRangeProvider.getNumberOfRequests() > numberOfRequests);
+        Assert.assertEquals(essenceDescriptorCache.size(), 1);
+    }
+}
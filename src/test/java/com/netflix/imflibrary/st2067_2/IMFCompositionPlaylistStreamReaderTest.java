@@ -0,0 +1,207 @@
+package com.netflix.imflibrary.st2067_2;
+
+import com.netflix.imflibrary.IMFErrorLogger;
+import com.netflix.imflibrary.IMFErrorLoggerImpl;
+import com.netflix.imflibrary.exceptions.IMFException;
+import com.netflix.imflibrary.utils.ByteArrayByteRangeProvider;
+import com.netflix.imflibrary.utils.FileByteRangeProvider;
+import com.netflix.imflibrary.utils.FileChannelByteRangeProvider;
+import com.netflix.imflibrary.utils.UUIDHelper;
+import com.netflix.imflibrary.writerTools.utils.IMFUUIDGenerator;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import testUtils.TestHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Test(groups = "unit")
+public class IMFCompositionPlaylistStreamReaderTest
+{
+    @DataProvider(name = "compositionPlaylists")
+    public Object[][] compositionPlaylists()
+    {
+        return new Object[][]{
+                {"TestIMP/Netflix_Sony_Plugfest_2015/CPL_BLACKL_202_HD_REC709_178_ENG_fe8cf2f4-1bcd-4145-8f72-6775af4038c4.xml"},
+                {"TestIMP/Netflix_Sony_Plugfest_2015/CPL_BLACKL_202_HD_REC709_178_ENG_fe8cf2f4-1bcd-4145-8f72-6775af4038c4-2016Schema.xml"},
+                {"TestIMP/Application2Extended/CPL_BLACKL_202_1080p_REC709_178_ENG_fe8cf2f4-1bcd-4145-8f72-6775af4038c4.xml"},
+                {"TestIMP/Netflix_Sony_Plugfest_2015/CPL_BLACKL_202_HD_REC709_178_LAS_zero_resource_duration_track_8fad47bb-ab01-4f0d-a08c-d1e6c6cb62b4.xml"}
+        };
+    }
+
+    @Test(dataProvider = "compositionPlaylists")
+    public void testStreamingReadMatchesUnmarshalledComposition(String compositionPlaylistPath) throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath(compositionPlaylistPath);
+
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        IMFCompositionPlaylistType compositionPlaylistType = IMFCompositionPlaylistType.getCompositionPlayListType(new FileByteRangeProvider(inputFile), imfErrorLogger);
+        VirtualTrackMapBuilder virtualTrackMapBuilder = new VirtualTrackMapBuilder(imfErrorLogger);
+        virtualTrackMapBuilder.onCompositionPlaylist(compositionPlaylistType);
+        for (IMFSegmentType segment : compositionPlaylistType.getSegmentList())
+        {
+            virtualTrackMapBuilder.onSegment(segment);
+        }
+        Map<UUID, Composition.VirtualTrack> virtualTrackMap = virtualTrackMapBuilder.build();
+
+        IMFErrorLogger streamingErrorLogger = new IMFErrorLoggerImpl();
+        List<IMFCompositionPlaylistType> headers = new ArrayList<>();
+        List<IMFEssenceDescriptorBaseType> essenceDescriptors = new ArrayList<>();
+        VirtualTrackMapBuilder streamingVirtualTrackMapBuilder = new VirtualTrackMapBuilder(streamingErrorLogger);
+        try (FileChannelByteRangeProvider resourceByteRangeProvider = new FileChannelByteRangeProvider(inputFile))
+        {
+            IMFCompositionPlaylistStreamReader.read(resourceByteRangeProvider, new IMFCompositionPlaylistStreamReader.Handler() {
+                @Override
+                public void onEssenceDescriptor(IMFEssenceDescriptorBaseType essenceDescriptor)
+                {
+                    essenceDescriptors.add(essenceDescriptor);
+                }
+
+                @Override
+                public void onCompositionPlaylist(IMFCompositionPlaylistType header)
+                {
+                    headers.add(header);
+                    streamingVirtualTrackMapBuilder.onCompositionPlaylist(header);
+                }
+
+                @Override
+                public void onSegment(IMFSegmentType segment)
+                {
+                    streamingVirtualTrackMapBuilder.onSegment(segment);
+                }
+            }, streamingErrorLogger);
+        }
+        Map<UUID, Composition.VirtualTrack> streamingVirtualTrackMap = streamingVirtualTrackMapBuilder.build();
+
+        Assert.assertEquals(headers.size(), 1);
+        IMFCompositionPlaylistType header = headers.get(0);
+        Assert.assertEquals(header.getId(), compositionPlaylistType.getId());
+        Assert.assertEquals(header.getEditRate(), compositionPlaylistType.getEditRate());
+        Assert.assertEquals(header.getContentTitle(), compositionPlaylistType.getContentTitle());
+        Assert.assertEquals(header.getCoreConstraintsVersion(), compositionPlaylistType.getCoreConstraintsVersion());
+        Assert.assertEquals(header.getApplicationIdentification(), compositionPlaylistType.getApplicationIdentification());
+
+        Assert.assertEquals(essenceDescriptors.size(), compositionPlaylistType.getEssenceDescriptorList().size());
+        for (int i = 0; i < essenceDescriptors.size(); i++)
+        {
+            Assert.assertEquals(essenceDescriptors.get(i).getId(), compositionPlaylistType.getEssenceDescriptorList().get(i).getId());
+        }
+
+        Assert.assertEquals(streamingVirtualTrackMap.keySet(), virtualTrackMap.keySet());
+        for (Map.Entry<UUID, Composition.VirtualTrack> entry : virtualTrackMap.entrySet())
+        {
+            Assert.assertTrue(entry.getValue().equivalent(streamingVirtualTrackMap.get(entry.getKey())));
+        }
+        Assert.assertEquals(streamingErrorLogger.getErrors().size(), imfErrorLogger.getErrors().size());
+    }
+
+    @Test(dataProvider = "compositionPlaylists")
+    public void testReadCompositionPlaylistType(String compositionPlaylistPath) throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath(compositionPlaylistPath);
+        IMFCompositionPlaylistType compositionPlaylistType = IMFCompositionPlaylistType.getCompositionPlayListType(new FileByteRangeProvider(inputFile), new IMFErrorLoggerImpl());
+        IMFCompositionPlaylistType streamedCompositionPlaylistType = IMFCompositionPlaylistStreamReader.readCompositionPlaylistType(new FileByteRangeProvider(inputFile), new IMFErrorLoggerImpl());
+
+        Assert.assertEquals(streamedCompositionPlaylistType.getId(), compositionPlaylistType.getId());
+        Assert.assertEquals(streamedCompositionPlaylistType.getEditRate(), compositionPlaylistType.getEditRate());
+        Assert.assertEquals(streamedCompositionPlaylistType.getAnnotation(), compositionPlaylistType.getAnnotation());
+        Assert.assertEquals(streamedCompositionPlaylistType.getApplicationIdentification(), compositionPlaylistType.getApplicationIdentification());
+        Assert.assertEquals(streamedCompositionPlaylistType.getEssenceDescriptorList().size(), compositionPlaylistType.getEssenceDescriptorList().size());
+        Assert.assertEquals(streamedCompositionPlaylistType.getSegmentList().size(), compositionPlaylistType.getSegmentList().size());
+        for (int i = 0; i < compositionPlaylistType.getSegmentList().size(); i++)
+        {
+            Assert.assertEquals(streamedCompositionPlaylistType.getSegmentList().get(i).getId(), compositionPlaylistType.getSegmentList().get(i).getId());
+        }
+    }
+
+    @Test
+    public void testApplicationCompositionFromStream() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("test_mapped_file_set/CPL_682feecb-7516-4d93-b533-f40d4ce60539.xml");
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        ApplicationComposition applicationComposition = ApplicationCompositionFactory.getApplicationComposition(new FileByteRangeProvider(inputFile), imfErrorLogger);
+        IMFErrorLogger streamingErrorLogger = new IMFErrorLoggerImpl();
+        ApplicationComposition streamedApplicationComposition;
+        try (FileChannelByteRangeProvider resourceByteRangeProvider = new FileChannelByteRangeProvider(inputFile))
+        {
+            streamedApplicationComposition = ApplicationCompositionFactory.getApplicationCompositionFromStream(resourceByteRangeProvider, streamingErrorLogger);
+        }
+
+        Assert.assertNotNull(streamedApplicationComposition);
+        Assert.assertEquals(streamedApplicationComposition.getClass(), applicationComposition.getClass());
+        Assert.assertEquals(streamedApplicationComposition.getUUID(), applicationComposition.getUUID());
+        Assert.assertEquals(streamedApplicationComposition.getVirtualTracks().size(), applicationComposition.getVirtualTracks().size());
+        Assert.assertTrue(streamedApplicationComposition.getVideoVirtualTrack().equivalent(applicationComposition.getVideoVirtualTrack()));
+        Assert.assertEquals(streamingErrorLogger.getErrors().size(), imfErrorLogger.getErrors().size());
+    }
+
+    @Test
+    public void testVirtualTrackWithZeroDurationResources()
+    {
+        List<Long> editRate = Arrays.asList(24L, 1L);
+        IMFTrackFileResourceType imageResource = new IMFTrackFileResourceType(IMFUUIDGenerator.getInstance().getUrnUUID(),
+                IMFUUIDGenerator.getInstance().getUrnUUID(), editRate, BigInteger.valueOf(48), BigInteger.ZERO,
+                BigInteger.valueOf(48), BigInteger.ONE, IMFUUIDGenerator.getInstance().getUrnUUID(), null, null);
+        IMFTrackFileResourceType audioResource = new IMFTrackFileResourceType(IMFUUIDGenerator.getInstance().getUrnUUID(),
+                IMFUUIDGenerator.getInstance().getUrnUUID(), editRate, BigInteger.valueOf(48), BigInteger.ZERO,
+                BigInteger.ZERO, BigInteger.ONE, IMFUUIDGenerator.getInstance().getUrnUUID(), null, null);
+        String audioTrackId = IMFUUIDGenerator.getInstance().getUrnUUID();
+        IMFSegmentType segment = new IMFSegmentType(IMFUUIDGenerator.getInstance().getUrnUUID(), Arrays.asList(
+                new IMFSequenceType(IMFUUIDGenerator.getInstance().getUrnUUID(), IMFUUIDGenerator.getInstance().getUrnUUID(),
+                        Composition.SequenceTypeEnum.MainImageSequence, Collections.singletonList(imageResource)),
+                new IMFSequenceType(IMFUUIDGenerator.getInstance().getUrnUUID(), audioTrackId,
+                        Composition.SequenceTypeEnum.MainAudioSequence, Collections.singletonList(audioResource))));
+        IMFCompositionPlaylistType compositionPlaylistType = new IMFCompositionPlaylistType(IMFUUIDGenerator.getInstance().getUrnUUID(),
+                editRate, null, null, null, null, null, Collections.singletonList(segment), new ArrayList<>(), "org.smpte_ra.schemas.st2067_2_2016", "");
+
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        VirtualTrackMapBuilder virtualTrackMapBuilder = new VirtualTrackMapBuilder(imfErrorLogger);
+        virtualTrackMapBuilder.onCompositionPlaylist(compositionPlaylistType);
+        virtualTrackMapBuilder.onSegment(segment);
+        Map<UUID, Composition.VirtualTrack> virtualTrackMap = virtualTrackMapBuilder.build();
+
+        Assert.assertEquals(virtualTrackMap.size(), 2);
+        Assert.assertNull(virtualTrackMap.get(UUIDHelper.fromUUIDAsURNStringToUUID(audioTrackId)));
+        Assert.assertTrue(imfErrorLogger.hasFatalErrors());
+        Assert.assertTrue(imfErrorLogger.getErrors(IMFErrorLogger.IMFErrors.ErrorLevels.FATAL).stream()
+                .anyMatch(e -> e.getErrorDescription().contains("does not appear in all the segments")));
+    }
+
+    @Test
+    public void testSchemaErrors() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath
+                ("TestIMP/Netflix_Sony_Plugfest_2015/CPL_BLACKL_202_HD_REC709_178_ENG_fe8cf2f4-1bcd-4145-8f72-6775af4038c4-2016Schema.xml");
+        String compositionPlaylist = new String(Files.readAllBytes(inputFile.toPath()), StandardCharsets.UTF_8)
+                .replace("ContentTitle>", "Title>");
+        IMFErrorLogger imfErrorLogger = new IMFErrorLoggerImpl();
+        List<IMFSegmentType> segments = new ArrayList<>();
+        try
+        {
+            IMFCompositionPlaylistStreamReader.read(new ByteArrayByteRangeProvider(compositionPlaylist.getBytes(StandardCharsets.UTF_8)),
+                    new IMFCompositionPlaylistStreamReader.Handler() {
+                        @Override
+                        public void onSegment(IMFSegmentType segment)
+                        {
+                            segments.add(segment);
+                        }
+                    }, imfErrorLogger);
+            Assert.fail("Schema errors should be reported through an IMFException");
+        }
+        catch (IMFException e)
+        {
+            Assert.assertTrue(imfErrorLogger.getErrors().size() > 0);
+            Assert.assertEquals(segments.size(), 0);
+        }
+    }
+}
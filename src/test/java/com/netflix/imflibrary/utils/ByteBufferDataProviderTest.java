@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+@Test(groups = "unit")
+public class ByteBufferDataProviderTest
+{
+    private static final byte[] BYTES = {0x01, (byte)0xff, (byte)0xfe, 0x12, 0x34, 0x56, 0x78, (byte)0x80, 0x00, 0x00,
+            0x00, 0x00, 0x00, 0x00, 0x01, 0x0a, 0x0b, 0x0c, 0x0d};
+
+    @DataProvider(name = "streamingByteProviders")
+    public Object[][] streamingByteProviders()
+    {
+        ByteBuffer directByteBuffer = ByteBuffer.allocateDirect(BYTES.length);
+        directByteBuffer.put(BYTES);
+        directByteBuffer.flip();
+        return new Object[][]{
+                {new ByteBufferDataProvider(BYTES)},
+                {new ByteBufferDataProvider(directByteBuffer)},
+                {new ByteArrayDataProvider(BYTES)},
+                {StreamingByteProvider.of(new ByteProvider() {
+                    private final ByteProvider byteProvider = new ByteArrayDataProvider(BYTES);
+
+                    @Override
+                    public byte[] getBytes(int totalNumBytesToRead) throws IOException
+                    {
+                        return this.byteProvider.getBytes(totalNumBytesToRead);
+                    }
+
+                    @Override
+                    public void skipBytes(long totalNumBytesToSkip) throws IOException
+                    {
+                        this.byteProvider.skipBytes(totalNumBytesToSkip);
+                    }
+                })}
+        };
+    }
+
+    @Test(dataProvider = "streamingByteProviders")
+    public void testPrimitiveReads(StreamingByteProvider streamingByteProvider) throws IOException
+    {
+        Assert.assertEquals(streamingByteProvider.readUnsignedByte(), 0x01);
+        Assert.assertEquals(streamingByteProvider.readUnsignedShort(), 0xfffe);
+        Assert.assertEquals(streamingByteProvider.readUnsignedInt(), 0x12345678L);
+        Assert.assertEquals(streamingByteProvider.readUnsignedLong(), 0x8000000000000001L);
+        Assert.assertEquals(streamingByteProvider.position(), 15L);
+        byte[] destination = new byte[4];
+        streamingByteProvider.readInto(destination, 1, 2);
+        Assert.assertEquals(destination, new byte[]{0x00, 0x0a, 0x0b, 0x00});
+        streamingByteProvider.skipBytes(1);
+        Assert.assertEquals(streamingByteProvider.getBytes(1), new byte[]{0x0d});
+        Assert.assertEquals(streamingByteProvider.position(), (long)BYTES.length);
+    }
+
+    @Test(dataProvider = "streamingByteProviders", expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Cannot read .*")
+    public void testReadBeyondEnd(StreamingByteProvider streamingByteProvider) throws IOException
+    {
+        streamingByteProvider.skipBytes(BYTES.length - 3);
+        streamingByteProvider.readUnsignedInt();
+    }
+
+    @Test(dataProvider = "streamingByteProviders")
+    public void testSlice(StreamingByteProvider streamingByteProvider) throws IOException
+    {
+        streamingByteProvider.skipBytes(3);
+        StreamingByteProvider slice = streamingByteProvider.slice(4);
+        Assert.assertEquals(streamingByteProvider.position(), 7L);
+        Assert.assertEquals(slice.position(), 0L);
+        Assert.assertEquals(slice.readUnsignedInt(), 0x12345678L);
+        Assert.assertEquals(streamingByteProvider.readUnsignedByte(), 0x80);
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Cannot read .*")
+    public void testSliceBounds() throws IOException
+    {
+        StreamingByteProvider slice = new ByteBufferDataProvider(BYTES).slice(2);
+        slice.readUnsignedShort();
+        slice.readUnsignedByte();
+    }
+
+    @Test
+    public void testByteBufferIsNotModified() throws IOException
+    {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(BYTES);
+        byteBuffer.position(1);
+        ByteBufferDataProvider byteBufferDataProvider = new ByteBufferDataProvider(byteBuffer);
+        Assert.assertEquals(byteBufferDataProvider.getBytes(2), Arrays.copyOfRange(BYTES, 1, 3));
+        Assert.assertEquals(byteBuffer.position(), 1);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import testUtils.CountingResourceByteRangeProvider;
+import testUtils.TestHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Test(groups = "unit")
+public class CachingResourceByteRangeProviderTest
+{
+    private static byte[] getRandomBytes(int size)
+    {
+        byte[] bytes = new byte[size];
+        new Random(0).nextBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testOverlappingRangesAreServedFromCache() throws IOException
+    {
+        byte[] refBytes = getRandomBytes(1000);
+        CountingResourceByteRangeProvider countingByteRangeProvider = new CountingResourceByteRangeProvider(new ByteArrayByteRangeProvider(refBytes));
+        CachingResourceByteRangeProvider cachingByteRangeProvider = new CachingResourceByteRangeProvider(countingByteRangeProvider, 64, 1024, false);
+
+        Assert.assertEquals(cachingByteRangeProvider.getResourceSize(), 1000L);
+        //spans blocks 0 through 2, fetched with a single request
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(10, 150), Arrays.copyOfRange(refBytes, 10, 151));
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 1);
+        Assert.assertEquals(cachingByteRangeProvider.getMissCount(), 3L);
+
+        //within block 1
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(70, 100), Arrays.copyOfRange(refBytes, 70, 101));
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 1);
+        Assert.assertEquals(cachingByteRangeProvider.getHitCount(), 1L);
+
+        //blocks 2 and 3, of which only block 3 is fetched
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(140, 200), Arrays.copyOfRange(refBytes, 140, 201));
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 2);
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfBytesRequested(), 192L + 64L);
+
+        //last, partial, block
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(990, 999), Arrays.copyOfRange(refBytes, 990, 1000));
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(960, 999), Arrays.copyOfRange(refBytes, 960, 1000));
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 3);
+        Assert.assertEquals(cachingByteRangeProvider.getNumberOfCachedBlocks(), 5);
+
+        cachingByteRangeProvider.invalidate();
+        Assert.assertEquals(cachingByteRangeProvider.getNumberOfCachedBlocks(), 0);
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(70, 100), Arrays.copyOfRange(refBytes, 70, 101));
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 4);
+    }
+
+    @Test
+    public void testEvictionAndPassThrough() throws IOException
+    {
+        byte[] refBytes = getRandomBytes(1000);
+        CountingResourceByteRangeProvider countingByteRangeProvider = new CountingResourceByteRangeProvider(new ByteArrayByteRangeProvider(refBytes));
+        CachingResourceByteRangeProvider cachingByteRangeProvider = new CachingResourceByteRangeProvider(countingByteRangeProvider, 100, 200, true);
+
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(0, 10), Arrays.copyOfRange(refBytes, 0, 11));
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(100, 110), Arrays.copyOfRange(refBytes, 100, 111));
+        //block 0 is the most recently used, hence block 1 is evicted when block 2 is cached
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(5, 15), Arrays.copyOfRange(refBytes, 5, 16));
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(200, 210), Arrays.copyOfRange(refBytes, 200, 211));
+        Assert.assertEquals(cachingByteRangeProvider.getNumberOfCachedBlocks(), 2);
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 3);
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(0, 10), Arrays.copyOfRange(refBytes, 0, 11));
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 3);
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(100, 110), Arrays.copyOfRange(refBytes, 100, 111));
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 4);
+
+        //spans more blocks than the cache can hold
+        long hitCount = cachingByteRangeProvider.getHitCount();
+        long missCount = cachingByteRangeProvider.getMissCount();
+        Assert.assertEquals(cachingByteRangeProvider.getByteRangeAsBytes(50, 350), Arrays.copyOfRange(refBytes, 50, 351));
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 5);
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfBytesRequested(), 4 * 100L + 301L);
+        Assert.assertEquals(cachingByteRangeProvider.getHitCount(), hitCount);
+        Assert.assertEquals(cachingByteRangeProvider.getMissCount(), missCount);
+
+        try (InputStream inputStream = cachingByteRangeProvider.getByteRangeAsStream(150, 250))
+        {
+            Assert.assertEquals(TestHelper.toByteArray(inputStream), Arrays.copyOfRange(refBytes, 150, 251));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "rangeEnd = .*")
+    public void testInvalidRange() throws IOException
+    {
+        CachingResourceByteRangeProvider cachingByteRangeProvider = new CachingResourceByteRangeProvider(new ByteArrayByteRangeProvider(getRandomBytes(26)));
+        cachingByteRangeProvider.getByteRangeAsBytes(20, 26);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidCacheSize()
+    {
+        new CachingResourceByteRangeProvider(new ByteArrayByteRangeProvider(getRandomBytes(26)), 64, 32, false);
+    }
+
+    @Test
+    public void testConcurrentRangeReads() throws Exception
+    {
+        byte[] refBytes = getRandomBytes(100000);
+        CachingResourceByteRangeProvider cachingByteRangeProvider = new CachingResourceByteRangeProvider(new ByteArrayByteRangeProvider(refBytes), 1000, 20000, false);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            Random random = new Random(1);
+            for (int i = 0; i < 256; i++)
+            {
+                final int rangeStart = random.nextInt(refBytes.length);
+                final int rangeEnd = Math.min(refBytes.length - 1, rangeStart + random.nextInt(5000));
+                futures.add(executorService.submit(() -> Arrays.equals(cachingByteRangeProvider.getByteRangeAsBytes(rangeStart, rangeEnd),
+                        Arrays.copyOfRange(refBytes, rangeStart, rangeEnd + 1))));
+            }
+            for (Future<Boolean> future : futures)
+            {
+                Assert.assertTrue(future.get());
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+        Assert.assertTrue(cachingByteRangeProvider.getNumberOfCachedBlocks() <= 20);
+    }
+}
@@ -12,6 +12,8 @@ import org.testng.annotations.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.DocumentFragment;
 import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 import testUtils.TestHelper;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -19,6 +21,7 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -119,4 +122,81 @@ public class DOMNodeObjectModelTest {
         }
         Assert.assertTrue(result == true);
     }
+
+    private DOMNodeObjectModel fromXML(String xml) throws IOException, ParserConfigurationException, SAXException {
+        DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
+        docFactory.setNamespaceAware(true);
+        Document document = docFactory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        return new DOMNodeObjectModel(document.getDocumentElement());
+    }
+
+    @Test
+    public void domNodeObjectModelFingerprintTest() throws IOException, ParserConfigurationException, SAXException {
+        DOMNodeObjectModel reference = fromXML("<a:Descriptor xmlns:a=\"urn:a\"><a:Width>1920</a:Width><a:Height>1080</a:Height>" +
+                "<a:Sub><a:Channel>1</a:Channel></a:Sub><a:Sub><a:Channel>2</a:Channel></a:Sub></a:Descriptor>");
+        DOMNodeObjectModel reordered = fromXML("<a:Descriptor xmlns:a=\"urn:a\"><a:Sub><a:Channel>2</a:Channel></a:Sub>" +
+                "<a:Height>1080</a:Height><a:Sub><a:Channel>1</a:Channel></a:Sub><a:Width>1920</a:Width></a:Descriptor>");
+        DOMNodeObjectModel differentValue = fromXML("<a:Descriptor xmlns:a=\"urn:a\"><a:Width>1920</a:Width><a:Height>1080</a:Height>" +
+                "<a:Sub><a:Channel>1</a:Channel></a:Sub><a:Sub><a:Channel>3</a:Channel></a:Sub></a:Descriptor>");
+        DOMNodeObjectModel differentNamespace = fromXML("<b:Descriptor xmlns:b=\"urn:b\"><b:Width>1920</b:Width><b:Height>1080</b:Height>" +
+                "<b:Sub><b:Channel>1</b:Channel></b:Sub><b:Sub><b:Channel>2</b:Channel></b:Sub></b:Descriptor>");
+
+        Assert.assertEquals(reference.getFingerprint().length(), 32);
+        Assert.assertEquals(reordered.getFingerprint(), reference.getFingerprint());
+        Assert.assertEquals(reordered.hashCode(), reference.hashCode());
+        Assert.assertTrue(reference.equals(reordered));
+        Assert.assertEquals(reference.getFieldCount(), Integer.valueOf(4));
+
+        Assert.assertNotEquals(differentValue.getFingerprint(), reference.getFingerprint());
+        Assert.assertFalse(reference.equals(differentValue));
+        Assert.assertNotEquals(differentNamespace.getFingerprint(), reference.getFingerprint());
+        Assert.assertFalse(reference.equals(differentNamespace));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void domNodeObjectModelImmutableTest() throws IOException, ParserConfigurationException, SAXException {
+        DOMNodeObjectModel domNodeObjectModel = fromXML("<a:Descriptor xmlns:a=\"urn:a\"><a:Width>1920</a:Width></a:Descriptor>");
+        domNodeObjectModel.getFields().values().iterator().next().put("1080", 1);
+    }
+
+    private String getSoundfieldDescriptor(int channelCount, int mismatchingChannel, String mismatchingTagName) {
+        StringBuilder stringBuilder = new StringBuilder("<a:Descriptor xmlns:a=\"urn:a\"><a:ChannelCount>" + channelCount + "</a:ChannelCount>");
+        for (int i = 1; i <= channelCount; i++) {
+            stringBuilder.append(String.format("<a:SubDescriptor><a:MCAChannelID>%d</a:MCAChannelID><a:MCALinkID>urn:uuid:%08d-0000-0000-0000-000000000000</a:MCALinkID>" +
+                    "<a:MCATagName>%s</a:MCATagName><a:MCATagSymbol>Chan</a:MCATagSymbol></a:SubDescriptor>",
+                    i, i, (i == mismatchingChannel) ? mismatchingTagName : "Channel"));
+        }
+        return stringBuilder.append("</a:Descriptor>").toString();
+    }
+
+    @Test
+    public void domNodeObjectModelRemoveNodesKeyedChildrenTest() throws IOException, ParserConfigurationException, SAXException {
+        DOMNodeObjectModel reference = fromXML(getSoundfieldDescriptor(16, 7, "Left"));
+        DOMNodeObjectModel other = fromXML(getSoundfieldDescriptor(16, 7, "Right"));
+
+        DOMNodeObjectModel diff = reference.removeNodes(other);
+        Assert.assertEquals(diff.getFields().size(), 0);
+        Assert.assertEquals(diff.getChildrenDOMNodes().size(), 1);
+        DOMNodeObjectModel child = diff.getChildrenDOMNodes().keySet().iterator().next();
+        Assert.assertEquals(child.getFieldCount(), Integer.valueOf(1));
+        Assert.assertEquals(child.getFieldAsString("MCATagName"), "Left");
+
+        Assert.assertEquals(reference.removeNodes(reference).getFieldCount(), Integer.valueOf(0));
+        Assert.assertEquals(reference.removeNodes(null).getFieldCount(), reference.getFieldCount());
+    }
+
+    @Test
+    public void domNodeObjectModelRemoveNodesAlignedChildrenTest() throws IOException, ParserConfigurationException, SAXException {
+        DOMNodeObjectModel reference = fromXML("<a:Descriptor xmlns:a=\"urn:a\"><a:Width>1920</a:Width>" +
+                "<a:Sub><a:Name>Luma</a:Name><a:Depth>10</a:Depth></a:Sub><a:Sub><a:Name>Chroma</a:Name><a:Depth>10</a:Depth></a:Sub></a:Descriptor>");
+        DOMNodeObjectModel other = fromXML("<a:Descriptor xmlns:a=\"urn:a\"><a:Width>3840</a:Width>" +
+                "<a:Sub><a:Name>Luma</a:Name><a:Depth>10</a:Depth></a:Sub><a:Sub><a:Name>Chroma</a:Name><a:Depth>12</a:Depth></a:Sub></a:Descriptor>");
+
+        DOMNodeObjectModel diff = reference.removeNodes(other);
+        Assert.assertEquals(diff.getFieldAsString("Width"), "1920");
+        Assert.assertEquals(diff.getChildrenDOMNodes().size(), 1);
+        DOMNodeObjectModel child = diff.getChildrenDOMNodes().keySet().iterator().next();
+        Assert.assertEquals(child.getFieldCount(), Integer.valueOf(1));
+        Assert.assertEquals(child.getFieldAsString("Depth"), "10");
+    }
 }
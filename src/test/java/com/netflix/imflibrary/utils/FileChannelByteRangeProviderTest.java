@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import testUtils.TestHelper;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Test(groups = "unit")
+public class FileChannelByteRangeProviderTest
+{
+    private File file;
+    private FileChannelByteRangeProvider fileChannelByteRangeProvider;
+    private FileChannelByteRangeProvider mappedFileChannelByteRangeProvider;
+
+    @BeforeClass
+    public void setUp() throws Exception
+    {
+        String keyboard = "qwertyuiopasdfghjklzxcvbnm";
+        this.file = File.createTempFile("test_file",".tmp");
+        try (FileWriter fileWriter = new FileWriter(this.file))
+        {
+            fileWriter.write(keyboard);
+        }
+        this.fileChannelByteRangeProvider = new FileChannelByteRangeProvider(this.file);
+        this.mappedFileChannelByteRangeProvider = new FileChannelByteRangeProvider(this.file, 8);
+    }
+
+    @AfterClass
+    public void tearDown() throws Exception
+    {
+        this.fileChannelByteRangeProvider.close();
+        this.mappedFileChannelByteRangeProvider.close();
+        Assert.assertTrue(this.file.delete());
+    }
+
+    @Test
+    public void testGetResourceSize()
+    {
+        Assert.assertEquals(26L, this.fileChannelByteRangeProvider.getResourceSize());
+    }
+
+    @Test
+    public void testGetByteRange() throws IOException
+    {
+        File workingDirectory = Files.createTempDirectory(null).toFile();
+        File file = this.fileChannelByteRangeProvider.getByteRange(3, 9, workingDirectory);
+        Assert.assertEquals(7L, file.length());
+        BufferedReader bufferedReader = new BufferedReader(new FileReader(file));
+        Assert.assertEquals("rtyuiop", bufferedReader.readLine());
+    }
+
+    @Test
+    public void testGetByteRangeAsBytes() throws IOException
+    {
+        Assert.assertEquals(new String(this.fileChannelByteRangeProvider.getByteRangeAsBytes(3, 9)), "rtyuiop");
+        Assert.assertEquals(new String(this.fileChannelByteRangeProvider.getByteRangeAsBytes(24, 25)), "nm");
+    }
+
+    @Test
+    public void testGetByteRangeAsBytesMapped() throws IOException
+    {
+        //within a single mapped window
+        Assert.assertEquals(new String(this.mappedFileChannelByteRangeProvider.getByteRangeAsBytes(1, 6)), "wertyu");
+        //across mapped windows
+        Assert.assertEquals(new String(this.mappedFileChannelByteRangeProvider.getByteRangeAsBytes(3, 9)), "rtyuiop");
+        //last, partial, mapped window
+        Assert.assertEquals(new String(this.mappedFileChannelByteRangeProvider.getByteRangeAsBytes(24, 25)), "nm");
+    }
+
+    @Test
+    public void testMappedWindowsAreBounded() throws IOException
+    {
+        try (FileChannelByteRangeProvider resourceByteRangeProvider = new FileChannelByteRangeProvider(this.file, 4, 2))
+        {
+            Assert.assertEquals(new String(resourceByteRangeProvider.getByteRangeAsBytes(0, 3)), "qwer");
+            Assert.assertEquals(new String(resourceByteRangeProvider.getByteRangeAsBytes(4, 7)), "tyui");
+            Assert.assertEquals(new String(resourceByteRangeProvider.getByteRangeAsBytes(8, 11)), "opas");
+            Assert.assertEquals(resourceByteRangeProvider.getNumberOfMappedWindows(), 2);
+            //a window released earlier is mapped again
+            Assert.assertEquals(new String(resourceByteRangeProvider.getByteRangeAsBytes(1, 2)), "we");
+            Assert.assertEquals(resourceByteRangeProvider.getNumberOfMappedWindows(), 2);
+
+            resourceByteRangeProvider.close();
+            Assert.assertEquals(resourceByteRangeProvider.getNumberOfMappedWindows(), 0);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidMaxNumberOfMappedWindows() throws IOException
+    {
+        new FileChannelByteRangeProvider(this.file, 8, 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "rangeEnd = .*")
+    public void testInvalidRange() throws IOException
+    {
+        this.fileChannelByteRangeProvider.getByteRangeAsBytes(20, 26);
+    }
+
+    @Test
+    public void testConcurrentRangeReads() throws Exception
+    {
+        File inputFile = TestHelper.findResourceByPath("TearsOfSteel_4k_Test_Master_Audio_002.mxf");
+        byte[] refBytes = Files.readAllBytes(inputFile.toPath());
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try (FileChannelByteRangeProvider resourceByteRangeProvider = new FileChannelByteRangeProvider(inputFile, 4096))
+        {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++)
+            {
+                final long rangeStart = (refBytes.length / 64) * i;
+                final long rangeEnd = Math.min(refBytes.length - 1, rangeStart + 10000);
+                futures.add(executorService.submit(() -> Arrays.equals(resourceByteRangeProvider.getByteRangeAsBytes(rangeStart, rangeEnd),
+                        Arrays.copyOfRange(refBytes, (int) rangeStart, (int) rangeEnd + 1))));
+            }
+            for (Future<Boolean> future : futures)
+            {
+                Assert.assertTrue(future.get());
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testGetByteRangeAsStream() throws IOException
+    {
+        //larger than the internal buffer so that the range is streamed from the file
+        byte[] refBytes = new byte[3 * 1024 * 1024 + 7];
+        new Random(0).nextBytes(refBytes);
+        File inputFile = File.createTempFile("test_file",".tmp");
+        Files.write(inputFile.toPath(), refBytes);
+        try (FileChannelByteRangeProvider resourceByteRangeProvider = new FileChannelByteRangeProvider(inputFile);
+             InputStream inputStream = resourceByteRangeProvider.getByteRangeAsStream(1, refBytes.length - 2))
+        {
+            Assert.assertEquals(TestHelper.toByteArray(inputStream), Arrays.copyOfRange(refBytes, 1, refBytes.length - 1));
+        }
+        finally
+        {
+            Assert.assertTrue(inputFile.delete());
+        }
+    }
+}
@@ -64,6 +64,22 @@ public class FileDataProviderTest
         Assert.assertEquals(refBytes, bytes);
     }
 
+    @Test
+    public void testReadUnsignedByte() throws IOException
+    {
+        byte[] refBytes = Arrays.copyOf(TestHelper.toByteArray(inputStream), 100);
+
+        try (FileDataProvider byteProvider = new FileDataProvider(this.inputFile))
+        {
+            for (int i = 0; i < 50; i++)
+            {
+                Assert.assertEquals(byteProvider.readUnsignedByte(), refBytes[i] & 0xFF);
+            }
+            Assert.assertEquals(byteProvider.position(), 50L);
+            Assert.assertEquals(byteProvider.getBytes(50), Arrays.copyOfRange(refBytes, 50, 100));
+        }
+    }
+
     @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Could not read .*")
     public void testGetBytesLarge() throws IOException
     {
@@ -84,6 +100,28 @@ public class FileDataProviderTest
         Assert.assertEquals(bytes[0], 99);
     }
 
+    @Test
+    public void testSequentialReadsAndSkips() throws IOException
+    {
+        File file = TestHelper.findResourceByPath("TearsOfSteel_4k_Test_Master_Audio_002.mxf");
+        byte[] refBytes = TestHelper.toByteArray(new FileInputStream(file));
+
+        try(FileDataProvider byteProvider = new FileDataProvider(file))
+        {
+            int position = 0;
+            int step = 0;
+            while (position + 100000 < refBytes.length)
+            {
+                int numBytesToRead = (step % 3 == 0) ? 70000 : 17;
+                Assert.assertEquals(byteProvider.getBytes(numBytesToRead), Arrays.copyOfRange(refBytes, position, position + numBytesToRead));
+                position += numBytesToRead;
+                byteProvider.skipBytes(step);
+                position += step;
+                step++;
+            }
+        }
+    }
+
     @Test
     public void testSkipBytesLarge() throws IOException
     {
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.utils;
+
+import com.netflix.imflibrary.IMFErrorLoggerImpl;
+import com.netflix.imflibrary.st0377.HeaderPartition;
+import com.netflix.imflibrary.st0377.RandomIndexPack;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import testUtils.CountingResourceByteRangeProvider;
+import testUtils.TestHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+@Test(groups = "unit")
+public class MXFReadPlannerTest
+{
+    //the header partition pack of this file has a header_byte_count of 11744, the primer pack starts at offset 124
+    private static final long HEADER_METADATA_END = 124 + 11744;
+
+    @Test
+    public void testPrefetch() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TearsOfSteel_4k_Test_Master_Audio_002.mxf");
+        CountingResourceByteRangeProvider countingByteRangeProvider = new CountingResourceByteRangeProvider(new FileByteRangeProvider(inputFile));
+        CachingResourceByteRangeProvider resourceByteRangeProvider = new CachingResourceByteRangeProvider(countingByteRangeProvider);
+
+        Assert.assertEquals(new MXFReadPlanner(resourceByteRangeProvider).prefetch(), HEADER_METADATA_END);
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 2L);
+
+        //the RandomIndexPack and the header metadata are served from memory
+        long archiveFileSize = resourceByteRangeProvider.getResourceSize();
+        byte[] bytes = resourceByteRangeProvider.getByteRangeAsBytes(archiveFileSize - 4, archiveFileSize - 1);
+        long randomIndexPackSize = ByteBuffer.wrap(bytes).getInt();
+        RandomIndexPack randomIndexPack = new RandomIndexPack(new ByteArrayDataProvider(resourceByteRangeProvider.getByteRangeAsBytes(archiveFileSize - randomIndexPackSize, archiveFileSize - 1)),
+                archiveFileSize - randomIndexPackSize, randomIndexPackSize);
+        Assert.assertEquals(randomIndexPack.getAllPartitionByteOffsets().get(1).longValue(), HEADER_METADATA_END);
+
+        byte[] headerPartitionBytes = resourceByteRangeProvider.getByteRangeAsBytes(0, HEADER_METADATA_END - 1);
+        HeaderPartition headerPartition = new HeaderPartition(new ByteArrayDataProvider(headerPartitionBytes), 0L, headerPartitionBytes.length, new IMFErrorLoggerImpl());
+        Assert.assertEquals(headerPartition.getEssenceDescriptors().size(), 1);
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 2L);
+    }
+
+    @Test
+    public void testPrefetchBeyondWindows() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TearsOfSteel_4k_Test_Master_Audio_002.mxf");
+        CountingResourceByteRangeProvider countingByteRangeProvider = new CountingResourceByteRangeProvider(new FileByteRangeProvider(inputFile));
+        CachingResourceByteRangeProvider resourceByteRangeProvider = new CachingResourceByteRangeProvider(countingByteRangeProvider, 16, 1024 * 1024, false);
+        MXFReadPlanner mxfReadPlanner = new MXFReadPlanner(resourceByteRangeProvider, 16, 256);
+
+        //the RandomIndexPack is larger than the tail window
+        mxfReadPlanner.prefetchTail();
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 2L);
+        //the header metadata extends beyond the head window
+        Assert.assertEquals(mxfReadPlanner.prefetchHeaderMetadata(), HEADER_METADATA_END);
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 4L);
+        //the tail window, the RandomIndexPack and the header metadata, each rounded to the 16 byte blocks of the cache
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfBytesRequested(), 16L + 64L + 11872L);
+
+        resourceByteRangeProvider.getByteRangeAsBytes(0, HEADER_METADATA_END - 1);
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 4L);
+    }
+
+    @Test
+    public void testPrefetchIgnored() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TearsOfSteel_4k_Test_Master_Audio_002.mxf");
+        CountingResourceByteRangeProvider countingByteRangeProvider = new CountingResourceByteRangeProvider(new FileByteRangeProvider(inputFile));
+        MXFReadPlanner mxfReadPlanner = new MXFReadPlanner(countingByteRangeProvider);
+
+        //nothing is read speculatively from a provider that ignores the prefetch hint
+        mxfReadPlanner.prefetchTail();
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 0L);
+        Assert.assertEquals(mxfReadPlanner.prefetchHeaderMetadata(), HEADER_METADATA_END);
+        //the header partition pack is read on demand with 2 small requests rather than with the head window
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 2L);
+        Assert.assertTrue(countingByteRangeProvider.getNumberOfBytesRequested() < MXFReadPlanner.DEFAULT_HEAD_WINDOW_SIZE);
+    }
+
+    @Test
+    public void testPrefetchNotMXF() throws IOException
+    {
+        byte[] bytes = new byte[1000];
+        new Random(0).nextBytes(bytes);
+        Arrays.fill(bytes, 996, 1000, (byte)0x7f);
+        CountingResourceByteRangeProvider countingByteRangeProvider = new CountingResourceByteRangeProvider(new ByteArrayByteRangeProvider(bytes));
+        MXFReadPlanner mxfReadPlanner = new MXFReadPlanner(new CachingResourceByteRangeProvider(countingByteRangeProvider));
+
+        Assert.assertEquals(mxfReadPlanner.prefetch(), MXFReadPlanner.UNKNOWN_HEADER_METADATA_END);
+        Assert.assertEquals(countingByteRangeProvider.getNumberOfRequests(), 1L);
+    }
+
+    @Test
+    public void testGetHeaderMetadataEnd() throws IOException
+    {
+        File inputFile = TestHelper.findResourceByPath("TearsOfSteel_4k_Test_Master_Audio_002.mxf");
+        byte[] bytes = Files.readAllBytes(inputFile.toPath());
+        Assert.assertEquals(MXFReadPlanner.getHeaderMetadataEnd(new ByteArrayByteRangeProvider(bytes)), HEADER_METADATA_END);
+
+        //a header_byte_count of 0, the end of the header metadata is unknown
+        Arrays.fill(bytes, 52, 60, (byte)0);
+        Assert.assertEquals(MXFReadPlanner.getHeaderMetadataEnd(new ByteArrayByteRangeProvider(bytes)), MXFReadPlanner.UNKNOWN_HEADER_METADATA_END);
+
+        //not an MXF file
+        Assert.assertEquals(MXFReadPlanner.getHeaderMetadataEnd(new ByteArrayByteRangeProvider(new byte[100])), MXFReadPlanner.UNKNOWN_HEADER_METADATA_END);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidWindowSize()
+    {
+        new MXFReadPlanner(new CachingResourceByteRangeProvider(new ByteArrayByteRangeProvider(new byte[16])), 16, 0);
+    }
+}
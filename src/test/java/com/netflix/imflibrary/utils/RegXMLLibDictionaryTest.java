@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutionException;
+
+@Test(groups = "unit")
+public class RegXMLLibDictionaryTest
+{
+    @Test
+    public void testSharedInstance() throws InterruptedException, ExecutionException
+    {
+        RegXMLLibDictionary regXMLLibDictionary = RegXMLLibDictionary.loadInBackground().get();
+        Assert.assertSame(RegXMLLibDictionary.getInstance(), regXMLLibDictionary);
+        Assert.assertSame(RegXMLLibDictionary.getInstance().getMetaDictionaryCollection(), regXMLLibDictionary.getMetaDictionaryCollection());
+        Assert.assertNotNull(regXMLLibDictionary.getMetaDictionaryCollection());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.utils;
+
+import testUtils.TestHelper;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+@Test(groups = "unit")
+public class ResourceByteRangeDataProviderTest
+{
+    File inputFile;
+    byte[] refBytes;
+
+    @BeforeClass
+    public void beforeClass() throws IOException
+    {
+        inputFile = TestHelper.findResourceByPath("PKL_e788efe2-1782-4b09-b56d-1336da2413d5.xml");
+        refBytes = Files.readAllBytes(inputFile.toPath());
+    }
+
+    @Test
+    public void testGetBytes() throws IOException
+    {
+        ByteProvider byteProvider = new ResourceByteRangeDataProvider(new FileByteRangeProvider(this.inputFile), 0, refBytes.length - 1, 16);
+        Assert.assertEquals(byteProvider.getBytes(10), Arrays.copyOfRange(refBytes, 0, 10));
+        //spans blocks
+        Assert.assertEquals(byteProvider.getBytes(10), Arrays.copyOfRange(refBytes, 10, 20));
+        //larger than a block
+        Assert.assertEquals(byteProvider.getBytes(100), Arrays.copyOfRange(refBytes, 20, 120));
+    }
+
+    @Test
+    public void testReadUnsignedByte() throws IOException
+    {
+        StreamingByteProvider byteProvider = new ResourceByteRangeDataProvider(new FileByteRangeProvider(this.inputFile), 0, refBytes.length - 1, 16);
+        Assert.assertEquals(byteProvider.getBytes(10), Arrays.copyOfRange(refBytes, 0, 10));
+        //spans blocks
+        for (int i = 10; i < 40; i++)
+        {
+            Assert.assertEquals(byteProvider.readUnsignedByte(), refBytes[i] & 0xFF);
+        }
+        Assert.assertEquals(byteProvider.position(), 40L);
+        Assert.assertEquals(byteProvider.getBytes(10), Arrays.copyOfRange(refBytes, 40, 50));
+    }
+
+    @Test
+    public void testGetBytesFromOffset() throws IOException
+    {
+        ByteProvider byteProvider = new ResourceByteRangeDataProvider(new FileByteRangeProvider(this.inputFile), 100, 199, 16);
+        byteProvider.skipBytes(50L);
+        Assert.assertEquals(byteProvider.getBytes(50), Arrays.copyOfRange(refBytes, 150, 200));
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Cannot read .*")
+    public void testGetBytesLarge() throws IOException
+    {
+        ByteProvider byteProvider = new ResourceByteRangeDataProvider(new FileByteRangeProvider(this.inputFile), 100, 199);
+        byteProvider.getBytes(101);
+    }
+
+    @Test
+    public void testSkipBytes() throws IOException
+    {
+        ByteProvider byteProvider = new ResourceByteRangeDataProvider(new FileByteRangeProvider(this.inputFile), 0, refBytes.length - 1);
+        byteProvider.skipBytes(100L);
+        byte[] bytes = byteProvider.getBytes(1);
+        Assert.assertEquals(bytes.length, 1);
+        Assert.assertEquals(bytes[0], 99);
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Cannot skip .*")
+    public void testSkipBytesLarge() throws IOException
+    {
+        ByteProvider byteProvider = new ResourceByteRangeDataProvider(new FileByteRangeProvider(this.inputFile), 0, refBytes.length - 1);
+        byteProvider.skipBytes(refBytes.length + 1);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.xml.sax.SAXException;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.validation.Schema;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+@Test(groups = "unit")
+public class XMLSchemaRegistryTest
+{
+    private static final String xmldsig_core_schema_path = "org/w3/_2000_09/xmldsig/xmldsig-core-schema.xsd";
+    private static final String pkl_schema_path = "org/smpte_ra/schemas/st2067_2_2016/PKL/packingList_schema.xsd";
+    private static final String pkl_context_path = "org.smpte_ra.schemas.st2067_2_2016.PKL";
+
+    @Test
+    public void testSchemaIsCompiledOnce() throws SAXException, IOException, InterruptedException, ExecutionException
+    {
+        XMLSchemaRegistry.loadInBackground(pkl_context_path, xmldsig_core_schema_path, pkl_schema_path).get();
+        Schema schema = XMLSchemaRegistry.getSchema(xmldsig_core_schema_path, pkl_schema_path);
+        Assert.assertSame(XMLSchemaRegistry.getSchema(xmldsig_core_schema_path, pkl_schema_path), schema);
+        Assert.assertNotSame(XMLSchemaRegistry.getSchema(xmldsig_core_schema_path), schema);
+    }
+
+    @Test
+    public void testUnmarshallerIsReusedPerThread() throws JAXBException, InterruptedException, ExecutionException
+    {
+        Assert.assertSame(XMLSchemaRegistry.getJAXBContext(pkl_context_path), XMLSchemaRegistry.getJAXBContext(pkl_context_path));
+
+        Unmarshaller unmarshaller = XMLSchemaRegistry.getUnmarshaller(pkl_context_path);
+        unmarshaller.setEventHandler(event -> true);
+        Unmarshaller reusedUnmarshaller = XMLSchemaRegistry.getUnmarshaller(pkl_context_path);
+        Assert.assertSame(reusedUnmarshaller, unmarshaller);
+        Assert.assertNull(reusedUnmarshaller.getSchema());
+
+        Unmarshaller otherThreadUnmarshaller = CompletableFuture.supplyAsync(() -> {
+            try
+            {
+                return XMLSchemaRegistry.getUnmarshaller(pkl_context_path);
+            }
+            catch (JAXBException e)
+            {
+                throw new RuntimeException(e);
+            }
+        }).get();
+        Assert.assertNotSame(otherThreadUnmarshaller, unmarshaller);
+    }
+}
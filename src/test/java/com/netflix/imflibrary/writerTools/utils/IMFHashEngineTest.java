@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.writerTools.utils;
+
+import com.netflix.imflibrary.writerTools.IMPBuilder;
+import com.netflix.imflibrary.writerTools.PackingListBuilder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import testUtils.TestHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+@Test(groups = "unit")
+public class IMFHashEngineTest
+{
+    private static final String[] TRACK_FILES = {
+            "TestIMP/MERIDIAN_Netflix_Photon_161006/MERIDIAN_Netflix_Photon_161006_ENG-51_00.mxf",
+            "TestIMP/MERIDIAN_Netflix_Photon_161006/MERIDIAN_Netflix_Photon_161006_00_tt.mxf"
+    };
+
+    @Test
+    public void testSubmitHash() throws IOException, NoSuchAlgorithmException
+    {
+        try (IMFHashEngine hashEngine = new IMFHashEngine(4, IMFUtils.SHA256_ALGORITHM, 2))
+        {
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (String trackFile : TRACK_FILES)
+            {
+                futures.add(hashEngine.submitHash(TestHelper.findResourceByPath(trackFile)));
+            }
+            for (int i = 0; i < TRACK_FILES.length; i++)
+            {
+                byte[] bytes = Files.readAllBytes(TestHelper.findResourceByPath(TRACK_FILES[i]).toPath());
+                Assert.assertEquals(IMFHashEngine.getResult(futures.get(i)), MessageDigest.getInstance(IMFUtils.SHA256_ALGORITHM).digest(bytes));
+            }
+            Assert.assertEquals(hashEngine.getHashAlgorithmURI(), IMFHashEngine.SHA256_ALGORITHM_URI);
+        }
+    }
+
+    @Test
+    public void testSubmitTrackFileWithCopy() throws IOException, NoSuchAlgorithmException
+    {
+        File inputFile = TestHelper.findResourceByPath(TRACK_FILES[0]);
+        byte[] bytes = Files.readAllBytes(inputFile.toPath());
+        byte[] headerPartition = new byte[]{0x06, 0x0e, 0x2b, 0x34};
+        Path tempPath = Files.createTempDirectory(Paths.get(System.getProperty("java.io.tmpdir")), "IMFDocuments");
+        File copyTargetFile = new File(tempPath.toFile(), inputFile.getName());
+
+        try (IMFHashEngine hashEngine = new IMFHashEngine(2))
+        {
+            hashEngine.setDeviceConcurrency(inputFile, 1);
+            IMPBuilder.IMFTrackFileMetadata imfTrackFileMetadata = IMFHashEngine.getResult(hashEngine.submitTrackFile(headerPartition, inputFile, copyTargetFile));
+            Assert.assertEquals(imfTrackFileMetadata.getHash(), MessageDigest.getInstance(IMFUtils.SHA1_ALGORITHM).digest(bytes));
+            Assert.assertEquals(imfTrackFileMetadata.getHashAlgorithm(), PackingListBuilder.defaultHashAlgorithm);
+            Assert.assertEquals(imfTrackFileMetadata.getHeaderPartition(), headerPartition);
+            Assert.assertEquals(imfTrackFileMetadata.getOriginalFileName(), inputFile.getName());
+            Assert.assertEquals(imfTrackFileMetadata.getLength(), (long) bytes.length);
+            Assert.assertEquals(Files.readAllBytes(copyTargetFile.toPath()), bytes);
+        }
+        finally
+        {
+            Files.deleteIfExists(copyTargetFile.toPath());
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnsupportedAlgorithm()
+    {
+        new IMFHashEngine(1, "MD5", IMFHashEngine.DEFAULT_DEVICE_CONCURRENCY);
+    }
+}
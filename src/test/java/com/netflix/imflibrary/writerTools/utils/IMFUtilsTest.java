@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.netflix.imflibrary.writerTools.utils;
+
+import com.netflix.imflibrary.utils.ByteArrayByteRangeProvider;
+import com.netflix.imflibrary.utils.FileByteRangeProvider;
+import com.netflix.imflibrary.utils.FileChannelByteRangeProvider;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import testUtils.TestHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+@Test(groups = "unit")
+public class IMFUtilsTest
+{
+    @Test
+    public void testGenerateHashOfFile() throws IOException, NoSuchAlgorithmException
+    {
+        File inputFile = TestHelper.findResourceByPath("TestIMP/MERIDIAN_Netflix_Photon_161006/MERIDIAN_Netflix_Photon_161006_ENG-51_00.mxf");
+        byte[] bytes = Files.readAllBytes(inputFile.toPath());
+        byte[] sha1 = MessageDigest.getInstance(IMFUtils.SHA1_ALGORITHM).digest(bytes);
+        byte[] sha256 = MessageDigest.getInstance(IMFUtils.SHA256_ALGORITHM).digest(bytes);
+
+        Assert.assertEquals(IMFUtils.generateSHA1Hash(new FileByteRangeProvider(inputFile)), sha1);
+        Assert.assertEquals(IMFUtils.generateHash(inputFile, IMFUtils.SHA1_ALGORITHM, null), sha1);
+        Assert.assertEquals(IMFUtils.generateHash(inputFile, IMFUtils.SHA256_ALGORITHM, null), sha256);
+        Assert.assertEquals(IMFUtils.generateSHA1HashAndBase64Encode(inputFile), Base64.getEncoder().encode(sha1));
+        try (FileChannelByteRangeProvider fileChannelByteRangeProvider = new FileChannelByteRangeProvider(inputFile))
+        {
+            Assert.assertEquals(IMFUtils.generateHash(fileChannelByteRangeProvider, IMFUtils.SHA256_ALGORITHM, null), sha256);
+        }
+    }
+
+    @Test
+    public void testGenerateHashReportsProgress() throws IOException, NoSuchAlgorithmException
+    {
+        byte[] bytes = new byte[2 * IMFUtils.HASH_BLOCK_SIZE + 17];
+        for (int i = 0; i < bytes.length; i++)
+        {
+            bytes[i] = (byte) (i * 31);
+        }
+        List<Long> progress = new ArrayList<>();
+        byte[] hash = IMFUtils.generateHash(new ByteArrayByteRangeProvider(bytes), IMFUtils.SHA256_ALGORITHM,
+                (numBytesHashed, resourceSize) -> {
+                    Assert.assertEquals(resourceSize, (long) bytes.length);
+                    progress.add(numBytesHashed);
+                });
+        Assert.assertEquals(hash, MessageDigest.getInstance(IMFUtils.SHA256_ALGORITHM).digest(bytes));
+        Assert.assertEquals(progress, Arrays.asList((long) IMFUtils.HASH_BLOCK_SIZE, 2L * IMFUtils.HASH_BLOCK_SIZE, (long) bytes.length));
+    }
+
+    @Test
+    public void testGenerateHashOfEmptyResource() throws IOException, NoSuchAlgorithmException
+    {
+        Assert.assertEquals(IMFUtils.generateSHA1Hash(new ByteArrayByteRangeProvider(new byte[0])),
+                MessageDigest.getInstance(IMFUtils.SHA1_ALGORITHM).digest());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package testUtils;
+
+import com.netflix.imflibrary.utils.ResourceByteRangeProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A ResourceByteRangeProvider that records the range requests made to an underlying ResourceByteRangeProvider
+ */
+public final class CountingResourceByteRangeProvider implements ResourceByteRangeProvider
+{
+    private final ResourceByteRangeProvider resourceByteRangeProvider;
+    private final AtomicLong numberOfRequests = new AtomicLong();
+    private final AtomicLong numberOfBytesRequested = new AtomicLong();
+
+    public CountingResourceByteRangeProvider(ResourceByteRangeProvider resourceByteRangeProvider)
+    {
+        this.resourceByteRangeProvider = resourceByteRangeProvider;
+    }
+
+    public long getNumberOfRequests()
+    {
+        return this.numberOfRequests.get();
+    }
+
+    public long getNumberOfBytesRequested()
+    {
+        return this.numberOfBytesRequested.get();
+    }
+
+    @Override
+    public long getResourceSize()
+    {
+        return this.resourceByteRangeProvider.getResourceSize();
+    }
+
+    @Override
+    public File getByteRange(long rangeStart, long rangeEnd, File workingDirectory) throws IOException
+    {
+        this.count(rangeStart, rangeEnd);
+        return this.resourceByteRangeProvider.getByteRange(rangeStart, rangeEnd, workingDirectory);
+    }
+
+    @Override
+    public byte[] getByteRangeAsBytes(long rangeStart, long rangeEnd) throws IOException
+    {
+        this.count(rangeStart, rangeEnd);
+        return this.resourceByteRangeProvider.getByteRangeAsBytes(rangeStart, rangeEnd);
+    }
+
+    @Override
+    public InputStream getByteRangeAsStream(long rangeStart, long rangeEnd) throws IOException
+    {
+        this.count(rangeStart, rangeEnd);
+        return this.resourceByteRangeProvider.getByteRangeAsStream(rangeStart, rangeEnd);
+    }
+
+    private void count(long rangeStart, long rangeEnd)
+    {
+        this.numberOfRequests.incrementAndGet();
+        this.numberOfBytesRequested.addAndGet(rangeEnd - rangeStart + 1);
+    }
+}
@@ -0,0 +1,633 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package testUtils;
+
+import com.netflix.imflibrary.st2067_2.Composition;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A minimal writer of OP1A IMF track files for scale testing. The header metadata of the track file is taken from the
+ * header partition of an existing IMF track file (the template), the UMIDs of its packages are replaced so that the file
+ * package is identified by the requested track file ID, and the durations of its tracks and essence descriptor are
+ * rewritten for the requested duration. The essence is written as sparse KLV packets whose values are never written,
+ * frame-wrapped essence is split across the requested number of body partitions and is indexed through VBR index table
+ * segments, clip-wrapped essence is written in a single body partition and is indexed through a CBR index table segment.
+ * Every index table is written in its own partition, and the file is terminated by a footer partition and a RandomIndexPack.
+ */
+public final class SyntheticIMFTrackFileWriter
+{
+    private static final byte[] PARTITION_PACK_KEY = {0x06, 0x0e, 0x2b, 0x34, 0x02, 0x05, 0x01, 0x01, 0x0d, 0x01, 0x02, 0x01, 0x01, 0x00, 0x00, 0x00};
+    private static final byte[] INDEX_TABLE_SEGMENT_KEY = {0x06, 0x0e, 0x2b, 0x34, 0x02, 0x53, 0x01, 0x01, 0x0d, 0x01, 0x02, 0x01, 0x01, 0x10, 0x01, 0x00};
+    private static final byte[] RANDOM_INDEX_PACK_KEY = {0x06, 0x0e, 0x2b, 0x34, 0x02, 0x05, 0x01, 0x01, 0x0d, 0x01, 0x02, 0x01, 0x01, 0x11, 0x01, 0x00};
+    private static final byte[] ESSENCE_ELEMENT_KEY_PREFIX = {0x06, 0x0e, 0x2b, 0x34, 0x01, 0x02, 0x01, 0x01, 0x0d, 0x01, 0x03, 0x01};
+    private static final byte HEADER_PARTITION = 0x02;
+    private static final byte BODY_PARTITION = 0x03;
+    private static final byte FOOTER_PARTITION = 0x04;
+    private static final byte CLOSED_COMPLETE = 0x04;
+    private static final byte CLIP_WRAPPED = 0x02;
+    private static final int KEY_SIZE = 16;
+    private static final int PARTITION_PACK_FIXED_SIZE = 88;
+    private static final int INDEX_ENTRY_SIZE = 11;
+    private static final int INDEX_TABLE_SEGMENT_FIXED_SIZE = 102;
+    private static final int INDEX_BODY_SID = 1;
+    private static final int INDEX_SID = 2;
+    private static final byte RANDOM_ACCESS_FLAG = (byte)0x80;
+    /* maximum number of index entries in a segment for the IndexEntryArray to fit in a local set item */
+    public static final int MAX_INDEX_ENTRIES_PER_SEGMENT = (0xffff - 8) / INDEX_ENTRY_SIZE;
+
+    private final byte[] partitionPackTemplate;
+    private final byte[] headerMetadata;
+    private final byte[] essenceElementKey;
+    private final boolean clipWrapped;
+    private final long editUnitByteCount;
+    private final Composition.EditRate editRate;
+    private final long duration;
+    private final int bodyPartitionCount;
+    private final int indexEntriesPerSegment;
+    private byte[] headerPartition;
+
+    /**
+     * Constructor for a SyntheticIMFTrackFileWriter
+     * @param templateHeaderPartition the header partition of the IMF track file that serves as a template
+     * @param trackFileId the UUID that identifies the generated track file
+     * @param compositionEditRate the edit rate of the Composition in which the track file is referenced
+     * @param compositionDuration the duration of the track file in edit units of the Composition
+     * @param bodyPartitionCount the number of body partitions that frame-wrapped essence is split across, ignored for clip-wrapped essence
+     * @param indexEntriesPerSegment the maximum number of index entries in an index table segment of frame-wrapped essence
+     * @param frameByteCount the number of bytes of every frame of frame-wrapped essence, ignored for clip-wrapped essence
+     */
+    public SyntheticIMFTrackFileWriter(byte[] templateHeaderPartition,
+                                       UUID trackFileId,
+                                       Composition.EditRate compositionEditRate,
+                                       long compositionDuration,
+                                       int bodyPartitionCount,
+                                       int indexEntriesPerSegment,
+                                       int frameByteCount)
+    {
+        if (bodyPartitionCount < 1 || compositionDuration < bodyPartitionCount)
+        {
+            throw new IllegalArgumentException(String.format("Invalid body partition count %d for a duration of %d edit units", bodyPartitionCount, compositionDuration));
+        }
+        if (indexEntriesPerSegment < 1 || indexEntriesPerSegment > MAX_INDEX_ENTRIES_PER_SEGMENT)
+        {
+            throw new IllegalArgumentException(String.format("Invalid number of index entries per segment %d, the maximum is %d", indexEntriesPerSegment, MAX_INDEX_ENTRIES_PER_SEGMENT));
+        }
+        if (frameByteCount < 1 || frameByteCount >= (1 << 24))
+        {
+            throw new IllegalArgumentException(String.format("Invalid frame byte count %d", frameByteCount));
+        }
+
+        ByteBuffer template = ByteBuffer.wrap(templateHeaderPartition);
+        if (!isPartitionPackKey(templateHeaderPartition, 0) || templateHeaderPartition[KEY_SIZE - 3] != HEADER_PARTITION)
+        {
+            throw new IllegalArgumentException("Template does not start with a header partition pack");
+        }
+        template.position(KEY_SIZE);
+        long partitionPackSize = readBERLength(template);
+        this.partitionPackTemplate = Arrays.copyOfRange(templateHeaderPartition, template.position(), template.position() + (int)partitionPackSize);
+        long headerByteCount = ByteBuffer.wrap(this.partitionPackTemplate).getLong(32);
+        int headerMetadataOffset = template.position() + (int)partitionPackSize;
+        this.headerMetadata = Arrays.copyOfRange(templateHeaderPartition, headerMetadataOffset, getHeaderMetadataEnd(templateHeaderPartition, headerMetadataOffset, headerByteCount));
+        this.clipWrapped = (this.partitionPackTemplate[PARTITION_PACK_FIXED_SIZE + 14] == CLIP_WRAPPED);
+
+        HeaderMetadata metadata = new HeaderMetadata(this.headerMetadata);
+        LocalSet essenceTrack = metadata.getEssenceTrack();
+        this.editRate = essenceTrack.getRational(0x4b01);
+        this.duration = scaleDuration(compositionDuration, compositionEditRate, this.editRate, true);
+        this.essenceElementKey = Arrays.copyOf(ESSENCE_ELEMENT_KEY_PREFIX, KEY_SIZE);
+        System.arraycopy(essenceTrack.getValue(0x4804), 0, this.essenceElementKey, ESSENCE_ELEMENT_KEY_PREFIX.length, 4);
+        if (this.clipWrapped)
+        {
+            LocalSet audioDescriptor = metadata.getSetWithItem(0x3d0a);
+            if (audioDescriptor == null)
+            {
+                throw new IllegalArgumentException("Template of clip-wrapped essence has no BlockAlign");
+            }
+            this.editUnitByteCount = ByteBuffer.wrap(audioDescriptor.getValue(0x3d0a)).getShort() & 0xffff;
+            this.bodyPartitionCount = 1;
+        }
+        else
+        {
+            this.editUnitByteCount = frameByteCount;
+            this.bodyPartitionCount = bodyPartitionCount;
+        }
+        this.indexEntriesPerSegment = indexEntriesPerSegment;
+
+        metadata.setDurations(compositionDuration, compositionEditRate);
+        metadata.setPackageIds(trackFileId);
+    }
+
+    /**
+     * Getter for the edit rate of the essence track of the track file
+     * @return the edit rate of the essence
+     */
+    public Composition.EditRate getEditRate()
+    {
+        return this.editRate;
+    }
+
+    /**
+     * Getter for the duration of the essence track of the track file
+     * @return the duration in edit units of the essence
+     */
+    public long getDuration()
+    {
+        return this.duration;
+    }
+
+    /**
+     * Getter for the header partition of the track file, available once the track file has been written
+     * @return the bytes of the header partition pack and the header metadata
+     */
+    public byte[] getHeaderPartition()
+    {
+        return Arrays.copyOf(this.headerPartition, this.headerPartition.length);
+    }
+
+    /**
+     * A method that writes the track file
+     * @param file the file to write the track file to, an existing file is overwritten
+     * @return the size of the track file in bytes
+     * @throws IOException - any I/O related error is exposed through an IOException
+     */
+    public long write(File file) throws IOException
+    {
+        List<Partition> partitions = new ArrayList<>();
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            long position = 0;
+            Partition headerPartitionPack = new Partition(HEADER_PARTITION, position, 0, 0);
+            headerPartitionPack.headerByteCount = this.headerMetadata.length;
+            partitions.add(headerPartitionPack);
+            position += getPartitionPackSize();
+            position += write(fileChannel, ByteBuffer.wrap(this.headerMetadata), position);
+
+            long streamOffset = 0;
+            for (int i = 0; i < this.bodyPartitionCount; i++)
+            {
+                long startPosition = this.duration * i / this.bodyPartitionCount;
+                long endPosition = this.duration * (i + 1) / this.bodyPartitionCount;
+
+                Partition bodyPartitionPack = new Partition(BODY_PARTITION, position, 0, INDEX_BODY_SID);
+                bodyPartitionPack.bodyOffset = streamOffset;
+                partitions.add(bodyPartitionPack);
+                position += getPartitionPackSize();
+                long[] streamOffsets = this.clipWrapped ? new long[0] : new long[(int)(endPosition - startPosition)];
+                long essenceSize = writeEssence(fileChannel, position, streamOffset, streamOffsets);
+                position += essenceSize;
+
+                Partition indexPartitionPack = new Partition(BODY_PARTITION, position, INDEX_SID, 0);
+                partitions.add(indexPartitionPack);
+                position += getPartitionPackSize();
+                indexPartitionPack.indexByteCount = writeIndexTableSegments(fileChannel, position, startPosition, streamOffsets);
+                position += indexPartitionPack.indexByteCount;
+                streamOffset += essenceSize;
+            }
+
+            Partition footerPartitionPack = new Partition(FOOTER_PARTITION, position, 0, 0);
+            partitions.add(footerPartitionPack);
+            position += getPartitionPackSize();
+            position += writeRandomIndexPack(fileChannel, position, partitions);
+
+            long previousPartition = 0;
+            for (Partition partition : partitions)
+            {
+                write(fileChannel, buildPartitionPack(partition, previousPartition, footerPartitionPack.offset), partition.offset);
+                previousPartition = partition.offset;
+            }
+
+            ByteBuffer headerPartitionBytes = ByteBuffer.allocate((int)(getPartitionPackSize() + this.headerMetadata.length));
+            headerPartitionBytes.put(buildPartitionPack(headerPartitionPack, 0, footerPartitionPack.offset));
+            headerPartitionBytes.put(this.headerMetadata);
+            this.headerPartition = headerPartitionBytes.array();
+            return position;
+        }
+    }
+
+    private long writeEssence(FileChannel fileChannel, long position, long streamOffset, long[] streamOffsets) throws IOException
+    {
+        if (this.clipWrapped)
+        {
+            //a 7 byte length keeps the KL within the look-ahead of IMFTrackFileReader after the preceding partition pack
+            ByteBuffer keyLength = ByteBuffer.allocate(KEY_SIZE + 8);
+            keyLength.put(this.essenceElementKey);
+            putBERLength(keyLength, this.duration * this.editUnitByteCount, 7);
+            keyLength.flip();
+            write(fileChannel, keyLength, position);
+            return keyLength.limit() + (this.duration * this.editUnitByteCount);
+        }
+
+        //the values of the frames are left as holes in the file
+        ByteBuffer keyLength = ByteBuffer.allocate(KEY_SIZE + 4);
+        keyLength.put(this.essenceElementKey);
+        putBERLength(keyLength, this.editUnitByteCount, 3);
+        long frameSize = keyLength.position() + this.editUnitByteCount;
+        for (int i = 0; i < streamOffsets.length; i++)
+        {
+            keyLength.flip();
+            write(fileChannel, keyLength, position + (i * frameSize));
+            streamOffsets[i] = streamOffset + (i * frameSize);
+        }
+        return streamOffsets.length * frameSize;
+    }
+
+    private long writeIndexTableSegments(FileChannel fileChannel, long position, long startPosition, long[] streamOffsets) throws IOException
+    {
+        if (this.clipWrapped)
+        {
+            ByteBuffer indexTableSegment = buildIndexTableSegment(startPosition, this.duration, this.editUnitByteCount, streamOffsets, 0, 0);
+            return write(fileChannel, indexTableSegment, position);
+        }
+
+        long indexByteCount = 0;
+        for (int i = 0; i < streamOffsets.length; i += this.indexEntriesPerSegment)
+        {
+            int count = Math.min(this.indexEntriesPerSegment, streamOffsets.length - i);
+            ByteBuffer indexTableSegment = buildIndexTableSegment(startPosition + i, count, 0, streamOffsets, i, count);
+            indexByteCount += write(fileChannel, indexTableSegment, position + indexByteCount);
+        }
+        return indexByteCount;
+    }
+
+    private ByteBuffer buildIndexTableSegment(long indexStartPosition, long indexDuration, long editUnitByteCount, long[] streamOffsets, int offset, int count)
+    {
+        int valueSize = INDEX_TABLE_SEGMENT_FIXED_SIZE + ((count > 0) ? (12 + (count * INDEX_ENTRY_SIZE)) : 0);
+        ByteBuffer indexTableSegment = ByteBuffer.allocate(KEY_SIZE + 4 + valueSize);
+        indexTableSegment.put(INDEX_TABLE_SEGMENT_KEY);
+        putBERLength(indexTableSegment, valueSize, 3);
+        indexTableSegment.putShort((short)0x3c0a).putShort((short)16);
+        UUID instanceUID = UUID.randomUUID();
+        indexTableSegment.putLong(instanceUID.getMostSignificantBits()).putLong(instanceUID.getLeastSignificantBits());
+        indexTableSegment.putShort((short)0x3f0b).putShort((short)8).putInt(this.editRate.getNumerator().intValue()).putInt(this.editRate.getDenominator().intValue());
+        indexTableSegment.putShort((short)0x3f0c).putShort((short)8).putLong(indexStartPosition);
+        indexTableSegment.putShort((short)0x3f0d).putShort((short)8).putLong(indexDuration);
+        indexTableSegment.putShort((short)0x3f05).putShort((short)4).putInt((int)editUnitByteCount);
+        indexTableSegment.putShort((short)0x3f06).putShort((short)4).putInt(INDEX_SID);
+        indexTableSegment.putShort((short)0x3f07).putShort((short)4).putInt(INDEX_BODY_SID);
+        indexTableSegment.putShort((short)0x3f08).putShort((short)1).put((byte)0);
+        indexTableSegment.putShort((short)0x3f0e).putShort((short)1).put((byte)0);
+        indexTableSegment.putShort((short)0x3f09).putShort((short)8).putInt(0).putInt(6);
+        if (count > 0)
+        {
+            indexTableSegment.putShort((short)0x3f0a).putShort((short)(8 + (count * INDEX_ENTRY_SIZE))).putInt(count).putInt(INDEX_ENTRY_SIZE);
+            for (int i = offset; i < offset + count; i++)
+            {
+                indexTableSegment.put((byte)0).put((byte)0).put(RANDOM_ACCESS_FLAG).putLong(streamOffsets[i]);
+            }
+        }
+        indexTableSegment.flip();
+        return indexTableSegment;
+    }
+
+    private static long writeRandomIndexPack(FileChannel fileChannel, long position, List<Partition> partitions) throws IOException
+    {
+        int valueSize = (partitions.size() * 12) + 4;
+        ByteBuffer randomIndexPack = ByteBuffer.allocate(KEY_SIZE + 4 + valueSize);
+        randomIndexPack.put(RANDOM_INDEX_PACK_KEY);
+        putBERLength(randomIndexPack, valueSize, 3);
+        for (Partition partition : partitions)
+        {
+            randomIndexPack.putInt(partition.bodySID).putLong(partition.offset);
+        }
+        randomIndexPack.putInt(randomIndexPack.capacity());
+        randomIndexPack.flip();
+        return write(fileChannel, randomIndexPack, position);
+    }
+
+    private ByteBuffer buildPartitionPack(Partition partition, long previousPartition, long footerPartition)
+    {
+        ByteBuffer partitionPack = ByteBuffer.allocate((int)getPartitionPackSize());
+        byte[] key = Arrays.copyOf(PARTITION_PACK_KEY, KEY_SIZE);
+        key[KEY_SIZE - 3] = partition.kind;
+        key[KEY_SIZE - 2] = CLOSED_COMPLETE;
+        partitionPack.put(key);
+        putBERLength(partitionPack, this.partitionPackTemplate.length, 3);
+        ByteBuffer value = ByteBuffer.wrap(Arrays.copyOf(this.partitionPackTemplate, this.partitionPackTemplate.length));
+        value.putInt(4, 1);//KAGSize
+        value.putLong(8, partition.offset);
+        value.putLong(16, previousPartition);
+        value.putLong(24, footerPartition);
+        value.putLong(32, partition.headerByteCount);
+        value.putLong(40, partition.indexByteCount);
+        value.putInt(48, partition.indexSID);
+        value.putLong(52, partition.bodyOffset);
+        value.putInt(60, partition.bodySID);
+        partitionPack.put(value);
+        partitionPack.flip();
+        return partitionPack;
+    }
+
+    private long getPartitionPackSize()
+    {
+        return KEY_SIZE + 4 + this.partitionPackTemplate.length;
+    }
+
+    private static long write(FileChannel fileChannel, ByteBuffer byteBuffer, long position) throws IOException
+    {
+        long numBytesWritten = 0;
+        while (byteBuffer.hasRemaining())
+        {
+            numBytesWritten += fileChannel.write(byteBuffer, position + numBytesWritten);
+        }
+        return numBytesWritten;
+    }
+
+    /**
+     * A method that converts a duration in edit units of the Composition into edit units of a track, durations that are
+     * not a whole number of edit units of the track are rounded up unless an exact conversion is required
+     */
+    private static long scaleDuration(long compositionDuration, Composition.EditRate compositionEditRate, Composition.EditRate editRate, boolean exact)
+    {
+        long numerator = compositionDuration * editRate.getNumerator() * compositionEditRate.getDenominator();
+        long denominator = editRate.getDenominator() * compositionEditRate.getNumerator();
+        if (exact && numerator % denominator != 0)
+        {
+            throw new IllegalArgumentException(String.format("Duration of %d edit units at %s is not a whole number of edit units at %s",
+                    compositionDuration, compositionEditRate.toString(), editRate.toString()));
+        }
+        return (numerator + denominator - 1) / denominator;
+    }
+
+    private static int getHeaderMetadataEnd(byte[] bytes, int headerMetadataOffset, long headerByteCount)
+    {
+        //exclude the trailing KLV fill items, if any
+        int end = headerMetadataOffset;
+        ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+        byteBuffer.position(headerMetadataOffset);
+        while (byteBuffer.position() < Math.min(bytes.length, headerMetadataOffset + headerByteCount))
+        {
+            boolean fill = isFillKey(bytes, byteBuffer.position());
+            byteBuffer.position(byteBuffer.position() + KEY_SIZE);
+            long length = readBERLength(byteBuffer);
+            byteBuffer.position(byteBuffer.position() + (int)length);
+            if (!fill)
+            {
+                end = byteBuffer.position();
+            }
+        }
+        return end;
+    }
+
+    private static boolean isPartitionPackKey(byte[] bytes, int offset)
+    {
+        for (int i = 0; i < KEY_SIZE - 3; i++)
+        {
+            if (i != 7 && bytes[offset + i] != PARTITION_PACK_KEY[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFillKey(byte[] bytes, int offset)
+    {
+        return bytes[offset + 4] == 0x01 && bytes[offset + 5] == 0x01 && bytes[offset + 8] == 0x03 && bytes[offset + 9] == 0x01
+                && bytes[offset + 10] == 0x02 && bytes[offset + 11] == 0x10 && bytes[offset + 12] == 0x01;
+    }
+
+    private static long readBERLength(ByteBuffer byteBuffer)
+    {
+        int first = byteBuffer.get() & 0xff;
+        if ((first & 0x80) == 0)
+        {
+            return first;
+        }
+        long length = 0;
+        for (int i = 0; i < (first & 0x7f); i++)
+        {
+            length = (length << 8) | (byteBuffer.get() & 0xff);
+        }
+        return length;
+    }
+
+    private static void putBERLength(ByteBuffer byteBuffer, long length, int numBytes)
+    {
+        byteBuffer.put((byte)(0x80 | numBytes));
+        for (int i = numBytes - 1; i >= 0; i--)
+        {
+            byteBuffer.put((byte)(length >>> (8 * i)));
+        }
+    }
+
+    private static final class Partition
+    {
+        private final byte kind;
+        private final long offset;
+        private final int indexSID;
+        private final int bodySID;
+        private long headerByteCount;
+        private long indexByteCount;
+        private long bodyOffset;
+
+        private Partition(byte kind, long offset, int indexSID, int bodySID)
+        {
+            this.kind = kind;
+            this.offset = offset;
+            this.indexSID = indexSID;
+            this.bodySID = bodySID;
+        }
+    }
+
+    /**
+     * The local sets of the header metadata of a track file, which are patched in place
+     */
+    private static final class HeaderMetadata
+    {
+        private final byte[] bytes;
+        private final List<LocalSet> localSets = new ArrayList<>();
+        private final Map<String, LocalSet> localSetsByInstanceUID = new HashMap<>();
+
+        private HeaderMetadata(byte[] bytes)
+        {
+            this.bytes = bytes;
+            ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+            while (byteBuffer.hasRemaining())
+            {
+                int keyOffset = byteBuffer.position();
+                byteBuffer.position(keyOffset + KEY_SIZE);
+                long length = readBERLength(byteBuffer);
+                if (bytes[keyOffset + 5] == 0x53)
+                {
+                    LocalSet localSet = new LocalSet(bytes, byteBuffer.position(), (int)length);
+                    this.localSets.add(localSet);
+                    byte[] instanceUID = localSet.getValue(0x3c0a);
+                    if (instanceUID != null)
+                    {
+                        this.localSetsByInstanceUID.put(Arrays.toString(instanceUID), localSet);
+                    }
+                }
+                byteBuffer.position(byteBuffer.position() + (int)length);
+            }
+        }
+
+        private LocalSet getEssenceTrack()
+        {
+            for (LocalSet localSet : this.localSets)
+            {
+                byte[] trackNumber = localSet.getValue(0x4804);
+                if (trackNumber != null && ByteBuffer.wrap(trackNumber).getInt() != 0 && localSet.getValue(0x4b01) != null)
+                {
+                    return localSet;
+                }
+            }
+            throw new IllegalArgumentException("Template has no essence track");
+        }
+
+        private LocalSet getSetWithItem(int tag)
+        {
+            for (LocalSet localSet : this.localSets)
+            {
+                if (localSet.getValue(tag) != null)
+                {
+                    return localSet;
+                }
+            }
+            return null;
+        }
+
+        private void setDurations(long compositionDuration, Composition.EditRate compositionEditRate)
+        {
+            for (LocalSet localSet : this.localSets)
+            {
+                if (localSet.getValue(0x4b01) != null && localSet.getValue(0x4803) != null)
+                {//Track
+                    long duration = scaleDuration(compositionDuration, compositionEditRate, localSet.getRational(0x4b01), false);
+                    LocalSet sequence = this.localSetsByInstanceUID.get(Arrays.toString(localSet.getValue(0x4803)));
+                    if (sequence == null)
+                    {
+                        continue;
+                    }
+                    sequence.putLong(0x0202, duration);
+                    byte[] structuralComponents = sequence.getValue(0x1001);
+                    if (structuralComponents != null)
+                    {
+                        ByteBuffer byteBuffer = ByteBuffer.wrap(structuralComponents);
+                        int count = byteBuffer.getInt();
+                        int size = byteBuffer.getInt();
+                        for (int i = 0; i < count; i++)
+                        {
+                            byte[] instanceUID = new byte[size];
+                            byteBuffer.get(instanceUID);
+                            LocalSet structuralComponent = this.localSetsByInstanceUID.get(Arrays.toString(instanceUID));
+                            if (structuralComponent != null)
+                            {
+                                structuralComponent.putLong(0x0202, duration);
+                            }
+                        }
+                    }
+                }
+                else if (localSet.getValue(0x3002) != null && localSet.getValue(0x3001) != null)
+                {//FileDescriptor
+                    localSet.putLong(0x3002, scaleDuration(compositionDuration, compositionEditRate, localSet.getRational(0x3001), false));
+                }
+            }
+        }
+
+        private void setPackageIds(UUID trackFileId)
+        {
+            byte[] filePackageMaterialNumber = null;
+            LocalSet essenceContainerData = getSetWithItem(0x2701);
+            if (essenceContainerData != null)
+            {
+                filePackageMaterialNumber = Arrays.copyOfRange(essenceContainerData.getValue(0x2701), 16, 32);
+            }
+            Map<String, byte[]> materialNumbers = new LinkedHashMap<>();
+            for (LocalSet localSet : this.localSets)
+            {
+                byte[] packageUID = localSet.getValue(0x4401);
+                if (packageUID != null)
+                {
+                    byte[] materialNumber = Arrays.copyOfRange(packageUID, 16, 32);
+                    UUID uuid = Arrays.equals(materialNumber, filePackageMaterialNumber) ? trackFileId : UUID.randomUUID();
+                    materialNumbers.put(Arrays.toString(materialNumber), ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array());
+                }
+            }
+            if (filePackageMaterialNumber == null || !materialNumbers.containsKey(Arrays.toString(filePackageMaterialNumber)))
+            {
+                throw new IllegalArgumentException("Template has no file package linked to its essence container");
+            }
+            //replace every reference to the UMIDs of the packages
+            for (int i = 0; i + 16 <= this.bytes.length; i++)
+            {
+                byte[] replacement = materialNumbers.get(Arrays.toString(Arrays.copyOfRange(this.bytes, i, i + 16)));
+                if (replacement != null)
+                {
+                    System.arraycopy(replacement, 0, this.bytes, i, 16);
+                    i += 15;
+                }
+            }
+        }
+    }
+
+    /**
+     * A local set with 2-byte tags and 2-byte lengths, the items of which are accessed in place
+     */
+    private static final class LocalSet
+    {
+        private final byte[] bytes;
+        private final Map<Integer, int[]> items = new HashMap<>();
+
+        private LocalSet(byte[] bytes, int valueOffset, int valueLength)
+        {
+            this.bytes = bytes;
+            ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, valueOffset, valueLength);
+            while (byteBuffer.hasRemaining())
+            {
+                int tag = byteBuffer.getShort() & 0xffff;
+                int length = byteBuffer.getShort() & 0xffff;
+                this.items.put(tag, new int[]{byteBuffer.position(), length});
+                byteBuffer.position(byteBuffer.position() + length);
+            }
+        }
+
+        private byte[] getValue(int tag)
+        {
+            int[] item = this.items.get(tag);
+            return (item == null) ? null : Arrays.copyOfRange(this.bytes, item[0], item[0] + item[1]);
+        }
+
+        private Composition.EditRate getRational(int tag)
+        {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(getValue(tag));
+            return new Composition.EditRate((long)byteBuffer.getInt(), (long)byteBuffer.getInt());
+        }
+
+        private void putLong(int tag, long value)
+        {
+            int[] item = this.items.get(tag);
+            if (item != null && item[1] == 8)
+            {
+                ByteBuffer.wrap(this.bytes).putLong(item[0], value);
+            }
+        }
+    }
+}
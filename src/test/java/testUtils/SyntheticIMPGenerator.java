@@ -0,0 +1,187 @@
+/*
+ *
+ * Copyright 2016 Netflix, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package testUtils;
+
+import com.netflix.imflibrary.st2067_2.Composition;
+import com.netflix.imflibrary.st2067_2.IMFEssenceComponentVirtualTrack;
+import com.netflix.imflibrary.st2067_2.IMFTrackFileResourceType;
+import com.netflix.imflibrary.utils.ByteArrayByteRangeProvider;
+import com.netflix.imflibrary.utils.ErrorLogger;
+import com.netflix.imflibrary.utils.UUIDHelper;
+import com.netflix.imflibrary.writerTools.CompositionPlaylistBuilder_2016;
+import com.netflix.imflibrary.writerTools.IMPBuilder;
+import com.netflix.imflibrary.writerTools.utils.IMFUUIDGenerator;
+import com.netflix.imflibrary.writerTools.utils.IMFUtils;
+import org.xml.sax.SAXException;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.URISyntaxException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A generator of synthetic IMF packages for scale testing. Every package has one MainImageSequence and the requested
+ * number of MainAudioSequences, each of which is backed by one track file written by a {@link SyntheticIMFTrackFileWriter}
+ * from the header partition of a track file of the Netflix test packages, and references its track file through the
+ * requested number of consecutive resources. The CompositionPlaylist, PackingList and AssetMap of the package are written
+ * by the {@link IMPBuilder}.
+ *
+ * The hashes of the track files in the PackingList are computed over their header partitions, since the essence of the
+ * track files is sparse and hashing it would dominate the time taken to generate a package.
+ */
+public final class SyntheticIMPGenerator
+{
+    public static final String APPLICATION_2E_IDENTIFICATION = "http://www.smpte-ra.org/schemas/2067-21/2016";
+    public static final Composition.EditRate COMPOSITION_EDIT_RATE = new Composition.EditRate(24000L, 1001L);
+    public static final int DEFAULT_FRAME_BYTE_COUNT = 1024;
+    private static final String IMAGE_TEMPLATE = "TestIMP/Netflix_Sony_Plugfest_2015/Netflix_Plugfest_Oct2015.mxf.hdr";
+    private static final String AUDIO_TEMPLATE = "TestIMP/MERIDIAN_Netflix_Photon_161006/MERIDIAN_Netflix_Photon_161006_ENG-51_00.mxf";
+
+    private SyntheticIMPGenerator()
+    {
+        //to prevent instantiation
+    }
+
+    /**
+     * A method that generates a synthetic IMF package in a directory
+     * @param workingDirectory the directory to write the track files, CompositionPlaylist, PackingList and AssetMap to
+     * @param duration the duration of the Composition in edit units of {@link #COMPOSITION_EDIT_RATE}
+     * @param bodyPartitionCount the number of body partitions that the essence of the image track file is split across
+     * @param indexEntriesPerSegment the maximum number of index entries in an index table segment of the image track file
+     * @param resourceCount the number of resources of every virtual track
+     * @param audioTrackCount the number of audio virtual tracks
+     * @return a list of errors that occurred while building the IMP
+     * @throws IOException - any I/O related error is exposed through an IOException
+     * @throws ParserConfigurationException if a DocumentBuilder cannot be created
+     * @throws SAXException - exposes any issues with instantiating a {@link javax.xml.validation.Schema Schema} object
+     * @throws JAXBException - any issues in serializing the XML documents using JAXB are exposed through a JAXBException
+     * @throws URISyntaxException exposes any issues instantiating a {@link java.net.URI URI} object
+     * @throws NoSuchAlgorithmException if the hash algorithm is not supported
+     */
+    public static List<ErrorLogger.ErrorObject> generateIMP(File workingDirectory,
+                                                            long duration,
+                                                            int bodyPartitionCount,
+                                                            int indexEntriesPerSegment,
+                                                            int resourceCount,
+                                                            int audioTrackCount)
+            throws IOException, ParserConfigurationException, SAXException, JAXBException, URISyntaxException, NoSuchAlgorithmException
+    {
+        if (resourceCount < 1 || resourceCount > duration)
+        {
+            throw new IllegalArgumentException(String.format("Invalid resource count %d for a duration of %d edit units", resourceCount, duration));
+        }
+        if (audioTrackCount < 0)
+        {
+            throw new IllegalArgumentException(String.format("Invalid audio track count %d", audioTrackCount));
+        }
+
+        List<IMFEssenceComponentVirtualTrack> virtualTracks = new ArrayList<>();
+        Map<UUID, IMPBuilder.IMFTrackFileMetadata> trackFileMetadataMap = new LinkedHashMap<>();
+        addVirtualTrack(workingDirectory, IMAGE_TEMPLATE, Composition.SequenceTypeEnum.MainImageSequence, "IMAGE",
+                duration, bodyPartitionCount, indexEntriesPerSegment, resourceCount, virtualTracks, trackFileMetadataMap);
+        for (int i = 0; i < audioTrackCount; i++)
+        {
+            addVirtualTrack(workingDirectory, AUDIO_TEMPLATE, Composition.SequenceTypeEnum.MainAudioSequence, String.format("AUDIO_%d", i),
+                    duration, 1, indexEntriesPerSegment, resourceCount, virtualTracks, trackFileMetadataMap);
+        }
+
+        return IMPBuilder.buildIMP_2016("Synthetic IMP",
+                "Netflix",
+                virtualTracks,
+                COMPOSITION_EDIT_RATE,
+                APPLICATION_2E_IDENTIFICATION,
+                trackFileMetadataMap,
+                workingDirectory);
+    }
+
+    private static void addVirtualTrack(File workingDirectory,
+                                        String template,
+                                        Composition.SequenceTypeEnum sequenceType,
+                                        String name,
+                                        long duration,
+                                        int bodyPartitionCount,
+                                        int indexEntriesPerSegment,
+                                        int resourceCount,
+                                        List<IMFEssenceComponentVirtualTrack> virtualTracks,
+                                        Map<UUID, IMPBuilder.IMFTrackFileMetadata> trackFileMetadataMap)
+            throws IOException, NoSuchAlgorithmException
+    {
+        UUID trackFileId = IMFUUIDGenerator.getInstance().generateUUID();
+        SyntheticIMFTrackFileWriter trackFileWriter = new SyntheticIMFTrackFileWriter(readResource(template), trackFileId,
+                COMPOSITION_EDIT_RATE, duration, bodyPartitionCount, indexEntriesPerSegment, DEFAULT_FRAME_BYTE_COUNT);
+        String fileName = String.format("%s_%s.mxf", name, trackFileId.toString());
+        long length = trackFileWriter.write(new File(workingDirectory, fileName));
+        byte[] headerPartition = trackFileWriter.getHeaderPartition();
+        byte[] hash = IMFUtils.generateSHA1Hash(new ByteArrayByteRangeProvider(headerPartition));
+        trackFileMetadataMap.put(trackFileId, new IMPBuilder.IMFTrackFileMetadata(headerPartition, hash,
+                CompositionPlaylistBuilder_2016.defaultHashAlgorithm, fileName, length));
+
+        //split the track file into consecutive resources on edit unit boundaries of the Composition
+        Composition.EditRate editRate = trackFileWriter.getEditRate();
+        long editUnitsPerCompositionEditUnit = trackFileWriter.getDuration() / duration;
+        String sourceEncoding = IMFUUIDGenerator.getInstance().getUrnUUID();
+        List<IMFTrackFileResourceType> resources = new ArrayList<>();
+        for (int i = 0; i < resourceCount; i++)
+        {
+            long entryPoint = (duration * i / resourceCount) * editUnitsPerCompositionEditUnit;
+            long sourceDuration = ((duration * (i + 1) / resourceCount) * editUnitsPerCompositionEditUnit) - entryPoint;
+            resources.add(new IMFTrackFileResourceType(IMFUUIDGenerator.getInstance().getUrnUUID(),
+                    UUIDHelper.fromUUID(trackFileId),
+                    Arrays.asList(editRate.getNumerator(), editRate.getDenominator()),
+                    BigInteger.valueOf(trackFileWriter.getDuration()),
+                    BigInteger.valueOf(entryPoint),
+                    BigInteger.valueOf(sourceDuration),
+                    BigInteger.ONE,
+                    sourceEncoding,
+                    hash,
+                    CompositionPlaylistBuilder_2016.defaultHashAlgorithm));
+        }
+        virtualTracks.add(new IMFEssenceComponentVirtualTrack(IMFUUIDGenerator.getInstance().generateUUID(), sequenceType, resources, COMPOSITION_EDIT_RATE));
+    }
+
+    private static byte[] readResource(String resourcePath) throws IOException
+    {
+        try (InputStream inputStream = SyntheticIMPGenerator.class.getClassLoader().getResourceAsStream(resourcePath))
+        {
+            if (inputStream == null)
+            {
+                throw new IOException(String.format("Resource %s does not exist", resourcePath));
+            }
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int numBytesRead;
+            while ((numBytesRead = inputStream.read(buffer)) != -1)
+            {
+                byteArrayOutputStream.write(buffer, 0, numBytesRead);
+            }
+            return byteArrayOutputStream.toByteArray();
+        }
+    }
+}